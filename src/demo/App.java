@@ -1,32 +1,127 @@
 package demo;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 
-@SpringBootApplication
+/**
+ * R2DBC is only used by {@link demo.repository.ReactiveAnyRepository}, which creates its own pool
+ */
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 public class App {
 
+    private static final String[] DEFAULT_ARGS = {
+        "--server.port=8081",
+        "--server.error.include-message=always",
+        "--spring.main.banner-mode=off",
+        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.url=jdbc:h2:mem:testdb",
+        "--spring.datasource.driverClassName=org.h2.Driver",
+        "--spring.datasource.password=",
+        "--spring.mvc.throw-exception-if-no-handler-found=true",
+        "--spring.web.resources.add-mappings=false",
+        "--spring.mvc.async.request-timeout=-1",
+        "--app.default-size-page=10",
+        "--app.export-fetch-size=1000",
+        "--app.export-max-concurrent=2",
+        "--app.get-by-id-cache-size=10000",
+        "--app.bulk-create-chunk-size=1000",
+        "--app.bulk-delete-chunk-size=1000",
+        "--app.bulk-delete-max-queued-jobs=100",
+        "--app.update-retry-max-attempts=1",
+        "--app.update-retry-base-backoff-millis=5",
+        "--app.update-coalescing-max-delay-micros=1000",
+        "--app.group-commit-max-items=500",
+        "--app.group-commit-max-delay-micros=500",
+        "--app.group-commit-timeout-millis=10000",
+        "--app.group-commit-max-queued=10000",
+        "--app.concurrency-limit-reads-initial=20",
+        "--app.concurrency-limit-reads-max=200",
+        "--app.concurrency-limit-writes-initial=10",
+        "--app.concurrency-limit-writes-max=100",
+        "--spring.jpa.properties.hibernate.jdbc.batch_size=1000",
+        "--spring.jpa.properties.hibernate.order_inserts=true",
+        "--management.endpoints.web.exposure.include=health,metrics,latency"
+    };
+
+    public static final String THREADS_PLATFORM = "platform";
+    public static final String THREADS_VIRTUAL = "virtual";
+    private static final String ARG_THREADS = "--app.threads=";
+    private static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+
+    /**
+     * serves {@code /any-controller} on WebFlux and R2DBC ({@link demo.controller.ReactiveAnyController}) instead of the servlet stack
+     */
+    public static final String PROFILE_REACTIVE = "reactive";
+    private static final String ARG_PROFILES = "--spring.profiles.active=";
+
+    /**
+     * {@code --app.threads=virtual} serves requests on virtual threads (Java 21+), the default {@code platform} keeps the Tomcat thread pool.
+     * {@code --spring.profiles.active=reactive} serves them on WebFlux and R2DBC instead
+     */
     public static void main(String[] args) {
+        SpringApplication.run(App.class, buildArgs(args));
+    }
 
-        String[] newArgs = new String[]{
-            "--server.port=8081",
-            "--server.error.include-message=always",
-            "--spring.main.banner-mode=off",
-            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
-            "--spring.datasource.username=sa",
-            "--spring.datasource.url=jdbc:h2:mem:testdb",
-            "--spring.datasource.driverClassName=org.h2.Driver",
-            "--spring.datasource.password=",
-            "--spring.mvc.throw-exception-if-no-handler-found=true",
-            "--spring.web.resources.add-mappings=false",
-            "--app.default-size-page=10"
+    /**
+     * {@code args} come first and win over the defaults of the same key: Spring joins the values of a repeated argument
+     */
+    public static String[] buildArgs(String[] args) {
+        final Map<String, String> argByKey = new LinkedHashMap<>();
+        Stream.of(Stream.of(args), Stream.of(threadsArgs(threadsMode(args))), Stream.of(profileArgs(args)), Stream.of(DEFAULT_ARGS))
+            .flatMap(Function.identity())
+            .forEach(arg -> argByKey.putIfAbsent(keyOf(arg), arg));
+        return argByKey.values().toArray(String[]::new);
+    }
+
+    static String threadsMode(String[] args) {
+        return Stream.of(args)
+            .filter(arg -> arg.startsWith(ARG_THREADS))
+            .map(arg -> arg.substring(ARG_THREADS.length()))
+            .reduce((first, last) -> last)
+            .orElse(THREADS_PLATFORM);
+    }
+
+    /**
+     * Virtual threads lift the cap of the Tomcat pool, so every request in flight waits on the datasource pool instead:
+     * it is sized to what the database runs in parallel ({@code cores * 2 + 1}, as HikariCP advises) and requests queue for a connection
+     */
+    static String[] threadsArgs(String threadsMode) {
+        if(THREADS_PLATFORM.equals(threadsMode)) return new String[0];
+        if(!THREADS_VIRTUAL.equals(threadsMode))
+            throw new IllegalArgumentException(ARG_THREADS + threadsMode + " is unknown, use " + THREADS_PLATFORM + " or " + THREADS_VIRTUAL);
+        if(Runtime.version().feature() < VIRTUAL_THREADS_MIN_JAVA_VERSION)
+            throw new IllegalStateException(ARG_THREADS + THREADS_VIRTUAL + " needs Java " + VIRTUAL_THREADS_MIN_JAVA_VERSION + "+, running on " + Runtime.version());
+        return new String[]{
+            "--spring.threads.virtual.enabled=true",
+            "--spring.datasource.hikari.maximum-pool-size=" + (Runtime.getRuntime().availableProcessors() * 2 + 1)
+        };
+    }
+
+    /**
+     * the {@code reactive} profile needs a reactive web server, chosen before profiles are read, and an R2DBC url on the same in-memory database
+     * as the datasource: Hibernate still creates the schema through JDBC
+     */
+    static String[] profileArgs(String[] args) {
+        final boolean reactive = Stream.of(args)
+            .filter(arg -> arg.startsWith(ARG_PROFILES))
+            .flatMap(arg -> Stream.of(arg.substring(ARG_PROFILES.length()).split(",")))
+            .anyMatch(profile -> PROFILE_REACTIVE.equals(profile.trim()));
+        if(!reactive) return new String[0];
+        return new String[]{
+            "--spring.main.web-application-type=reactive",
+            "--app.r2dbc-url=r2dbc:h2:mem:///testdb"
         };
-        
-        SpringApplication.run(
-            App.class, 
-            Stream.concat(Stream.of(args), Stream.of(newArgs)).toArray(String[]::new)
-        );
+    }
+
+    private static String keyOf(String arg) {
+        final int equalsIndex = arg.indexOf('=');
+        return equalsIndex < 0 ? arg : arg.substring(0, equalsIndex);
     }
 }
@@ -0,0 +1,60 @@
+package demo.cache;
+
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import demo.service.GetByIdService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded read-through cache of {@link GetByIdService.Response} by id.
+ * Caffeine evicts by size with W-TinyLFU, so a burst of one-off ids cannot push the frequently read ones out.
+ * Hit, miss and eviction counters are published as {@code cache.*} metrics tagged {@code cache=get-by-id}.
+ */
+@Component
+public class GetByIdCache {
+
+    public static final String CACHE_NAME = "get-by-id";
+
+    private final Cache<String, GetByIdService.Response> cache;
+
+    public GetByIdCache(@Value("${app.get-by-id-cache-size}") long maximumSize, @Autowired MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * {@code loader} runs at most once per id at a time and its result is not cached when it throws (e.g. not found)
+     */
+    public GetByIdService.Response get(String id, Function<String, GetByIdService.Response> loader) {
+        return cache.get(id, loader);
+    }
+
+    public GetByIdService.Response getIfPresent(String id) {
+        return cache.getIfPresent(id);
+    }
+
+    /**
+     * must be called after the write is committed. If a load of the same id is in flight it waits for it and drops its result,
+     * so a value read before the commit is never left in the cache
+     */
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+}
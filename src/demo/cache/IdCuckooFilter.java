@@ -0,0 +1,266 @@
+package demo.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import demo.repository.AnyRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Scalable cuckoo filter of every existing {@code AnyEntity.id}, used to answer 404 for ids that are definitely absent without a query.
+ * Unlike a Bloom filter it supports deletes. Each id is a 16 bit fingerprint stored in one of two buckets of 4 slots
+ * (false positive rate about 8 / 65536 per sub filter); when the current sub filter is 90% full a new one twice as large is added.
+ * <p>Only ids that were added may be removed, otherwise the fingerprint of another id could be dropped and that id answered as absent.
+ * For the same reason a removed id whose fingerprint is found in several sub filters is left in place: the sub filter it was added to
+ * is unknown, and keeping a false positive is safer than dropping the fingerprint of another id of an older sub filter.</p>
+ * <p>Metrics: {@code id.filter.negatives} (lookups answered without query), {@code id.filter.false.positives}
+ * (lookups the filter let through and the database did not find) and {@code id.filter.false.positive.rate}.</p>
+ */
+@Component
+public class IdCuckooFilter {
+
+    private static final int INITIAL_BUCKETS = 1 << 12;
+    private static final int LOAD_SIZE_PAGE = 10_000;
+
+    public record IdItem(String id) {}
+
+    private final AnyRepository anyRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<SubFilter> subFilters = new ArrayList<>();
+    private final AtomicLong negatives = new AtomicLong();
+    private final AtomicLong falsePositives = new AtomicLong();
+    private volatile boolean loaded = false;
+
+    @Autowired
+    public IdCuckooFilter(AnyRepository anyRepository, MeterRegistry meterRegistry) {
+        this(anyRepository, meterRegistry, INITIAL_BUCKETS);
+    }
+
+    IdCuckooFilter(AnyRepository anyRepository, MeterRegistry meterRegistry, int initialBuckets) {
+        this.anyRepository = anyRepository;
+        this.subFilters.add(new SubFilter(initialBuckets));
+        Gauge.builder("id.filter.negatives", negatives, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("id.filter.false.positives", falsePositives, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("id.filter.false.positive.rate", this, IdCuckooFilter::falsePositiveRate).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        Slice<IdItem> slice = anyRepository.listByFilter(0, LOAD_SIZE_PAGE, null, IdItem.class);
+        slice.forEach(item -> add(item.id()));
+        while(slice.hasNext()) {
+            final String lastId = slice.getContent().get(slice.getNumberOfElements() - 1).id();
+            slice = anyRepository.listByFilterAfterId(lastId, LOAD_SIZE_PAGE, null, IdItem.class);
+            slice.forEach(item -> add(item.id()));
+        }
+        loaded = true;
+    }
+
+    /**
+     * @return false only when {@code id} was definitely never added (or was removed); always true until the filter is loaded
+     */
+    public boolean mightContain(String id) {
+        if(!loaded) return true;
+        final long hash = hash(id);
+        lock.readLock().lock();
+        try {
+            for(SubFilter subFilter : subFilters) {
+                if(subFilter.contains(hash)) return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        negatives.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * to be called when {@link #mightContain(String)} answered true but the database did not find the id
+     */
+    public void recordFalsePositive() {
+        if(loaded) falsePositives.incrementAndGet();
+    }
+
+    public void add(String id) {
+        final long hash = hash(id);
+        lock.writeLock().lock();
+        try {
+            SubFilter current = subFilters.get(subFilters.size() - 1);
+            if(current.isFull()) {
+                current = new SubFilter(current.numBuckets * 2);
+                subFilters.add(current);
+            }
+            current.add(hash);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        final long hash = hash(id);
+        lock.writeLock().lock();
+        try {
+            SubFilter holder = null;
+            for(SubFilter subFilter : subFilters) {
+                if(!subFilter.contains(hash)) continue;
+                if(holder != null) return;
+                holder = subFilter;
+            }
+            if(holder != null) holder.remove(hash);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    double falsePositiveRate() {
+        final long falsePositiveCount = falsePositives.get();
+        final long lookupsOfAbsentIds = falsePositiveCount + negatives.get();
+        return lookupsOfAbsentIds == 0 ? 0 : (double) falsePositiveCount / lookupsOfAbsentIds;
+    }
+
+    int subFilterCount() {
+        lock.readLock().lock();
+        try {
+            return subFilters.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * FNV-1a over the chars followed by the SplitMix64 finalizer
+     */
+    static long hash(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for(int i = 0; i < id.length(); i++) {
+            hash = (hash ^ id.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * one cuckoo table: {@code numBuckets} (power of two) buckets of {@link #SLOTS} 16 bit fingerprints, 0 meaning empty slot.
+     * A fingerprint left over by a kick-out chain that found no free slot is kept in a small stash, and the table is then considered full
+     */
+    static final class SubFilter {
+
+        private static final int SLOTS = 4;
+        private static final int MAX_KICKS = 500;
+        private static final double MAX_LOAD_FACTOR = 0.9;
+
+        private final short[] fingerprints;
+        private final List<Long> stash = new ArrayList<>();
+        private final int numBuckets;
+        private final int mask;
+        private int size = 0;
+
+        SubFilter(int numBuckets) {
+            this.numBuckets = numBuckets;
+            this.mask = numBuckets - 1;
+            this.fingerprints = new short[numBuckets * SLOTS];
+        }
+
+        boolean isFull() {
+            return !stash.isEmpty() || size >= numBuckets * SLOTS * MAX_LOAD_FACTOR;
+        }
+
+        boolean contains(long hash) {
+            final short fingerprint = fingerprintOf(hash);
+            final int bucket = firstBucketOf(hash);
+            final int alternateBucket = alternateBucketOf(bucket, fingerprint);
+            return bucketContains(bucket, fingerprint) || bucketContains(alternateBucket, fingerprint)
+                    || (!stash.isEmpty() && stash.contains(stashEntryOf(bucket, alternateBucket, fingerprint)));
+        }
+
+        void add(long hash) {
+            short fingerprint = fingerprintOf(hash);
+            int bucket = firstBucketOf(hash);
+            size++;
+            if(insertIntoBucket(bucket, fingerprint) || insertIntoBucket(alternateBucketOf(bucket, fingerprint), fingerprint)) 
+                return;
+            for(int kick = 0; kick < MAX_KICKS; kick++) {
+                if(ThreadLocalRandom.current().nextBoolean()) bucket = alternateBucketOf(bucket, fingerprint);
+                final int slot = bucket * SLOTS + ThreadLocalRandom.current().nextInt(SLOTS);
+                final short evicted = fingerprints[slot];
+                fingerprints[slot] = fingerprint;
+                fingerprint = evicted;
+                bucket = alternateBucketOf(bucket, fingerprint);
+                if(insertIntoBucket(bucket, fingerprint)) 
+                    return;
+            }
+            stash.add(stashEntryOf(bucket, alternateBucketOf(bucket, fingerprint), fingerprint));
+        }
+
+        boolean remove(long hash) {
+            final short fingerprint = fingerprintOf(hash);
+            final int bucket = firstBucketOf(hash);
+            final int alternateBucket = alternateBucketOf(bucket, fingerprint);
+            if(removeFromBucket(bucket, fingerprint) || removeFromBucket(alternateBucket, fingerprint) 
+                    || stash.remove(Long.valueOf(stashEntryOf(bucket, alternateBucket, fingerprint)))) {
+                size--;
+                return true;
+            }
+            return false;
+        }
+
+        private static long stashEntryOf(int bucket, int alternateBucket, short fingerprint) {
+            return ((long) Math.min(bucket, alternateBucket) << 16) | (fingerprint & 0xffff);
+        }
+
+        private int firstBucketOf(long hash) {
+            return (int) hash & mask;
+        }
+
+        private int alternateBucketOf(int bucket, short fingerprint) {
+            return (bucket ^ (int) mix(fingerprint)) & mask;
+        }
+
+        private static short fingerprintOf(long hash) {
+            final short fingerprint = (short) (hash >>> 48);
+            return fingerprint == 0 ? 1 : fingerprint;
+        }
+
+        private boolean bucketContains(int bucket, short fingerprint) {
+            for(int slot = bucket * SLOTS; slot < (bucket + 1) * SLOTS; slot++) {
+                if(fingerprints[slot] == fingerprint) return true;
+            }
+            return false;
+        }
+
+        private boolean insertIntoBucket(int bucket, short fingerprint) {
+            for(int slot = bucket * SLOTS; slot < (bucket + 1) * SLOTS; slot++) {
+                if(fingerprints[slot] == 0) {
+                    fingerprints[slot] = fingerprint;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean removeFromBucket(int bucket, short fingerprint) {
+            for(int slot = bucket * SLOTS; slot < (bucket + 1) * SLOTS; slot++) {
+                if(fingerprints[slot] == fingerprint) {
+                    fingerprints[slot] = 0;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package demo.cache;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight call among the concurrent callers of the same key: the first caller of a key runs the call,
+ * the callers arriving while it runs wait for it and all get its result. The key is forgotten as soon as the call ends, so nothing is cached.
+ * <p>Calls are kept as {@link CompletableFuture}s in a {@link ConcurrentHashMap}, so joining a call in flight is a lock-free lookup.
+ * Keys must be normalized by the caller: two requests sharing a call must have equal keys.</p>
+ * <p>A call that throws is not shared: its waiters then run the call themselves, so an exception is never thrown to two requests
+ * (see {@link demo.exception.StacklessResponseStatusException}).</p>
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> callByKey = new ConcurrentHashMap<>();
+
+    /**
+     * blocks until the call of {@code key} in flight, or the one this caller starts, ends
+     */
+    public V execute(K key, Supplier<V> call) {
+        final CompletableFuture<V> inFlight = callByKey.get(key);
+        if(inFlight != null) return join(inFlight, call);
+
+        final CompletableFuture<V> started = new CompletableFuture<>();
+        final CompletableFuture<V> startedMeanwhile = callByKey.putIfAbsent(key, started);
+        if(startedMeanwhile != null) return join(startedMeanwhile, call);
+
+        try {
+            final V value = call.get();
+            started.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            started.completeExceptionally(e);
+            throw e;
+        } finally {
+            callByKey.remove(key, started);
+        }
+    }
+
+    private V join(CompletableFuture<V> inFlight, Supplier<V> call) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException | CancellationException e) {
+            return call.get();
+        }
+    }
+
+}
@@ -1,5 +1,8 @@
 package demo.constant;
 
+/**
+ * Messages with parameters are concatenated rather than {@code formatted}, which parses its pattern on every call
+ */
 public interface ErrMessage {
 
     @FunctionalInterface
@@ -12,7 +15,7 @@ public interface ErrMessage {
         String get();
     }
 
-    public static final MsgBaseWithParams ID_NOT_FOUND = "id %s not found"::formatted;
+    public static final MsgBaseWithParams ID_NOT_FOUND = args -> "id " + args[0] + " not found";
     public static final MsgBase BODY_NOT_FOUND = () -> "body request not found";
     public static final MsgBase REQUEST_CANNOT_BE_NULL = () -> "request cannot be null";
     public static final MsgBase NAME_IS_REQUIRED = () -> "name is required";
@@ -20,6 +23,23 @@ public interface ErrMessage {
     public static final MsgBase ID_IS_REQUIRED = () -> "id is required";
     public static final MsgBase NUMPAGE_MUST_BE_MORE_THAN_OR_EQUALS_ZERO = () -> "numPage must be more than or equals 0 ('ZERO')";
     public static final MsgBase SIZEPAGE_MUST_BE_MORE_THAN_OR_EQUALS_ZERO = () -> "sizePage must be more than or equals 0 ('ZERO')";
-    public static final MsgBaseWithParams SIZEPAGE_MUST_BE_LESS_THAN_X  = "sizePage must be less than %s. try to paginate request"::formatted;
+    public static final MsgBaseWithParams SIZEPAGE_MUST_BE_LESS_THAN_X  = args -> "sizePage must be less than " + args[0] + ". try to paginate request";
+    public static final MsgBase CURSOR_IS_INVALID = () -> "cursor is invalid";
+    public static final MsgBase NUMPAGE_CANNOT_BE_USED_WITH_CURSOR = () -> "numPage cannot be used along with cursor";
+    public static final MsgBase IDS_IS_REQUIRED = () -> "ids is required";
+    public static final MsgBaseWithParams IDS_MUST_BE_LESS_THAN_X  = args -> "ids must be less than " + args[0] + ". try to split request";
+    public static final MsgBase ITEMS_IS_REQUIRED = () -> "items is required";
+    public static final MsgBase ITEM_NOT_CREATED = () -> "item not created, the chunk it was written in failed. try to send it again";
+    public static final MsgBaseWithParams ITEMS_MUST_BE_LESS_THAN_X  = args -> "items must be less than " + args[0] + ". try to split request";
+    public static final MsgBase IDS_OR_FILTER_IS_REQUIRED = () -> "ids or filter is required";
+    public static final MsgBase IDS_CANNOT_BE_USED_WITH_FILTER = () -> "ids cannot be used along with filter";
+    public static final MsgBase FILTER_CANNOT_HAVE_LIKE_WILDCARDS = () -> "filter to delete by cannot have %, _ or \\";
+    public static final MsgBaseWithParams VERSION_DOES_NOT_MATCH = args -> "id " + args[0] + " was modified, its version does not match If-Match";
+    public static final MsgBaseWithParams JOB_NOT_FOUND = args -> "job " + args[0] + " not found";
+    public static final MsgBase CONCURRENCY_LIMIT_EXCEEDED = () -> "too many requests in progress, retry later";
+    public static final MsgBase EXPORT_LIMIT_EXCEEDED = () -> "too many exports in progress, retry later";
+    public static final MsgBase BULK_DELETE_JOBS_LIMIT_EXCEEDED = () -> "too many bulk delete jobs waiting, retry later";
+    public static final MsgBase GROUP_COMMIT_QUEUE_FULL = () -> "too many creates waiting to be written, retry later";
+    public static final MsgBase GROUP_COMMIT_NOT_STARTED_IN_TIME = () -> "create not written, it waited too long for the writer. retry later";
     
 }
@@ -1,10 +1,16 @@
 package demo.controller;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -15,19 +21,36 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import demo.App;
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.limit.ConcurrencyLimited;
+import demo.limit.ConcurrencyLimited.Group;
+import demo.service.BulkCreateService;
+import demo.service.BulkDeleteService;
 import demo.service.CreateService;
+import demo.service.ExportService;
 import demo.service.GetByIdService;
 import demo.service.ListService;
+import demo.service.MultiGetService;
 import demo.service.RemoveByIdService;
 import demo.service.UpdateByIdService;
 import io.swagger.v3.oas.annotations.Operation;
 
 @RestController
 @RequestMapping("/any-controller")
+@Profile("!" + App.PROFILE_REACTIVE)
 public class AnyController {
 
     @Autowired CreateService createService;
@@ -35,55 +58,155 @@ public class AnyController {
     @Autowired GetByIdService getByIdService;
     @Autowired RemoveByIdService removeByIdService;
     @Autowired UpdateByIdService updateByIdService;
+    @Autowired ExportService exportService;
+    @Autowired MultiGetService multiGetService;
+    @Autowired BulkCreateService bulkCreateService;
+    @Autowired BulkDeleteService bulkDeleteService;
 
     @Operation(summary = "Create a new entity")
     @PostMapping
+    @ConcurrencyLimited(Group.WRITES)
     public ResponseEntity<CreateService.Response> create(@RequestBody(required = false) CreateService.Request request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(createService.create(request));
     }
 
+    @Operation(summary = "Create many entities", description = "returns the generated ids in request order, null for the items reported in errors by index")
+    @PostMapping("/_bulk")
+    @ConcurrencyLimited(Group.WRITES)
+    public ResponseEntity<BulkCreateService.Response> bulkCreate(@RequestBody(required = false) BulkCreateService.Request request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(bulkCreateService.bulkCreate(request));
+    }
     
     public record RequestList(
             @RequestParam(name = "numPage", required = false) Integer numPage,
             @RequestParam(name = "sizePage", required = false) Integer sizePage,
-            @RequestParam(name = "filter", required = false) String filter
+            @RequestParam(name = "filter", required = false) String filter,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {}
-    
-    @Operation(summary = "List all entities")
+
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
+    public static final String HEADER_HAS_NEXT = "X-Has-Next";
+
+    @Operation(summary = "List all entities", description = "paginate by numPage or, for deep pages, by passing the cursor returned in the " + HEADER_NEXT_CURSOR + " header")
     @GetMapping
+    @ConcurrencyLimited(Group.READS)
     public ResponseEntity<List<ListService.ResponseItem>> list(RequestList request) {
-        return ResponseEntity.ok(listService.list(new ListService.Request(request.numPage, request.sizePage, request.filter)));
+        final ListService.Response response = listService.list(new ListService.Request(request.numPage, request.sizePage, request.filter, request.cursor));
+        final ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok().header(HEADER_HAS_NEXT, Boolean.toString(response.hasNext()));
+        if(response.nextCursor() != null) responseBuilder.header(HEADER_NEXT_CURSOR, response.nextCursor());
+        return responseBuilder.body(response.items());
     }
 
+    @Operation(summary = "Export all entities", description = "streams one JSON entity per line (NDJSON) without paginating; 503 when too many exports are running")
+    @GetMapping(value = "/_export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(WebRequest webRequest) {
+        final ExportService.Export export = exportService.reserveExport();
+        WebAsyncUtils.getAsyncManager(webRequest).registerCallableInterceptor(ExportService.Export.class.getName(), new ReleaseExportOnCompletion(export));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(export::writeTo);
+    }
 
-    @Operation(summary = "Get entity by id")
+    /**
+     * the async request completes also on timeout, error or client disconnect, possibly before the body was ever written
+     */
+    private record ReleaseExportOnCompletion(ExportService.Export export) implements CallableProcessingInterceptor {
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            export.release();
+        }
+    }
+
+
+    @Operation(summary = "Get entity by id", description = "sends ETag and Last-Modified; answers 304 to If-None-Match / If-Modified-Since of an unchanged entity")
     @GetMapping("/{id}")
-    public ResponseEntity<GetByIdService.Response> getById(@PathVariable(name = "id") String id) {
-        return ResponseEntity.ok(getByIdService.getById(id));
+    @ConcurrencyLimited(Group.READS)
+    public ResponseEntity<GetByIdService.Response> getById(@PathVariable(name = "id") String id, WebRequest webRequest) {
+        if(isConditionalRequest(webRequest)) {
+            final GetByIdService.Version version = getByIdService.getVersionById(id);
+            if(webRequest.checkNotModified(version.etag(), version.lastModified())) 
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        final GetByIdService.Response response = getByIdService.getById(id);
+        final GetByIdService.Version version = GetByIdService.versionOf(response);
+        return ResponseEntity.ok().eTag(version.etag()).lastModified(version.lastModified()).body(response);
+    }
+
+    private static boolean isConditionalRequest(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    @Operation(summary = "Check entity exists by id", description = "no body; ids that are definitely absent are answered without querying the database")
+    @RequestMapping(path = "/{id}", method = RequestMethod.HEAD)
+    public ResponseEntity<Void> existsById(@PathVariable(name = "id") String id) {
+        return getByIdService.existsById(id) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+    }
+
+    @Operation(summary = "Get many entities by id", description = "keeps the order of the ids requested and reports the ids not found in missingIds")
+    @PostMapping("/_mget")
+    @ConcurrencyLimited(Group.READS)
+    public ResponseEntity<MultiGetService.Response> multiGet(@RequestBody(required = false) MultiGetService.Request request) {
+        return ResponseEntity.ok(multiGetService.multiGet(request));
     }
 
     @Operation(summary = "Delete entity by id")
     @DeleteMapping("/{id}")
+    @ConcurrencyLimited(Group.WRITES)
     public ResponseEntity<Void> removeById(@PathVariable(name = "id") String id) {
         removeByIdService.removeById(id);
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Update entity by id")
+    public static final String PATH_BULK_DELETE = "/_bulk-delete";
+
+    @Operation(summary = "Delete many entities by ids or by name filter", description = "returns the number of rows deleted; with async=true answers 202 with a job to poll at the Location header")
+    @PostMapping(PATH_BULK_DELETE)
+    @ConcurrencyLimited(Group.WRITES)
+    public ResponseEntity<?> bulkDelete(@RequestBody(required = false) BulkDeleteService.Request request, @RequestParam(name = "async", required = false) boolean async) {
+        if(!async) return ResponseEntity.ok(bulkDeleteService.bulkDelete(request));
+        final BulkDeleteService.JobStatus jobStatus = bulkDeleteService.submitBulkDelete(request);
+        return ResponseEntity.accepted().header(HttpHeaders.LOCATION, "/any-controller" + PATH_BULK_DELETE + "/" + jobStatus.jobId()).body(jobStatus);
+    }
+
+    @Operation(summary = "Get progress of a bulk delete job")
+    @GetMapping(PATH_BULK_DELETE + "/{jobId}")
+    public ResponseEntity<BulkDeleteService.JobStatus> getBulkDeleteJob(@PathVariable(name = "jobId") String jobId) {
+        return ResponseEntity.ok(bulkDeleteService.getJob(jobId));
+    }
+
+    @Operation(summary = "Update entity by id", description = "with If-Match (the ETag of GET by id) answers 412 when the entity was modified meanwhile")
     @PutMapping("/{id}")
-    public ResponseEntity<Void> updateById(@PathVariable(name = "id") String id, @RequestBody(required = false) UpdateByIdService.Request request) {
-        updateByIdService.updateById(id, request);
+    @ConcurrencyLimited(Group.WRITES)
+    public ResponseEntity<Void> updateById(@PathVariable(name = "id") String id, @RequestBody(required = false) UpdateByIdService.Request request, 
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        updateByIdService.updateById(id, request, ifMatch);
         return ResponseEntity.noContent().build();
     }
 
 
     public record ResponseError(int status, String error) {}
 
+    private record ResponseErrorKey(int status, ErrMessage.MsgBase message) {}
+
+    /**
+     * one {@link ResponseError} per status and parameterless {@link ErrMessage}, built on first use and then shared, as records are immutable
+     */
+    private static final ConcurrentMap<ResponseErrorKey, ResponseError> RESPONSE_ERROR_OF_CONSTANT = new ConcurrentHashMap<>();
+
     /**
      * @implNote try to avoid this in a real project. Look for {@link ControllerAdvice} as a configuration handler for a better implementation.
      */
     @ExceptionHandler({Throwable.class})
 	public ResponseEntity<ResponseError> handleThrowableException(Throwable ex) {
+        return responseErrorOf(ex);
+	}
+
+    static ResponseEntity<ResponseError> responseErrorOf(Throwable ex) {
+
+        if (ex instanceof StacklessResponseStatusException stacklessException && stacklessException.getConstantMessage() != null) {
+            final ResponseError responseError = RESPONSE_ERROR_OF_CONSTANT.computeIfAbsent(
+                    new ResponseErrorKey(stacklessException.getStatusCode().value(), stacklessException.getConstantMessage()),
+                    key -> new ResponseError(key.status, key.message.get()));
+            return ResponseEntity.status(stacklessException.getStatusCode()).body(responseError);
+        }
 
 		HttpStatusCode httpStatus;
         String error;
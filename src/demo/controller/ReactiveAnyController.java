@@ -0,0 +1,99 @@
+package demo.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import demo.App;
+import demo.service.CreateService;
+import demo.service.GetByIdService;
+import demo.service.ListService;
+import demo.service.ReactiveAnyService;
+import demo.service.UpdateByIdService;
+import io.swagger.v3.oas.annotations.Operation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The CRUD endpoints of {@link AnyController} on WebFlux and R2DBC, served instead of it with the {@code reactive} profile.
+ * Same paths, records, headers and {@link AnyController.ResponseError}; the bulk, export and multi-get endpoints are not ported.
+ */
+@RestController
+@RequestMapping("/any-controller")
+@Profile(App.PROFILE_REACTIVE)
+public class ReactiveAnyController {
+
+    @Autowired ReactiveAnyService reactiveAnyService;
+
+    @Operation(summary = "Create a new entity")
+    @PostMapping
+    public Mono<ResponseEntity<CreateService.Response>> create(@RequestBody(required = false) CreateService.Request request) {
+        return reactiveAnyService.create(request).map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    @Operation(summary = "List all entities", description = "paginate by numPage or, for deep pages, by passing the cursor returned in the " + AnyController.HEADER_NEXT_CURSOR + " header")
+    @GetMapping
+    public Mono<ResponseEntity<List<ListService.ResponseItem>>> list(AnyController.RequestList request) {
+        return reactiveAnyService.list(listRequestOf(request)).map(response -> {
+            final ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok().header(AnyController.HEADER_HAS_NEXT, Boolean.toString(response.hasNext()));
+            if(response.nextCursor() != null) responseBuilder.header(AnyController.HEADER_NEXT_CURSOR, response.nextCursor());
+            return responseBuilder.body(response.items());
+        });
+    }
+
+    @Operation(summary = "Stream a page of entities", description = "one JSON entity per line (NDJSON), written as the rows are read and as fast as the client reads them; no paging headers")
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ListService.ResponseItem> streamList(AnyController.RequestList request) {
+        return reactiveAnyService.streamList(listRequestOf(request));
+    }
+
+    private static ListService.Request listRequestOf(AnyController.RequestList request) {
+        return new ListService.Request(request.numPage(), request.sizePage(), request.filter(), request.cursor());
+    }
+
+    @Operation(summary = "Get entity by id", description = "sends ETag and Last-Modified")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<GetByIdService.Response>> getById(@PathVariable(name = "id") String id) {
+        return reactiveAnyService.getById(id).map(response -> {
+            final GetByIdService.Version version = GetByIdService.versionOf(response);
+            return ResponseEntity.ok().eTag(version.etag()).lastModified(version.lastModified()).body(response);
+        });
+    }
+
+    @Operation(summary = "Delete entity by id")
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> removeById(@PathVariable(name = "id") String id) {
+        return reactiveAnyService.removeById(id).then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    @Operation(summary = "Update entity by id", description = "with If-Match (the ETag of GET by id) answers 412 when the entity was modified meanwhile")
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Void>> updateById(@PathVariable(name = "id") String id, @RequestBody(required = false) UpdateByIdService.Request request,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return reactiveAnyService.updateById(id, request, ifMatch).then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * same answer as {@link AnyController#handleThrowableException(Throwable)}
+     */
+    @ExceptionHandler({Throwable.class})
+    public ResponseEntity<AnyController.ResponseError> handleThrowableException(Throwable ex) {
+        return AnyController.responseErrorOf(ex);
+    }
+
+}
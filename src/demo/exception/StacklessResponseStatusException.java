@@ -0,0 +1,42 @@
+package demo.exception;
+
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.constant.ErrMessage;
+
+/**
+ * {@link ResponseStatusException} without stack trace, for the expected outcomes answered to the client (validation failures, ids not found):
+ * filling the stack trace of a request deep in Tomcat and Spring is most of the cost of throwing, and it is never logged.
+ * <p>A new instance is thrown every time, none is shared: callers such as Reactor's {@code block()} add suppressed exceptions to what they rethrow.</p>
+ */
+public class StacklessResponseStatusException extends ResponseStatusException {
+
+    private final transient ErrMessage.MsgBase constantMessage;
+
+    /**
+     * for the parameterless messages, whose answer can be built once (see {@link #getConstantMessage()})
+     */
+    public StacklessResponseStatusException(HttpStatusCode status, ErrMessage.MsgBase message) {
+        super(status, message.get());
+        this.constantMessage = message;
+    }
+
+    public StacklessResponseStatusException(HttpStatusCode status, String reason) {
+        super(status, reason);
+        this.constantMessage = null;
+    }
+
+    /**
+     * @return the parameterless message this exception was thrown with, {@code null} when its reason was formatted with parameters
+     */
+    public ErrMessage.MsgBase getConstantMessage() {
+        return constantMessage;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
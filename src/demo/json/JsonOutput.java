@@ -0,0 +1,231 @@
+package demo.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Growable UTF-8 buffer written by {@link ResponseJsonWriters}, reset and reused between responses instead of allocated per response.
+ * It only knows what the response records need: strings, longs, {@link LocalDateTime} and structural bytes.
+ * <p>Strings are escaped as Jackson does ({@code \"}, {@code \\}, the short escapes of {@code \b \t \n \f \r}, <code>&#92;u00XX</code> for other control characters),
+ * dates are written as {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} would, digit by digit, with no formatter or intermediate string.</p>
+ */
+public final class JsonOutput {
+
+    private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_FAST_PATH_YEAR = 9_999;
+    private static final int NANOS_DIGITS = 9;
+
+    // 0 for the ASCII chars written as they are, else the char after the backslash ('u' for the 6-byte escape)
+    private static final byte[] ESCAPE_OF_ASCII = new byte[0x80];
+    static {
+        for(int c = 0; c < 0x20; c++) ESCAPE_OF_ASCII[c] = 'u';
+        ESCAPE_OF_ASCII['"'] = '"';
+        ESCAPE_OF_ASCII['\\'] = '\\';
+        ESCAPE_OF_ASCII['\b'] = 'b';
+        ESCAPE_OF_ASCII['\t'] = 't';
+        ESCAPE_OF_ASCII['\n'] = 'n';
+        ESCAPE_OF_ASCII['\f'] = 'f';
+        ESCAPE_OF_ASCII['\r'] = 'r';
+    }
+
+    private byte[] buffer;
+    private int size;
+    // chars of the string being written, copied at once by String#getChars rather than read one charAt at a time
+    private char[] chars = new char[64];
+
+    public JsonOutput(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    public void reset() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return buffer.length;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(buffer, 0, size);
+    }
+
+    public JsonOutput writeByte(char asciiChar) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) asciiChar;
+        return this;
+    }
+
+    /**
+     * @param ascii already encoded, e.g. a field name with its quotes and colon
+     */
+    public JsonOutput writeRaw(byte[] ascii) {
+        ensureCapacity(ascii.length);
+        System.arraycopy(ascii, 0, buffer, size, ascii.length);
+        size += ascii.length;
+        return this;
+    }
+
+    public JsonOutput writeNull() {
+        return writeRaw(NULL);
+    }
+
+    public JsonOutput writeString(String value) {
+        if(value == null) return writeNull();
+        final int length = value.length();
+        // worst case of an ASCII string: every char escaped in 6 bytes
+        ensureCapacity(length * 6 + 2);
+        if(chars.length < length) chars = new char[Math.max(chars.length * 2, length)];
+        final char[] source = chars;
+        value.getChars(0, length, source, 0);
+        // locals instead of the fields, so the JIT keeps them in registers through the loop
+        final byte[] bytes = buffer;
+        int position = size;
+        bytes[position++] = '"';
+        for(int i = 0; i < length; i++) {
+            final char c = source[i];
+            if(c >= 0x80) {
+                size = position;
+                return writeStringTail(value, i);
+            }
+            final byte escape = ESCAPE_OF_ASCII[c];
+            if(escape == 0) {
+                bytes[position++] = (byte) c;
+            } else {
+                position = writeEscaped(bytes, position, c, escape);
+            }
+        }
+        bytes[position++] = '"';
+        size = position;
+        return this;
+    }
+
+    /**
+     * slower path, from the first non-ASCII char at {@code from} to the end of {@code value}
+     */
+    private JsonOutput writeStringTail(String value, int from) {
+        for(int i = from; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if(c >= 0x80) {
+                i = writeNonAscii(value, i) - 1;
+            } else if(ESCAPE_OF_ASCII[c] == 0) {
+                buffer[size++] = (byte) c;
+            } else {
+                size = writeEscaped(buffer, size, c, ESCAPE_OF_ASCII[c]);
+            }
+        }
+        ensureCapacity(1);
+        buffer[size++] = '"';
+        return this;
+    }
+
+    /**
+     * @return position after the escape
+     */
+    private static int writeEscaped(byte[] bytes, int position, char c, byte escape) {
+        bytes[position++] = '\\';
+        bytes[position++] = escape;
+        if(escape == 'u') {
+            bytes[position++] = '0';
+            bytes[position++] = '0';
+            bytes[position++] = HEX_DIGITS[c >> 4];
+            bytes[position++] = HEX_DIGITS[c & 0xF];
+        }
+        return position;
+    }
+
+    /**
+     * non-ASCII chars are never escaped, the run of them starting at {@code from} is encoded at once (surrogate pairs included)
+     * @return index of the first char after the run
+     */
+    private int writeNonAscii(String value, int from) {
+        int to = from;
+        while(to < value.length() && value.charAt(to) >= 0x80) to++;
+        final byte[] utf8 = value.substring(from, to).getBytes(StandardCharsets.UTF_8);
+        // keeps room for the escaped ASCII chars left, as reserved by writeString
+        ensureCapacity(utf8.length + (value.length() - to) * 6 + 1);
+        System.arraycopy(utf8, 0, buffer, size, utf8.length);
+        size += utf8.length;
+        return to;
+    }
+
+    public JsonOutput writeLong(long value) {
+        if(value == Long.MIN_VALUE) return writeRaw(Long.toString(value).getBytes(StandardCharsets.US_ASCII));
+        ensureCapacity(20);
+        if(value < 0) {
+            buffer[size++] = '-';
+            value = -value;
+        }
+        final int digits = digitsOf(value);
+        for(int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+        return this;
+    }
+
+    /**
+     * quoted {@code yyyy-MM-ddTHH:mm:ss} followed, when there are nanos, by as many fraction digits as needed
+     */
+    public JsonOutput writeLocalDateTime(LocalDateTime value) {
+        if(value == null) return writeNull();
+        if(value.getYear() < 0 || value.getYear() > MAX_FAST_PATH_YEAR) return writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        ensureCapacity(31);
+        buffer[size++] = '"';
+        writeDigits(value.getYear(), 4);
+        buffer[size++] = '-';
+        writeDigits(value.getMonthValue(), 2);
+        buffer[size++] = '-';
+        writeDigits(value.getDayOfMonth(), 2);
+        buffer[size++] = 'T';
+        writeDigits(value.getHour(), 2);
+        buffer[size++] = ':';
+        writeDigits(value.getMinute(), 2);
+        buffer[size++] = ':';
+        writeDigits(value.getSecond(), 2);
+        int nanos = value.getNano();
+        if(nanos > 0) {
+            int fractionDigits = NANOS_DIGITS;
+            while(nanos % 10 == 0) {
+                nanos /= 10;
+                fractionDigits--;
+            }
+            buffer[size++] = '.';
+            writeDigits(nanos, fractionDigits);
+        }
+        buffer[size++] = '"';
+        return this;
+    }
+
+    private void writeDigits(int value, int digits) {
+        for(int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+    }
+
+    private static int digitsOf(long value) {
+        int digits = 1;
+        for(long limit = 10; digits < 19 && value >= limit; limit *= 10) digits++;
+        return digits;
+    }
+
+    private void ensureCapacity(int extra) {
+        if(size + extra > buffer.length) buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+    }
+
+}
@@ -0,0 +1,26 @@
+package demo.json;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Answers {@code Accept: application/cbor} with CBOR (RFC 8949) for service-to-service callers, JSON staying the default when
+ * the client does not ask for it. Replaces the CBOR converter Spring MVC registers by default, which uses a plain mapper,
+ * with one built from the mapper settings of Spring Boot: same field names as the JSON, dates as ISO text, same {@code ResponseError}.
+ * <p>Field names are still sent in each object, the size gained over JSON comes from binary lengths and numbers, not from a schema.</p>
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ResponseCborHttpMessageConverter extends MappingJackson2CborHttpMessageConverter {
+
+    @Autowired
+    public ResponseCborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        super(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+
+}
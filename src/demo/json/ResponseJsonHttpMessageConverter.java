@@ -0,0 +1,122 @@
+package demo.json;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import demo.controller.AnyController;
+import demo.service.CreateService;
+import demo.service.GetByIdService;
+import demo.service.ListService;
+
+/**
+ * Writes the response records with {@link ResponseJsonWriters} instead of Jackson, into a {@link JsonOutput} taken from a shared pool,
+ * reused from response to response and sent with its {@code Content-Length}. Only writes: request bodies are still read by Jackson.
+ * <p>The pool is shared rather than per thread because request threads may be virtual, started for one request and never reused.
+ * It keeps at most {@code MAX_POOLED_OUTPUTS} buffers, and a buffer grown past {@code MAX_RETAINED_CAPACITY} by an unusually large
+ * response is dropped after it instead of returned.</p>
+ */
+public class ResponseJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    private static final int MAX_RETAINED_CAPACITY = 256 * 1024;
+    private static final int MAX_POOLED_OUTPUTS = 64;
+
+    private static final Map<Class<?>, ResponseJsonWriters.JsonWriter<?>> WRITER_BY_CLASS = Map.of(
+            CreateService.Response.class, (ResponseJsonWriters.JsonWriter<CreateService.Response>) ResponseJsonWriters::writeCreateResponse,
+            GetByIdService.Response.class, (ResponseJsonWriters.JsonWriter<GetByIdService.Response>) ResponseJsonWriters::writeGetByIdResponse,
+            ListService.ResponseItem.class, (ResponseJsonWriters.JsonWriter<ListService.ResponseItem>) ResponseJsonWriters::writeResponseItem,
+            AnyController.ResponseError.class, (ResponseJsonWriters.JsonWriter<AnyController.ResponseError>) ResponseJsonWriters::writeResponseError
+        );
+    private static final ResponseJsonWriters.JsonWriter<List<ListService.ResponseItem>> RESPONSE_ITEMS_WRITER = ResponseJsonWriters::writeResponseItems;
+
+    private final BlockingQueue<JsonOutput> outputs = new ArrayBlockingQueue<>(MAX_POOLED_OUTPUTS);
+
+    public ResponseJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return WRITER_BY_CLASS.containsKey(clazz);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return supports(clazz) || List.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : List.of();
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return writerOf(type, clazz) != null && canWrite(mediaType);
+    }
+
+    /**
+     * @param type declared type of the body, e.g. {@code List<ResponseItem>}, or {@code null}
+     * @return {@code null} when the body is not one of the response records
+     */
+    static ResponseJsonWriters.JsonWriter<?> writerOf(Type type, Class<?> clazz) {
+        if(clazz != null && WRITER_BY_CLASS.containsKey(clazz)) return WRITER_BY_CLASS.get(clazz);
+        if(type instanceof Class<?> typeClass && WRITER_BY_CLASS.containsKey(typeClass)) return WRITER_BY_CLASS.get(typeClass);
+        if(type instanceof ParameterizedType parameterizedType
+                && parameterizedType.getRawType() == List.class
+                && parameterizedType.getActualTypeArguments()[0] == ListService.ResponseItem.class) return RESPONSE_ITEMS_WRITER;
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        final ResponseJsonWriters.JsonWriter<Object> writer = (ResponseJsonWriters.JsonWriter<Object>) writerOf(type, value.getClass());
+        final JsonOutput out = takeOutput();
+        try {
+            writer.write(value, out);
+            outputMessage.getHeaders().setContentLength(out.size());
+            out.writeTo(outputMessage.getBody());
+        } finally {
+            if(out.capacity() <= MAX_RETAINED_CAPACITY) outputs.offer(out);
+        }
+    }
+
+    private JsonOutput takeOutput() {
+        final JsonOutput pooled = outputs.poll();
+        if(pooled == null) return new JsonOutput(INITIAL_CAPACITY);
+        pooled.reset();
+        return pooled;
+    }
+
+    int pooledOutputs() {
+        return outputs.size();
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("only writes responses", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("only writes responses", inputMessage);
+    }
+
+}
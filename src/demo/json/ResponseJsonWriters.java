@@ -0,0 +1,70 @@
+package demo.json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import demo.controller.AnyController;
+import demo.service.CreateService;
+import demo.service.GetByIdService;
+import demo.service.ListService;
+
+/**
+ * JSON writers of the records answered by {@link AnyController}, written out by hand as a generator would emit them:
+ * fields in record component order as Jackson writes them, names pre-encoded, no reflection nor per-field serializer lookup.
+ * Components Jackson ignores, such as {@link GetByIdService.Response#version()} which is only sent as the ETag, are not written either.
+ * A field added to one of these records must be added here too, {@code ResponseJsonWritersTest} compares every writer with Jackson.
+ */
+public final class ResponseJsonWriters {
+
+    @FunctionalInterface
+    public interface JsonWriter<T> {
+        void write(T value, JsonOutput out);
+    }
+
+    private static final byte[] FIELD_ID_FIRST = ascii("{\"id\":");
+    private static final byte[] FIELD_NAME = ascii(",\"name\":");
+    private static final byte[] FIELD_CREATED = ascii(",\"created\":");
+    private static final byte[] FIELD_LAST_UPDATED = ascii(",\"lastUpdated\":");
+    private static final byte[] FIELD_STATUS_FIRST = ascii("{\"status\":");
+    private static final byte[] FIELD_ERROR = ascii(",\"error\":");
+
+    private ResponseJsonWriters() {}
+
+    public static void writeCreateResponse(CreateService.Response value, JsonOutput out) {
+        out.writeRaw(FIELD_ID_FIRST).writeString(value.id()).writeByte('}');
+    }
+
+    public static void writeGetByIdResponse(GetByIdService.Response value, JsonOutput out) {
+        out.writeRaw(FIELD_ID_FIRST).writeString(value.id())
+            .writeRaw(FIELD_NAME).writeString(value.name())
+            .writeRaw(FIELD_CREATED).writeLocalDateTime(value.created())
+            .writeRaw(FIELD_LAST_UPDATED).writeLocalDateTime(value.lastUpdated())
+            .writeByte('}');
+    }
+
+    public static void writeResponseItem(ListService.ResponseItem value, JsonOutput out) {
+        out.writeRaw(FIELD_ID_FIRST).writeString(value.id())
+            .writeRaw(FIELD_NAME).writeString(value.name())
+            .writeByte('}');
+    }
+
+    public static void writeResponseItems(List<ListService.ResponseItem> values, JsonOutput out) {
+        out.writeByte('[');
+        for(int i = 0; i < values.size(); i++) {
+            if(i > 0) out.writeByte(',');
+            writeResponseItem(values.get(i), out);
+        }
+        out.writeByte(']');
+    }
+
+    public static void writeResponseError(AnyController.ResponseError value, JsonOutput out) {
+        out.writeRaw(FIELD_STATUS_FIRST).writeLong(value.status())
+            .writeRaw(FIELD_ERROR).writeString(value.error())
+            .writeByte('}');
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
@@ -0,0 +1,132 @@
+package demo.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit adapted to the measured latency, after TCP Vegas: {@code rttNoLoad}, the latency of a request that did not queue,
+ * gives {@code limit * (1 - rttNoLoad / rtt)} as an estimate of how many requests are queued behind the bottleneck (connection pool,
+ * database locks). Few queued, the limit grows; more than {@code beta} queued, it shrinks; a failed request (5xx) shrinks it too.
+ * The limit only grows while at least half of it is in use, an idle service learns nothing.
+ * <p>Under a lasting saturation every request queues, so {@code rttNoLoad} cannot be read from the normal traffic: every
+ * {@code PROBE_MULTIPLIER * limit} samples the limit drops to {@code PROBE_LIMIT} until {@code PROBE_SAMPLES} requests completed
+ * without queue, whose lowest latency becomes {@code rttNoLoad}, as the ProbeRTT of TCP BBR or the min RTT window of Envoy's
+ * adaptive concurrency filter do. A lasting change of the baseline (bigger table, slower disk) is learned at the next probe.</p>
+ * <p>Admission is a lock-free compare-and-set on the in-flight count; only the limit update on release is synchronized.</p>
+ */
+public final class AdaptiveConcurrencyLimit {
+
+    static final int MIN_LIMIT = 1;
+    static final int PROBE_LIMIT = 3;
+    static final int PROBE_SAMPLES = 10;
+    static final int PROBE_MULTIPLIER = 30;
+
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    // only read or written while holding the monitor of this
+    private long rttNoLoadNanos;
+    private long samplesUntilProbe;
+    private boolean probing;
+    private int limitBeforeProbe;
+    private int probeSamplesLeft;
+    private long probeMinRttNanos;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int maxLimit) {
+        if(initialLimit < MIN_LIMIT || initialLimit > maxLimit)
+            throw new IllegalArgumentException("initial limit must be between " + MIN_LIMIT + " and the max limit " + maxLimit + ", was " + initialLimit);
+        this.limit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.samplesUntilProbe = (long) PROBE_MULTIPLIER * initialLimit;
+    }
+
+    /**
+     * @return false, counted as rejected, when the limit is reached; otherwise {@link #release(long, boolean)} must follow
+     */
+    public boolean tryAcquire() {
+        while(true) {
+            final int current = inFlight.get();
+            if(current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if(inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * @param rttNanos time the request took once admitted
+     * @param failed the request failed on the server side (5xx), taken as a sign of overload whatever its latency
+     */
+    public void release(long rttNanos, boolean failed) {
+        final int inFlightBeforeRelease = inFlight.getAndDecrement();
+        update(Math.max(1, rttNanos), inFlightBeforeRelease, failed);
+    }
+
+    private synchronized void update(long rttNanos, int inFlightBeforeRelease, boolean failed) {
+        if(probing) {
+            probe(rttNanos, inFlightBeforeRelease);
+            return;
+        }
+        if(rttNoLoadNanos == 0 || rttNanos < rttNoLoadNanos) rttNoLoadNanos = rttNanos;
+        if(--samplesUntilProbe <= 0) {
+            startProbe();
+            return;
+        }
+        final int current = limit;
+        final int log = log10(current);
+        int next = current;
+        if(failed) {
+            next = current - log;
+        } else if(inFlightBeforeRelease * 2 >= current) {
+            final int queued = (int) Math.ceil(current * (1 - (double) rttNoLoadNanos / rttNanos));
+            if(queued <= log) next = current + 6 * log;
+            else if(queued < 3 * log) next = current + log;
+            else if(queued > 6 * log) next = current - log;
+        }
+        limit = Math.max(MIN_LIMIT, Math.min(maxLimit, next));
+    }
+
+    private void startProbe() {
+        probing = true;
+        limitBeforeProbe = limit;
+        limit = Math.min(limit, PROBE_LIMIT);
+        probeSamplesLeft = PROBE_SAMPLES;
+        probeMinRttNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * requests completing while more than {@code PROBE_LIMIT} are in flight were admitted before the probe and queued, they are skipped
+     */
+    private void probe(long rttNanos, int inFlightBeforeRelease) {
+        if(inFlightBeforeRelease > PROBE_LIMIT) return;
+        probeMinRttNanos = Math.min(probeMinRttNanos, rttNanos);
+        if(--probeSamplesLeft > 0) return;
+        rttNoLoadNanos = probeMinRttNanos;
+        limit = limitBeforeProbe;
+        samplesUntilProbe = (long) PROBE_MULTIPLIER * limitBeforeProbe;
+        probing = false;
+    }
+
+    /**
+     * at least 1, so that small limits still move
+     */
+    private static int log10(int value) {
+        return Math.max(1, (int) Math.log10(value));
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+}
@@ -0,0 +1,126 @@
+package demo.limit;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Load shedding in front of the {@link ConcurrencyLimited} handler methods, enabled with {@code app.concurrency-limit-enabled=true}:
+ * a request over the {@link AdaptiveConcurrencyLimit} of its handler method is answered 503 with {@code Retry-After} right away,
+ * before binding its body, instead of queueing in Tomcat behind a saturated connection pool.
+ * The rejection is thrown to the handler's {@code @ExceptionHandler}, so it is answered as the usual {@code ResponseError}.
+ * <p>Each handler method adapts its own limit: a Vegas limit learns {@code rttNoLoad} from its fastest request, so sharing it
+ * between a microsecond cache hit and a millisecond list would read every list as queued and collapse the limit of both.
+ * The {@link ConcurrencyLimited.Group} of the method only picks the configuration: limits start at
+ * {@code app.concurrency-limit-reads-initial} / {@code app.concurrency-limit-writes-initial} and never exceed
+ * {@code app.concurrency-limit-reads-max} / {@code app.concurrency-limit-writes-max}.
+ * Metrics tagged {@code group=reads|writes} and {@code endpoint=Controller.method}: {@code concurrency.limit},
+ * {@code concurrency.in.flight} and {@code concurrency.rejected}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.concurrency-limit-enabled", havingValue = "true")
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    static final String RETRY_AFTER_SECONDS = "1";
+    private static final String ATTRIBUTE_LIMIT = ConcurrencyLimitInterceptor.class.getName() + ".limit";
+    private static final String ATTRIBUTE_START_NANOS = ConcurrencyLimitInterceptor.class.getName() + ".startNanos";
+
+    private final Map<Method, AdaptiveConcurrencyLimit> limitByMethod = new ConcurrentHashMap<>();
+    private final int readsInitialLimit;
+    private final int readsMaxLimit;
+    private final int writesInitialLimit;
+    private final int writesMaxLimit;
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitInterceptor(
+            @Value("${app.concurrency-limit-reads-initial}") int readsInitialLimit,
+            @Value("${app.concurrency-limit-reads-max}") int readsMaxLimit,
+            @Value("${app.concurrency-limit-writes-initial}") int writesInitialLimit,
+            @Value("${app.concurrency-limit-writes-max}") int writesMaxLimit,
+            @Autowired MeterRegistry meterRegistry) {
+        // fails at startup, not at the first request, on a misconfigured limit
+        new AdaptiveConcurrencyLimit(readsInitialLimit, readsMaxLimit);
+        new AdaptiveConcurrencyLimit(writesInitialLimit, writesMaxLimit);
+        this.readsInitialLimit = readsInitialLimit;
+        this.readsMaxLimit = readsMaxLimit;
+        this.writesInitialLimit = writesInitialLimit;
+        this.writesMaxLimit = writesMaxLimit;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    /**
+     * @return the limit of a {@link ConcurrencyLimited} handler method, created with its metrics on first use; null for any other method
+     */
+    public AdaptiveConcurrencyLimit limitOf(Method method) {
+        final AdaptiveConcurrencyLimit limit = limitByMethod.get(method);
+        if(limit != null) return limit;
+        final ConcurrencyLimited concurrencyLimited = method.getAnnotation(ConcurrencyLimited.class);
+        if(concurrencyLimited == null) return null;
+        return limitByMethod.computeIfAbsent(method, m -> newLimit(m, concurrencyLimited.value()));
+    }
+
+    private AdaptiveConcurrencyLimit newLimit(Method method, ConcurrencyLimited.Group group) {
+        final AdaptiveConcurrencyLimit limit = group == ConcurrencyLimited.Group.READS
+            ? new AdaptiveConcurrencyLimit(readsInitialLimit, readsMaxLimit)
+            : new AdaptiveConcurrencyLimit(writesInitialLimit, writesMaxLimit);
+        final String groupTag = group.name().toLowerCase();
+        final String endpointTag = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        Gauge.builder("concurrency.limit", limit, AdaptiveConcurrencyLimit::limit)
+            .tag("group", groupTag).tag("endpoint", endpointTag).register(meterRegistry);
+        Gauge.builder("concurrency.in.flight", limit, AdaptiveConcurrencyLimit::inFlight)
+            .tag("group", groupTag).tag("endpoint", endpointTag).register(meterRegistry);
+        FunctionCounter.builder("concurrency.rejected", limit, AdaptiveConcurrencyLimit::rejected)
+            .tag("group", groupTag).tag("endpoint", endpointTag).register(meterRegistry);
+        return limit;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if(!(handler instanceof HandlerMethod handlerMethod)) return true;
+        final AdaptiveConcurrencyLimit limit = limitOf(handlerMethod.getMethod());
+        if(limit == null) return true;
+        if(!limit.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            throw new StacklessResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ErrMessage.CONCURRENCY_LIMIT_EXCEEDED);
+        }
+        request.setAttribute(ATTRIBUTE_LIMIT, limit);
+        request.setAttribute(ATTRIBUTE_START_NANOS, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * also called when the handler threw, after its {@code @ExceptionHandler} set the status
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if(!(request.getAttribute(ATTRIBUTE_LIMIT) instanceof AdaptiveConcurrencyLimit limit)) return;
+        request.removeAttribute(ATTRIBUTE_LIMIT);
+        final long rttNanos = System.nanoTime() - (long) request.getAttribute(ATTRIBUTE_START_NANOS);
+        limit.release(rttNanos, ex != null || response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+    }
+
+}
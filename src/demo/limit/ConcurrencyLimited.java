@@ -0,0 +1,25 @@
+package demo.limit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method whose requests are admitted by an {@link AdaptiveConcurrencyLimit} of the method, configured by its {@link Group},
+ * when {@code app.concurrency-limit-enabled=true} (see {@link ConcurrencyLimitInterceptor})
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyLimited {
+
+    /**
+     * reads and writes hold different locks and connections for different times, each group has its own initial and max limits
+     */
+    enum Group { READS, WRITES }
+
+    Group value();
+
+}
@@ -0,0 +1,32 @@
+package demo.metrics;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/latency}: p50, p90, p99, p999 and max of every {@link LatencyHistograms} name over the last complete interval
+ */
+@Component
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    public static final String UNIT = "microseconds";
+
+    private final LatencyHistograms latencyHistograms;
+
+    public LatencyEndpoint(@Autowired LatencyHistograms latencyHistograms) {
+        this.latencyHistograms = latencyHistograms;
+    }
+
+    public record Response(long intervalSeconds, String unit, Map<String, LatencyHistograms.Snapshot> histograms) {}
+
+    @ReadOperation
+    public Response latency() {
+        return new Response(LatencyHistograms.SNAPSHOT_INTERVAL_SECONDS, UNIT, latencyHistograms.snapshots());
+    }
+
+}
@@ -0,0 +1,108 @@
+package demo.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process HDR latency histograms by name, one per {@code AnyController} endpoint ({@link LatencyInterceptor})
+ * and per service step (e.g. {@code CreateService.createEntity}), read at {@code /actuator/latency} ({@link LatencyEndpoint}).
+ * <p>Each name records into an HdrHistogram {@link Recorder}: recording is lock-free and costs a few tens of nanoseconds,
+ * values are kept in nanoseconds with 2 significant digits up to {@link #HIGHEST_TRACKABLE_NANOS} (longer ones are recorded as that).
+ * Every {@link #SNAPSHOT_INTERVAL_SECONDS} seconds a background thread swaps each recorder's histogram for an empty one
+ * and keeps the percentiles of the interval just ended, so readers never contend with the requests being recorded.</p>
+ */
+@Component
+public class LatencyHistograms {
+
+    static final long SNAPSHOT_INTERVAL_SECONDS = 10;
+    static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    /**
+     * latencies of one interval in microseconds, all zero when nothing was recorded
+     */
+    public record Snapshot(long count, double p50, double p90, double p99, double p999, double max) {}
+
+    private static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0);
+
+    private static final class Latencies {
+        final Recorder recorder = new Recorder(1, HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        // only read or written by the snapshot thread
+        Histogram recycled;
+        volatile Snapshot lastInterval = EMPTY;
+    }
+
+    private final ConcurrentMap<String, Latencies> latenciesByName = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService snapshotExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "latency-histograms-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LatencyHistograms() {
+        snapshotExecutor.scheduleAtFixedRate(this::snapshot, SNAPSHOT_INTERVAL_SECONDS, SNAPSHOT_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * records the time elapsed since {@code startNanos} under {@code name}
+     * @param startNanos {@link System#nanoTime()} at the start of what is measured
+     * @return {@link System#nanoTime()} now, so consecutive steps are measured with one clock read each
+     */
+    public long record(String name, long startNanos) {
+        final long nowNanos = System.nanoTime();
+        Latencies latencies = latenciesByName.get(name);
+        if(latencies == null) latencies = latenciesByName.computeIfAbsent(name, key -> new Latencies());
+        latencies.recorder.recordValue(Math.min(nowNanos - startNanos, HIGHEST_TRACKABLE_NANOS));
+        return nowNanos;
+    }
+
+    /**
+     * @return percentiles of the last complete interval by name, sorted by name
+     */
+    public Map<String, Snapshot> snapshots() {
+        final Map<String, Snapshot> snapshotByName = new TreeMap<>();
+        latenciesByName.forEach((name, latencies) -> snapshotByName.put(name, latencies.lastInterval));
+        return snapshotByName;
+    }
+
+    /**
+     * ends the current interval of every name, synchronized as tests call it besides the snapshot thread
+     */
+    synchronized void snapshot() {
+        for(Latencies latencies : latenciesByName.values()) {
+            latencies.recycled = latencies.recorder.getIntervalHistogram(latencies.recycled);
+            latencies.lastInterval = snapshotOf(latencies.recycled);
+        }
+    }
+
+    static Snapshot snapshotOf(Histogram histogram) {
+        if(histogram.getTotalCount() == 0) return EMPTY;
+        return new Snapshot(
+                histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MICRO,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MICRO,
+                histogram.getMaxValue() / NANOS_PER_MICRO
+            );
+    }
+
+    @PreDestroy
+    void stop() {
+        snapshotExecutor.shutdownNow();
+    }
+
+}
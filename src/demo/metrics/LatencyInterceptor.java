@@ -0,0 +1,62 @@
+package demo.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records the latency of every handler method in {@link LatencyHistograms}, named after the controller and method (e.g. {@code AnyController.getById}).
+ * It runs before the other interceptors, so requests rejected by them (e.g. by {@link demo.limit.ConcurrencyLimitInterceptor}) are measured too;
+ * an async request is measured from its first dispatch to its completion.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class LatencyInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final String ATTRIBUTE_START_NANOS = LatencyInterceptor.class.getName() + ".startNanos";
+
+    private final LatencyHistograms latencyHistograms;
+    private final Map<Method, String> nameByMethod = new ConcurrentHashMap<>();
+
+    public LatencyInterceptor(@Autowired LatencyHistograms latencyHistograms) {
+        this.latencyHistograms = latencyHistograms;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this).order(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if(handler instanceof HandlerMethod && request.getAttribute(ATTRIBUTE_START_NANOS) == null)
+            request.setAttribute(ATTRIBUTE_START_NANOS, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if(!(handler instanceof HandlerMethod handlerMethod) || !(request.getAttribute(ATTRIBUTE_START_NANOS) instanceof Long startNanos)) return;
+        latencyHistograms.record(nameOf(handlerMethod), startNanos);
+    }
+
+    /**
+     * the {@link HandlerMethod} is a new instance per request, its {@link Method} is not
+     */
+    String nameOf(HandlerMethod handlerMethod) {
+        return nameByMethod.computeIfAbsent(handlerMethod.getMethod(), method -> method.getDeclaringClass().getSimpleName() + "." + method.getName());
+    }
+
+}
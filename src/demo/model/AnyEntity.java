@@ -4,10 +4,9 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 @Entity
 @Table(name = "eny_entity")
@@ -15,7 +14,7 @@ public class AnyEntity {
 
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private String id;
 
     @Column(name = "name", nullable = false)
@@ -27,6 +26,13 @@ public class AnyEntity {
     @Column(name = "last_updated", nullable = false)
     private LocalDateTime lastUpdated;
 
+    /**
+     * incremented by every update, exposed as the ETag of the entity. Primitive so that a new entity is still told apart by its null id
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public String getId() {
         return id;
     }
@@ -59,4 +65,12 @@ public class AnyEntity {
         this.lastUpdated = lastUpdated;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
 }
@@ -0,0 +1,55 @@
+package demo.model;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+/**
+ * UUID version 7 (RFC 9562): 48 bits of unix epoch milliseconds, 12 bits of sequence within the millisecond
+ * (the "replace leftmost random bits with increased clock precision" method) and 62 random bits.
+ * <p>Ids are strictly increasing across all threads of the JVM, also as lowercase strings, so {@code id DESC} is newest first.
+ * The last timestamp and sequence are one {@link AtomicLong} updated by compare-and-set, no lock is taken.
+ * More than 4096 ids in one millisecond, or the clock going back, borrow the next milliseconds instead of breaking the order.</p>
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long VERSION_7 = 0x7L << SEQUENCE_BITS;
+    private static final long VARIANT_IETF = 0x8000000000000000L;
+
+    private static final AtomicLong LAST_TIMESTAMP_AND_SEQUENCE = new AtomicLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return nextUuid().toString();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+
+    public static UUID nextUuid() {
+        return nextUuid(System.currentTimeMillis(), LAST_TIMESTAMP_AND_SEQUENCE);
+    }
+
+    static UUID nextUuid(long unixMillis, AtomicLong lastTimestampAndSequence) {
+        final long timestampAndSequence = lastTimestampAndSequence.updateAndGet(last -> Math.max(last + 1, unixMillis << SEQUENCE_BITS));
+        final long timestamp = timestampAndSequence >>> SEQUENCE_BITS;
+        final long sequence = timestampAndSequence & ((1L << SEQUENCE_BITS) - 1);
+        final long mostSignificantBits = timestamp << 16 | VERSION_7 | sequence;
+        final long leastSignificantBits = VARIANT_IETF | ThreadLocalRandom.current().nextLong() >>> 2;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    static long unixMillisOf(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+}
@@ -1,31 +1,110 @@
 package demo.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import demo.model.AnyEntity;
 
 @Repository
 public interface AnyRepository  extends CrudRepository<AnyEntity,String>, JpaSpecificationExecutor<AnyEntity>{
 
-    default List<AnyEntity> listByFilter(Integer numPage, Integer sizePage, String filter){
+    /**
+     * returns a {@link Slice} (reads sizePage + 1 rows to know if there is a next page) so no {@code count(*)} query is issued.
+     * {@code type} can be {@link AnyEntity} or a DTO whose constructor parameters are entity attributes, in this case only those columns are selected
+     */
+    default <T> Slice<T> listByFilter(Integer numPage, Integer sizePage, String filter, Class<T> type){
+        final Pageable pageable = PageRequest.of(numPage, sizePage, Sort.by(Direction.DESC, "id"));
+        if(hasFilter(filter)) return findByNameLike("%" + filter + "%", pageable, type);
+        return findAllBy(pageable, type);
+    }
+
+    /**
+     * keyset pagination: seeks straight past {@code lastId} instead of skipping {@code numPage * sizePage} rows
+     */
+    default <T> Slice<T> listByFilterAfterId(String lastId, Integer sizePage, String filter, Class<T> type){
+        final Pageable pageable = PageRequest.of(0, sizePage, Sort.by(Direction.DESC, "id"));
+        if(hasFilter(filter)) return findByIdLessThanAndNameLike(lastId, "%" + filter + "%", pageable, type);
+        return findByIdLessThan(lastId, pageable, type);
+    }
+
+    <T> Slice<T> findAllBy(Pageable pageable, Class<T> type);
+
+    <T> Slice<T> findByNameLike(String name, Pageable pageable, Class<T> type);
+
+    <T> Slice<T> findByIdLessThan(String id, Pageable pageable, Class<T> type);
+
+    <T> Slice<T> findByIdLessThanAndNameLike(String id, String name, Pageable pageable, Class<T> type);
 
-        final Specification<AnyEntity> filterSpecification = (root, query, criteriaBuilder) -> {
-            if(filter != null && !filter.trim().isBlank() ){
-                return criteriaBuilder.like(root.get("name"), "%" + filter + "%");
-            }else{
-                return criteriaBuilder.conjunction();
-            }
-        };
+    <T> List<T> findByIdIn(Collection<String> ids, Sort sort, Class<T> type);
 
-        return this.findAll(filterSpecification, PageRequest.of(numPage, sizePage, Sort.by(Direction.DESC, "id"))).getContent();
+    /**
+     * selects only the columns of {@code type}, e.g. {@code version} and {@code lastUpdated} to answer conditional requests
+     */
+    <T> Optional<T> findVersionById(String id, Class<T> type);
+
+    /**
+     * one statement: the {@code UPDATE} is read through H2's {@code FINAL TABLE} (PostgreSQL would use {@code RETURNING}),
+     * so the version it wrote comes back without selecting the row again
+     * @return version written, empty when {@code id} does not exist
+     */
+    @Transactional
+    @Query(value = "select version from final table (update eny_entity set name = :name, last_updated = :lastUpdated, version = version + 1 where id = :id)", nativeQuery = true)
+    Optional<Long> updateNameById(@Param("id") String id, @Param("name") String name, @Param("lastUpdated") LocalDateTime lastUpdated);
+
+    /**
+     * compare-and-set on {@code version}: no lock is taken before the update, a concurrent writer simply makes it match no row.
+     * Returns the version written as {@link #updateNameById(String, String, LocalDateTime)} does
+     * @return version written, empty when {@code id} does not exist or its version is none of {@code versions}
+     */
+    @Transactional
+    @Query(value = "select version from final table (update eny_entity set name = :name, last_updated = :lastUpdated, version = version + 1 where id = :id and version in :versions)", nativeQuery = true)
+    Optional<Long> updateNameByIdAndVersionIn(@Param("id") String id, @Param("versions") Collection<Long> versions, @Param("name") String name, @Param("lastUpdated") LocalDateTime lastUpdated);
+
+    /**
+     * unlike {@link #deleteById(Object)} the entity is not loaded before being deleted
+     * @return rows deleted, 0 when {@code id} does not exist
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from AnyEntity anyEntity where anyEntity.id = :id")
+    int deleteRowById(@Param("id") String id);
+
+    @Query("select anyEntity.id from AnyEntity anyEntity where anyEntity.id in :ids")
+    List<String> findIdsByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * one set-based {@code DELETE ... WHERE id IN (...)}, no entity is loaded
+     * @return rows deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from AnyEntity anyEntity where anyEntity.id in :ids")
+    int deleteRowsByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * wildcards and escape char of {@code like}, which {@link #listByFilter(Integer, Integer, String, Class)} passes unescaped:
+     * a filter {@code "%"} matches every name
+     */
+    static boolean hasLikeSpecialChar(String filter){
+        return filter.chars().anyMatch(c -> c == '%' || c == '_' || c == '\\');
+    }
 
+    private static boolean hasFilter(String filter){
+        return filter != null && !filter.trim().isBlank();
     }
 }
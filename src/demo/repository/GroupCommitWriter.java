@@ -0,0 +1,188 @@
+package demo.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.model.AnyEntity;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Group commit of single creates, enabled with {@code app.group-commit-enabled=true}.
+ * Callers of {@link #save(AnyEntity)} queue their entity and wait; one writer thread takes what is queued and inserts it
+ * as JDBC batches in a single transaction once it has {@code app.group-commit-max-items} entities or
+ * {@code app.group-commit-max-delay-micros} passed since the first one, so concurrent creates share one commit.
+ * <p>When the group transaction fails every entity is saved again alone, so only the callers whose entity fails get the error.
+ * <p>At most {@code app.group-commit-max-queued} entities wait for the writer, later callers are answered 503 right away. A caller whose entity
+ * is still queued after {@code app.group-commit-timeout-millis} is answered 503 and its entity is never written; once the writer took it,
+ * the caller waits for the outcome of its group, so a caller never fails for an entity that is then committed without it.
+ * Once the writer stopped, or died of an {@link Error}, every caller waiting gets an error and later saves are rejected right away.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.group-commit-enabled", havingValue = "true")
+public class GroupCommitWriter {
+
+    private record PendingSave(AnyEntity anyEntity, CompletableFuture<AnyEntity> saved) {}
+
+    private final int maxItems;
+    private final long maxDelayNanos;
+    private final long timeoutMillis;
+    private final AnyRepository anyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingSave> queue;
+    private final Thread writer = new Thread(this::writeGroups, "group-commit-writer");
+    private volatile boolean stopped = false;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    public GroupCommitWriter(
+            @Value("${app.group-commit-max-items}") int maxItems,
+            @Value("${app.group-commit-max-delay-micros}") long maxDelayMicros,
+            @Value("${app.group-commit-timeout-millis}") long timeoutMillis,
+            @Value("${app.group-commit-max-queued}") int maxQueued,
+            @Autowired AnyRepository anyRepository,
+            @Autowired TransactionTemplate transactionTemplate) {
+        this.maxItems = maxItems;
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.timeoutMillis = timeoutMillis;
+        this.queue = new LinkedBlockingQueue<>(maxQueued);
+        this.anyRepository = anyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        stopped = true;
+        writer.interrupt();
+        writer.join();
+        failQueued(new CancellationException("group commit writer stopped"));
+    }
+
+    /**
+     * blocks until the group holding {@code anyEntity} is committed
+     * @return {@code anyEntity} with its generated id
+     * @throws StacklessResponseStatusException 503 when the queue is full, or when the writer did not take {@code anyEntity}
+     * within {@code app.group-commit-timeout-millis}, in both cases it is not written
+     * @throws IllegalStateException when the writer is stopped
+     */
+    public AnyEntity save(AnyEntity anyEntity) {
+        if(stopped) throw new IllegalStateException("group commit writer stopped");
+        final PendingSave pendingSave = new PendingSave(anyEntity, new CompletableFuture<>());
+        if(!queue.offer(pendingSave))
+            throw new StacklessResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ErrMessage.GROUP_COMMIT_QUEUE_FULL);
+        // the writer may have stopped and drained the queue between the check above and the offer
+        if(stopped && queue.remove(pendingSave)) throw new IllegalStateException("group commit writer stopped");
+        try {
+            try {
+                return pendingSave.saved.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // only a save the writer has not taken yet can be given up without knowing whether it is committed
+                if(queue.remove(pendingSave))
+                    throw new StacklessResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ErrMessage.GROUP_COMMIT_NOT_STARTED_IN_TIME);
+                return pendingSave.saved.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted waiting for group commit", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * {@link #saveGroup(List)} handles every {@link RuntimeException}, so only an interrupt or an {@link Error} ends the loop;
+     * either way no caller is left waiting on the group taken or on what is still queued
+     */
+    private void writeGroups() {
+        final List<PendingSave> group = new ArrayList<>(maxItems);
+        Throwable failure = new CancellationException("group commit writer stopped");
+        try {
+            while(!Thread.currentThread().isInterrupted()) {
+                takeGroup(group);
+                saveGroup(group);
+                group.clear();
+            }
+        } catch (InterruptedException e) {
+            // stopped
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            stopped = true;
+            final Throwable groupFailure = failure;
+            group.forEach(pendingSave -> pendingSave.saved.completeExceptionally(groupFailure));
+            failQueued(failure);
+        }
+    }
+
+    int queuedSaves() {
+        return queue.size();
+    }
+
+    private void failQueued(Throwable failure) {
+        for(PendingSave pendingSave = queue.poll(); pendingSave != null; pendingSave = queue.poll()) {
+            pendingSave.saved.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * waits for a first entity, then for more until the group is full or the delay since the first one is over
+     */
+    private void takeGroup(List<PendingSave> group) throws InterruptedException {
+        group.add(queue.take());
+        final long deadline = System.nanoTime() + maxDelayNanos;
+        queue.drainTo(group, maxItems - group.size());
+        while(group.size() < maxItems) {
+            final PendingSave next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if(next == null) return;
+            group.add(next);
+            queue.drainTo(group, maxItems - group.size());
+        }
+    }
+
+    void saveGroup(List<PendingSave> group) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                anyRepository.saveAll(group.stream().map(PendingSave::anyEntity).toList());
+                entityManager.flush();
+                entityManager.clear();
+            });
+            group.forEach(pendingSave -> pendingSave.saved.complete(pendingSave.anyEntity));
+        } catch (RuntimeException e) {
+            if(group.size() == 1) {
+                group.get(0).saved.completeExceptionally(e);
+                return;
+            }
+            // ids generated by the rolled back persist were never inserted, they are generated again on the retry
+            group.forEach(pendingSave -> pendingSave.anyEntity.setId(null));
+            group.forEach(pendingSave -> saveGroup(List.of(pendingSave)));
+        }
+    }
+
+}
@@ -0,0 +1,275 @@
+package demo.repository;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory trigram index over {@code AnyEntity.name} answering substring filters ({@code like '%filter%'}) without a full table scan.
+ * Every entity gets an internal int doc id and each trigram keeps a sorted {@code int[]} posting list of doc ids.
+ * Candidates found by intersecting posting lists are always verified against the indexed name, so results are exact.
+ * <p>Writes reach the index after their commit, in no particular order: each name is indexed with the {@code version} of its row
+ * and a write older than the indexed one is ignored, as is a write of an id removed lately.</p>
+ */
+@Component
+public class NameTrigramIndex {
+
+    static final int GRAM_SIZE = 3;
+    private static final int LOAD_SIZE_PAGE = 10_000;
+    /**
+     * twice the ids of the largest bulk delete by ids (50 000), so the first id of such a delete is still remembered once it is done;
+     * a delete by filter goes chunk by chunk, each chunk's late writes arrive long before as many ids are removed after it
+     */
+    static final int MAX_REMOVED_IDS_TRACKED = 100_000;
+    private static final int INITIAL_DOC_CAPACITY = 1_024;
+    @Autowired
+    AnyRepository anyRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PostingList> postingListByTrigram = new HashMap<>();
+    private final Map<String, Integer> docIdById = new HashMap<>();
+    private final List<String> idByDocId = new ArrayList<>();
+    private final List<String> nameByDocId = new ArrayList<>();
+    private long[] versionByDocId = new long[INITIAL_DOC_CAPACITY];
+    /**
+     * ids are never reused, so a removed id only has to be remembered for as long as a write older than its removal may still arrive
+     */
+    private final Set<String> removedIds = Collections.newSetFromMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_REMOVED_IDS_TRACKED;
+        }
+    });
+    private final Deque<Integer> freeDocIds = new ArrayDeque<>();
+    private volatile boolean loaded = false;
+    private volatile long modificationCount = 0;
+
+    /**
+     * columns of a row the index is built from
+     */
+    public record IndexedName(String id, String name, long version) {}
+
+    @PostConstruct
+    void load() {
+        Slice<IndexedName> slice = anyRepository.listByFilter(0, LOAD_SIZE_PAGE, null, IndexedName.class);
+        slice.forEach(item -> update(item.id(), item.name(), item.version()));
+        while(slice.hasNext()) {
+            final String lastId = slice.getContent().get(slice.getNumberOfElements() - 1).id();
+            slice = anyRepository.listByFilterAfterId(lastId, LOAD_SIZE_PAGE, null, IndexedName.class);
+            slice.forEach(item -> update(item.id(), item.name(), item.version()));
+        }
+        loaded = true;
+    }
+
+    /**
+     * filters shorter than a trigram have no posting list to look up, so they must go to the database,
+     * and so must filters with {@code like} wildcards, otherwise the answer would depend on which path served the page
+     */
+    public boolean canServe(String filter) {
+        return loaded && filter != null && filter.length() >= GRAM_SIZE && !filter.isBlank()
+            // the database reads them as wildcards, the index would match them literally
+            && !AnyRepository.hasLikeSpecialChar(filter);
+    }
+
+    /**
+     * every write service updates the index once its write is committed, so a count that changed means a write was committed meanwhile
+     * @return number of {@link #add(String, String)}, {@link #update(String, String, long)} and {@link #remove(String)} calls so far, ignored writes included
+     */
+    public long modificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * @return ids of every entity whose name contains {@code filter}, sorted by id DESC
+     */
+    public List<String> search(String filter) {
+        return search(filter, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * doc ids are not in id order, so the greatest ids are kept in a min-heap of {@code limit} ids instead of sorting every match;
+     * a candidate not above the smallest kept id is skipped before its name is even verified
+     * @param beforeId only ids below it are returned, {@code null} for no bound
+     * @return the greatest {@code limit} ids whose name contains {@code filter}, sorted by id DESC
+     */
+    public List<String> search(String filter, String beforeId, int limit) {
+        final long[] trigrams = trigramsOf(filter);
+        final PriorityQueue<String> greatestIds = new PriorityQueue<>();
+
+        lock.readLock().lock();
+        try {
+            final PostingList[] postingLists = new PostingList[trigrams.length];
+            for(int i = 0; i < trigrams.length; i++) {
+                postingLists[i] = postingListByTrigram.get(trigrams[i]);
+                if(postingLists[i] == null) return List.of();
+            }
+            Arrays.sort(postingLists, Comparator.comparingInt(postingList -> postingList.size));
+
+            for(int docId : intersect(postingLists)) {
+                final String id = idByDocId.get(docId);
+                if(beforeId != null && id.compareTo(beforeId) >= 0) continue;
+                if(greatestIds.size() == limit && id.compareTo(greatestIds.peek()) <= 0) continue;
+                if(!nameByDocId.get(docId).contains(filter)) continue;
+                greatestIds.offer(id);
+                if(greatestIds.size() > limit) greatestIds.poll();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        final String[] ids = new String[greatestIds.size()];
+        for(int i = ids.length - 1; i >= 0; i--) ids[i] = greatestIds.poll();
+        return Arrays.asList(ids);
+    }
+
+    /**
+     * a created entity, always at version 0
+     */
+    public void add(String id, String name) {
+        update(id, name, 0);
+    }
+
+    /**
+     * ignored when {@code version} is not above the indexed one or {@code id} was removed lately
+     */
+    public void update(String id, String name, long version) {
+        lock.writeLock().lock();
+        try {
+            modificationCount++;
+            if(removedIds.contains(id)) return;
+            final Integer indexedDocId = docIdById.get(id);
+            if(indexedDocId != null) {
+                if(versionByDocId[indexedDocId] >= version) return;
+                removeDoc(id);
+            }
+            final int docId = nextDocId(id, name, version);
+            for(long trigram : trigramsOf(name)) {
+                postingListByTrigram.computeIfAbsent(trigram, t -> new PostingList()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(id);
+            removedIds.add(id);
+            modificationCount++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int nextDocId(String id, String name, long version) {
+        final Integer freeDocId = freeDocIds.poll();
+        final int docId;
+        if(freeDocId == null) {
+            docId = idByDocId.size();
+            idByDocId.add(id);
+            nameByDocId.add(name);
+            if(docId == versionByDocId.length) versionByDocId = Arrays.copyOf(versionByDocId, docId * 2);
+        } else {
+            docId = freeDocId;
+            idByDocId.set(docId, id);
+            nameByDocId.set(docId, name);
+        }
+        versionByDocId[docId] = version;
+        docIdById.put(id, docId);
+        return docId;
+    }
+
+    private void removeDoc(String id) {
+        final Integer docId = docIdById.remove(id);
+        if(docId == null) return;
+        for(long trigram : trigramsOf(nameByDocId.get(docId))) {
+            final PostingList postingList = postingListByTrigram.get(trigram);
+            postingList.remove(docId);
+            if(postingList.size == 0) postingListByTrigram.remove(trigram);
+        }
+        idByDocId.set(docId, null);
+        nameByDocId.set(docId, null);
+        freeDocIds.push(docId);
+    }
+
+    /**
+     * @param postingLists sorted by size, so the smallest list drives the intersection
+     */
+    private static int[] intersect(PostingList[] postingLists) {
+        int[] candidates = Arrays.copyOf(postingLists[0].docIds, postingLists[0].size);
+        for(int i = 1; i < postingLists.length && candidates.length > 0; i++) {
+            int kept = 0;
+            for(int docId : candidates) {
+                if(postingLists[i].contains(docId)) candidates[kept++] = docId;
+            }
+            candidates = Arrays.copyOf(candidates, kept);
+        }
+        return candidates;
+    }
+
+    static long[] trigramsOf(String text) {
+        if(text.length() < GRAM_SIZE) return new long[0];
+        final long[] trigrams = new long[text.length() - GRAM_SIZE + 1];
+        for(int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).distinct().toArray();
+    }
+
+    /**
+     * sorted, duplicate free, growable {@code int[]} of doc ids
+     */
+    static final class PostingList {
+
+        private int[] docIds = new int[4];
+        private int size = 0;
+
+        void add(int docId) {
+            if(size > 0 && docIds[size - 1] < docId) {
+                append(docId);
+                return;
+            }
+            final int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if(position >= 0) return;
+            final int insertAt = -position - 1;
+            if(size == docIds.length) docIds = Arrays.copyOf(docIds, size * 2);
+            System.arraycopy(docIds, insertAt, docIds, insertAt + 1, size - insertAt);
+            docIds[insertAt] = docId;
+            size++;
+        }
+
+        void remove(int docId) {
+            final int position = Arrays.binarySearch(docIds, 0, size, docId);
+            if(position < 0) return;
+            System.arraycopy(docIds, position + 1, docIds, position, size - position - 1);
+            size--;
+        }
+
+        boolean contains(int docId) {
+            return Arrays.binarySearch(docIds, 0, size, docId) >= 0;
+        }
+
+        private void append(int docId) {
+            if(size == docIds.length) docIds = Arrays.copyOf(docIds, size * 2);
+            docIds[size++] = docId;
+        }
+    }
+
+}
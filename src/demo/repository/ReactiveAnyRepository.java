@@ -0,0 +1,169 @@
+package demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.function.BiFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import demo.App;
+import demo.model.AnyEntity;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the table of {@link AnyEntity} through R2DBC, only present with the {@code reactive} profile.
+ * Same statements as {@link AnyRepository}, written in SQL since the table is mapped for JPA (Hibernate still creates the schema).
+ * Every statement auto-commits, as each is a single row or a single read.
+ */
+@Repository
+@Profile(App.PROFILE_REACTIVE)
+public class ReactiveAnyRepository {
+
+    private static final String COLUMNS = "id, name, created, last_updated, version";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    /**
+     * the pool is not a bean: a {@link io.r2dbc.spi.ConnectionFactory} bean turns off the auto-configured {@link javax.sql.DataSource},
+     * which JPA and the schema still need
+     * @param r2dbcUrl e.g. {@code r2dbc:h2:mem:///testdb}, the in-memory database of {@code spring.datasource.url}
+     */
+    public ReactiveAnyRepository(
+            @Value("${app.r2dbc-url}") String r2dbcUrl,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password) {
+        final ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options)).build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    @PreDestroy
+    void stop() {
+        connectionPool.dispose();
+    }
+
+    /**
+     * {@code anyEntity} must already have its id, no generator runs outside Hibernate
+     */
+    public Mono<Void> insert(AnyEntity anyEntity) {
+        return databaseClient.sql("insert into eny_entity (" + COLUMNS + ") values (:id, :name, :created, :lastUpdated, :version)")
+                .bind("id", anyEntity.getId())
+                .bind("name", anyEntity.getName())
+                .bind("created", anyEntity.getCreated())
+                .bind("lastUpdated", anyEntity.getLastUpdated())
+                .bind("version", anyEntity.getVersion())
+                .then();
+    }
+
+    /**
+     * same rows as {@link AnyRepository#listByFilter(Integer, Integer, String, Class)}; they are emitted as they are read,
+     * so the demand of the subscriber, not the size of the page, bounds what is buffered
+     * @param itemOf builds an item of the {@code id} and {@code name} columns, the only ones selected
+     */
+    public <T> Flux<T> listByFilter(long offset, int limit, String filter, BiFunction<String, String, T> itemOf) {
+        final boolean hasFilter = hasFilter(filter);
+        DatabaseClient.GenericExecuteSpec select = databaseClient.sql("select id, name from eny_entity"
+                + (hasFilter ? " where name like :name" : "")
+                + " order by id desc limit :limit offset :offset")
+                .bind("limit", limit)
+                .bind("offset", offset);
+        if(hasFilter) select = select.bind("name", "%" + filter + "%");
+        return select.map(row -> itemOf.apply(row.get("id", String.class), row.get("name", String.class))).all();
+    }
+
+    /**
+     * keyset pagination, same rows as {@link AnyRepository#listByFilterAfterId(String, Integer, String, Class)}
+     */
+    public <T> Flux<T> listByFilterAfterId(String lastId, int limit, String filter, BiFunction<String, String, T> itemOf) {
+        final boolean hasFilter = hasFilter(filter);
+        DatabaseClient.GenericExecuteSpec select = databaseClient.sql("select id, name from eny_entity where id < :lastId"
+                + (hasFilter ? " and name like :name" : "")
+                + " order by id desc limit :limit")
+                .bind("lastId", lastId)
+                .bind("limit", limit);
+        if(hasFilter) select = select.bind("name", "%" + filter + "%");
+        return select.map(row -> itemOf.apply(row.get("id", String.class), row.get("name", String.class))).all();
+    }
+
+    /**
+     * @return empty when {@code id} does not exist
+     */
+    public Mono<AnyEntity> findById(String id) {
+        return databaseClient.sql("select " + COLUMNS + " from eny_entity where id = :id")
+                .bind("id", id)
+                .map(ReactiveAnyRepository::entityOf)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(String id) {
+        return databaseClient.sql("select 1 from eny_entity where id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .hasElement();
+    }
+
+    /**
+     * @return rows updated, 0 when {@code id} does not exist
+     */
+    public Mono<Long> updateNameById(String id, String name, LocalDateTime lastUpdated) {
+        return databaseClient.sql("update eny_entity set name = :name, last_updated = :lastUpdated, version = version + 1 where id = :id")
+                .bind("id", id)
+                .bind("name", name)
+                .bind("lastUpdated", lastUpdated)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * compare-and-set on {@code version}, as {@link AnyRepository#updateNameByIdAndVersionIn(String, Collection, String, LocalDateTime)}
+     * @return rows updated, 0 when {@code id} does not exist or its version is none of {@code versions}
+     */
+    public Mono<Long> updateNameByIdAndVersionIn(String id, Collection<Long> versions, String name, LocalDateTime lastUpdated) {
+        return databaseClient.sql("update eny_entity set name = :name, last_updated = :lastUpdated, version = version + 1 where id = :id and version in (:versions)")
+                .bind("id", id)
+                .bind("versions", versions)
+                .bind("name", name)
+                .bind("lastUpdated", lastUpdated)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * @return rows deleted, 0 when {@code id} does not exist
+     */
+    public Mono<Long> deleteRowById(String id) {
+        return databaseClient.sql("delete from eny_entity where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static AnyEntity entityOf(Readable row) {
+        final AnyEntity anyEntity = new AnyEntity();
+        anyEntity.setId(row.get("id", String.class));
+        anyEntity.setName(row.get("name", String.class));
+        anyEntity.setCreated(row.get("created", LocalDateTime.class));
+        anyEntity.setLastUpdated(row.get("last_updated", LocalDateTime.class));
+        anyEntity.setVersion(row.get("version", Long.class));
+        return anyEntity;
+    }
+
+    private static boolean hasFilter(String filter){
+        return filter != null && !filter.trim().isBlank();
+    }
+}
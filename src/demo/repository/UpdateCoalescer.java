@@ -0,0 +1,99 @@
+package demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalescing of unconditional updates to the same id, enabled with {@code app.update-coalescing-enabled=true}.
+ * The first caller of an id opens a batch and waits {@code app.update-coalescing-max-delay-micros}; callers of the same id arriving meanwhile
+ * join the batch, the last one's name winning, and all of them wait for the single {@code UPDATE} the first caller then sends.
+ * <p>Batches are kept per id in a {@link ConcurrentHashMap}, whose per-bin locking only makes callers of the same id (or bin) contend.
+ * Batches of one id are written in the order they were opened, so an older name never overwrites a newer one.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "app.update-coalescing-enabled", havingValue = "true")
+public class UpdateCoalescer {
+
+    /**
+     * @param rowsUpdated 0 when the id does not exist
+     * @param name name written by the batch, the one of its last caller
+     * @param version version written by the batch, 0 when no row was updated
+     */
+    public record Written(int rowsUpdated, String name, long version) {}
+
+    private static final class Batch {
+        final CompletableFuture<Written> previous;
+        final CompletableFuture<Written> written = new CompletableFuture<>();
+        // only read or written while holding the bin lock of the batch id in batchById
+        String name;
+        LocalDateTime lastUpdated;
+        boolean closed;
+
+        Batch(CompletableFuture<Written> previous) {
+            this.previous = previous;
+        }
+    }
+
+    private static final CompletableFuture<Written> NO_PREVIOUS_BATCH = CompletableFuture.completedFuture(null);
+
+    private final long maxDelayNanos;
+    private final AnyRepository anyRepository;
+    private final ConcurrentMap<String, Batch> batchById = new ConcurrentHashMap<>();
+
+    public UpdateCoalescer(
+            @Value("${app.update-coalescing-max-delay-micros}") long maxDelayMicros,
+            @Autowired AnyRepository anyRepository) {
+        this.maxDelayNanos = TimeUnit.MICROSECONDS.toNanos(maxDelayMicros);
+        this.anyRepository = anyRepository;
+    }
+
+    /**
+     * blocks until the batch holding this update is committed
+     */
+    public Written updateNameById(String id, String name, LocalDateTime lastUpdated) {
+        final boolean[] opened = new boolean[1];
+        final Batch batch = batchById.compute(id, (key, current) -> {
+            final Batch open = current != null && !current.closed ? current : new Batch(current == null ? NO_PREVIOUS_BATCH : current.written);
+            opened[0] = open != current;
+            open.name = name;
+            open.lastUpdated = lastUpdated;
+            return open;
+        });
+        if(opened[0]) writeBatch(id, batch);
+        try {
+            return batch.written.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw e;
+        }
+    }
+
+    private void writeBatch(String id, Batch batch) {
+        LockSupport.parkNanos(maxDelayNanos);
+        batchById.computeIfPresent(id, (key, current) -> {
+            batch.closed = true;
+            return current;
+        });
+        batch.previous.exceptionally(e -> null).join();
+        try {
+            batch.written.complete(anyRepository.updateNameById(id, batch.name, batch.lastUpdated)
+                    .map(version -> new Written(1, batch.name, version))
+                    .orElseGet(() -> new Written(0, batch.name, 0)));
+        } catch (RuntimeException e) {
+            batch.written.completeExceptionally(e);
+        } finally {
+            batchById.remove(id, batch);
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package demo.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.cache.IdCuckooFilter;
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.metrics.LatencyHistograms;
+import demo.model.AnyEntity;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Creates many entities in one request. Each item is validated with the rules of {@link CreateService},
+ * invalid items are reported by index and the valid ones are persisted in chunks of {@code app.bulk-create-chunk-size},
+ * one transaction per chunk sent as JDBC batches ({@code hibernate.jdbc.batch_size}).
+ * <p>A chunk whose insert fails in the database rolls back alone: its items are reported in {@code errors} with a {@code null} id,
+ * the cause is logged and the other chunks are still created. Any other failure fails the request.</p>
+ */
+@Service
+public class BulkCreateService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkCreateService.class);
+    private static final int MAX_ITEMS_ALLOWED = 50_000;
+
+    @Value("${app.bulk-create-chunk-size}")
+    public int bulkCreateChunkSize;
+
+    @Autowired
+    AnyRepository anyRepository;
+
+    @Autowired
+    CreateService createService;
+
+    @Autowired
+    NameTrigramIndex nameTrigramIndex;
+
+    @Autowired
+    IdCuckooFilter idCuckooFilter;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    public record Request(List<CreateService.Request> items) {}
+    public record ItemError(int index, String error) {}
+    /**
+     * @param ids generated ids in request order, {@code null} for the items reported in {@code errors}
+     */
+    public record Response(List<String> ids, List<ItemError> errors) {}
+
+    public Response bulkCreate(Request request){
+        long stepStartNanos = System.nanoTime();
+        validateRequest(request);
+        stepStartNanos = latencyHistograms.record("BulkCreateService.validateRequest", stepStartNanos);
+        final List<ItemError> errors = new ArrayList<>();
+        final List<AnyEntity> entities = convertValidItemsToEntities(request, errors);
+        stepStartNanos = latencyHistograms.record("BulkCreateService.convertValidItemsToEntities", stepStartNanos);
+        createEntities(entities, errors);
+        stepStartNanos = latencyHistograms.record("BulkCreateService.createEntities", stepStartNanos);
+        final Response response = buildResponse(entities, errors);
+        latencyHistograms.record("BulkCreateService.buildResponse", stepStartNanos);
+        return response;
+    }
+
+    /**
+     * @return one entity per item, {@code null} where the item is invalid and its error was added to {@code errors}
+     */
+    List<AnyEntity> convertValidItemsToEntities(Request request, List<ItemError> errors) {
+        final List<AnyEntity> entities = new ArrayList<>(request.items.size());
+        for(int index = 0; index < request.items.size(); index++) {
+            final CreateService.Request item = request.items.get(index);
+            try {
+                createService.validateRequest(item);
+                entities.add(createService.prepareEntityBeforeCreating(createService.convertRequestToEntity(item)));
+            } catch (ResponseStatusException e) {
+                errors.add(new ItemError(index, e.getBody().getDetail()));
+                entities.add(null);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * the entities of a chunk that fails are replaced by {@code null} and their items added to {@code errors}, kept sorted by index
+     * @param entities one per item, {@code null} where the item is invalid
+     */
+    void createEntities(List<AnyEntity> entities, List<ItemError> errors) {
+        final List<Integer> validIndexes = new ArrayList<>(entities.size());
+        for(int index = 0; index < entities.size(); index++) {
+            if(entities.get(index) != null) validIndexes.add(index);
+        }
+        for(int fromIndex = 0; fromIndex < validIndexes.size(); fromIndex += bulkCreateChunkSize) {
+            final List<Integer> chunkIndexes = validIndexes.subList(fromIndex, Math.min(fromIndex + bulkCreateChunkSize, validIndexes.size()));
+            final List<AnyEntity> chunk = chunkIndexes.stream().map(entities::get).toList();
+            try {
+                insertChunk(chunk);
+            } catch (DataAccessException e) {
+                LOGGER.warn("bulk create chunk of items {} to {} rolled back", chunkIndexes.get(0), chunkIndexes.get(chunkIndexes.size() - 1), e);
+                for(int index : chunkIndexes) {
+                    errors.add(new ItemError(index, ErrMessage.ITEM_NOT_CREATED.get()));
+                    entities.set(index, null);
+                }
+                continue;
+            }
+            indexChunk(chunk);
+        }
+        errors.sort(Comparator.comparingInt(ItemError::index));
+    }
+
+    /**
+     * ids are generated on persist, so the inserts are only sent on flush, batched; clearing keeps the persistence context to one chunk
+     */
+    void insertChunk(List<AnyEntity> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            anyRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * only once the chunk is committed; a failure here is not a rollback and is not reported as items not created
+     */
+    void indexChunk(List<AnyEntity> chunk) {
+        for(AnyEntity anyEntity : chunk) {
+            nameTrigramIndex.add(anyEntity.getId(), anyEntity.getName());
+            idCuckooFilter.add(anyEntity.getId());
+        }
+    }
+
+    Response buildResponse(List<AnyEntity> entities, List<ItemError> errors) {
+        final List<String> ids = new ArrayList<>(entities.size());
+        for(AnyEntity anyEntity : entities) {
+            ids.add(anyEntity == null ? null : anyEntity.getId());
+        }
+        return new Response(ids, errors);
+    }
+
+    int maxItemsAllowed(){
+        return MAX_ITEMS_ALLOWED;
+    }
+
+    void validateRequest(Request request) {
+        if(request == null) 
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.BODY_NOT_FOUND);
+        if(request.items == null || request.items.isEmpty()) 
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ITEMS_IS_REQUIRED);
+        if(request.items.size() > maxItemsAllowed())
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ITEMS_MUST_BE_LESS_THAN_X.get(maxItemsAllowed()));
+    }
+
+}
@@ -0,0 +1,236 @@
+package demo.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Deletes many entities in one request, given either their {@code ids} or a name {@code filter} with the semantics of
+ * {@link AnyRepository#listByFilter(Integer, Integer, String, Class)}; a blank filter, or one holding a {@code like} wildcard such as {@code %},
+ * is refused instead of deleting everything.
+ * Rows are deleted with set-based {@code DELETE ... WHERE id IN (...)} in chunks of {@code app.bulk-delete-chunk-size},
+ * one short transaction per chunk, so locks and undo logs stay bounded whatever the size of the delete.
+ * <p>A chunk that fails rolls back alone; the chunks committed before it stay deleted.
+ * Large deletes can run as a background job ({@link #submitBulkDelete(Request)}) whose progress is polled with {@link #getJob(String)};
+ * jobs run one at a time and at most {@code app.bulk-delete-max-queued-jobs} wait, further ones are answered 503.</p>
+ */
+@Service
+public class BulkDeleteService {
+
+    private static final int MAX_IDS_ALLOWED = 50_000;
+    private static final int MAX_JOBS_KEPT = 1_000;
+
+    @Value("${app.bulk-delete-chunk-size}")
+    public int bulkDeleteChunkSize;
+
+    @Value("${app.bulk-delete-max-queued-jobs}")
+    public int bulkDeleteMaxQueuedJobs;
+
+    @Autowired
+    AnyRepository anyRepository;
+
+    @Autowired
+    NameTrigramIndex nameTrigramIndex;
+
+    @Autowired
+    GetByIdCache getByIdCache;
+
+    @Autowired
+    IdCuckooFilter idCuckooFilter;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    ExecutorService jobExecutor;
+
+    private final Map<String, Job> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Job> eldest) {
+            return size() > MAX_JOBS_KEPT;
+        }
+    });
+
+    public record Request(List<String> ids, String filter) {}
+    public record Response(long deleted) {}
+
+    public enum JobState { QUEUED, RUNNING, DONE, FAILED }
+
+    /**
+     * @param deleted rows deleted so far
+     * @param error set when {@code state} is {@link JobState#FAILED}
+     */
+    public record JobStatus(String jobId, JobState state, long deleted, String error) {}
+
+    private static final class Job {
+        final String jobId = UUID.randomUUID().toString();
+        final AtomicLong deleted = new AtomicLong();
+        volatile JobState state = JobState.QUEUED;
+        volatile String error;
+
+        JobStatus status() {
+            return new JobStatus(jobId, state, deleted.get(), error);
+        }
+    }
+
+    public Response bulkDelete(Request request){
+        long stepStartNanos = System.nanoTime();
+        validateRequest(request);
+        stepStartNanos = latencyHistograms.record("BulkDeleteService.validateRequest", stepStartNanos);
+        final AtomicLong deleted = new AtomicLong();
+        deleteEntities(request, deleted);
+        latencyHistograms.record("BulkDeleteService.deleteEntities", stepStartNanos);
+        return new Response(deleted.get());
+    }
+
+    /**
+     * validates {@code request} right away and deletes in background, one job at a time
+     */
+    public JobStatus submitBulkDelete(Request request){
+        validateRequest(request);
+        final Job job = new Job();
+        jobs.put(job.jobId, job);
+        try {
+            jobExecutor.execute(() -> runJob(job, request));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            throw new StacklessResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ErrMessage.BULK_DELETE_JOBS_LIMIT_EXCEEDED);
+        }
+        return job.status();
+    }
+
+    public JobStatus getJob(String jobId){
+        final Job job = jobId == null ? null : jobs.get(jobId);
+        if(job == null)
+            throw new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.JOB_NOT_FOUND.get(jobId));
+        return job.status();
+    }
+
+    void runJob(Job job, Request request) {
+        job.state = JobState.RUNNING;
+        try {
+            deleteEntities(request, job.deleted);
+            job.state = JobState.DONE;
+        } catch (RuntimeException e) {
+            job.error = e.getMessage();
+            job.state = JobState.FAILED;
+        }
+    }
+
+    /**
+     * {@link #validateRequest(Request)} refuses {@code ids} along with a {@code filter}, even empty, so {@code ids} present means deleting by ids
+     */
+    void deleteEntities(Request request, AtomicLong deleted) {
+        if(request.ids != null) deleteEntitiesByIds(request.ids, deleted);
+        else deleteEntitiesByFilter(request.filter, deleted);
+    }
+
+    /**
+     * ids the filter reports as absent are skipped without querying
+     */
+    void deleteEntitiesByIds(List<String> ids, AtomicLong deleted) {
+        final List<String> mightExistIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        mightExistIds.removeIf(id -> id == null || !idCuckooFilter.mightContain(id));
+        for(int fromIndex = 0; fromIndex < mightExistIds.size(); fromIndex += bulkDeleteChunkSize) {
+            final List<String> chunk = mightExistIds.subList(fromIndex, Math.min(fromIndex + bulkDeleteChunkSize, mightExistIds.size()));
+            deleted.addAndGet(deleteChunk(anyRepository.findIdsByIdIn(chunk)));
+        }
+    }
+
+    /**
+     * walks the matching ids newest first with keyset pagination, so rows created while deleting (newer ids) are left alone
+     */
+    void deleteEntitiesByFilter(String filter, AtomicLong deleted) {
+        Slice<IdCuckooFilter.IdItem> slice = anyRepository.listByFilter(0, bulkDeleteChunkSize, filter, IdCuckooFilter.IdItem.class);
+        while(slice.hasContent()) {
+            final List<String> chunk = slice.getContent().stream().map(IdCuckooFilter.IdItem::id).toList();
+            deleted.addAndGet(deleteChunk(chunk));
+            if(!slice.hasNext()) break;
+            slice = anyRepository.listByFilterAfterId(chunk.get(chunk.size() - 1), bulkDeleteChunkSize, filter, IdCuckooFilter.IdItem.class);
+        }
+    }
+
+    /**
+     * {@code ids} were read as existing; when fewer rows are deleted another request removed some meanwhile,
+     * so the chunk is rolled back and deleted one id at a time to know exactly which ids this request removed
+     * @return rows deleted
+     */
+    int deleteChunk(List<String> ids) {
+        if(ids.isEmpty()) return 0;
+        final Boolean allDeleted = transactionTemplate.execute(status -> {
+            if(anyRepository.deleteRowsByIdIn(ids) == ids.size()) return true;
+            status.setRollbackOnly();
+            return false;
+        });
+        final List<String> deletedIds = Boolean.TRUE.equals(allDeleted) ? ids : ids.stream().filter(id -> anyRepository.deleteRowById(id) == 1).toList();
+        for(String id : deletedIds) {
+            nameTrigramIndex.remove(id);
+            getByIdCache.invalidate(id);
+            idCuckooFilter.remove(id);
+        }
+        return deletedIds.size();
+    }
+
+    int maxIdsAllowed(){
+        return MAX_IDS_ALLOWED;
+    }
+
+    void validateRequest(Request request) {
+        if(request == null)
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.BODY_NOT_FOUND);
+        final boolean hasIds = request.ids != null && !request.ids.isEmpty();
+        final boolean hasFilter = request.filter != null && !request.filter.isBlank();
+        if(!hasIds && !hasFilter)
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.IDS_OR_FILTER_IS_REQUIRED);
+        if(request.ids != null && request.filter != null)
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.IDS_CANNOT_BE_USED_WITH_FILTER);
+        if(hasFilter && AnyRepository.hasLikeSpecialChar(request.filter))
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.FILTER_CANNOT_HAVE_LIKE_WILDCARDS);
+        if(hasIds && request.ids.size() > maxIdsAllowed())
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.IDS_MUST_BE_LESS_THAN_X.get(maxIdsAllowed()));
+    }
+
+    @PostConstruct
+    void start() {
+        jobExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(bulkDeleteMaxQueuedJobs), runnable -> {
+            final Thread thread = new Thread(runnable, "bulk-delete-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        jobExecutor.shutdownNow();
+    }
+
+}
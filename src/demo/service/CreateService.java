@@ -5,31 +5,57 @@ import java.time.LocalDateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
+import demo.cache.IdCuckooFilter;
 import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.metrics.LatencyHistograms;
 import demo.model.AnyEntity;
 import demo.repository.AnyRepository;
+import demo.repository.GroupCommitWriter;
+import demo.repository.NameTrigramIndex;
 
 @Service
 public class CreateService {
 
     @Autowired
     AnyRepository anyRepository;
+
+    @Autowired
+    NameTrigramIndex nameTrigramIndex;
+
+    @Autowired
+    IdCuckooFilter idCuckooFilter;
+
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    /**
+     * only present with {@code app.group-commit-enabled=true}
+     */
+    @Autowired(required = false)
+    GroupCommitWriter groupCommitWriter;
     
     public record Response(String id) {}
     public record Request(String name){}
 
     public Response create(Request request){
 
+        long stepStartNanos = System.nanoTime();
         validateRequest(request);
+        stepStartNanos = latencyHistograms.record("CreateService.validateRequest", stepStartNanos);
         
         AnyEntity anyEntity = null;
         anyEntity = convertRequestToEntity(request);
+        stepStartNanos = latencyHistograms.record("CreateService.convertRequestToEntity", stepStartNanos);
         anyEntity = prepareEntityBeforeCreating(anyEntity);
+        stepStartNanos = latencyHistograms.record("CreateService.prepareEntityBeforeCreating", stepStartNanos);
         anyEntity = createEntity(anyEntity);
+        stepStartNanos = latencyHistograms.record("CreateService.createEntity", stepStartNanos);
 
-        return convertEntityToResponse(anyEntity);
+        final Response response = convertEntityToResponse(anyEntity);
+        latencyHistograms.record("CreateService.convertEntityToResponse", stepStartNanos);
+        return response;
 
     }
 
@@ -38,7 +64,10 @@ public class CreateService {
     }
 
     AnyEntity createEntity(AnyEntity anyEntity) {
-        return anyRepository.save(anyEntity);
+        final AnyEntity anyEntityCreated = groupCommitWriter == null ? anyRepository.save(anyEntity) : groupCommitWriter.save(anyEntity);
+        nameTrigramIndex.add(anyEntityCreated.getId(), anyEntityCreated.getName());
+        idCuckooFilter.add(anyEntityCreated.getId());
+        return anyEntityCreated;
     }
 
     AnyEntity prepareEntityBeforeCreating(AnyEntity anyEntity) {
@@ -56,11 +85,11 @@ public class CreateService {
 
     void validateRequest(Request request) {
         if(request == null) 
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.BODY_NOT_FOUND.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.BODY_NOT_FOUND);
         if(request.name == null || request.name.trim().isBlank()) 
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_IS_REQUIRED.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_IS_REQUIRED);
         if(request.name.length() > 50 )
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_MUST_BE_LESS_THAN_50_CARACT.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_MUST_BE_LESS_THAN_50_CARACT);
     }
     
 }
@@ -0,0 +1,291 @@
+package demo.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Writes every entity as {@code application/x-ndjson} (one JSON object per line) straight from forward-only JDBC cursors.
+ * The id space is split into ranges read in parallel, each worker buffering at most {@code app.export-fetch-size} rows before flushing them,
+ * so memory stays flat whatever the table size.
+ * <p>Each range holds a JDBC connection while it is read, so an export reads at most a quarter of the connection pool in parallel
+ * and at most {@code app.export-max-concurrent} exports run at once, the others are answered 503; their ranges run on one shared pool
+ * sized for exactly that many connections.</p>
+ */
+@Service
+public class ExportService {
+
+    @Value("${app.export-fetch-size}")
+    public int exportFetchSize;
+
+    @Value("${app.export-max-concurrent}")
+    public int exportMaxConcurrent;
+
+    /**
+     * 10 is the Hikari default
+     */
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    public int connectionPoolSize;
+
+    private static final int MAX_PARALLEL_RANGES = 8;
+    private static final int CONNECTION_POOL_SHARE = 4;
+    private static final Pattern UUID_PATTERN = Pattern.compile("[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}");
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String SQL_SELECT_MIN_AND_MAX_ID = "select min(id), max(id) from eny_entity";
+    private static final String SQL_SELECT_BY_ID_RANGE = "select id, name, created, last_updated from eny_entity where id >= ? and id < ?";
+    private static final String SQL_SELECT_FROM_ID = "select id, name, created, last_updated from eny_entity where id >= ?";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param fromId inclusive
+     * @param toId exclusive, {@code null} for the last range
+     */
+    public record IdRange(String fromId, String toId) {}
+
+    /**
+     * an export reserved by {@link ExportService#reserveExport()}, to be written once
+     */
+    @FunctionalInterface
+    public interface Export {
+        void writeTo(OutputStream outputStream) throws IOException;
+
+        /**
+         * gives the reservation back when the export is never written, e.g. the client left before the stream started;
+         * {@link #writeTo(OutputStream)} releases it too, releasing twice is harmless
+         */
+        default void release() {}
+    }
+
+    private final class ReservedExport implements Export {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void writeTo(OutputStream outputStream) throws IOException {
+            try {
+                exportIdRanges(splitIdRanges(parallelRanges()), outputStream);
+            } finally {
+                release();
+            }
+        }
+
+        @Override
+        public void release() {
+            if(released.compareAndSet(false, true)) exportPermits.release();
+        }
+    }
+
+    private Semaphore exportPermits;
+    private ExecutorService rangeExecutor;
+
+    @PostConstruct
+    void start() {
+        exportPermits = new Semaphore(exportMaxConcurrent);
+        rangeExecutor = Executors.newFixedThreadPool(exportMaxConcurrent * maxConnectionsPerExport(), runnable -> {
+            final Thread thread = new Thread(runnable, "export-range");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        rangeExecutor.shutdownNow();
+    }
+
+    /**
+     * taken while handling the request, so a rejected export is still answered with an error status instead of an empty stream.
+     * The caller must make sure {@link Export#release()} runs if the export may never be written
+     * @throws StacklessResponseStatusException 503 when {@code app.export-max-concurrent} exports are already running
+     */
+    public Export reserveExport() {
+        if(!exportPermits.tryAcquire())
+            throw new StacklessResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ErrMessage.EXPORT_LIMIT_EXCEEDED);
+        return new ReservedExport();
+    }
+
+    int parallelRanges() {
+        return Math.min(Math.min(Runtime.getRuntime().availableProcessors(), MAX_PARALLEL_RANGES), maxConnectionsPerExport());
+    }
+
+    int maxConnectionsPerExport() {
+        return Math.max(1, connectionPoolSize / CONNECTION_POOL_SHARE);
+    }
+
+    List<IdRange> splitIdRanges(int numRanges) {
+        final String[] minAndMaxId = jdbcTemplate.queryForObject(SQL_SELECT_MIN_AND_MAX_ID, (resultSet, rowNum) -> new String[]{ resultSet.getString(1), resultSet.getString(2) });
+        if(minAndMaxId == null || minAndMaxId[0] == null) return List.of();
+        return splitIdRanges(minAndMaxId[0], minAndMaxId[1], numRanges);
+    }
+
+    /**
+     * ids are lowercase UUIDs, whose string order is the order of their 128-bit value, so {@code [minId, maxId]} is cut in equal numeric steps.
+     * Any other id format is exported as one single range
+     */
+    static List<IdRange> splitIdRanges(String minId, String maxId, int numRanges) {
+        if(numRanges < 2 || !UUID_PATTERN.matcher(minId).matches() || !UUID_PATTERN.matcher(maxId).matches())
+            return List.of(new IdRange(minId, null));
+
+        final BigInteger min = new BigInteger(minId.replace("-", ""), 16);
+        final BigInteger step = new BigInteger(maxId.replace("-", ""), 16).subtract(min).divide(BigInteger.valueOf(numRanges));
+        if(step.signum() == 0)
+            return List.of(new IdRange(minId, null));
+
+        final List<IdRange> idRanges = new ArrayList<>(numRanges);
+        String fromId = minId;
+        for(int i = 1; i < numRanges; i++) {
+            final String toId = toUuid(min.add(step.multiply(BigInteger.valueOf(i))));
+            idRanges.add(new IdRange(fromId, toId));
+            fromId = toId;
+        }
+        idRanges.add(new IdRange(fromId, null));
+        return idRanges;
+    }
+
+    /**
+     * at most {@link #maxConnectionsPerExport()} workers, each taking the next range once done with its own, whatever the number of ranges
+     */
+    void exportIdRanges(List<IdRange> idRanges, OutputStream outputStream) throws IOException {
+        if(idRanges.isEmpty()) return;
+        final Queue<IdRange> pendingIdRanges = new ConcurrentLinkedQueue<>(idRanges);
+        final int workers = Math.min(idRanges.size(), maxConnectionsPerExport());
+        final List<Future<Void>> exports = new ArrayList<>(workers);
+        try {
+            for(int i = 0; i < workers; i++) {
+                exports.add(rangeExecutor.submit(() -> {
+                    for(IdRange idRange = pendingIdRanges.poll(); idRange != null; idRange = pendingIdRanges.poll()) {
+                        exportIdRange(idRange, outputStream);
+                    }
+                    return null;
+                }));
+            }
+            for(Future<Void> export : exports) {
+                awaitExport(export);
+            }
+        } finally {
+            // on failure interrupts the other workers of this export, which stop at their next row
+            exports.forEach(export -> export.cancel(true));
+        }
+    }
+
+    void exportIdRange(IdRange idRange, OutputStream outputStream) throws IOException {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final JsonGenerator jsonGenerator = JSON_FACTORY.createGenerator(buffer);
+        jsonGenerator.setRootValueSeparator(null);
+        final int[] bufferedRows = {0};
+
+        final RowCallbackHandler writeRow = resultSet -> {
+            if(Thread.currentThread().isInterrupted())
+                throw new CancellationException("export cancelled");
+            try {
+                writeRow(jsonGenerator, resultSet);
+                if(++bufferedRows[0] == exportFetchSize) {
+                    writeBuffer(jsonGenerator, buffer, outputStream);
+                    bufferedRows[0] = 0;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try {
+            jdbcTemplate.query(connection -> {
+                final PreparedStatement statement = connection.prepareStatement(
+                        idRange.toId == null ? SQL_SELECT_FROM_ID : SQL_SELECT_BY_ID_RANGE,
+                        ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY
+                    );
+                statement.setFetchSize(exportFetchSize);
+                statement.setString(1, idRange.fromId);
+                if(idRange.toId != null) statement.setString(2, idRange.toId);
+                return statement;
+            }, writeRow);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writeBuffer(jsonGenerator, buffer, outputStream);
+    }
+
+    private static void writeRow(JsonGenerator jsonGenerator, ResultSet resultSet) throws IOException, SQLException {
+        jsonGenerator.writeStartObject();
+        jsonGenerator.writeStringField("id", resultSet.getString(1));
+        jsonGenerator.writeStringField("name", resultSet.getString(2));
+        jsonGenerator.writeStringField("created", formatDateTime(resultSet.getObject(3, LocalDateTime.class)));
+        jsonGenerator.writeStringField("lastUpdated", formatDateTime(resultSet.getObject(4, LocalDateTime.class)));
+        jsonGenerator.writeEndObject();
+        jsonGenerator.writeRaw('\n');
+    }
+
+    /**
+     * ranges share the response stream, so a buffer is copied whole to keep lines from different ranges from interleaving
+     */
+    private static void writeBuffer(JsonGenerator jsonGenerator, ByteArrayOutputStream buffer, OutputStream outputStream) throws IOException {
+        jsonGenerator.flush();
+        if(buffer.size() == 0) return;
+        synchronized(outputStream) {
+            buffer.writeTo(outputStream);
+            outputStream.flush();
+        }
+        buffer.reset();
+    }
+
+    private static void awaitExport(Future<Void> export) throws IOException {
+        try {
+            export.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("export interrupted");
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof IOException ioException) throw ioException;
+            if(e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+    }
+
+    private static String toUuid(BigInteger value) {
+        final String hex = "%032x".formatted(value);
+        return hex.substring(0, 8) + "-" + hex.substring(8, 12) + "-" + hex.substring(12, 16) + "-" + hex.substring(16, 20) + "-" + hex.substring(20);
+    }
+
+}
@@ -1,13 +1,21 @@
 package demo.service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
 import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.metrics.LatencyHistograms;
 import demo.model.AnyEntity;
 import demo.repository.AnyRepository;
 
@@ -17,10 +25,106 @@ public class GetByIdService {
     @Autowired
     AnyRepository anyRepository;
 
-    public record Response(String id, String name, LocalDateTime created,  LocalDateTime lastUpdated) {}
+    @Autowired
+    GetByIdCache getByIdCache;
+
+    @Autowired
+    IdCuckooFilter idCuckooFilter;
+
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    /**
+     * @param version kept out of the body, clients only see it through the ETag of {@link #versionOf(Response)}
+     */
+    public record Response(String id, String name, LocalDateTime created,  LocalDateTime lastUpdated, @JsonIgnore long version) {}
+
+    /**
+     * @param etag strong ETag, already quoted
+     * @param lastModified epoch millis
+     */
+    public record Version(String etag, long lastModified) {}
 
+    /**
+     * columns selected to answer conditional requests without loading the entity
+     */
+    public record VersionColumns(long version, LocalDateTime lastUpdated) {}
+
+    /**
+     * concurrent calls for an id missing from the cache share a single query, since {@link GetByIdCache#get(String, java.util.function.Function)}
+     * runs its loader at most once per id at a time
+     */
     public Response getById(String id){
+        long stepStartNanos = System.nanoTime();
+        validateIdRequest(id);
+        stepStartNanos = latencyHistograms.record("GetByIdService.validateIdRequest", stepStartNanos);
+        validateIdMightExist(id);
+        stepStartNanos = latencyHistograms.record("GetByIdService.validateIdMightExist", stepStartNanos);
+        final Response response = getByIdCache.get(id, this::loadResponse);
+        latencyHistograms.record("GetByIdService.getByIdCache.get", stepStartNanos);
+        return response;
+    }
+
+    /**
+     * existence check answered by {@link IdCuckooFilter} for ids that are definitely absent, then by the cache, and only then by the database
+     */
+    public boolean existsById(String id){
         validateIdRequest(id);
+        if(!idCuckooFilter.mightContain(id)) return false;
+        if(getByIdCache.getIfPresent(id) != null) return true;
+        final boolean exists = anyRepository.existsById(id);
+        if(!exists) idCuckooFilter.recordFalsePositive();
+        return exists;
+    }
+
+    /**
+     * answers conditional requests without loading and serializing the entity: the cached response is used when present,
+     * otherwise only {@code version} and {@code lastUpdated} are selected
+     */
+    public Version getVersionById(String id){
+        validateIdRequest(id);
+        validateIdMightExist(id);
+        final Response cachedResponse = getByIdCache.getIfPresent(id);
+        if(cachedResponse != null) return versionOf(cachedResponse);
+        final VersionColumns versionColumns = getVersionColumnsById(id);
+        return versionOf(versionColumns.version, versionColumns.lastUpdated);
+    }
+
+    public static Version versionOf(Response response){
+        return versionOf(response.version, response.lastUpdated);
+    }
+
+    /**
+     * the ETag is the {@code version} column, so {@code If-Match} can be checked by the update itself (see {@link #versionOfEtag(String)})
+     */
+    static Version versionOf(long version, LocalDateTime lastUpdated){
+        final LocalDateTime lastUpdatedInMicros = lastUpdated.truncatedTo(ChronoUnit.MICROS);
+        return new Version(
+                "\"" + version + "\"",
+                lastUpdatedInMicros.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            );
+    }
+
+    /**
+     * @return the version of a strong ETag built by {@link #versionOf(long, LocalDateTime)}, {@code null} for weak or foreign ETags, which never match
+     */
+    public static Long versionOfEtag(String etag){
+        final String trimmedEtag = etag.trim();
+        if(trimmedEtag.length() < 3 || !trimmedEtag.startsWith("\"") || !trimmedEtag.endsWith("\"")) return null;
+        try {
+            return Long.valueOf(trimmedEtag.substring(1, trimmedEtag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    VersionColumns getVersionColumnsById(String id) {
+        return anyRepository
+                .findVersionById(id, VersionColumns.class)
+                .orElseThrow(() -> idNotFoundAfterFalsePositive(id));
+    }
+
+    Response loadResponse(String id) {
         AnyEntity anyEntity = getEntityById(id);
         return convertEntityToResponse(anyEntity);
     }
@@ -28,11 +132,21 @@ public class GetByIdService {
     AnyEntity getEntityById(String id) {
         return anyRepository
                 .findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id)));
+                .orElseThrow(() -> idNotFoundAfterFalsePositive(id));
+    }
+
+    void validateIdMightExist(String id) {
+        if(!idCuckooFilter.mightContain(id)) 
+            throw new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id));
+    }
+
+    private ResponseStatusException idNotFoundAfterFalsePositive(String id) {
+        idCuckooFilter.recordFalsePositive();
+        return new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id));
     }
 
     void validateIdRequest(String id) {
-        if(id == null || id.trim().isBlank()) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED.get());
+        if(id == null || id.trim().isBlank()) throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED);
     }
 
     Response convertEntityToResponse(AnyEntity anyEntity) {
@@ -40,7 +154,8 @@ public class GetByIdService {
                 anyEntity.getId(),
                 anyEntity.getName(),
                 anyEntity.getCreated(),
-                anyEntity.getLastUpdated()
+                anyEntity.getLastUpdated(),
+                anyEntity.getVersion()
             );
     }
     
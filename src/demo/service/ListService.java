@@ -1,18 +1,31 @@
 package demo.service;
 
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
+import demo.cache.SingleFlight;
 import demo.constant.ErrMessage;
-import demo.model.AnyEntity;
+import demo.exception.StacklessResponseStatusException;
+import demo.metrics.LatencyHistograms;
 import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
 
+/**
+ * Lists entities a page at a time, by page number or by cursor, optionally filtered by name.
+ * Concurrent identical requests share a single query through {@link SingleFlight}, keyed by the request with its pagination defaulted
+ * and by {@link NameTrigramIndex#modificationCount()}: a request arriving after a write was committed never joins a query started before it.
+ */
 @Service
 public class ListService {
 
@@ -21,51 +34,121 @@ public class ListService {
 
     private static final int MAX_SIZE_PAGE_ALLOWED = 300;
 
-    public record Request(Integer numPage, Integer sizePage, String filter) {}
+    public record Request(Integer numPage, Integer sizePage, String filter, String cursor) {}
 
     @Autowired
     AnyRepository anyRepository;
 
+    @Autowired
+    NameTrigramIndex nameTrigramIndex;
+
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    private final SingleFlight<Flight, Response> listFlights = new SingleFlight<>();
+
+    /**
+     * @param request with its pagination defaulted, see {@link #handleRequestPagination(Request)}
+     */
+    record Flight(Request request, long modificationCount) {}
+
     public record ResponseItem(String id, String name) {}
+    public record Response(List<ResponseItem> items, boolean hasNext, String nextCursor) {}
     
-    public List<ResponseItem> list(Request request){  
+    public Response list(Request request){  
+        long stepStartNanos = System.nanoTime();
         validateRequest(request);
-        request = handleRequestPagination(request);
-        List<AnyEntity> anyEntityList = listEntity(request);
-        return convertListEntityToListResponse(anyEntityList);
+        stepStartNanos = latencyHistograms.record("ListService.validateRequest", stepStartNanos);
+        final Request paginatedRequest = handleRequestPagination(request);
+        latencyHistograms.record("ListService.handleRequestPagination", stepStartNanos);
+        return listFlights.execute(new Flight(paginatedRequest, nameTrigramIndex.modificationCount()), () -> {
+            final long listStartNanos = System.nanoTime();
+            Slice<ResponseItem> itemSlice = listEntity(paginatedRequest);
+            final long buildStartNanos = latencyHistograms.record("ListService.listEntity", listStartNanos);
+            final Response response = buildResponse(itemSlice.getContent(), itemSlice.hasNext());
+            latencyHistograms.record("ListService.buildResponse", buildStartNanos);
+            return response;
+        });
+    }
+
+    Response buildResponse(List<ResponseItem> items, boolean hasNext) {
+        final boolean hasNextCursor = hasNext && !items.isEmpty();
+        return new Response(items, hasNext, hasNextCursor ? encodeCursor(items.get(items.size() - 1).id()) : null);
     }
     
-    List<ResponseItem> convertListEntityToListResponse(List<AnyEntity> anyEntity) {
-        if(anyEntity == null) return new ArrayList<>();
-        return anyEntity.stream().map(e ->  new ResponseItem(e.getId(), e.getName())).toList();
+    /**
+     * selects only {@code id} and {@code name} straight into {@link ResponseItem}, so no {@link demo.model.AnyEntity} is hydrated or tracked by the persistence context
+     */
+    Slice<ResponseItem> listEntity(Request request) {
+        if(nameTrigramIndex.canServe(request.filter))
+            return listEntityByNameIndex(request);
+        if(request.cursor != null)
+            return anyRepository.listByFilterAfterId(decodeCursor(request.cursor), request.sizePage, request.filter, ResponseItem.class);
+        return anyRepository.listByFilter(request.numPage, request.sizePage, request.filter, ResponseItem.class);
     }
 
-    List<AnyEntity> listEntity(Request request) {
-        return anyRepository.listByFilter(request.numPage, request.sizePage, request.filter);
+    /**
+     * asks {@link NameTrigramIndex} only for the ids up to the end of the page plus one (to know if there is a next page),
+     * already sorted by id DESC, and loads only the ids of the page
+     */
+    Slice<ResponseItem> listEntityByNameIndex(Request request) {
+        final String lastId = request.cursor == null ? null : decodeCursor(request.cursor);
+        // long, as numPage * sizePage overflows an int for large pages; a cursor already seeks past the previous pages
+        final long offset = lastId == null ? (long) request.numPage * request.sizePage : 0;
+        final int limit = (int) Math.min(offset + request.sizePage + 1, Integer.MAX_VALUE);
+        final List<String> matchedIds = nameTrigramIndex.search(request.filter, lastId, limit);
+
+        final int fromIndex = (int) Math.min(offset, matchedIds.size());
+        final int toIndex = Math.min(fromIndex + request.sizePage, matchedIds.size());
+
+        final List<ResponseItem> items = toIndex > fromIndex
+                ? anyRepository.findByIdIn(matchedIds.subList(fromIndex, toIndex), Sort.by(Direction.DESC, "id"), ResponseItem.class)
+                : List.of();
+        return new SliceImpl<>(items, Pageable.unpaged(), toIndex < matchedIds.size());
     }
 
     Request handleRequestPagination(Request request) {
         return new Request(
                 request.numPage == null ? 0 : request.numPage, 
                 request.sizePage == null ?  defaultSizePage : request.sizePage, 
-                request.filter
+                request.filter,
+                request.cursor
             );
     }
 
+    String encodeCursor(String lastId) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    String decodeCursor(String cursor) {
+        try {
+            final String lastId = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if(!lastId.isBlank()) return lastId;
+        } catch (IllegalArgumentException e) {
+            // malformed base64, handled below as an invalid cursor
+        }
+        throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.CURSOR_IS_INVALID);
+    }
+
     int maxSizePageAllowed(){
         return MAX_SIZE_PAGE_ALLOWED;
     }
 
     void validateRequest(Request request) {
         if(request == null) 
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ErrMessage.REQUEST_CANNOT_BE_NULL.get());
+            throw new StacklessResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ErrMessage.REQUEST_CANNOT_BE_NULL);
         if(request.numPage != null && request.numPage < 0 ) 
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NUMPAGE_MUST_BE_MORE_THAN_OR_EQUALS_ZERO.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NUMPAGE_MUST_BE_MORE_THAN_OR_EQUALS_ZERO);
         if(request.sizePage != null && request.sizePage < 0 ) 
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.SIZEPAGE_MUST_BE_MORE_THAN_OR_EQUALS_ZERO.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.SIZEPAGE_MUST_BE_MORE_THAN_OR_EQUALS_ZERO);
 
         if(request.sizePage != null && request.sizePage > maxSizePageAllowed() )
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.SIZEPAGE_MUST_BE_LESS_THAN_X.get(maxSizePageAllowed()));
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.SIZEPAGE_MUST_BE_LESS_THAN_X.get(maxSizePageAllowed()));
+
+        if(request.cursor != null && request.numPage != null)
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NUMPAGE_CANNOT_BE_USED_WITH_CURSOR);
+        if(request.cursor != null)
+            decodeCursor(request.cursor);
     }
 
 
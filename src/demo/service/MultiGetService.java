@@ -0,0 +1,136 @@
+package demo.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.metrics.LatencyHistograms;
+import demo.model.AnyEntity;
+import demo.repository.AnyRepository;
+
+@Service
+public class MultiGetService {
+
+    private static final int MAX_IDS_ALLOWED = 300;
+    private static final int IN_CHUNK_SIZE = 100;
+
+    @Autowired
+    AnyRepository anyRepository;
+
+    @Autowired
+    GetByIdCache getByIdCache;
+
+    @Autowired
+    IdCuckooFilter idCuckooFilter;
+
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    public record Request(List<String> ids) {}
+    public record Response(List<GetByIdService.Response> items, List<String> missingIds) {}
+
+    public Response multiGet(Request request){
+        long stepStartNanos = System.nanoTime();
+        validateRequest(request);
+        stepStartNanos = latencyHistograms.record("MultiGetService.validateRequest", stepStartNanos);
+        final List<String> ids = distinctIds(request);
+        final Map<String, GetByIdService.Response> responseById = getCachedResponses(ids);
+        stepStartNanos = latencyHistograms.record("MultiGetService.getCachedResponses", stepStartNanos);
+        responseById.putAll(getResponsesFromDatabase(ids.stream().filter(id -> !responseById.containsKey(id) && idCuckooFilter.mightContain(id)).toList()));
+        stepStartNanos = latencyHistograms.record("MultiGetService.getResponsesFromDatabase", stepStartNanos);
+        final Response response = buildResponse(request.ids, responseById);
+        latencyHistograms.record("MultiGetService.buildResponse", stepStartNanos);
+        return response;
+    }
+
+    /**
+     * each id is looked up once, the response still has one entry per requested id
+     */
+    List<String> distinctIds(Request request) {
+        return new ArrayList<>(new LinkedHashSet<>(request.ids));
+    }
+
+    /**
+     * only reads what is already cached; entities loaded here are not put in the cache, so a batch never races with its invalidation
+     */
+    Map<String, GetByIdService.Response> getCachedResponses(List<String> ids) {
+        final Map<String, GetByIdService.Response> responseById = new HashMap<>();
+        for(String id : ids) {
+            final GetByIdService.Response cachedResponse = getByIdCache.getIfPresent(id);
+            if(cachedResponse != null) responseById.put(id, cachedResponse);
+        }
+        return responseById;
+    }
+
+    /**
+     * one {@code IN (...)} query per chunk of {@link #inChunkSize()} ids, keeping each statement and its bind list small.
+     * Every id queried got past {@link IdCuckooFilter}, so each one the database does not return is a false positive of the filter
+     */
+    Map<String, GetByIdService.Response> getResponsesFromDatabase(List<String> ids) {
+        final Map<String, GetByIdService.Response> responseById = new HashMap<>();
+        for(int fromIndex = 0; fromIndex < ids.size(); fromIndex += inChunkSize()) {
+            final List<String> chunk = ids.subList(fromIndex, Math.min(fromIndex + inChunkSize(), ids.size()));
+            for(AnyEntity anyEntity : anyRepository.findAllById(chunk)) {
+                responseById.put(anyEntity.getId(), convertEntityToResponse(anyEntity));
+            }
+        }
+        for(String id : ids) {
+            if(!responseById.containsKey(id)) idCuckooFilter.recordFalsePositive();
+        }
+        return responseById;
+    }
+
+    /**
+     * @param ids as requested, duplicates included
+     */
+    Response buildResponse(List<String> ids, Map<String, GetByIdService.Response> responseById) {
+        final List<GetByIdService.Response> items = new ArrayList<>(ids.size());
+        final List<String> missingIds = new ArrayList<>();
+        for(String id : ids) {
+            final GetByIdService.Response response = responseById.get(id);
+            if(response == null) missingIds.add(id);
+            else items.add(response);
+        }
+        return new Response(items, missingIds);
+    }
+
+    GetByIdService.Response convertEntityToResponse(AnyEntity anyEntity) {
+        return new GetByIdService.Response(
+                anyEntity.getId(),
+                anyEntity.getName(),
+                anyEntity.getCreated(),
+                anyEntity.getLastUpdated(),
+                anyEntity.getVersion()
+            );
+    }
+
+    int maxIdsAllowed(){
+        return MAX_IDS_ALLOWED;
+    }
+
+    int inChunkSize(){
+        return IN_CHUNK_SIZE;
+    }
+
+    void validateRequest(Request request) {
+        if(request == null) 
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.BODY_NOT_FOUND);
+        if(request.ids == null || request.ids.isEmpty()) 
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.IDS_IS_REQUIRED);
+        if(request.ids.size() > maxIdsAllowed())
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.IDS_MUST_BE_LESS_THAN_X.get(maxIdsAllowed()));
+        if(request.ids.stream().anyMatch(id -> id == null || id.trim().isBlank()))
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED);
+    }
+
+}
@@ -0,0 +1,131 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.App;
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.model.AnyEntity;
+import demo.model.UuidV7Generator;
+import demo.repository.ReactiveAnyRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link CreateService}, {@link ListService}, {@link GetByIdService}, {@link UpdateByIdService} and {@link RemoveByIdService},
+ * only present with the {@code reactive} profile. It takes and returns their records and runs their validation steps, so a request is refused
+ * with the same status and {@link ErrMessage}; validation errors are signalled through the returned publisher, never thrown.
+ * <p>Reads and writes go straight to {@link ReactiveAnyRepository}: the cache, the id filter and the name index of the blocking services are not used.</p>
+ */
+@Service
+@Profile(App.PROFILE_REACTIVE)
+public class ReactiveAnyService {
+
+    @Autowired
+    ReactiveAnyRepository reactiveAnyRepository;
+
+    @Autowired
+    CreateService createService;
+
+    @Autowired
+    ListService listService;
+
+    @Autowired
+    GetByIdService getByIdService;
+
+    @Autowired
+    UpdateByIdService updateByIdService;
+
+    @Autowired
+    RemoveByIdService removeByIdService;
+
+    public Mono<CreateService.Response> create(CreateService.Request request){
+        return Mono.defer(() -> {
+            createService.validateRequest(request);
+            final AnyEntity anyEntity = createService.prepareEntityBeforeCreating(createService.convertRequestToEntity(request));
+            anyEntity.setId(UuidV7Generator.nextUuid().toString());
+            return reactiveAnyRepository.insert(anyEntity).thenReturn(createService.convertEntityToResponse(anyEntity));
+        });
+    }
+
+    /**
+     * collects the page (at most {@code sizePage + 1} rows) to answer {@code hasNext} and {@code nextCursor} as {@link ListService#list(ListService.Request)}
+     */
+    public Mono<ListService.Response> list(ListService.Request request){
+        return Mono.fromCallable(() -> handleListRequest(request))
+                .flatMap(pagedRequest -> listEntity(pagedRequest, pagedRequest.sizePage() + 1).collectList()
+                        .map(items -> buildListResponse(items, pagedRequest.sizePage())));
+    }
+
+    /**
+     * streams the items of the page as they are read, without {@code hasNext}: the rows are fetched as the subscriber requests them
+     */
+    public Flux<ListService.ResponseItem> streamList(ListService.Request request){
+        return Mono.fromCallable(() -> handleListRequest(request))
+                .flatMapMany(pagedRequest -> listEntity(pagedRequest, pagedRequest.sizePage()));
+    }
+
+    ListService.Request handleListRequest(ListService.Request request) {
+        listService.validateRequest(request);
+        return listService.handleRequestPagination(request);
+    }
+
+    Flux<ListService.ResponseItem> listEntity(ListService.Request request, int limit) {
+        if(request.cursor() != null)
+            return reactiveAnyRepository.listByFilterAfterId(listService.decodeCursor(request.cursor()), limit, request.filter(), ListService.ResponseItem::new);
+        return reactiveAnyRepository.listByFilter((long) request.numPage() * request.sizePage(), limit, request.filter(), ListService.ResponseItem::new);
+    }
+
+    ListService.Response buildListResponse(List<ListService.ResponseItem> items, int sizePage) {
+        final boolean hasNext = items.size() > sizePage;
+        return listService.buildResponse(hasNext ? items.subList(0, sizePage) : items, hasNext);
+    }
+
+    public Mono<GetByIdService.Response> getById(String id){
+        return Mono.defer(() -> {
+            getByIdService.validateIdRequest(id);
+            return reactiveAnyRepository.findById(id)
+                    .map(getByIdService::convertEntityToResponse)
+                    .switchIfEmpty(Mono.error(() -> idNotFound(id)));
+        });
+    }
+
+    /**
+     * @param ifMatch as in {@link UpdateByIdService#updateById(String, UpdateByIdService.Request, String)}; a failed compare-and-set is not retried
+     */
+    public Mono<Void> updateById(String id, UpdateByIdService.Request request, String ifMatch){
+        return Mono.defer(() -> {
+            updateByIdService.validateRequest(id, request);
+            final LocalDateTime now = LocalDateTime.now();
+            if(ifMatch == null || UpdateByIdService.IF_MATCH_ANY.equals(ifMatch.trim()))
+                return reactiveAnyRepository.updateNameById(id, request.name(), now)
+                        .flatMap(rowsUpdated -> rowsUpdated == 0 ? Mono.error(idNotFound(id)) : Mono.empty());
+            final List<Long> versions = updateByIdService.versionsOfIfMatch(ifMatch);
+            final Mono<Long> rowsUpdated = versions.isEmpty() ? Mono.just(0L) : reactiveAnyRepository.updateNameByIdAndVersionIn(id, versions, request.name(), now);
+            return rowsUpdated.flatMap(rows -> rows > 0 ? Mono.empty() : reactiveAnyRepository.existsById(id)
+                    .flatMap(exists -> Mono.error(exists
+                            ? new StacklessResponseStatusException(HttpStatus.PRECONDITION_FAILED, ErrMessage.VERSION_DOES_NOT_MATCH.get(id))
+                            : idNotFound(id))));
+        });
+    }
+
+    public Mono<Void> removeById(String id){
+        return Mono.defer(() -> {
+            removeByIdService.validateIdRequest(id);
+            return reactiveAnyRepository.deleteRowById(id)
+                    .flatMap(rowsDeleted -> rowsDeleted == 0 ? Mono.error(idNotFound(id)) : Mono.empty());
+        });
+    }
+
+    private static ResponseStatusException idNotFound(String id) {
+        return new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id));
+    }
+
+}
@@ -3,38 +3,64 @@ package demo.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
 import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.metrics.LatencyHistograms;
 import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
 
 @Service
 public class RemoveByIdService {
 
     AnyRepository anyRepository;
+    NameTrigramIndex nameTrigramIndex;
+    GetByIdCache getByIdCache;
+    IdCuckooFilter idCuckooFilter;
+    LatencyHistograms latencyHistograms;
 
-    public RemoveByIdService(@Autowired AnyRepository anyRepository){
+    public RemoveByIdService(@Autowired AnyRepository anyRepository, @Autowired NameTrigramIndex nameTrigramIndex, @Autowired GetByIdCache getByIdCache, @Autowired IdCuckooFilter idCuckooFilter, @Autowired LatencyHistograms latencyHistograms){
         this.anyRepository = anyRepository;
+        this.nameTrigramIndex = nameTrigramIndex;
+        this.getByIdCache = getByIdCache;
+        this.idCuckooFilter = idCuckooFilter;
+        this.latencyHistograms = latencyHistograms;
     }
 
     public void removeById(String id){
+        long stepStartNanos = System.nanoTime();
         validateIdRequest(id);
-        validateIdExists(id);
+        stepStartNanos = latencyHistograms.record("RemoveByIdService.validateIdRequest", stepStartNanos);
+        validateIdMightExist(id);
+        stepStartNanos = latencyHistograms.record("RemoveByIdService.validateIdMightExist", stepStartNanos);
         remove(id);
+        latencyHistograms.record("RemoveByIdService.remove", stepStartNanos);
     }
 
-    void validateIdExists(String id) {
-        if(!anyRepository.existsById(id)) 
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id));
+    void validateIdMightExist(String id) {
+        if(!idCuckooFilter.mightContain(id)) 
+            throw new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id));
     }
 
+    /**
+     * one {@code DELETE ... WHERE id = ?}, no entity is loaded; no row deleted means the id does not exist
+     */
     void remove(String id) {
-        anyRepository.deleteById(id);
+        if(anyRepository.deleteRowById(id) == 0) {
+            idCuckooFilter.recordFalsePositive();
+            throw new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id));
+        }
+        nameTrigramIndex.remove(id);
+        getByIdCache.invalidate(id);
+        // only the request that deleted the row gets here, so an id is never removed twice from the filter
+        idCuckooFilter.remove(id);
     }
 
     void validateIdRequest(String id) {
         if(id == null || id.trim().isBlank()) 
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED);
     }
     
 }
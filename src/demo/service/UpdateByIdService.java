@@ -1,56 +1,174 @@
 package demo.service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
 import demo.constant.ErrMessage;
-import demo.model.AnyEntity;
+import demo.exception.StacklessResponseStatusException;
+import demo.metrics.LatencyHistograms;
 import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import demo.repository.UpdateCoalescer;
 
+/**
+ * Updates the name of an entity with a single {@code UPDATE} that also increments its {@code version}.
+ * With {@code If-Match} the update only applies to the versions given (optimistic concurrency, 412 otherwise);
+ * without it the update is unconditional and, when {@code app.update-retry-max-attempts} is above 1,
+ * retried with jittered exponential backoff on transient lock failures.
+ * <p>With {@code app.update-coalescing-enabled=true} unconditional updates of the same id arriving together are merged by {@link UpdateCoalescer}.</p>
+ */
 @Service
 public class UpdateByIdService {
 
+    static final String IF_MATCH_ANY = "*";
+    private static final int MAX_BACKOFF_SHIFT = 10;
+
+    @Value("${app.update-retry-max-attempts}")
+    public int updateRetryMaxAttempts;
+
+    @Value("${app.update-retry-base-backoff-millis}")
+    public long updateRetryBaseBackoffMillis;
+
     @Autowired
     AnyRepository anyRepository;
 
+    @Autowired
+    NameTrigramIndex nameTrigramIndex;
+
+    @Autowired
+    GetByIdCache getByIdCache;
+
+    @Autowired
+    IdCuckooFilter idCuckooFilter;
+
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    /**
+     * only present with {@code app.update-coalescing-enabled=true}
+     */
+    @Autowired(required = false)
+    UpdateCoalescer updateCoalescer;
+
     public record Request(String name){}
 
     public void updateById(String id, Request request){
+        updateById(id, request, null);
+    }
+
+    /**
+     * @param ifMatch value of the {@code If-Match} header, {@code null} or {@code *} to update whatever the current version
+     */
+    public void updateById(String id, Request request, String ifMatch){
+        long stepStartNanos = System.nanoTime();
         validateRequest(id, request);
-        AnyEntity anyEntity = getEntityById(id);
-        anyEntity = prepareEntityBeforeUpdating(anyEntity, request);
-        updateEntity(anyEntity);
+        stepStartNanos = latencyHistograms.record("UpdateByIdService.validateRequest", stepStartNanos);
+        validateIdMightExist(id);
+        stepStartNanos = latencyHistograms.record("UpdateByIdService.validateIdMightExist", stepStartNanos);
+        if(ifMatch == null || IF_MATCH_ANY.equals(ifMatch.trim())) {
+            updateEntityRetrying(id, request.name);
+            latencyHistograms.record("UpdateByIdService.updateEntityRetrying", stepStartNanos);
+        } else {
+            updateEntityIfMatch(id, versionsOfIfMatch(ifMatch), request.name, LocalDateTime.now());
+            latencyHistograms.record("UpdateByIdService.updateEntityIfMatch", stepStartNanos);
+        }
+    }
+
+    void updateEntityRetrying(String id, String name) {
+        for(int attempt = 1; ; attempt++) {
+            try {
+                updateEntity(id, name, LocalDateTime.now());
+                return;
+            } catch (TransientDataAccessException e) {
+                if(attempt >= updateRetryMaxAttempts) throw e;
+                try {
+                    Thread.sleep(backoffMillis(attempt));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * "full jitter": a random wait up to the exponential backoff, so writers that failed together do not retry together
+     */
+    long backoffMillis(int attempt) {
+        final long maxBackoffMillis = updateRetryBaseBackoffMillis << Math.min(attempt - 1, MAX_BACKOFF_SHIFT);
+        return ThreadLocalRandom.current().nextLong(maxBackoffMillis + 1);
+    }
+
+    /**
+     * one {@code UPDATE ... WHERE id = ?} returning the version it wrote, no entity is loaded; no row updated means the id does not exist.
+     * When coalescing, the update may be merged with concurrent ones and the name written be another caller's, so the index is fed
+     * the name and version the batch wrote: concurrent updates of one id reach the index in any order and the version lets it keep the latest
+     */
+    void updateEntity(String id, String name, LocalDateTime lastUpdated) {
+        final UpdateCoalescer.Written written = updateCoalescer == null
+                ? anyRepository.updateNameById(id, name, lastUpdated).map(version -> new UpdateCoalescer.Written(1, name, version)).orElseGet(() -> new UpdateCoalescer.Written(0, name, 0))
+                : updateCoalescer.updateNameById(id, name, lastUpdated);
+        if(written.rowsUpdated() == 0) {
+            idCuckooFilter.recordFalsePositive();
+            throw new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id));
+        }
+        nameTrigramIndex.update(id, written.name(), written.version());
+        getByIdCache.invalidate(id);
     }
 
-    AnyEntity updateEntity(AnyEntity anyEntity) {
-        return anyRepository.save(anyEntity);
+    /**
+     * the version check is part of the {@code UPDATE} itself, so no lock is taken and no row is read beforehand;
+     * only when no row is updated the id is looked up to answer 404 instead of 412
+     */
+    void updateEntityIfMatch(String id, List<Long> versions, String name, LocalDateTime lastUpdated) {
+        final Optional<Long> versionWritten = versions.isEmpty() ? Optional.empty() : anyRepository.updateNameByIdAndVersionIn(id, versions, name, lastUpdated);
+        if(versionWritten.isEmpty()) {
+            if(!anyRepository.existsById(id)) {
+                idCuckooFilter.recordFalsePositive();
+                throw new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id));
+            }
+            throw new StacklessResponseStatusException(HttpStatus.PRECONDITION_FAILED, ErrMessage.VERSION_DOES_NOT_MATCH.get(id));
+        }
+        nameTrigramIndex.update(id, name, versionWritten.get());
+        getByIdCache.invalidate(id);
     }
 
-    AnyEntity prepareEntityBeforeUpdating(AnyEntity anyEntity, Request request) {
-        anyEntity.setLastUpdated(LocalDateTime.now());
-        anyEntity.setName(request.name);
-        return anyEntity;
+    /**
+     * @return versions of the strong ETags listed in {@code ifMatch}, weak or unknown ETags are left out as they never match
+     */
+    List<Long> versionsOfIfMatch(String ifMatch) {
+        return Stream.of(ifMatch.split(","))
+                .map(GetByIdService::versionOfEtag)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
-    AnyEntity getEntityById(String id) {
-        return anyRepository
-                .findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id)));
+    void validateIdMightExist(String id) {
+        if(!idCuckooFilter.mightContain(id)) 
+            throw new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id));
     }
 
     void validateRequest(String id, Request request) {
         if(id == null || id.trim().isBlank()) 
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED);
         if(request == null) 
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.BODY_NOT_FOUND.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.BODY_NOT_FOUND);
         if(request.name == null || request.name.trim().isBlank()) 
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_IS_REQUIRED.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_IS_REQUIRED);
         if(request.name.length() > 50 )
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_MUST_BE_LESS_THAN_50_CARACT.get());
+            throw new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_MUST_BE_LESS_THAN_50_CARACT);
     }
     
 }
@@ -0,0 +1,106 @@
+package demo;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+/**
+ * <p>Tests of {@link App}</p>
+ * <pre>
+ *{@link when_buildArgs} {
+ *  {@link when_buildArgs#GIVEN_arg_with_default_WHEN_buildArgs_SHOULD_keep_only_given_arg()}
+ *  {@link when_buildArgs#GIVEN_no_threads_arg_WHEN_buildArgs_SHOULD_keep_platform_threads()}
+ *  {@link when_buildArgs#GIVEN_platform_threads_WHEN_buildArgs_SHOULD_keep_platform_threads()}
+ *  {@link when_buildArgs#GIVEN_virtual_threads_on_java_21_WHEN_buildArgs_SHOULD_enable_virtual_threads_and_size_pool()}
+ *  {@link when_buildArgs#GIVEN_virtual_threads_before_java_21_WHEN_buildArgs_SHOULD_throw_IllegalStateException()}
+ *  {@link when_buildArgs#GIVEN_unknown_threads_WHEN_buildArgs_SHOULD_throw_IllegalArgumentException()}
+ *  {@link when_buildArgs#GIVEN_reactive_profile_WHEN_buildArgs_SHOULD_start_reactive_web_server_on_same_database()}
+ *}
+ * </pre>
+ */
+final class AppTest extends AppTestFixture {
+
+    /**
+     *  testing all scenarios from {@link App#buildArgs(String[])}
+     */
+    @Nested
+    class when_buildArgs {
+
+        @Test
+        void GIVEN_arg_with_default_WHEN_buildArgs_SHOULD_keep_only_given_arg(){
+
+            final List<String> args = List.of(App.buildArgs(new String[]{ARG_PORT_OVERRIDE}));
+
+            assertTrue(args.contains(ARG_PORT_OVERRIDE));
+            assertFalse(args.contains(ARG_PORT_DEFAULT));
+        }
+
+        @Test
+        void GIVEN_no_threads_arg_WHEN_buildArgs_SHOULD_keep_platform_threads(){
+
+            final List<String> args = List.of(App.buildArgs(new String[0]));
+
+            assertTrue(args.contains(ARG_PORT_DEFAULT));
+            assertFalse(args.contains(ARG_VIRTUAL_THREADS_ENABLED));
+            assertFalse(args.contains(ARG_POOL_SIZE));
+        }
+
+        @Test
+        void GIVEN_platform_threads_WHEN_buildArgs_SHOULD_keep_platform_threads(){
+
+            final List<String> args = List.of(App.buildArgs(new String[]{ARG_THREADS_PLATFORM}));
+
+            assertFalse(args.contains(ARG_VIRTUAL_THREADS_ENABLED));
+            assertFalse(args.contains(ARG_POOL_SIZE));
+        }
+
+        @Test
+        @EnabledForJreRange(min = JRE.JAVA_21)
+        void GIVEN_virtual_threads_on_java_21_WHEN_buildArgs_SHOULD_enable_virtual_threads_and_size_pool(){
+
+            final List<String> args = List.of(App.buildArgs(new String[]{ARG_THREADS_VIRTUAL}));
+
+            assertTrue(args.contains(ARG_VIRTUAL_THREADS_ENABLED));
+            assertTrue(args.contains(ARG_POOL_SIZE));
+        }
+
+        @Test
+        @EnabledForJreRange(max = JRE.JAVA_20)
+        void GIVEN_virtual_threads_before_java_21_WHEN_buildArgs_SHOULD_throw_IllegalStateException(){
+
+            final IllegalStateException exception = assertThrows(IllegalStateException.class,
+                    () -> App.buildArgs(new String[]{ARG_THREADS_VIRTUAL}));
+
+            assertTrue(exception.getMessage().contains("Java 21"), exception::getMessage);
+        }
+
+        @Test
+        void GIVEN_unknown_threads_WHEN_buildArgs_SHOULD_throw_IllegalArgumentException(){
+
+            final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> App.buildArgs(new String[]{ARG_THREADS_UNKNOWN}));
+
+            assertTrue(exception.getMessage().contains(App.THREADS_VIRTUAL), exception::getMessage);
+        }
+
+        @Test
+        void GIVEN_reactive_profile_WHEN_buildArgs_SHOULD_start_reactive_web_server_on_same_database(){
+
+            final List<String> servletArgs = List.of(App.buildArgs(new String[0]));
+            final List<String> reactiveArgs = List.of(App.buildArgs(new String[]{ARG_PROFILES_WITH_REACTIVE}));
+
+            assertFalse(servletArgs.contains(ARG_REACTIVE_WEB_APPLICATION));
+            assertTrue(reactiveArgs.contains(ARG_REACTIVE_WEB_APPLICATION));
+            assertTrue(reactiveArgs.contains(ARG_R2DBC_URL));
+        }
+
+    }
+
+}
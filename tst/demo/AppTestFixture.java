@@ -0,0 +1,16 @@
+package demo;
+
+abstract sealed class AppTestFixture permits AppTest {
+
+    protected final String ARG_PORT_DEFAULT = "--server.port=8081";
+    protected final String ARG_PORT_OVERRIDE = "--server.port=0";
+    protected final String ARG_THREADS_PLATFORM = "--app.threads=platform";
+    protected final String ARG_THREADS_VIRTUAL = "--app.threads=virtual";
+    protected final String ARG_THREADS_UNKNOWN = "--app.threads=green";
+    protected final String ARG_VIRTUAL_THREADS_ENABLED = "--spring.threads.virtual.enabled=true";
+    protected final String ARG_PROFILES_WITH_REACTIVE = "--spring.profiles.active=dev, reactive";
+    protected final String ARG_REACTIVE_WEB_APPLICATION = "--spring.main.web-application-type=reactive";
+    protected final String ARG_R2DBC_URL = "--app.r2dbc-url=r2dbc:h2:mem:///testdb";
+    protected final String ARG_POOL_SIZE = "--spring.datasource.hikari.maximum-pool-size=" + (Runtime.getRuntime().availableProcessors() * 2 + 1);
+
+}
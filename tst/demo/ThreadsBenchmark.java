@@ -0,0 +1,131 @@
+package demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * <p>Load benchmark of requests/second and p99 latency with 1000 concurrent clients listing a page, which runs a query for every request,
+ * served on the Tomcat platform thread pool, on virtual threads and on the {@code reactive} profile (WebFlux event loop and R2DBC).</p>
+ * <p>On virtual threads the {@code jdk.VirtualThreadPinned} events are recorded and their top application frames printed,
+ * to find the {@code synchronized} sections of Hibernate or the H2 driver that pin a carrier thread while blocking.</p>
+ * <p>Virtual threads need Java 21: run with {@code gradle benchmark -PruntimeJava=21}, the virtual threads run is skipped on an older JVM.</p>
+ * <p>Run with {@code gradle benchmark}, results are printed as {@code [bench]} lines.</p>
+ */
+@Tag("benchmark")
+class ThreadsBenchmark {
+
+    private static final int CLIENTS = 1_000;
+    private static final int WARMUP_REQUESTS = 5_000;
+    private static final int MEASURED_REQUESTS = 20_000;
+    private static final int ENTITIES = 100;
+    private static final int PINNED_FRAMES_PRINTED = 10;
+    private static final String PATH = "/any-controller";
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+
+    @Test
+    void platform_threads(){
+        run(App.THREADS_PLATFORM, "--app.threads=" + App.THREADS_PLATFORM);
+    }
+
+    @Test
+    void reactive_stack(){
+        run(App.PROFILE_REACTIVE, "--spring.profiles.active=" + App.PROFILE_REACTIVE);
+    }
+
+    @Test
+    void virtual_threads(){
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "virtual threads need Java 21, running on " + Runtime.version());
+        final Map<String, AtomicLong> pinnedByFrame = new ConcurrentHashMap<>();
+        try(RecordingStream recordingStream = new RecordingStream()) {
+            recordingStream.enable("jdk.VirtualThreadPinned").withStackTrace().withThreshold(Duration.ZERO);
+            recordingStream.onEvent("jdk.VirtualThreadPinned", event -> {
+                if(event.getStackTrace() == null) return;
+                event.getStackTrace().getFrames().stream()
+                    .filter(RecordedFrame::isJavaFrame)
+                    .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                    .filter(frame -> frame.startsWith("org.hibernate.") || frame.startsWith("org.h2.") || frame.startsWith("com.zaxxer.hikari.") || frame.startsWith("demo."))
+                    .findFirst()
+                    .ifPresent(frame -> pinnedByFrame.computeIfAbsent(frame, key -> new AtomicLong()).incrementAndGet());
+            });
+            recordingStream.startAsync();
+            run(App.THREADS_VIRTUAL, "--app.threads=" + App.THREADS_VIRTUAL);
+        }
+        pinnedByFrame.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+            .limit(PINNED_FRAMES_PRINTED)
+            .forEach(entry -> System.out.printf("[bench] pinned %6d times in %s%n", entry.getValue().get(), entry.getKey()));
+        if(pinnedByFrame.isEmpty()) System.out.println("[bench] no pinning found in Hibernate, H2, HikariCP or demo");
+    }
+
+    private void run(String stack, String stackArg){
+        try(ConfigurableApplicationContext context = SpringApplication.run(App.class, App.buildArgs(new String[]{
+                "--server.port=0", stackArg, "--server.tomcat.accept-count=" + CLIENTS}))) {
+            final String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + PATH;
+            for(int i = 0; i < ENTITIES; i++) {
+                assertEquals(201, send(HttpRequest.newBuilder(URI.create(baseUrl))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"entity " + i + "\"}")).build()).join().statusCode());
+            }
+            final HttpRequest listPage = HttpRequest.newBuilder(URI.create(baseUrl + "?numPage=0&sizePage=10")).GET().build();
+            load(listPage, WARMUP_REQUESTS);
+            final long start = System.nanoTime();
+            final long[] latencies = load(listPage, MEASURED_REQUESTS);
+            final long elapsed = System.nanoTime() - start;
+            Arrays.sort(latencies);
+            System.out.printf("[bench] %-8s clients=%d requests=%d: %8.0f requests/s, p50=%6.1f ms, p99=%6.1f ms%n",
+                    stack, CLIENTS, MEASURED_REQUESTS, MEASURED_REQUESTS / (elapsed / 1_000_000_000.0),
+                    latencies[latencies.length / 2] / 1_000_000.0, latencies[(int) (latencies.length * 0.99)] / 1_000_000.0);
+        }
+    }
+
+    /**
+     * keeps {@code CLIENTS} requests in flight until {@code requests} are answered
+     * @return latency of each request in nanoseconds
+     */
+    private long[] load(HttpRequest request, int requests){
+        final Semaphore inFlight = new Semaphore(CLIENTS);
+        final AtomicLongArray latencies = new AtomicLongArray(requests);
+        final CompletableFuture<?>[] responses = new CompletableFuture<?>[requests];
+        for(int i = 0; i < requests; i++) {
+            inFlight.acquireUninterruptibly();
+            final int index = i;
+            final long start = System.nanoTime();
+            responses[i] = send(request).whenComplete((response, e) -> {
+                latencies.set(index, System.nanoTime() - start);
+                inFlight.release();
+                if(e == null && response.statusCode() != 200) throw new IllegalStateException("status " + response.statusCode());
+            });
+        }
+        CompletableFuture.allOf(responses).join();
+        final long[] result = new long[requests];
+        for(int i = 0; i < requests; i++) result[i] = latencies.get(i);
+        return result;
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request){
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+}
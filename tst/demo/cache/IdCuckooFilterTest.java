@@ -0,0 +1,148 @@
+package demo.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import demo.cache.IdCuckooFilter.IdItem;
+import demo.repository.AnyRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * <p>Tests of {@link IdCuckooFilter}</p>
+ * <pre>
+ *{@link when_mightContain} {
+ *  {@link when_mightContain#GIVEN_filter_not_loaded_WHEN_mightContain_SHOULD_return_true()}
+ *  {@link when_mightContain#GIVEN_id_loaded_from_database_WHEN_mightContain_SHOULD_return_true()}
+ *  {@link when_mightContain#GIVEN_more_ids_than_first_sub_filter_WHEN_mightContain_SHOULD_never_return_false_for_added_id()}
+ *  {@link when_mightContain#GIVEN_ids_never_added_WHEN_mightContain_SHOULD_return_false_for_almost_all()}
+ *  {@link when_mightContain#GIVEN_removed_ids_WHEN_mightContain_SHOULD_return_false_for_almost_all()}
+ *  {@link when_mightContain#GIVEN_id_colliding_with_older_sub_filter_removed_WHEN_mightContain_SHOULD_keep_older_id()}
+ *}
+ *{@link when_falsePositiveRate} {
+ *  {@link when_falsePositiveRate#GIVEN_negatives_and_false_positives_WHEN_falsePositiveRate_SHOULD_be_published_as_gauge()}
+ *}
+ * </pre>
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+final class IdCuckooFilterTest extends IdCuckooFilterTestFixture {
+
+    IdCuckooFilter idCuckooFilter;
+
+    MeterRegistry meterRegistry;
+
+    @Mock
+    AnyRepository anyRepositoryMock;
+
+    @BeforeEach
+    void createFilter(){
+        when(anyRepositoryMock.listByFilter(eq(0), anyInt(), any(), eq(IdItem.class))).thenReturn(SLICE_LOADED_FROM_DATABASE.get());
+        meterRegistry = new SimpleMeterRegistry();
+        idCuckooFilter = new IdCuckooFilter(anyRepositoryMock, meterRegistry, SMALL_INITIAL_BUCKETS);
+    }
+
+    /**
+     *  testing all scenarios from {@link IdCuckooFilter#mightContain(String)}
+     */
+    @Nested
+    class when_mightContain {
+
+        @Test
+        void GIVEN_filter_not_loaded_WHEN_mightContain_SHOULD_return_true(){
+            assertTrue(idCuckooFilter.mightContain(LIST_RANDOM_IDS.apply(1).get(0)));
+        }
+
+        @Test
+        void GIVEN_id_loaded_from_database_WHEN_mightContain_SHOULD_return_true(){
+            idCuckooFilter.load();
+
+            assertTrue(idCuckooFilter.mightContain(ID_LOADED));
+        }
+
+        @Test
+        void GIVEN_more_ids_than_first_sub_filter_WHEN_mightContain_SHOULD_never_return_false_for_added_id(){
+            final List<String> ids = LIST_RANDOM_IDS.apply(IDS_ADDED);
+            idCuckooFilter.load();
+
+            ids.forEach(idCuckooFilter::add);
+
+            assertTrue(idCuckooFilter.subFilterCount() > 1);
+            ids.forEach(id -> assertTrue(idCuckooFilter.mightContain(id), id));
+        }
+
+        @Test
+        void GIVEN_ids_never_added_WHEN_mightContain_SHOULD_return_false_for_almost_all(){
+            idCuckooFilter.load();
+            LIST_RANDOM_IDS.apply(IDS_ADDED).forEach(idCuckooFilter::add);
+
+            final long falsePositives = LIST_RANDOM_IDS.apply(IDS_NEVER_ADDED).stream().filter(idCuckooFilter::mightContain).count();
+
+            assertTrue(falsePositives < IDS_NEVER_ADDED * MAX_FALSE_POSITIVE_RATE, "false positives: " + falsePositives);
+        }
+
+        @Test
+        void GIVEN_removed_ids_WHEN_mightContain_SHOULD_return_false_for_almost_all(){
+            final List<String> ids = LIST_RANDOM_IDS.apply(IDS_ADDED);
+            idCuckooFilter.load();
+            ids.forEach(idCuckooFilter::add);
+
+            ids.forEach(idCuckooFilter::remove);
+
+            final long stillPresent = ids.stream().filter(idCuckooFilter::mightContain).count();
+            assertTrue(stillPresent < IDS_ADDED * MAX_FALSE_POSITIVE_RATE, "still present: " + stillPresent);
+            assertTrue(idCuckooFilter.mightContain(ID_LOADED));
+        }
+
+        @Test
+        void GIVEN_id_colliding_with_older_sub_filter_removed_WHEN_mightContain_SHOULD_keep_older_id(){
+            final String collidingId = COLLIDING_ID_OF.apply(ID_LOADED);
+            idCuckooFilter.load();
+            LIST_RANDOM_IDS.apply(SMALL_INITIAL_BUCKETS * 4).forEach(idCuckooFilter::add);
+            idCuckooFilter.add(collidingId);
+
+            idCuckooFilter.remove(collidingId);
+
+            assertTrue(idCuckooFilter.subFilterCount() > 1);
+            assertTrue(idCuckooFilter.mightContain(ID_LOADED));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link IdCuckooFilter#falsePositiveRate()}
+     */
+    @Nested
+    class when_falsePositiveRate {
+
+        @Test
+        void GIVEN_negatives_and_false_positives_WHEN_falsePositiveRate_SHOULD_be_published_as_gauge(){
+            idCuckooFilter.load();
+
+            LIST_RANDOM_IDS.apply(3).forEach(idCuckooFilter::mightContain);
+            idCuckooFilter.recordFalsePositive();
+
+            assertEquals(3, meterRegistry.get("id.filter.negatives").gauge().value());
+            assertEquals(1, meterRegistry.get("id.filter.false.positives").gauge().value());
+            assertEquals(0.25, meterRegistry.get("id.filter.false.positive.rate").gauge().value());
+        }
+
+    }
+
+}
@@ -0,0 +1,41 @@
+package demo.cache;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import demo.cache.IdCuckooFilter.IdItem;
+
+abstract sealed class IdCuckooFilterTestFixture permits IdCuckooFilterTest {
+
+    protected final int SMALL_INITIAL_BUCKETS = 16;
+    protected final int IDS_ADDED = 20_000;
+    protected final int IDS_NEVER_ADDED = 100_000;
+    protected final double MAX_FALSE_POSITIVE_RATE = 0.01;
+    protected final String ID_LOADED = "id-loaded";
+
+    protected final Supplier<Slice<IdItem>> SLICE_LOADED_FROM_DATABASE = () -> new SliceImpl<>(List.of(new IdItem(ID_LOADED)));
+
+    protected final Function<Integer, List<String>> LIST_RANDOM_IDS = size -> IntStream.range(0, size)
+            .mapToObj(i -> UUID.randomUUID().toString())
+            .toList();
+
+    /**
+     * an id with the same fingerprint and first bucket as {@code id} in the first sub filter, found by brute force
+     */
+    protected final Function<String, String> COLLIDING_ID_OF = id -> {
+        final long hash = IdCuckooFilter.hash(id);
+        final long fingerprintAndFirstBucketMask = 0xffff_0000_0000_0000L | (SMALL_INITIAL_BUCKETS - 1);
+        return IntStream.iterate(0, i -> i + 1)
+                .mapToObj(i -> "colliding-" + i)
+                .filter(candidate -> ((IdCuckooFilter.hash(candidate) ^ hash) & fingerprintAndFirstBucketMask) == 0)
+                .findFirst()
+                .orElseThrow();
+    };
+
+}
@@ -0,0 +1,150 @@
+package demo.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <p>Tests of {@link SingleFlight}</p>
+ * <pre>
+ *{@link when_execute} {
+ *  {@link when_execute#GIVEN_callers_of_same_key_while_call_in_flight_WHEN_execute_SHOULD_run_call_once_and_share_result()}
+ *  {@link when_execute#GIVEN_caller_of_other_key_while_call_in_flight_WHEN_execute_SHOULD_run_its_own_call()}
+ *  {@link when_execute#GIVEN_call_ended_WHEN_execute_SHOULD_run_call_again()}
+ *  {@link when_execute#GIVEN_call_in_flight_throwing_WHEN_execute_SHOULD_not_share_exception_and_let_waiters_run_call()}
+ *}
+ * </pre>
+ */
+final class SingleFlightTest extends SingleFlightTestFixture {
+
+    SingleFlight<String, String> singleFlight;
+
+    AtomicInteger calls;
+    CountDownLatch firstCallStarted;
+    CountDownLatch firstCallReleased;
+
+    @BeforeEach
+    void createSingleFlight(){
+        singleFlight = new SingleFlight<>();
+        calls = new AtomicInteger();
+        firstCallStarted = new CountDownLatch(1);
+        firstCallReleased = new CountDownLatch(1);
+    }
+
+    /**
+     * the first call waits until released, the next ones return right away
+     */
+    Supplier<String> callReturning(Supplier<String> firstCallOutcome) {
+        return () -> {
+            if(calls.incrementAndGet() > 1) return VALUE;
+            firstCallStarted.countDown();
+            try {
+                firstCallReleased.await(PARK_TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return firstCallOutcome.get();
+        };
+    }
+
+    Thread startCaller(String key, Supplier<String> call, Map<Thread, Object> outcomeByThread) {
+        final Thread thread = new Thread(() -> {
+            try {
+                outcomeByThread.put(Thread.currentThread(), singleFlight.execute(key, call));
+            } catch (RuntimeException e) {
+                outcomeByThread.put(Thread.currentThread(), e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    void awaitParked(List<Thread> threads) throws InterruptedException {
+        final long deadline = System.nanoTime() + PARK_TIMEOUT_NANOS;
+        while(!threads.stream().allMatch(thread -> PARKED_IN.test(thread, SingleFlight.class)) && System.nanoTime() < deadline) Thread.sleep(1);
+    }
+
+    /**
+     *  testing all scenarios from {@link SingleFlight#execute(Object, Supplier)}
+     */
+    @Nested
+    class when_execute {
+
+        @Test
+        void GIVEN_callers_of_same_key_while_call_in_flight_WHEN_execute_SHOULD_run_call_once_and_share_result() throws Exception{
+
+            final Supplier<String> call = callReturning(() -> new String(VALUE));
+            final Map<Thread, Object> outcomeByThread = new ConcurrentHashMap<>();
+            final Thread first = startCaller(KEY, call, outcomeByThread);
+            firstCallStarted.await();
+            final List<Thread> waiters = new ArrayList<>();
+            for(int i = 0; i < WAITERS; i++) waiters.add(startCaller(KEY, call, outcomeByThread));
+            awaitParked(waiters);
+
+            firstCallReleased.countDown();
+            first.join();
+            for(Thread waiter : waiters) waiter.join();
+
+            assertEquals(1, calls.get());
+            for(Thread waiter : waiters) assertSame(outcomeByThread.get(first), outcomeByThread.get(waiter));
+        }
+
+        @Test
+        void GIVEN_caller_of_other_key_while_call_in_flight_WHEN_execute_SHOULD_run_its_own_call() throws Exception{
+
+            final Supplier<String> call = callReturning(() -> VALUE);
+            final Map<Thread, Object> outcomeByThread = new ConcurrentHashMap<>();
+            final Thread first = startCaller(KEY, call, outcomeByThread);
+            firstCallStarted.await();
+
+            assertEquals(VALUE, singleFlight.execute(OTHER_KEY, call));
+
+            firstCallReleased.countDown();
+            first.join();
+            assertEquals(2, calls.get());
+        }
+
+        @Test
+        void GIVEN_call_ended_WHEN_execute_SHOULD_run_call_again(){
+
+            singleFlight.execute(KEY, () -> VALUE + calls.incrementAndGet());
+            final String result = singleFlight.execute(KEY, () -> VALUE + calls.incrementAndGet());
+
+            assertEquals(VALUE + 2, result);
+        }
+
+        @Test
+        void GIVEN_call_in_flight_throwing_WHEN_execute_SHOULD_not_share_exception_and_let_waiters_run_call() throws Exception{
+
+            final Supplier<String> call = callReturning(() -> { throw new IllegalStateException(); });
+            final Map<Thread, Object> outcomeByThread = new ConcurrentHashMap<>();
+            final Thread first = startCaller(KEY, call, outcomeByThread);
+            firstCallStarted.await();
+            final List<Thread> waiters = new ArrayList<>();
+            for(int i = 0; i < WAITERS; i++) waiters.add(startCaller(KEY, call, outcomeByThread));
+            awaitParked(waiters);
+
+            firstCallReleased.countDown();
+            first.join();
+            for(Thread waiter : waiters) waiter.join();
+
+            assertInstanceOf(IllegalStateException.class, outcomeByThread.get(first));
+            for(Thread waiter : waiters) assertEquals(VALUE, outcomeByThread.get(waiter));
+            assertEquals(1 + WAITERS, calls.get());
+        }
+    }
+
+}
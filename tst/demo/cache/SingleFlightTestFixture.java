@@ -0,0 +1,22 @@
+package demo.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+abstract sealed class SingleFlightTestFixture permits SingleFlightTest {
+
+    protected final int WAITERS = 8;
+    protected final String KEY = "key";
+    protected final String OTHER_KEY = "other key";
+    protected final String VALUE = "value";
+    protected final long PARK_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /**
+     * whether {@code thread} waits inside a method of {@code type}
+     */
+    protected final BiPredicate<Thread, Class<?>> PARKED_IN = (thread, type) ->
+            (thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.BLOCKED)
+            && Arrays.stream(thread.getStackTrace()).anyMatch(frame -> frame.getClassName().equals(type.getName()));
+
+}
@@ -4,16 +4,29 @@ package demo.controller;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
 
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -21,15 +34,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.server.ResponseStatusException;
 
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+import demo.metrics.LatencyHistograms;
 import demo.repository.AnyRepository;
+import demo.service.BulkCreateService;
+import demo.service.BulkDeleteService;
 import demo.service.CreateService;
+import demo.service.ExportService;
 import demo.service.GetByIdService;
 import demo.service.ListService;
 import demo.service.ListService.Request;
+import demo.service.MultiGetService;
 import demo.service.RemoveByIdService;
 import demo.service.UpdateByIdService;
 
@@ -42,10 +65,22 @@ import demo.service.UpdateByIdService;
  *  {@link when_create#GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_create_SHOULD_return_error_400()}
  *  {@link when_create#GIVEN_thow_RuntimeException_WHEN_create_SHOULD_return_error_500()}
  *}
+ *{@link when_bulkCreate} {
+ *  {@link when_bulkCreate#GIVEN_valid_request_WHEN_bulkCreate_SHOULD_return_ids_and_item_errors()}
+ *  {@link when_bulkCreate#GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_bulkCreate_SHOULD_return_error_400()}
+ *}
+ *{@link when_bulkDelete} {
+ *  {@link when_bulkDelete#GIVEN_valid_request_WHEN_bulkDelete_SHOULD_return_rows_deleted()}
+ *  {@link when_bulkDelete#GIVEN_async_request_WHEN_bulkDelete_SHOULD_return_accepted_job_with_location()}
+ *  {@link when_bulkDelete#GIVEN_job_id_WHEN_getBulkDeleteJob_SHOULD_return_job_progress()}
+ *  {@link when_bulkDelete#GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_bulkDelete_SHOULD_return_error_400()}
+ *}
  *{@link when_updateById} {
  *  {@link when_updateById#GIVEN_valid_request_WHEN_updateById_SHOULD_run_sucessfully()}
  *  {@link when_updateById#GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_updateById_SHOULD_return_error_400()}
  *  {@link when_updateById#GIVEN_thow_RuntimeException_WHEN_updateById_SHOULD_return_error_500()}
+ *  {@link when_updateById#GIVEN_if_match_WHEN_updateById_SHOULD_pass_etag_to_service()}
+ *  {@link when_updateById#GIVEN_version_mismatch_WHEN_updateById_SHOULD_return_error_412()}
  *}
  *{@link on_specific_scenarios} {
  *  {@link on_specific_scenarios#GIVEN_invalid_path_SHOULD_return_not_found()}
@@ -58,6 +93,7 @@ import demo.service.UpdateByIdService;
  *{@link when_list} {
  *  {@link when_list#GIVEN_request_without_filter_or_pagination_WHEN_list_SHOULD_run_sucessfully()}
  *  {@link when_list#GIVEN_valid_request_and_empty_reponse_list_WHEN_list_SHOULD_run_sucessfully()}
+ *  {@link when_list#GIVEN_service_returns_next_cursor_WHEN_list_SHOULD_return_next_cursor_header()}
  *  {@link when_list#GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_list_SHOULD_return_error_400()}
  *  {@link when_list#GIVEN_thow_RuntimeException_WHEN_list_SHOULD_return_error_500()}
  *}
@@ -65,6 +101,32 @@ import demo.service.UpdateByIdService;
  *  {@link when_getById#GIVEN_valid_request_WHEN_getById_SHOULD_run_sucessfully()}
  *  {@link when_getById#GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_getById_SHOULD_return_error_400()}
  *  {@link when_getById#GIVEN_thow_RuntimeException_WHEN_getById_SHOULD_return_error_500()}
+ *  {@link when_getById#GIVEN_if_none_match_of_current_version_WHEN_getById_SHOULD_return_not_modified_without_loading_entity()}
+ *  {@link when_getById#GIVEN_if_none_match_of_old_version_WHEN_getById_SHOULD_return_entity_with_current_etag()}
+ *}
+ *{@link when_existsById} {
+ *  {@link when_existsById#GIVEN_existing_id_WHEN_existsById_SHOULD_return_ok_without_body()}
+ *  {@link when_existsById#GIVEN_absent_id_WHEN_existsById_SHOULD_return_not_found_without_body()}
+ *}
+ *{@link when_multiGet} {
+ *  {@link when_multiGet#GIVEN_valid_request_WHEN_multiGet_SHOULD_return_items_and_missing_ids()}
+ *  {@link when_multiGet#GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_multiGet_SHOULD_return_error_400()}
+ *}
+ *{@link when_export} {
+ *  {@link when_export#GIVEN_service_writes_entities_WHEN_export_SHOULD_stream_ndjson()}
+ *  {@link when_export#GIVEN_thow_ResponseStatusException_with_service_unavailable_WHEN_export_SHOULD_return_error_503()}
+ *  {@link when_export#GIVEN_async_request_ended_by_container_WHEN_export_SHOULD_release_its_reservation()}
+ *}
+ *{@link when_handleThrowableException} {
+ *  {@link when_handleThrowableException#GIVEN_thow_StacklessResponseStatusException_with_constant_message_WHEN_create_SHOULD_return_error_400()}
+ *  {@link when_handleThrowableException#GIVEN_constant_message_thrown_twice_WHEN_handleThrowableException_SHOULD_reuse_response_error()}
+ *  {@link when_handleThrowableException#GIVEN_message_with_parameters_WHEN_handleThrowableException_SHOULD_build_response_error()}
+ *}
+ *{@link when_accept_cbor} {
+ *  {@link when_accept_cbor#GIVEN_accept_cbor_WHEN_list_SHOULD_return_cbor_items()}
+ *  {@link when_accept_cbor#GIVEN_accept_cbor_WHEN_getById_SHOULD_return_cbor_with_dates_as_text()}
+ *  {@link when_accept_cbor#GIVEN_no_accept_WHEN_getById_SHOULD_return_json()}
+ *  {@link when_accept_cbor#GIVEN_accept_cbor_and_id_not_found_WHEN_getById_SHOULD_return_cbor_response_error()}
  *}
  * </pre>
  */
@@ -78,6 +140,7 @@ import demo.service.UpdateByIdService;
         UpdateByIdService.class
     }
 )
+@Import(LatencyHistograms.class)
 final class AnyControllerTest extends AnyControllerTestFixture {
 
     @Autowired private MockMvc mockMvc;
@@ -86,6 +149,10 @@ final class AnyControllerTest extends AnyControllerTestFixture {
     @MockBean private RemoveByIdService removeByIdService;
     @MockBean private GetByIdService getByIdService;
     @MockBean private ListService listService;
+    @MockBean private ExportService exportService;
+    @MockBean private MultiGetService multiGetService;
+    @MockBean private BulkCreateService bulkCreateService;
+    @MockBean private BulkDeleteService bulkDeleteService;
     @MockBean private AnyRepository anyRepository;
 
     /**
@@ -142,7 +209,7 @@ final class AnyControllerTest extends AnyControllerTestFixture {
     }
 
     /**
-     *  testing all scenarios from {@link AnyController#updateById(String, demo.service.UpdateByIdService.Request)}
+     *  testing all scenarios from {@link AnyController#updateById(String, demo.service.UpdateByIdService.Request, String)}
      */
     @Nested
     class when_updateById{
@@ -152,7 +219,7 @@ final class AnyControllerTest extends AnyControllerTestFixture {
             final var request = OK_BODY_REQUEST_UPDATE_BY_ID.get();
             final var id = RANDON_UUID_STRING.get();
 
-            doNothing().when(updateByIdService).updateById(id, request);
+            doNothing().when(updateByIdService).updateById(id, request, null);
 
             MOCK_REQUEST_UPDATE_BY_ID
                 .setMock(mockMvc, id, request)      
@@ -165,7 +232,7 @@ final class AnyControllerTest extends AnyControllerTestFixture {
     
             final var e = new  ResponseStatusException(HttpStatus.BAD_REQUEST, RANDON_SHORT_STRING.get());
     
-            doThrow(e).when(updateByIdService).updateById(any(String.class), any(UpdateByIdService.Request.class));
+            doThrow(e).when(updateByIdService).updateById(any(String.class), any(UpdateByIdService.Request.class), any());
             
             MOCK_REQUEST_UPDATE_BY_ID
                 .setMock(mockMvc, RANDON_UUID_STRING.get(), OK_BODY_REQUEST_UPDATE_BY_ID.get()) 
@@ -180,7 +247,7 @@ final class AnyControllerTest extends AnyControllerTestFixture {
     
             final var e = new  RuntimeException(RANDON_SHORT_STRING.get());
     
-            doThrow(e).when(updateByIdService).updateById(any(String.class), any(UpdateByIdService.Request.class));
+            doThrow(e).when(updateByIdService).updateById(any(String.class), any(UpdateByIdService.Request.class), any());
     
             final var expectedResponseStatus = HttpStatus.INTERNAL_SERVER_ERROR;
             
@@ -192,6 +259,32 @@ final class AnyControllerTest extends AnyControllerTestFixture {
     
         }
 
+        @Test
+        void GIVEN_if_match_WHEN_updateById_SHOULD_pass_etag_to_service() throws Exception{
+            final var id = RANDON_UUID_STRING.get();
+            final var etag = OK_VERSION_GET_BY_ID_SERVICE.get().etag();
+
+            MOCK_REQUEST_UPDATE_BY_ID_IF_MATCH
+                .setMock(mockMvc, id, etag)
+                .andExpect(status().isNoContent());
+
+            verify(updateByIdService).updateById(eq(id), any(UpdateByIdService.Request.class), eq(etag));
+        }
+
+        @Test
+        void GIVEN_version_mismatch_WHEN_updateById_SHOULD_return_error_412() throws Exception{
+
+            final var e = new  ResponseStatusException(HttpStatus.PRECONDITION_FAILED, RANDON_SHORT_STRING.get());
+
+            doThrow(e).when(updateByIdService).updateById(any(String.class), any(UpdateByIdService.Request.class), any());
+
+            MOCK_REQUEST_UPDATE_BY_ID_IF_MATCH
+                .setMock(mockMvc, RANDON_UUID_STRING.get(), OK_VERSION_GET_BY_ID_SERVICE.get().etag())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status", equalTo(HttpStatus.PRECONDITION_FAILED.value())))
+                .andExpect(jsonPath("$.error", equalTo(e.getBody().getDetail())));
+        }
+
     }
 
 
@@ -276,14 +369,32 @@ final class AnyControllerTest extends AnyControllerTestFixture {
             final var request = OK_BODY_REQUEST_LIST_WITH_NO_FILTER_OR_PAGINATION.get();
             final var responseExpected = OK_REPONSE_LIST_SERVICE_WITH_ONLY_ONE_ITEM.get();
 
-            when(listService.list(new Request(request.numPage(), request.sizePage(), request.filter()))).thenReturn(responseExpected);
+            when(listService.list(new Request(request.numPage(), request.sizePage(), request.filter(), request.cursor()))).thenReturn(responseExpected);
     
             MOCK_REQUEST_LIST
                 .setMock(mockMvc, request)
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(responseExpected.size())))
-                .andExpect(jsonPath("$[0].id", equalTo(responseExpected.get(0).id())))
-                .andExpect(jsonPath("$[0].name", equalTo(responseExpected.get(0).name())));
+                .andExpect(jsonPath("$", hasSize(responseExpected.items().size())))
+                .andExpect(jsonPath("$[0].id", equalTo(responseExpected.items().get(0).id())))
+                .andExpect(jsonPath("$[0].name", equalTo(responseExpected.items().get(0).name())))
+                .andExpect(header().string(AnyController.HEADER_HAS_NEXT, "false"))
+                .andExpect(header().doesNotExist(AnyController.HEADER_NEXT_CURSOR));
+    
+        }
+
+        @Test
+        void GIVEN_service_returns_next_cursor_WHEN_list_SHOULD_return_next_cursor_header() throws Exception{
+    
+            final var responseExpected = OK_REPONSE_LIST_SERVICE_WITH_NEXT_CURSOR.get();
+
+            when(listService.list(any(ListService.Request.class))).thenReturn(responseExpected);
+    
+            MOCK_REQUEST_LIST
+                .setMock(mockMvc, OK_BODY_REQUEST_LIST_WITH_NO_FILTER_OR_PAGINATION.get())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(responseExpected.items().size())))
+                .andExpect(header().string(AnyController.HEADER_HAS_NEXT, "true"))
+                .andExpect(header().string(AnyController.HEADER_NEXT_CURSOR, responseExpected.nextCursor()));
     
         }
     
@@ -293,12 +404,12 @@ final class AnyControllerTest extends AnyControllerTestFixture {
             final var request = OK_BODY_REQUEST_LIST_WITH_NO_FILTER_OR_PAGINATION.get();
             final var responseExpected = OK_REPONSE_LIST_SERVICE_WITH_EMPTY_LIST.get();
     
-            when(listService.list(new Request(request.numPage(), request.sizePage(), request.filter()))).thenReturn(responseExpected);
+            when(listService.list(new Request(request.numPage(), request.sizePage(), request.filter(), request.cursor()))).thenReturn(responseExpected);
     
             MOCK_REQUEST_LIST
                 .setMock(mockMvc, request)
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(responseExpected.size())))
+                .andExpect(jsonPath("$", hasSize(responseExpected.items().size())))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$").isEmpty());
     
@@ -339,7 +450,7 @@ final class AnyControllerTest extends AnyControllerTestFixture {
 
 
     /**
-     *  testing all scenarios from {@link AnyController#getById(String)}
+     *  testing all scenarios from {@link AnyController#getById(String, org.springframework.web.context.request.WebRequest)}
      */
     @Nested
     class when_getById{
@@ -357,7 +468,42 @@ final class AnyControllerTest extends AnyControllerTestFixture {
                 .andExpect(jsonPath("$.id", equalTo(responseExpected.id())))
                 .andExpect(jsonPath("$.name", equalTo(responseExpected.name())))
                 .andExpect(jsonPath("$.created",startsWith(responseExpected.created().truncatedTo(ChronoUnit.MICROS).toString())))
-                .andExpect(jsonPath("$.lastUpdated",startsWith(responseExpected.lastUpdated().truncatedTo(ChronoUnit.MICROS).toString())));
+                .andExpect(jsonPath("$.lastUpdated",startsWith(responseExpected.lastUpdated().truncatedTo(ChronoUnit.MICROS).toString())))
+                .andExpect(jsonPath("$.version").doesNotExist())
+                .andExpect(header().string(HttpHeaders.ETAG, GetByIdService.versionOf(responseExpected).etag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        }
+
+        @Test
+        void GIVEN_if_none_match_of_current_version_WHEN_getById_SHOULD_return_not_modified_without_loading_entity() throws Exception{
+            final var id = RANDON_UUID_STRING.get();
+            final var currentVersion = OK_VERSION_GET_BY_ID_SERVICE.get();
+
+            when(getByIdService.getVersionById(id)).thenReturn(currentVersion);
+
+            MOCK_REQUEST_GET_BY_ID_IF_NONE_MATCH
+                .setMock(mockMvc, id, currentVersion.etag())
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, currentVersion.etag()))
+                .andExpect(content().string(""));
+
+            verify(getByIdService, never()).getById(anyString());
+        }
+
+        @Test
+        void GIVEN_if_none_match_of_old_version_WHEN_getById_SHOULD_return_entity_with_current_etag() throws Exception{
+            final var id = RANDON_UUID_STRING.get();
+            final var responseExpected = OK_REPONSE_GET_BY_ID_SERVICE.get();
+            final var currentVersion = GetByIdService.versionOf(responseExpected);
+
+            when(getByIdService.getVersionById(id)).thenReturn(currentVersion);
+            when(getByIdService.getById(id)).thenReturn(responseExpected);
+
+            MOCK_REQUEST_GET_BY_ID_IF_NONE_MATCH
+                .setMock(mockMvc, id, OK_VERSION_GET_BY_ID_SERVICE.get().etag())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", equalTo(responseExpected.id())))
+                .andExpect(header().string(HttpHeaders.ETAG, currentVersion.etag()));
         }
     
         @Test
@@ -393,6 +539,267 @@ final class AnyControllerTest extends AnyControllerTestFixture {
 
 
     }
+
+    /**
+     *  testing all scenarios from {@link AnyController#existsById(String)}
+     */
+    @Nested
+    class when_existsById{
+
+        @Test
+        void GIVEN_existing_id_WHEN_existsById_SHOULD_return_ok_without_body() throws Exception{
+
+            when(getByIdService.existsById(anyString())).thenReturn(true);
+
+            MOCK_REQUEST_HEAD_BY_ID
+                .setMock(mockMvc, RANDON_UUID_STRING.get())
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+        }
+
+        @Test
+        void GIVEN_absent_id_WHEN_existsById_SHOULD_return_not_found_without_body() throws Exception{
+
+            when(getByIdService.existsById(anyString())).thenReturn(false);
+
+            MOCK_REQUEST_HEAD_BY_ID
+                .setMock(mockMvc, RANDON_UUID_STRING.get())
+                .andExpect(status().isNotFound())
+                .andExpect(content().string(""));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyController#bulkCreate(BulkCreateService.Request)}
+     */
+    @Nested
+    class when_bulkCreate{
+
+        @Test
+        void GIVEN_valid_request_WHEN_bulkCreate_SHOULD_return_ids_and_item_errors() throws Exception{
+            final var request = OK_BODY_REQUEST_BULK_CREATE.get();
+            final var responseExpected = OK_REPONSE_BULK_CREATE_SERVICE.get();
+
+            when(bulkCreateService.bulkCreate(request)).thenReturn(responseExpected);
+
+            MOCK_REQUEST_BULK_CREATE
+                .setMock(mockMvc, request)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.ids", hasSize(2)))
+                .andExpect(jsonPath("$.ids[0]", equalTo(responseExpected.ids().get(0))))
+                .andExpect(jsonPath("$.ids[1]", nullValue()))
+                .andExpect(jsonPath("$.errors[0].index", equalTo(1)))
+                .andExpect(jsonPath("$.errors[0].error", equalTo(responseExpected.errors().get(0).error())));
+        }
+
+        @Test
+        void GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_bulkCreate_SHOULD_return_error_400() throws Exception{
+
+            final var e = new  ResponseStatusException(HttpStatus.BAD_REQUEST, RANDON_SHORT_STRING.get());
+
+            when(bulkCreateService.bulkCreate(any(BulkCreateService.Request.class))).thenThrow(e);
+
+            MOCK_REQUEST_BULK_CREATE
+                .setMock(mockMvc, OK_BODY_REQUEST_BULK_CREATE.get())
+                .andExpect(status().is(e.getBody().getStatus()))
+                .andExpect(jsonPath("$.status", equalTo(e.getBody().getStatus())))
+                .andExpect(jsonPath("$.error", equalTo(e.getBody().getDetail())));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyController#bulkDelete(BulkDeleteService.Request, boolean)} and {@link AnyController#getBulkDeleteJob(String)}
+     */
+    @Nested
+    class when_bulkDelete{
+
+        @Test
+        void GIVEN_valid_request_WHEN_bulkDelete_SHOULD_return_rows_deleted() throws Exception{
+            final var request = OK_BODY_REQUEST_BULK_DELETE.get();
+
+            when(bulkDeleteService.bulkDelete(request)).thenReturn(new BulkDeleteService.Response(42));
+
+            MOCK_REQUEST_BULK_DELETE
+                .setMock(mockMvc, request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted", equalTo(42)));
+            verify(bulkDeleteService, never()).submitBulkDelete(any());
+        }
+
+        @Test
+        void GIVEN_async_request_WHEN_bulkDelete_SHOULD_return_accepted_job_with_location() throws Exception{
+            final var request = OK_BODY_REQUEST_BULK_DELETE.get();
+            final var responseExpected = OK_REPONSE_BULK_DELETE_JOB.get();
+
+            when(bulkDeleteService.submitBulkDelete(request)).thenReturn(responseExpected);
+
+            MOCK_REQUEST_BULK_DELETE_ASYNC
+                .setMock(mockMvc, request)
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/any-controller/_bulk-delete/" + responseExpected.jobId()))
+                .andExpect(jsonPath("$.jobId", equalTo(responseExpected.jobId())));
+            verify(bulkDeleteService, never()).bulkDelete(any());
+        }
+
+        @Test
+        void GIVEN_job_id_WHEN_getBulkDeleteJob_SHOULD_return_job_progress() throws Exception{
+            final var responseExpected = OK_REPONSE_BULK_DELETE_JOB.get();
+
+            when(bulkDeleteService.getJob(responseExpected.jobId())).thenReturn(responseExpected);
+
+            MOCK_REQUEST_GET_BULK_DELETE_JOB
+                .setMock(mockMvc, responseExpected.jobId())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", equalTo(responseExpected.state().name())))
+                .andExpect(jsonPath("$.deleted", equalTo(42)));
+        }
+
+        @Test
+        void GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_bulkDelete_SHOULD_return_error_400() throws Exception{
+
+            final var e = new  ResponseStatusException(HttpStatus.BAD_REQUEST, RANDON_SHORT_STRING.get());
+
+            when(bulkDeleteService.bulkDelete(any(BulkDeleteService.Request.class))).thenThrow(e);
+
+            MOCK_REQUEST_BULK_DELETE
+                .setMock(mockMvc, OK_BODY_REQUEST_BULK_DELETE.get())
+                .andExpect(status().is(e.getBody().getStatus()))
+                .andExpect(jsonPath("$.status", equalTo(e.getBody().getStatus())))
+                .andExpect(jsonPath("$.error", equalTo(e.getBody().getDetail())));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyController#multiGet(MultiGetService.Request)}
+     */
+    @Nested
+    class when_multiGet{
+
+        @Test
+        void GIVEN_valid_request_WHEN_multiGet_SHOULD_return_items_and_missing_ids() throws Exception{
+            final var request = OK_BODY_REQUEST_MULTI_GET.get();
+            final var responseExpected = OK_REPONSE_MULTI_GET_SERVICE.apply(request);
+
+            when(multiGetService.multiGet(request)).thenReturn(responseExpected);
+
+            MOCK_REQUEST_MULTI_GET
+                .setMock(mockMvc, request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", equalTo(request.ids().get(0))))
+                .andExpect(jsonPath("$.items[0].version").doesNotExist())
+                .andExpect(jsonPath("$.missingIds[0]", equalTo(request.ids().get(1))));
+        }
+
+        @Test
+        void GIVEN_thow_ResponseStatusException_with_badrequest_WHEN_multiGet_SHOULD_return_error_400() throws Exception{
+
+            final var e = new  ResponseStatusException(HttpStatus.BAD_REQUEST, RANDON_SHORT_STRING.get());
+
+            when(multiGetService.multiGet(any(MultiGetService.Request.class))).thenThrow(e);
+
+            MOCK_REQUEST_MULTI_GET
+                .setMock(mockMvc, OK_BODY_REQUEST_MULTI_GET.get())
+                .andExpect(status().is(e.getBody().getStatus()))
+                .andExpect(jsonPath("$.status", equalTo(e.getBody().getStatus())))
+                .andExpect(jsonPath("$.error", equalTo(e.getBody().getDetail())));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyController#export(org.springframework.web.context.request.WebRequest)}
+     */
+    @Nested
+    class when_export{
+
+        @Test
+        void GIVEN_service_writes_entities_WHEN_export_SHOULD_stream_ndjson() throws Exception{
+
+            final var ndjsonWrittenByService = OK_NDJSON_EXPORT_SERVICE.get();
+
+            when(exportService.reserveExport()).thenReturn(outputStream -> outputStream.write(ndjsonWrittenByService.getBytes(StandardCharsets.UTF_8)));
+
+            MOCK_REQUEST_EXPORT
+                .setMock(mockMvc)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjsonWrittenByService));
+        }
+
+        @Test
+        void GIVEN_thow_ResponseStatusException_with_service_unavailable_WHEN_export_SHOULD_return_error_503() throws Exception{
+
+            final var e = new  ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, RANDON_SHORT_STRING.get());
+
+            when(exportService.reserveExport()).thenThrow(e);
+
+            MOCK_REQUEST_EXPORT_REJECTED
+                .setMock(mockMvc)
+                .andExpect(status().is(e.getBody().getStatus()))
+                .andExpect(jsonPath("$.status", equalTo(e.getBody().getStatus())))
+                .andExpect(jsonPath("$.error", equalTo(e.getBody().getDetail())));
+        }
+
+        @Test
+        void GIVEN_async_request_ended_by_container_WHEN_export_SHOULD_release_its_reservation() throws Exception{
+
+            final ExportService.Export exportReserved = mock(ExportService.Export.class);
+            when(exportService.reserveExport()).thenReturn(exportReserved);
+
+            MOCK_REQUEST_EXPORT_ABORTED.setMock(mockMvc);
+
+            verify(exportReserved).release();
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyController#handleThrowableException(Throwable)}
+     */
+    @Nested
+    class when_handleThrowableException{
+
+        @Test
+        void GIVEN_thow_StacklessResponseStatusException_with_constant_message_WHEN_create_SHOULD_return_error_400() throws Exception{
+
+            when(createService.create(any(CreateService.Request.class))).thenThrow(new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_IS_REQUIRED));
+
+            MOCK_REQUEST_CREATE
+                .setMock(mockMvc, OK_BODY_REQUEST_CREATE.get())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status", equalTo(HttpStatus.BAD_REQUEST.value())))
+                .andExpect(jsonPath("$.error", equalTo(ErrMessage.NAME_IS_REQUIRED.get())));
+        }
+
+        @Test
+        void GIVEN_constant_message_thrown_twice_WHEN_handleThrowableException_SHOULD_reuse_response_error(){
+
+            final var first = AnyController.responseErrorOf(new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED));
+            final var second = AnyController.responseErrorOf(new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED));
+            final var otherStatus = AnyController.responseErrorOf(new StacklessResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, ErrMessage.ID_IS_REQUIRED));
+
+            assertSame(first.getBody(), second.getBody());
+            assertEquals(new AnyController.ResponseError(HttpStatus.BAD_REQUEST.value(), ErrMessage.ID_IS_REQUIRED.get()), first.getBody());
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), otherStatus.getBody().status());
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, otherStatus.getStatusCode());
+        }
+
+        @Test
+        void GIVEN_message_with_parameters_WHEN_handleThrowableException_SHOULD_build_response_error(){
+
+            final var id = RANDON_UUID_STRING.get();
+
+            final var response = AnyController.responseErrorOf(new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id)));
+
+            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+            assertEquals(new AnyController.ResponseError(HttpStatus.NOT_FOUND.value(), "id " + id + " not found"), response.getBody());
+        }
+
+    }
    
 
    
@@ -400,5 +807,78 @@ final class AnyControllerTest extends AnyControllerTestFixture {
 
 
     
-}
 
+    /**
+     *  testing the content negotiation of {@link AnyController#list(demo.controller.AnyController.RequestList)} and {@link AnyController#getById(String, org.springframework.web.context.request.WebRequest)}
+     *  with {@link demo.json.ResponseCborHttpMessageConverter}
+     */
+    @Nested
+    class when_accept_cbor{
+
+        @Test
+        void GIVEN_accept_cbor_WHEN_list_SHOULD_return_cbor_items() throws Exception{
+            final var responseExpected = OK_REPONSE_LIST_SERVICE_WITH_ONLY_ONE_ITEM.get();
+
+            when(listService.list(any(ListService.Request.class))).thenReturn(responseExpected);
+
+            final byte[] body = MOCK_REQUEST_LIST_ACCEPT_CBOR
+                .setMock(mockMvc, OK_BODY_REQUEST_LIST_WITH_NO_FILTER_OR_PAGINATION.get())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(AnyController.HEADER_HAS_NEXT, "false"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+            assertEquals(responseExpected.items(), List.of(CBOR_MAPPER.readValue(body, ListService.ResponseItem[].class)));
+        }
+
+        @Test
+        void GIVEN_accept_cbor_WHEN_getById_SHOULD_return_cbor_with_dates_as_text() throws Exception{
+            final var id = RANDON_UUID_STRING.get();
+            final var responseExpected = OK_REPONSE_GET_BY_ID_SERVICE.get();
+
+            when(getByIdService.getById(id)).thenReturn(responseExpected);
+
+            final byte[] body = MOCK_REQUEST_GET_BY_ID_ACCEPT_CBOR
+                .setMock(mockMvc, id)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, GetByIdService.versionOf(responseExpected).etag()))
+                .andReturn().getResponse().getContentAsByteArray();
+
+            final var responseWithoutVersion = new GetByIdService.Response(responseExpected.id(), responseExpected.name(), responseExpected.created(), responseExpected.lastUpdated(), 0);
+            assertEquals(responseWithoutVersion, CBOR_MAPPER.readValue(body, GetByIdService.Response.class));
+            assertTrue(CBOR_MAPPER.readTree(body).get("created").isTextual());
+            assertFalse(CBOR_MAPPER.readTree(body).has("version"));
+        }
+
+        @Test
+        void GIVEN_no_accept_WHEN_getById_SHOULD_return_json() throws Exception{
+            final var id = RANDON_UUID_STRING.get();
+
+            when(getByIdService.getById(id)).thenReturn(OK_REPONSE_GET_BY_ID_SERVICE.get());
+
+            MOCK_REQUEST_GET_BY_ID
+                .setMock(mockMvc, id)
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        void GIVEN_accept_cbor_and_id_not_found_WHEN_getById_SHOULD_return_cbor_response_error() throws Exception{
+            final var id = RANDON_UUID_STRING.get();
+
+            when(getByIdService.getById(id)).thenThrow(new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id)));
+
+            final byte[] body = MOCK_REQUEST_GET_BY_ID_ACCEPT_CBOR
+                .setMock(mockMvc, id)
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+            assertEquals(new AnyController.ResponseError(HttpStatus.NOT_FOUND.value(), ErrMessage.ID_NOT_FOUND.get(id)),
+                    CBOR_MAPPER.readValue(body, AnyController.ResponseError.class));
+        }
+
+    }
+
+}
@@ -1,35 +1,52 @@
 package demo.controller;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import demo.service.BulkCreateService;
+import demo.service.BulkDeleteService;
 import demo.service.CreateService;
 import demo.service.GetByIdService;
+import demo.service.ListService;
 import demo.service.ListService.ResponseItem;
+import demo.service.MultiGetService;
 import demo.service.UpdateByIdService;
 
 abstract sealed class AnyControllerTestFixture extends FixtureWebMvcBase permits AnyControllerTest  {
 
     private final String BASE_PATH = "/any-controller";
+    private final AtomicLong NEXT_VERSION = new AtomicLong();
 
     protected final Supplier<UpdateByIdService.Request> OK_BODY_REQUEST_UPDATE_BY_ID = () -> {
         return new UpdateByIdService.Request(RANDON_SHORT_STRING.get());
     };
 
     protected final Supplier<AnyController.RequestList> OK_BODY_REQUEST_LIST_WITH_FILTER_AND_PAGINATION = () -> {
-        return new AnyController.RequestList(RANDON_NUMBER_TO_1_TO_10.get(), RANDON_NUMBER_TO_1_TO_10.get(), RANDON_SHORT_STRING.get());
+        return new AnyController.RequestList(RANDON_NUMBER_TO_1_TO_10.get(), RANDON_NUMBER_TO_1_TO_10.get(), RANDON_SHORT_STRING.get(), null);
     };
 
     protected final Supplier<AnyController.RequestList> OK_BODY_REQUEST_LIST_WITH_NO_FILTER_OR_PAGINATION = () -> {
-        return new AnyController.RequestList(null, null, null);
+        return new AnyController.RequestList(null, null, null, null);
     };
 
     protected final Supplier<CreateService.Request> OK_BODY_REQUEST_CREATE = () -> {
@@ -42,15 +59,73 @@ abstract sealed class AnyControllerTestFixture extends FixtureWebMvcBase permits
 
 
     protected final Supplier<GetByIdService.Response> OK_REPONSE_GET_BY_ID_SERVICE = () -> {
-        return new GetByIdService.Response(RANDON_UUID_STRING.get(), RANDON_SHORT_STRING.get(), RANDON_DATE_BEFORE.apply(LocalDateTime.now()), LocalDateTime.now());
+        return new GetByIdService.Response(RANDON_UUID_STRING.get(), RANDON_SHORT_STRING.get(), RANDON_DATE_BEFORE.apply(LocalDateTime.now()), LocalDateTime.now(), NEXT_VERSION.incrementAndGet());
+    };
+
+    protected final Supplier<MultiGetService.Request> OK_BODY_REQUEST_MULTI_GET = () -> {
+        return new MultiGetService.Request(List.of(RANDON_UUID_STRING.get(), RANDON_UUID_STRING.get()));
+    };
+
+    protected final Function<MultiGetService.Request, MultiGetService.Response> OK_REPONSE_MULTI_GET_SERVICE = (request) -> {
+        final var itemFound = new GetByIdService.Response(request.ids().get(0), RANDON_SHORT_STRING.get(), RANDON_DATE_BEFORE.apply(LocalDateTime.now()), LocalDateTime.now(), NEXT_VERSION.incrementAndGet());
+        return new MultiGetService.Response(List.of(itemFound), List.of(request.ids().get(1)));
+    };
+
+    protected final Supplier<BulkCreateService.Request> OK_BODY_REQUEST_BULK_CREATE = () -> {
+        return new BulkCreateService.Request(List.of(new CreateService.Request(RANDON_SHORT_STRING.get()), new CreateService.Request("")));
+    };
+
+    protected final Supplier<BulkCreateService.Response> OK_REPONSE_BULK_CREATE_SERVICE = () -> {
+        return new BulkCreateService.Response(Arrays.asList(RANDON_UUID_STRING.get(), null), List.of(new BulkCreateService.ItemError(1, RANDON_SHORT_STRING.get())));
+    };
+
+    protected final Supplier<BulkDeleteService.Request> OK_BODY_REQUEST_BULK_DELETE = () -> {
+        return new BulkDeleteService.Request(null, RANDON_SHORT_STRING.get());
+    };
+
+    protected final Supplier<BulkDeleteService.JobStatus> OK_REPONSE_BULK_DELETE_JOB = () -> {
+        return new BulkDeleteService.JobStatus(RANDON_UUID_STRING.get(), BulkDeleteService.JobState.RUNNING, 42, null);
+    };
+
+    protected final Supplier<GetByIdService.Version> OK_VERSION_GET_BY_ID_SERVICE = () -> {
+        return GetByIdService.versionOf(OK_REPONSE_GET_BY_ID_SERVICE.get());
+    };
+
+    protected final Supplier<ListService.Response> OK_REPONSE_LIST_SERVICE_WITH_ONLY_ONE_ITEM = () -> {
+        return new ListService.Response(List.of(new ResponseItem(RANDON_UUID_STRING.get(), RANDON_SHORT_STRING.get())), false, null);
+    };
+
+    protected final Supplier<ListService.Response> OK_REPONSE_LIST_SERVICE_WITH_EMPTY_LIST = () -> {
+        return new ListService.Response(Collections.emptyList(), false, null);
+    };
+
+    protected final Supplier<ListService.Response> OK_REPONSE_LIST_SERVICE_WITH_NEXT_CURSOR = () -> {
+        return new ListService.Response(List.of(new ResponseItem(RANDON_UUID_STRING.get(), RANDON_SHORT_STRING.get())), true, RANDON_SHORT_STRING.get());
+    };
+
+    protected final Supplier<String> OK_NDJSON_EXPORT_SERVICE = () -> {
+        return "{\"id\":\"" + RANDON_UUID_STRING.get() + "\",\"name\":\"" + RANDON_SHORT_STRING.get() + "\"}\n"
+             + "{\"id\":\"" + RANDON_UUID_STRING.get() + "\",\"name\":\"" + RANDON_SHORT_STRING.get() + "\"}\n";
     };
 
-    protected final Supplier<List<ResponseItem>> OK_REPONSE_LIST_SERVICE_WITH_ONLY_ONE_ITEM = () -> {
-        return List.of(new ResponseItem(RANDON_UUID_STRING.get(), RANDON_SHORT_STRING.get()));
+    protected final BuildRequest MOCK_REQUEST_EXPORT  = mock -> {
+        return mock.perform(asyncDispatch(mock.perform(get(joinPathWithBAR(BASE_PATH, "_export"))).andReturn()));
     };
 
-    protected final Supplier<List<ResponseItem>> OK_REPONSE_LIST_SERVICE_WITH_EMPTY_LIST = () -> {
-        return Collections.emptyList();
+    /**
+     * a rejected export never starts streaming, so there is no async dispatch
+     */
+    protected final BuildRequest MOCK_REQUEST_EXPORT_REJECTED  = mock -> {
+        return mock.perform(get(joinPathWithBAR(BASE_PATH, "_export")));
+    };
+
+    /**
+     * starts streaming, then ends the async request as the container does on timeout or client disconnect, without dispatching back
+     */
+    protected final BuildRequest MOCK_REQUEST_EXPORT_ABORTED  = mock -> {
+        final ResultActions resultActions = mock.perform(get(joinPathWithBAR(BASE_PATH, "_export")));
+        resultActions.andReturn().getRequest().getAsyncContext().complete();
+        return resultActions;
     };
 
     protected final BuildRequest MOCK_REQUEST_PATH_NOT_FOUND  = mock -> {
@@ -61,14 +136,50 @@ abstract sealed class AnyControllerTestFixture extends FixtureWebMvcBase permits
         return mock.perform(get(joinPathWithBAR(BASE_PATH, id)).contentType(APPLICATION_JSON_VALUE));
     };
 
+    protected final BuildRequestByID MOCK_REQUEST_GET_BY_ID_ACCEPT_CBOR  = (mock, id) -> {
+        return mock.perform(get(joinPathWithBAR(BASE_PATH, id)).accept(MediaType.APPLICATION_CBOR));
+    };
+
+    protected final BuildRequestByID MOCK_REQUEST_HEAD_BY_ID  = (mock, id) -> {
+        return mock.perform(head(joinPathWithBAR(BASE_PATH, id)));
+    };
+
+    protected final BuildRequestByIDAndBodyRequest<String> MOCK_REQUEST_GET_BY_ID_IF_NONE_MATCH  = (mock, id, etag) -> {
+        return mock.perform(get(joinPathWithBAR(BASE_PATH, id)).header(HttpHeaders.IF_NONE_MATCH, etag).contentType(APPLICATION_JSON_VALUE));
+    };
+
     protected final BuildRequestByIDAndBodyRequest<UpdateByIdService.Request> MOCK_REQUEST_UPDATE_BY_ID  =(mock, id, request) -> {
         return mock.perform(put(joinPathWithBAR(BASE_PATH, id)).content(toJson(request)).contentType(APPLICATION_JSON_VALUE));
     };
 
+    protected final BuildRequestByIDAndBodyRequest<String> MOCK_REQUEST_UPDATE_BY_ID_IF_MATCH  =(mock, id, etag) -> {
+        return mock.perform(put(joinPathWithBAR(BASE_PATH, id)).header(HttpHeaders.IF_MATCH, etag).content(toJson(OK_BODY_REQUEST_UPDATE_BY_ID.get())).contentType(APPLICATION_JSON_VALUE));
+    };
+
     protected final BuildRequestByBodyRequest<CreateService.Request> MOCK_REQUEST_CREATE  =(mock, request) -> {
         return mock.perform(post(BASE_PATH).content(toJson(request)).contentType(APPLICATION_JSON_VALUE));
     };
     
+    protected final BuildRequestByBodyRequest<BulkCreateService.Request> MOCK_REQUEST_BULK_CREATE  =(mock, request) -> {
+        return mock.perform(post(joinPathWithBAR(BASE_PATH, "_bulk")).content(toJson(request)).contentType(APPLICATION_JSON_VALUE));
+    };
+
+    protected final BuildRequestByBodyRequest<BulkDeleteService.Request> MOCK_REQUEST_BULK_DELETE  =(mock, request) -> {
+        return mock.perform(post(joinPathWithBAR(BASE_PATH, "_bulk-delete")).content(toJson(request)).contentType(APPLICATION_JSON_VALUE));
+    };
+
+    protected final BuildRequestByBodyRequest<BulkDeleteService.Request> MOCK_REQUEST_BULK_DELETE_ASYNC  =(mock, request) -> {
+        return mock.perform(post(joinPathWithBAR(BASE_PATH, "_bulk-delete")).param("async", "true").content(toJson(request)).contentType(APPLICATION_JSON_VALUE));
+    };
+
+    protected final BuildRequestByID MOCK_REQUEST_GET_BULK_DELETE_JOB  = (mock, jobId) -> {
+        return mock.perform(get(joinPathWithBAR(BASE_PATH, "_bulk-delete", jobId)));
+    };
+
+    protected final BuildRequestByBodyRequest<MultiGetService.Request> MOCK_REQUEST_MULTI_GET  =(mock, request) -> {
+        return mock.perform(post(joinPathWithBAR(BASE_PATH, "_mget")).content(toJson(request)).contentType(APPLICATION_JSON_VALUE));
+    };
+
     protected final BuildRequestByID MOCK_REQUEST_REMOVE_BY_ID  = (mock, id) -> {
         return mock.perform(delete(joinPathWithBAR(BASE_PATH, id)).contentType(APPLICATION_JSON_VALUE));
     };
@@ -76,5 +187,11 @@ abstract sealed class AnyControllerTestFixture extends FixtureWebMvcBase permits
     protected final BuildRequestByBodyRequest<AnyController.RequestList>  MOCK_REQUEST_LIST  = (mock, request) -> {
         return mock.perform(get(joinPathWithBAR(BASE_PATH)).content(toJson(request)).contentType(APPLICATION_JSON_VALUE));
     };
+
+    protected final BuildRequestByBodyRequest<AnyController.RequestList>  MOCK_REQUEST_LIST_ACCEPT_CBOR  = (mock, request) -> {
+        return mock.perform(get(joinPathWithBAR(BASE_PATH)).content(toJson(request)).contentType(APPLICATION_JSON_VALUE).accept(MediaType.APPLICATION_CBOR));
+    };
+
+    protected final ObjectMapper CBOR_MAPPER = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
 }
 
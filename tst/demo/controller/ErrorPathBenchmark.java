@@ -0,0 +1,63 @@
+package demo.controller;
+
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.constant.ErrMessage;
+import demo.exception.StacklessResponseStatusException;
+
+/**
+ * <p>Benchmark of the error path, from the throw at the stack depth of a service called by a request to the {@link AnyController.ResponseError} answered:
+ * a {@link ResponseStatusException} with a {@code formatted} message (before) against a {@link StacklessResponseStatusException}
+ * with a concatenated message, whose {@code ResponseError} is shared for parameterless messages (after).</p>
+ * <p>Run with {@code gradle benchmark}, results are printed as {@code [bench]} lines.</p>
+ */
+@Tag("benchmark")
+class ErrorPathBenchmark {
+
+    private static final int[] STACK_DEPTHS = {20, 150};
+    private static final int WARMUP_ERRORS = 100_000;
+    private static final int MEASURED_ERRORS = 200_000;
+    private static final String ID = "01a14be3-47c3-7000-9aa4-59ea733888ce";
+
+    private long blackhole;
+
+    @Test
+    void error_path_before_and_after(){
+        for(int depth : STACK_DEPTHS) {
+            measure("before id not found", depth, id -> new ResponseStatusException(HttpStatus.NOT_FOUND, "id %s not found".formatted(id)));
+            measure("after  id not found", depth, id -> new StacklessResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(id)));
+            measure("before id required", depth, id -> new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED.get()));
+            measure("after  id required", depth, id -> new StacklessResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.ID_IS_REQUIRED));
+        }
+        System.out.println("[bench] (blackhole " + blackhole + ")");
+    }
+
+    private void measure(String pathName, int depth, Function<String, RuntimeException> error){
+        for(int i = 0; i < WARMUP_ERRORS; i++) answer(depth, error);
+        final long start = System.nanoTime();
+        for(int i = 0; i < MEASURED_ERRORS; i++) answer(depth, error);
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("[bench] %-20s stack depth=%3d: %8.0f ns/error%n", pathName, depth, (double) elapsed / MEASURED_ERRORS);
+    }
+
+    private void answer(int depth, Function<String, RuntimeException> error){
+        try {
+            throwAt(depth, error);
+        } catch (RuntimeException e) {
+            final ResponseEntity<AnyController.ResponseError> response = AnyController.responseErrorOf(e);
+            blackhole += response.getBody().status() + response.getBody().error().length();
+        }
+    }
+
+    private static void throwAt(int depth, Function<String, RuntimeException> error){
+        if(depth > 0) throwAt(depth - 1, error);
+        else throw error.apply(ID);
+    }
+
+}
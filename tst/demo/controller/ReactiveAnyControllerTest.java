@@ -0,0 +1,207 @@
+package demo.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.App;
+import demo.constant.ErrMessage;
+import demo.service.CreateService;
+import demo.service.GetByIdService;
+import demo.service.ListService;
+import demo.service.ReactiveAnyService;
+import demo.service.UpdateByIdService;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * <p>Tests of {@link ReactiveAnyController}</p>
+ * <pre>
+ *{@link when_create} {
+ *  {@link when_create#GIVEN_valid_request_WHEN_create_SHOULD_return_created()}
+ *  {@link when_create#GIVEN_signal_ResponseStatusException_with_badrequest_WHEN_create_SHOULD_return_error_400()}
+ *}
+ *{@link when_list} {
+ *  {@link when_list#GIVEN_page_with_next_WHEN_list_SHOULD_return_items_and_paging_headers()}
+ *  {@link when_list#GIVEN_accept_ndjson_WHEN_list_SHOULD_stream_one_item_per_line()}
+ *}
+ *{@link when_getById} {
+ *  {@link when_getById#GIVEN_existing_id_WHEN_getById_SHOULD_return_entity_with_etag()}
+ *  {@link when_getById#GIVEN_signal_ResponseStatusException_with_notfound_WHEN_getById_SHOULD_return_error_404()}
+ *}
+ *{@link when_updateById} {
+ *  {@link when_updateById#GIVEN_if_match_WHEN_updateById_SHOULD_pass_etag_to_service()}
+ *  {@link when_updateById#GIVEN_version_mismatch_WHEN_updateById_SHOULD_return_error_412()}
+ *}
+ *{@link when_removeById} {
+ *  {@link when_removeById#GIVEN_existing_id_WHEN_removeById_SHOULD_return_no_content()}
+ *}
+ * </pre>
+ */
+@WebFluxTest(ReactiveAnyController.class)
+@ActiveProfiles(App.PROFILE_REACTIVE)
+final class ReactiveAnyControllerTest extends ReactiveAnyControllerTestFixture {
+
+    @Autowired WebTestClient webTestClient;
+    @MockBean ReactiveAnyService reactiveAnyService;
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyController#create(CreateService.Request)}
+     */
+    @Nested
+    class when_create {
+
+        @Test
+        void GIVEN_valid_request_WHEN_create_SHOULD_return_created(){
+
+            final CreateService.Request request = OK_BODY_REQUEST_CREATE.get();
+            when(reactiveAnyService.create(request)).thenReturn(Mono.just(new CreateService.Response(ID)));
+
+            webTestClient.post().uri(BASE_PATH).contentType(MediaType.APPLICATION_JSON).bodyValue(request).exchange()
+                    .expectStatus().isCreated()
+                    .expectBody().jsonPath("$.id").isEqualTo(ID);
+        }
+
+        @Test
+        void GIVEN_signal_ResponseStatusException_with_badrequest_WHEN_create_SHOULD_return_error_400(){
+
+            when(reactiveAnyService.create(any())).thenReturn(Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, ErrMessage.NAME_IS_REQUIRED.get())));
+
+            webTestClient.post().uri(BASE_PATH).contentType(MediaType.APPLICATION_JSON).bodyValue(OK_BODY_REQUEST_CREATE.get()).exchange()
+                    .expectStatus().isBadRequest()
+                    .expectBody()
+                    .jsonPath("$.status").isEqualTo(400)
+                    .jsonPath("$.error").isEqualTo(ErrMessage.NAME_IS_REQUIRED.get());
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyController#list(AnyController.RequestList)} and {@link ReactiveAnyController#streamList(AnyController.RequestList)}
+     */
+    @Nested
+    class when_list {
+
+        @Test
+        void GIVEN_page_with_next_WHEN_list_SHOULD_return_items_and_paging_headers(){
+
+            final List<ListService.ResponseItem> items = OK_RESPONSE_ITEMS.get();
+            when(reactiveAnyService.list(new ListService.Request(1, 2, null, null))).thenReturn(Mono.just(new ListService.Response(items, true, NEXT_CURSOR)));
+
+            webTestClient.get().uri(BASE_PATH + "?numPage=1&sizePage=2").exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(AnyController.HEADER_HAS_NEXT, "true")
+                    .expectHeader().valueEquals(AnyController.HEADER_NEXT_CURSOR, NEXT_CURSOR)
+                    .expectBodyList(ListService.ResponseItem.class).isEqualTo(items);
+        }
+
+        @Test
+        void GIVEN_accept_ndjson_WHEN_list_SHOULD_stream_one_item_per_line(){
+
+            final List<ListService.ResponseItem> items = OK_RESPONSE_ITEMS.get();
+            when(reactiveAnyService.streamList(new ListService.Request(null, null, null, null))).thenReturn(Flux.fromIterable(items));
+
+            webTestClient.get().uri(BASE_PATH).accept(MediaType.APPLICATION_NDJSON).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                    .expectBodyList(ListService.ResponseItem.class).isEqualTo(items);
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyController#getById(String)}
+     */
+    @Nested
+    class when_getById {
+
+        @Test
+        void GIVEN_existing_id_WHEN_getById_SHOULD_return_entity_with_etag(){
+
+            final GetByIdService.Response response = OK_RESPONSE_GET_BY_ID_SERVICE.get();
+            when(reactiveAnyService.getById(ID)).thenReturn(Mono.just(response));
+
+            webTestClient.get().uri(BASE_PATH + "/" + ID).exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, GetByIdService.versionOf(response).etag())
+                    .expectBody().jsonPath("$.id").isEqualTo(ID).jsonPath("$.version").doesNotExist();
+        }
+
+        @Test
+        void GIVEN_signal_ResponseStatusException_with_notfound_WHEN_getById_SHOULD_return_error_404(){
+
+            when(reactiveAnyService.getById(ID)).thenReturn(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND, ErrMessage.ID_NOT_FOUND.get(ID))));
+
+            webTestClient.get().uri(BASE_PATH + "/" + ID).exchange()
+                    .expectStatus().isNotFound()
+                    .expectBody().jsonPath("$.error").isEqualTo(ErrMessage.ID_NOT_FOUND.get(ID));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyController#updateById(String, UpdateByIdService.Request, String)}
+     */
+    @Nested
+    class when_updateById {
+
+        @Test
+        void GIVEN_if_match_WHEN_updateById_SHOULD_pass_etag_to_service(){
+
+            final UpdateByIdService.Request request = OK_BODY_REQUEST_UPDATE_BY_ID.get();
+            when(reactiveAnyService.updateById(ID, request, IF_MATCH)).thenReturn(Mono.empty());
+
+            webTestClient.put().uri(BASE_PATH + "/" + ID).header(HttpHeaders.IF_MATCH, IF_MATCH).contentType(MediaType.APPLICATION_JSON).bodyValue(request).exchange()
+                    .expectStatus().isNoContent();
+
+            verify(reactiveAnyService).updateById(ID, request, IF_MATCH);
+        }
+
+        @Test
+        void GIVEN_version_mismatch_WHEN_updateById_SHOULD_return_error_412(){
+
+            when(reactiveAnyService.updateById(eq(ID), any(), eq(IF_MATCH)))
+                    .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, ErrMessage.VERSION_DOES_NOT_MATCH.get(ID))));
+
+            webTestClient.put().uri(BASE_PATH + "/" + ID).header(HttpHeaders.IF_MATCH, IF_MATCH).contentType(MediaType.APPLICATION_JSON).bodyValue(OK_BODY_REQUEST_UPDATE_BY_ID.get()).exchange()
+                    .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                    .expectBody().jsonPath("$.status").isEqualTo(412);
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyController#removeById(String)}
+     */
+    @Nested
+    class when_removeById {
+
+        @Test
+        void GIVEN_existing_id_WHEN_removeById_SHOULD_return_no_content(){
+
+            when(reactiveAnyService.removeById(ID)).thenReturn(Mono.empty());
+
+            webTestClient.delete().uri(BASE_PATH + "/" + ID).exchange()
+                    .expectStatus().isNoContent();
+
+            verify(reactiveAnyService).removeById(ID);
+        }
+
+    }
+
+}
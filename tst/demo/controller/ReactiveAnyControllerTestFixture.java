@@ -0,0 +1,30 @@
+package demo.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import demo.service.CreateService;
+import demo.service.GetByIdService;
+import demo.service.ListService;
+import demo.service.UpdateByIdService;
+
+abstract sealed class ReactiveAnyControllerTestFixture extends FixtureWebMvcBase permits ReactiveAnyControllerTest {
+
+    protected final String BASE_PATH = "/any-controller";
+    protected final String ID = RANDON_UUID_STRING.get();
+    protected final String NEXT_CURSOR = "bmV4dA";
+    protected final String IF_MATCH = "\"3\"";
+
+    protected final Supplier<CreateService.Request> OK_BODY_REQUEST_CREATE = () -> new CreateService.Request(RANDON_SHORT_STRING.get());
+
+    protected final Supplier<UpdateByIdService.Request> OK_BODY_REQUEST_UPDATE_BY_ID = () -> new UpdateByIdService.Request(RANDON_SHORT_STRING.get());
+
+    protected final Supplier<List<ListService.ResponseItem>> OK_RESPONSE_ITEMS = () -> List.of(
+            new ListService.ResponseItem(RANDON_UUID_STRING.get(), RANDON_SHORT_STRING.get()),
+            new ListService.ResponseItem(RANDON_UUID_STRING.get(), RANDON_SHORT_STRING.get()));
+
+    protected final Supplier<GetByIdService.Response> OK_RESPONSE_GET_BY_ID_SERVICE = () ->
+            new GetByIdService.Response(ID, RANDON_SHORT_STRING.get(), RANDON_DATE_BEFORE.apply(LocalDateTime.now()), LocalDateTime.now(), 3);
+
+}
@@ -0,0 +1,58 @@
+package demo.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import demo.constant.ErrMessage;
+
+/**
+ * <p>Tests of {@link StacklessResponseStatusException}</p>
+ * <pre>
+ *{@link when_thrown} {
+ *  {@link when_thrown#GIVEN_constant_message_WHEN_thrown_SHOULD_have_no_stack_trace_and_keep_constant()}
+ *  {@link when_thrown#GIVEN_reason_with_parameters_WHEN_thrown_SHOULD_have_no_stack_trace_nor_constant()}
+ *}
+ * </pre>
+ */
+final class StacklessResponseStatusExceptionTest extends StacklessResponseStatusExceptionTestFixture {
+
+    /**
+     *  testing all scenarios from {@link StacklessResponseStatusException#fillInStackTrace()}
+     */
+    @Nested
+    class when_thrown {
+
+        @Test
+        void GIVEN_constant_message_WHEN_thrown_SHOULD_have_no_stack_trace_and_keep_constant(){
+
+            final StacklessResponseStatusException exception = assertThrows(StacklessResponseStatusException.class, () -> {
+                throw new StacklessResponseStatusException(STATUS, ErrMessage.NAME_IS_REQUIRED);
+            });
+
+            assertEquals(0, exception.getStackTrace().length);
+            assertEquals(STATUS, exception.getStatusCode());
+            assertEquals(ErrMessage.NAME_IS_REQUIRED.get(), exception.getReason());
+            assertEquals(ErrMessage.NAME_IS_REQUIRED.get(), exception.getBody().getDetail());
+            assertSame(ErrMessage.NAME_IS_REQUIRED, exception.getConstantMessage());
+        }
+
+        @Test
+        void GIVEN_reason_with_parameters_WHEN_thrown_SHOULD_have_no_stack_trace_nor_constant(){
+
+            final StacklessResponseStatusException exception = assertThrows(StacklessResponseStatusException.class, () -> {
+                throw new StacklessResponseStatusException(STATUS, REASON);
+            });
+
+            assertEquals(0, exception.getStackTrace().length);
+            assertEquals(REASON, exception.getReason());
+            assertNull(exception.getConstantMessage());
+        }
+
+    }
+
+}
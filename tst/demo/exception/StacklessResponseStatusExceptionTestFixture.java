@@ -0,0 +1,10 @@
+package demo.exception;
+
+import org.springframework.http.HttpStatus;
+
+abstract sealed class StacklessResponseStatusExceptionTestFixture permits StacklessResponseStatusExceptionTest {
+
+    protected final HttpStatus STATUS = HttpStatus.BAD_REQUEST;
+    protected final String REASON = "reason with parameter 42";
+
+}
@@ -0,0 +1,99 @@
+package demo.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import demo.service.GetByIdService;
+import demo.service.ListService;
+
+/**
+ * <p>Benchmark of the response encodings negotiated by {@code Accept}: JSON written by {@link ResponseJsonWriters} (the default),
+ * JSON written by Jackson and CBOR written by Jackson as {@link ResponseCborHttpMessageConverter} does, for a page of {@code 300} items
+ * and a get by id, reporting payload size and encode and decode time per response. The JSON written by both is the same,
+ * so it is decoded once.</p>
+ * <p>Run with {@code gradle benchmark}, results are printed as {@code [bench]} lines.</p>
+ */
+@Tag("benchmark")
+class ResponseEncodingBenchmark {
+
+    private static final int PAGE_SIZE = 300;
+    private static final int WARMUP_RESPONSES = 20_000;
+    private static final int MEASURED_RESPONSES = 50_000;
+    private static final String ID = "01a14be3-47c3-7000-9aa4-59ea733888ce";
+
+    private interface Encoder<T> {
+        void encode(T value, ByteArrayOutputStream sink) throws IOException;
+    }
+
+    private interface Decoder {
+        Object decode(byte[] payload) throws IOException;
+    }
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).factory(new CBORFactory()).build();
+    private final JsonOutput out = new JsonOutput(8 * 1024);
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(64 * 1024);
+
+    private long blackhole;
+
+    @Test
+    void encodings_of_page_and_get_by_id() throws IOException {
+        final List<ListService.ResponseItem> page = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> new ListService.ResponseItem(ID.substring(0, 30) + String.format("%06d", i), "entity name " + i))
+                .toList();
+        final LocalDateTime now = LocalDateTime.of(2026, 10, 17, 22, 2, 28, 675_953_000);
+        final GetByIdService.Response getById = new GetByIdService.Response(ID, "any name", now, now.plusSeconds(1), 3);
+
+        measure("page of 300", "json writers", page, (value, sink) -> write(value, ResponseJsonWriters::writeResponseItems, sink), null);
+        measure("page of 300", "json jackson", page, (value, sink) -> jsonMapper.writeValue(sink, value), payload -> jsonMapper.readValue(payload, ListService.ResponseItem[].class));
+        measure("page of 300", "cbor jackson", page, (value, sink) -> cborMapper.writeValue(sink, value), payload -> cborMapper.readValue(payload, ListService.ResponseItem[].class));
+        measure("get by id", "json writers", getById, (value, sink) -> write(value, ResponseJsonWriters::writeGetByIdResponse, sink), null);
+        measure("get by id", "json jackson", getById, (value, sink) -> jsonMapper.writeValue(sink, value), payload -> jsonMapper.readValue(payload, GetByIdService.Response.class));
+        measure("get by id", "cbor jackson", getById, (value, sink) -> cborMapper.writeValue(sink, value), payload -> cborMapper.readValue(payload, GetByIdService.Response.class));
+        System.out.println("[bench] (blackhole " + blackhole + ")");
+    }
+
+    private <T> void write(T value, ResponseJsonWriters.JsonWriter<T> writer, ByteArrayOutputStream sink) throws IOException {
+        out.reset();
+        writer.write(value, out);
+        out.writeTo(sink);
+    }
+
+    /**
+     * @param decoder {@code null} when the payload is decoded as another encoding's
+     */
+    private <T> void measure(String response, String encoding, T value, Encoder<T> encoder, Decoder decoder) throws IOException {
+        for(int i = 0; i < WARMUP_RESPONSES; i++) encode(value, encoder);
+        long start = System.nanoTime();
+        for(int i = 0; i < MEASURED_RESPONSES; i++) encode(value, encoder);
+        final double encodeNanos = (double) (System.nanoTime() - start) / MEASURED_RESPONSES;
+        final byte[] payload = sink.toByteArray();
+        if(decoder == null) {
+            System.out.printf("[bench] %-11s %s: %6d bytes, encode %8.0f ns%n", response, encoding, payload.length, encodeNanos);
+            return;
+        }
+        for(int i = 0; i < WARMUP_RESPONSES; i++) blackhole += decoder.decode(payload).hashCode();
+        start = System.nanoTime();
+        for(int i = 0; i < MEASURED_RESPONSES; i++) blackhole += decoder.decode(payload).hashCode();
+        final double decodeNanos = (double) (System.nanoTime() - start) / MEASURED_RESPONSES;
+        System.out.printf("[bench] %-11s %s: %6d bytes, encode %8.0f ns, decode %8.0f ns%n", response, encoding, payload.length, encodeNanos, decodeNanos);
+    }
+
+    private <T> void encode(T value, Encoder<T> encoder) throws IOException {
+        sink.reset();
+        encoder.encode(value, sink);
+        blackhole += sink.size();
+    }
+
+}
@@ -0,0 +1,87 @@
+package demo.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import demo.service.GetByIdService;
+import demo.service.ListService;
+
+/**
+ * <p>Benchmark of the response serialization: the {@link ObjectMapper} Spring Boot configures (before) against {@link ResponseJsonWriters}
+ * into a reused {@link JsonOutput} (after), both written to the same reused stream, for a page of {@code 300} items and a get by id,
+ * reporting time and bytes allocated per response.</p>
+ * <p>Run with {@code gradle benchmark}, results are printed as {@code [bench]} lines.</p>
+ */
+@Tag("benchmark")
+class ResponseJsonBenchmark {
+
+    private static final int PAGE_SIZE = 300;
+    private static final int WARMUP_RESPONSES = 20_000;
+    private static final int MEASURED_RESPONSES = 50_000;
+    private static final String ID = "01a14be3-47c3-7000-9aa4-59ea733888ce";
+
+    private interface Serializer<T> {
+        void write(T value, ByteArrayOutputStream sink) throws IOException;
+    }
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final JsonOutput out = new JsonOutput(8 * 1024);
+    private final ByteArrayOutputStream sink = new ByteArrayOutputStream(64 * 1024);
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private long blackhole;
+
+    @Test
+    void serialization_before_and_after() {
+        final List<ListService.ResponseItem> page = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> new ListService.ResponseItem(ID.substring(0, 30) + String.format("%06d", i), "entity name " + i))
+                .toList();
+        final LocalDateTime now = LocalDateTime.of(2026, 10, 17, 22, 2, 28, 675_953_000);
+        final GetByIdService.Response getById = new GetByIdService.Response(ID, "any name", now, now.plusSeconds(1), 3);
+
+        measure("before page of 300", page, (value, sink) -> objectMapper.writeValue(sink, value));
+        measure("after  page of 300", page, (value, sink) -> write(value, ResponseJsonWriters::writeResponseItems, sink));
+        measure("before get by id", getById, (value, sink) -> objectMapper.writeValue(sink, value));
+        measure("after  get by id", getById, (value, sink) -> write(value, ResponseJsonWriters::writeGetByIdResponse, sink));
+        System.out.println("[bench] (blackhole " + blackhole + ")");
+    }
+
+    private <T> void write(T value, ResponseJsonWriters.JsonWriter<T> writer, ByteArrayOutputStream sink) throws IOException {
+        out.reset();
+        writer.write(value, out);
+        out.writeTo(sink);
+    }
+
+    private <T> void measure(String name, T value, Serializer<T> serializer) {
+        try {
+            for(int i = 0; i < WARMUP_RESPONSES; i++) serialize(value, serializer);
+            final long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+            final long start = System.nanoTime();
+            for(int i = 0; i < MEASURED_RESPONSES; i++) serialize(value, serializer);
+            final long elapsed = System.nanoTime() - start;
+            final long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+            System.out.printf("[bench] %-18s: %8.0f ns/response %8.0f bytes allocated/response (%d bytes)%n",
+                    name, (double) elapsed / MEASURED_RESPONSES, (double) allocated / MEASURED_RESPONSES, sink.size());
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private <T> void serialize(T value, Serializer<T> serializer) throws IOException {
+        sink.reset();
+        serializer.write(value, sink);
+        blackhole += sink.size();
+    }
+
+}
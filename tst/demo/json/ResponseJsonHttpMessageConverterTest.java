@@ -0,0 +1,149 @@
+package demo.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import demo.service.CreateService;
+
+/**
+ * <pre>
+ *{@link when_canWrite} {
+ *  {@link when_canWrite#GIVEN_response_records_WHEN_canWrite_SHOULD_return_true()}
+ *  {@link when_canWrite#GIVEN_list_of_response_items_WHEN_canWrite_SHOULD_return_true()}
+ *  {@link when_canWrite#GIVEN_other_types_WHEN_canWrite_SHOULD_return_false()}
+ *  {@link when_canWrite#GIVEN_not_json_media_type_WHEN_canWrite_SHOULD_return_false()}
+ *}
+ *{@link when_canRead} {
+ *  {@link when_canRead#GIVEN_response_record_WHEN_canRead_SHOULD_return_false()}
+ *  {@link when_canRead#GIVEN_body_WHEN_read_SHOULD_throw_HttpMessageNotReadableException()}
+ *}
+ *{@link when_write} {
+ *  {@link when_write#GIVEN_response_record_WHEN_write_SHOULD_write_body_and_content_length()}
+ *  {@link when_write#GIVEN_list_of_response_items_WHEN_write_SHOULD_write_json_array()}
+ *  {@link when_write#GIVEN_large_response_then_small_one_WHEN_write_SHOULD_write_both_whole()}
+ *  {@link when_write#GIVEN_responses_written_WHEN_write_SHOULD_pool_only_buffers_not_grown_past_retained_capacity()}
+ *}
+ * </pre>
+ */
+final class ResponseJsonHttpMessageConverterTest extends ResponseJsonHttpMessageConverterTestFixture {
+
+    private final ResponseJsonHttpMessageConverter converter = new ResponseJsonHttpMessageConverter();
+
+    /**
+     *  testing all scenarios from {@link ResponseJsonHttpMessageConverter#canWrite(java.lang.reflect.Type, Class, MediaType)}
+     */
+    @Nested
+    class when_canWrite {
+
+        @Test
+        void GIVEN_response_records_WHEN_canWrite_SHOULD_return_true() {
+            for(var clazz : RESPONSE_CLASSES) {
+                assertTrue(converter.canWrite(clazz, clazz, MediaType.APPLICATION_JSON));
+                assertTrue(converter.canWrite(clazz, MediaType.APPLICATION_JSON));
+                assertTrue(converter.canWrite(clazz, null));
+            }
+        }
+
+        @Test
+        void GIVEN_list_of_response_items_WHEN_canWrite_SHOULD_return_true() {
+            assertTrue(converter.canWrite(RESPONSE_ITEMS_TYPE, List.class, MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        void GIVEN_other_types_WHEN_canWrite_SHOULD_return_false() {
+            assertFalse(converter.canWrite(STRINGS_TYPE, List.class, MediaType.APPLICATION_JSON));
+            assertFalse(converter.canWrite(List.class, List.class, MediaType.APPLICATION_JSON));
+            assertFalse(converter.canWrite(String.class, String.class, MediaType.APPLICATION_JSON));
+            assertFalse(converter.canWrite(Object.class, MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        void GIVEN_not_json_media_type_WHEN_canWrite_SHOULD_return_false() {
+            assertFalse(converter.canWrite(CreateService.Response.class, MediaType.APPLICATION_XML));
+            assertFalse(converter.canWrite(RESPONSE_ITEMS_TYPE, List.class, MediaType.TEXT_PLAIN));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ResponseJsonHttpMessageConverter#canRead(java.lang.reflect.Type, Class, MediaType)}
+     */
+    @Nested
+    class when_canRead {
+
+        @Test
+        void GIVEN_response_record_WHEN_canRead_SHOULD_return_false() {
+            assertFalse(converter.canRead(CreateService.Response.class, MediaType.APPLICATION_JSON));
+            assertFalse(converter.canRead(RESPONSE_ITEMS_TYPE, null, MediaType.APPLICATION_JSON));
+        }
+
+        @Test
+        void GIVEN_body_WHEN_read_SHOULD_throw_HttpMessageNotReadableException() {
+            final var input = new MockHttpInputMessage("{}".getBytes(StandardCharsets.UTF_8));
+            assertThrows(HttpMessageNotReadableException.class, () -> converter.read(CreateService.Response.class, null, input));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ResponseJsonHttpMessageConverter#write(Object, java.lang.reflect.Type, MediaType, org.springframework.http.HttpOutputMessage)}
+     */
+    @Nested
+    class when_write {
+
+        @Test
+        void GIVEN_response_record_WHEN_write_SHOULD_write_body_and_content_length() throws Exception {
+            final var output = new MockHttpOutputMessage();
+            converter.write(CREATE_RESPONSE, CreateService.Response.class, MediaType.APPLICATION_JSON, output);
+            final String expected = "{\"id\":\"" + ID + "\"}";
+            assertEquals(expected, output.getBodyAsString(StandardCharsets.UTF_8));
+            assertEquals(expected.length(), output.getHeaders().getContentLength());
+            assertTrue(MediaType.APPLICATION_JSON.isCompatibleWith(output.getHeaders().getContentType()));
+        }
+
+        @Test
+        void GIVEN_list_of_response_items_WHEN_write_SHOULD_write_json_array() throws Exception {
+            final var output = new MockHttpOutputMessage();
+            converter.write(RESPONSE_ITEMS, RESPONSE_ITEMS_TYPE, MediaType.APPLICATION_JSON, output);
+            assertEquals("[{\"id\":\"" + ID + "\",\"name\":\"any name\"},{\"id\":\"" + ID + "\",\"name\":\"other name\"}]",
+                    output.getBodyAsString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        void GIVEN_large_response_then_small_one_WHEN_write_SHOULD_write_both_whole() throws Exception {
+            final var large = new MockHttpOutputMessage();
+            converter.write(LARGE_RESPONSE_ITEM, null, MediaType.APPLICATION_JSON, large);
+            assertEquals(large.getBodyAsBytes().length, large.getHeaders().getContentLength());
+            assertTrue(large.getBodyAsString(StandardCharsets.UTF_8).endsWith("x\"}"));
+
+            final var small = new MockHttpOutputMessage();
+            converter.write(CREATE_RESPONSE, null, MediaType.APPLICATION_JSON, small);
+            assertArrayEquals(("{\"id\":\"" + ID + "\"}").getBytes(StandardCharsets.UTF_8), small.getBodyAsBytes());
+        }
+
+        @Test
+        void GIVEN_responses_written_WHEN_write_SHOULD_pool_only_buffers_not_grown_past_retained_capacity() throws Exception {
+            converter.write(LARGE_RESPONSE_ITEM, null, MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+            assertEquals(0, converter.pooledOutputs());
+
+            converter.write(CREATE_RESPONSE, null, MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+            converter.write(CREATE_RESPONSE, null, MediaType.APPLICATION_JSON, new MockHttpOutputMessage());
+            assertEquals(1, converter.pooledOutputs());
+        }
+
+    }
+
+}
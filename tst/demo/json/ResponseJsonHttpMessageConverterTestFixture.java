@@ -0,0 +1,36 @@
+package demo.json;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+
+import demo.service.CreateService;
+import demo.service.GetByIdService;
+import demo.service.ListService;
+
+abstract sealed class ResponseJsonHttpMessageConverterTestFixture permits ResponseJsonHttpMessageConverterTest {
+
+    protected final String ID = "01a14be3-47c3-7000-9aa4-59ea733888ce";
+
+    protected final Type RESPONSE_ITEMS_TYPE = ResolvableType.forClassWithGenerics(List.class, ListService.ResponseItem.class).getType();
+    protected final Type STRINGS_TYPE = ResolvableType.forClassWithGenerics(List.class, String.class).getType();
+
+    protected final CreateService.Response CREATE_RESPONSE = new CreateService.Response(ID);
+
+    protected final List<ListService.ResponseItem> RESPONSE_ITEMS = List.of(
+            new ListService.ResponseItem(ID, "any name"),
+            new ListService.ResponseItem(ID, "other name"));
+
+    protected final List<Class<?>> RESPONSE_CLASSES = List.of(
+            CreateService.Response.class,
+            GetByIdService.Response.class,
+            ListService.ResponseItem.class,
+            demo.controller.AnyController.ResponseError.class);
+
+    /**
+     * a name long enough to grow the output buffer past the capacity kept between responses
+     */
+    protected final ListService.ResponseItem LARGE_RESPONSE_ITEM = new ListService.ResponseItem(ID, "x".repeat(512 * 1024));
+
+}
@@ -0,0 +1,133 @@
+package demo.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import demo.controller.AnyController;
+import demo.service.ListService;
+
+/**
+ * <p>Tests of {@link ResponseJsonWriters} and {@link JsonOutput}, byte for byte against the {@link ObjectMapper} configured by Spring Boot</p>
+ * <pre>
+ *{@link when_writeCreateResponse} {
+ *  {@link when_writeCreateResponse#GIVEN_response_WHEN_writeCreateResponse_SHOULD_write_as_jackson()}
+ *}
+ *{@link when_writeGetByIdResponse} {
+ *  {@link when_writeGetByIdResponse#GIVEN_dates_with_and_without_fraction_WHEN_writeGetByIdResponse_SHOULD_write_as_jackson()}
+ *  {@link when_writeGetByIdResponse#GIVEN_versions_WHEN_writeGetByIdResponse_SHOULD_leave_them_out_as_jackson()}
+ *  {@link when_writeGetByIdResponse#GIVEN_names_to_escape_or_not_ascii_WHEN_writeGetByIdResponse_SHOULD_write_as_jackson()}
+ *  {@link when_writeGetByIdResponse#GIVEN_null_fields_WHEN_writeGetByIdResponse_SHOULD_write_as_jackson()}
+ *}
+ *{@link when_writeResponseItems} {
+ *  {@link when_writeResponseItems#GIVEN_full_page_WHEN_writeResponseItems_SHOULD_write_as_jackson()}
+ *  {@link when_writeResponseItems#GIVEN_empty_page_WHEN_writeResponseItems_SHOULD_write_as_jackson()}
+ *}
+ *{@link when_writeResponseError} {
+ *  {@link when_writeResponseError#GIVEN_response_error_WHEN_writeResponseError_SHOULD_write_as_jackson()}
+ *  {@link when_writeResponseError#GIVEN_statuses_WHEN_writeResponseError_SHOULD_write_as_jackson()}
+ *}
+ * </pre>
+ */
+@JsonTest
+final class ResponseJsonWritersTest extends ResponseJsonWritersTestFixture {
+
+    @Autowired ObjectMapper objectMapper;
+
+    private <T> String assertWrittenAsJackson(T value, ResponseJsonWriters.JsonWriter<T> writer) throws Exception {
+        final JsonOutput out = new JsonOutput(16);
+        writer.write(value, out);
+        final String written = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertEquals(objectMapper.writeValueAsString(value), written);
+        return written;
+    }
+
+    /**
+     *  testing all scenarios from {@link ResponseJsonWriters#writeCreateResponse(demo.service.CreateService.Response, JsonOutput)}
+     */
+    @Nested
+    class when_writeCreateResponse {
+
+        @Test
+        void GIVEN_response_WHEN_writeCreateResponse_SHOULD_write_as_jackson() throws Exception {
+            assertWrittenAsJackson(CREATE_RESPONSE, ResponseJsonWriters::writeCreateResponse);
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ResponseJsonWriters#writeGetByIdResponse(demo.service.GetByIdService.Response, JsonOutput)}
+     */
+    @Nested
+    class when_writeGetByIdResponse {
+
+        @Test
+        void GIVEN_dates_with_and_without_fraction_WHEN_writeGetByIdResponse_SHOULD_write_as_jackson() throws Exception {
+            for(var date : DATES) assertWrittenAsJackson(getByIdResponse(NAME_TO_ESCAPE, date, 1), ResponseJsonWriters::writeGetByIdResponse);
+        }
+
+        @Test
+        void GIVEN_versions_WHEN_writeGetByIdResponse_SHOULD_leave_them_out_as_jackson() throws Exception {
+            for(var version : LONGS)
+                assertFalse(assertWrittenAsJackson(getByIdResponse(ID, DATES.get(0), version), ResponseJsonWriters::writeGetByIdResponse).contains("version"));
+        }
+
+        @Test
+        void GIVEN_names_to_escape_or_not_ascii_WHEN_writeGetByIdResponse_SHOULD_write_as_jackson() throws Exception {
+            for(var name : List.of(NAME_TO_ESCAPE, NAME_NOT_ASCII, NAME_NOT_ASCII + NAME_TO_ESCAPE, ""))
+                assertWrittenAsJackson(getByIdResponse(name, DATES.get(0), 1), ResponseJsonWriters::writeGetByIdResponse);
+        }
+
+        @Test
+        void GIVEN_null_fields_WHEN_writeGetByIdResponse_SHOULD_write_as_jackson() throws Exception {
+            assertWrittenAsJackson(new demo.service.GetByIdService.Response(null, null, null, null, 0), ResponseJsonWriters::writeGetByIdResponse);
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ResponseJsonWriters#writeResponseItems(List, JsonOutput)}
+     */
+    @Nested
+    class when_writeResponseItems {
+
+        @Test
+        void GIVEN_full_page_WHEN_writeResponseItems_SHOULD_write_as_jackson() throws Exception {
+            assertWrittenAsJackson(PAGE, ResponseJsonWriters::writeResponseItems);
+        }
+
+        @Test
+        void GIVEN_empty_page_WHEN_writeResponseItems_SHOULD_write_as_jackson() throws Exception {
+            assertWrittenAsJackson(List.<ListService.ResponseItem>of(), ResponseJsonWriters::writeResponseItems);
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ResponseJsonWriters#writeResponseError(demo.controller.AnyController.ResponseError, JsonOutput)}
+     */
+    @Nested
+    class when_writeResponseError {
+
+        @Test
+        void GIVEN_response_error_WHEN_writeResponseError_SHOULD_write_as_jackson() throws Exception {
+            assertWrittenAsJackson(RESPONSE_ERROR, ResponseJsonWriters::writeResponseError);
+        }
+
+        @Test
+        void GIVEN_statuses_WHEN_writeResponseError_SHOULD_write_as_jackson() throws Exception {
+            for(var status : STATUSES) assertWrittenAsJackson(new AnyController.ResponseError(status, ID), ResponseJsonWriters::writeResponseError);
+        }
+
+    }
+
+}
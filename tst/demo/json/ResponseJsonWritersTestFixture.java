@@ -0,0 +1,45 @@
+package demo.json;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import demo.controller.AnyController;
+import demo.service.CreateService;
+import demo.service.GetByIdService;
+import demo.service.ListService;
+
+abstract sealed class ResponseJsonWritersTestFixture permits ResponseJsonWritersTest {
+
+    protected final String ID = "01a14be3-47c3-7000-9aa4-59ea733888ce";
+    protected final String NAME_TO_ESCAPE = "quote \" backslash \\ slash / tab \t newline \n cr \r bell \u0007 unit separator \u001f del \u007f";
+    protected final String NAME_NOT_ASCII = "a\u00e7\u00e3o \u00f1 \u540d\u524d emoji \ud83d\ude00 end";
+    protected final int PAGE_SIZE = 300;
+
+    protected final List<LocalDateTime> DATES = List.of(
+            LocalDateTime.of(2026, 10, 17, 22, 2, 28, 675_953_000),
+            LocalDateTime.of(2026, 1, 2, 3, 4, 0, 0),
+            LocalDateTime.of(2026, 1, 2, 3, 4, 5, 100_000_000),
+            LocalDateTime.of(2026, 1, 2, 3, 4, 5, 120_000),
+            LocalDateTime.of(2026, 1, 2, 3, 4, 5, 1),
+            LocalDateTime.of(999, 12, 31, 23, 59, 59, 999_999_999),
+            LocalDateTime.of(12_345, 6, 7, 8, 9, 10),
+            LocalDateTime.of(-5, 6, 7, 8, 9, 10));
+
+    protected final List<Long> LONGS = List.of(0L, 7L, -7L, 10L, 999_999L, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1);
+
+    protected final List<Integer> STATUSES = List.of(0, 7, -7, 10, 503, 999_999, Integer.MAX_VALUE, Integer.MIN_VALUE);
+
+    protected final CreateService.Response CREATE_RESPONSE = new CreateService.Response(ID);
+
+    protected final AnyController.ResponseError RESPONSE_ERROR = new AnyController.ResponseError(404, "id " + ID + " not found");
+
+    protected final List<ListService.ResponseItem> PAGE = IntStream.range(0, PAGE_SIZE)
+            .mapToObj(i -> new ListService.ResponseItem(ID.substring(0, 30) + String.format("%06d", i), "entity " + i))
+            .toList();
+
+    protected GetByIdService.Response getByIdResponse(String name, LocalDateTime date, long version) {
+        return new GetByIdService.Response(ID, name, date, date.plusNanos(1_000), version);
+    }
+
+}
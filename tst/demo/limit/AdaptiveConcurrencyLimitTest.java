@@ -0,0 +1,179 @@
+package demo.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <p>Tests of {@link AdaptiveConcurrencyLimit}</p>
+ * <pre>
+ *{@link when_new} {
+ *  {@link when_new#GIVEN_initial_limit_out_of_bounds_WHEN_new_SHOULD_throw_IllegalArgumentException()}
+ *}
+ *{@link when_tryAcquire} {
+ *  {@link when_tryAcquire#GIVEN_limit_reached_WHEN_tryAcquire_SHOULD_reject_and_count()}
+ *  {@link when_tryAcquire#GIVEN_request_released_WHEN_tryAcquire_SHOULD_admit_again()}
+ *  {@link when_tryAcquire#GIVEN_concurrent_callers_WHEN_tryAcquire_SHOULD_never_admit_more_than_limit()}
+ *}
+ *{@link when_release} {
+ *  {@link when_release#GIVEN_full_load_without_queue_WHEN_release_SHOULD_grow_limit_up_to_max()}
+ *  {@link when_release#GIVEN_latency_growing_with_in_flight_WHEN_release_SHOULD_shrink_limit_near_bottleneck()}
+ *  {@link when_release#GIVEN_saturated_from_the_start_WHEN_release_SHOULD_probe_latency_without_queue()}
+ *  {@link when_release#GIVEN_few_in_flight_WHEN_release_SHOULD_keep_limit()}
+ *  {@link when_release#GIVEN_failed_requests_WHEN_release_SHOULD_shrink_limit_down_to_min()}
+ *}
+ * </pre>
+ */
+final class AdaptiveConcurrencyLimitTest extends AdaptiveConcurrencyLimitTestFixture {
+
+    /**
+     *  testing all scenarios from {@link AdaptiveConcurrencyLimit#AdaptiveConcurrencyLimit(int, int)}
+     */
+    @Nested
+    class when_new {
+
+        @Test
+        void GIVEN_initial_limit_out_of_bounds_WHEN_new_SHOULD_throw_IllegalArgumentException(){
+            assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(0, MAX_LIMIT));
+            assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(MAX_LIMIT + 1, MAX_LIMIT));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link AdaptiveConcurrencyLimit#tryAcquire()}
+     */
+    @Nested
+    class when_tryAcquire {
+
+        @Test
+        void GIVEN_limit_reached_WHEN_tryAcquire_SHOULD_reject_and_count(){
+            final var limit = new AdaptiveConcurrencyLimit(INITIAL_LIMIT, MAX_LIMIT);
+            for(int i = 0; i < INITIAL_LIMIT; i++) assertTrue(limit.tryAcquire());
+
+            assertFalse(limit.tryAcquire());
+            assertFalse(limit.tryAcquire());
+
+            assertEquals(INITIAL_LIMIT, limit.inFlight());
+            assertEquals(2, limit.rejected());
+        }
+
+        @Test
+        void GIVEN_request_released_WHEN_tryAcquire_SHOULD_admit_again(){
+            final var limit = new AdaptiveConcurrencyLimit(1, 1);
+            assertTrue(limit.tryAcquire());
+            assertFalse(limit.tryAcquire());
+
+            limit.release(BASELINE_RTT_NANOS, false);
+
+            assertTrue(limit.tryAcquire());
+            assertEquals(1, limit.rejected());
+        }
+
+        @Test
+        void GIVEN_concurrent_callers_WHEN_tryAcquire_SHOULD_never_admit_more_than_limit() throws Exception{
+            final int callers = 8;
+            final var limit = new AdaptiveConcurrencyLimit(INITIAL_LIMIT, INITIAL_LIMIT);
+            final var admitted = new AtomicInteger();
+            final var start = new CountDownLatch(1);
+            final ExecutorService executor = Executors.newFixedThreadPool(callers);
+            try {
+                for(int caller = 0; caller < callers; caller++) {
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        for(int i = 0; i < 1_000; i++) {
+                            if(limit.tryAcquire()) admitted.incrementAndGet();
+                        }
+                    });
+                }
+                start.countDown();
+            } finally {
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+            }
+
+            assertEquals(INITIAL_LIMIT, admitted.get());
+            assertEquals(callers * 1_000L - INITIAL_LIMIT, limit.rejected());
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link AdaptiveConcurrencyLimit#release(long, boolean)}
+     */
+    @Nested
+    class when_release {
+
+        @Test
+        void GIVEN_full_load_without_queue_WHEN_release_SHOULD_grow_limit_up_to_max(){
+            final var limit = new AdaptiveConcurrencyLimit(INITIAL_LIMIT, MAX_LIMIT);
+
+            runAtFullLoad(limit, inFlight -> BASELINE_RTT_NANOS, SAMPLES);
+
+            assertEquals(MAX_LIMIT, limit.limit());
+        }
+
+        @Test
+        void GIVEN_latency_growing_with_in_flight_WHEN_release_SHOULD_shrink_limit_near_bottleneck(){
+            final var limit = new AdaptiveConcurrencyLimit(MAX_LIMIT / 2, MAX_LIMIT);
+            assertTrue(limit.tryAcquire());
+            limit.release(BASELINE_RTT_NANOS, false);
+
+            runAtFullLoad(limit, RTT_OF_QUEUEING_BOTTLENECK, SAMPLES);
+
+            assertTrue(limit.limit() <= BOTTLENECK_CONCURRENCY * 3, "limit " + limit.limit());
+        }
+
+        @Test
+        void GIVEN_saturated_from_the_start_WHEN_release_SHOULD_probe_latency_without_queue(){
+            final int initialLimit = MAX_LIMIT / 2;
+            final var limit = new AdaptiveConcurrencyLimit(initialLimit, MAX_LIMIT);
+
+            runAtFullLoad(limit, RTT_OF_QUEUEING_BOTTLENECK, AdaptiveConcurrencyLimit.PROBE_MULTIPLIER * initialLimit);
+            assertEquals(AdaptiveConcurrencyLimit.PROBE_LIMIT, limit.limit());
+
+            runAtFullLoad(limit, RTT_OF_QUEUEING_BOTTLENECK, SAMPLES);
+            assertTrue(limit.limit() <= BOTTLENECK_CONCURRENCY * 3, "limit " + limit.limit());
+        }
+
+        @Test
+        void GIVEN_few_in_flight_WHEN_release_SHOULD_keep_limit(){
+            final var limit = new AdaptiveConcurrencyLimit(INITIAL_LIMIT, MAX_LIMIT);
+
+            for(int sample = 0; sample < SAMPLES; sample++) {
+                assertTrue(limit.tryAcquire());
+                limit.release(BASELINE_RTT_NANOS, false);
+            }
+
+            assertEquals(INITIAL_LIMIT, limit.limit());
+        }
+
+        @Test
+        void GIVEN_failed_requests_WHEN_release_SHOULD_shrink_limit_down_to_min(){
+            final var limit = new AdaptiveConcurrencyLimit(INITIAL_LIMIT, MAX_LIMIT);
+
+            for(int sample = 0; sample < INITIAL_LIMIT * 2; sample++) {
+                assertTrue(limit.tryAcquire());
+                limit.release(BASELINE_RTT_NANOS, true);
+            }
+
+            assertEquals(AdaptiveConcurrencyLimit.MIN_LIMIT, limit.limit());
+        }
+
+    }
+
+}
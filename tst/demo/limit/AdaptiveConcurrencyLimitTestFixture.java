@@ -0,0 +1,35 @@
+package demo.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+abstract sealed class AdaptiveConcurrencyLimitTestFixture permits AdaptiveConcurrencyLimitTest {
+
+    protected final int INITIAL_LIMIT = 10;
+    protected final int MAX_LIMIT = 100;
+    protected final int SAMPLES = 2_000;
+    protected final long BASELINE_RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * a bottleneck serving 5 requests at a time: above that, requests queue and latency grows with the requests in flight
+     */
+    protected final int BOTTLENECK_CONCURRENCY = 5;
+    protected final IntToLongFunction RTT_OF_QUEUEING_BOTTLENECK = inFlight -> BASELINE_RTT_NANOS * Math.max(1, inFlight / BOTTLENECK_CONCURRENCY);
+
+    /**
+     * keeps {@code limit} full, as a saturating load would: each sample admits requests until rejected, then completes one
+     * with the latency of the requests in flight
+     * @param limit limit under test
+     * @param rttOfInFlight latency of a request given the requests in flight
+     * @param samples requests completed
+     */
+    protected void runAtFullLoad(AdaptiveConcurrencyLimit limit, IntToLongFunction rttOfInFlight, int samples) {
+        for(int sample = 0; sample < samples; sample++) {
+            while(limit.tryAcquire()) {
+                // admits up to the current limit
+            }
+            limit.release(rttOfInFlight.applyAsLong(limit.inFlight()), false);
+        }
+    }
+
+}
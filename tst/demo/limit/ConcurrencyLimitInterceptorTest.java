@@ -0,0 +1,196 @@
+package demo.limit;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.WebRequest;
+
+import demo.constant.ErrMessage;
+import demo.controller.AnyController;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.service.BulkCreateService;
+import demo.service.BulkDeleteService;
+import demo.service.CreateService;
+import demo.service.ExportService;
+import demo.service.GetByIdService;
+import demo.service.ListService;
+import demo.service.MultiGetService;
+import demo.service.RemoveByIdService;
+import demo.service.UpdateByIdService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * <p>Tests of {@link ConcurrencyLimitInterceptor} in front of {@link AnyController}, with limits fixed to 1 request per handler method</p>
+ * <pre>
+ *{@link when_preHandle} {
+ *  {@link when_preHandle#GIVEN_reads_limit_in_use_WHEN_getById_SHOULD_return_503_with_retry_after_and_response_error()}
+ *  {@link when_preHandle#GIVEN_reads_limit_in_use_WHEN_create_SHOULD_admit_write()}
+ *  {@link when_preHandle#GIVEN_getById_limit_in_use_WHEN_list_SHOULD_admit_read_of_other_endpoint()}
+ *  {@link when_preHandle#GIVEN_reads_limit_in_use_WHEN_existsById_SHOULD_not_be_limited()}
+ *  {@link when_preHandle#GIVEN_rejection_WHEN_preHandle_SHOULD_publish_limit_and_rejected_metrics()}
+ *}
+ *{@link when_afterCompletion} {
+ *  {@link when_afterCompletion#GIVEN_request_completed_WHEN_getById_SHOULD_release_its_slot()}
+ *  {@link when_afterCompletion#GIVEN_handler_failed_WHEN_getById_SHOULD_release_its_slot()}
+ *}
+ * </pre>
+ */
+@WebMvcTest(controllers = AnyController.class, properties = {
+    "app.default-size-page=10",
+    "app.concurrency-limit-enabled=true",
+    "app.concurrency-limit-reads-initial=1",
+    "app.concurrency-limit-reads-max=1",
+    "app.concurrency-limit-writes-initial=1",
+    "app.concurrency-limit-writes-max=1"
+})
+@Import({LatencyHistograms.class, SimpleMeterRegistry.class})
+final class ConcurrencyLimitInterceptorTest extends ConcurrencyLimitInterceptorTestFixture {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    @Autowired private MeterRegistry meterRegistry;
+    @MockBean private CreateService createService;
+    @MockBean private UpdateByIdService updateByIdService;
+    @MockBean private RemoveByIdService removeByIdService;
+    @MockBean private GetByIdService getByIdService;
+    @MockBean private ListService listService;
+    @MockBean private ExportService exportService;
+    @MockBean private MultiGetService multiGetService;
+    @MockBean private BulkCreateService bulkCreateService;
+    @MockBean private BulkDeleteService bulkDeleteService;
+    @MockBean private AnyRepository anyRepository;
+
+    private AdaptiveConcurrencyLimit readsLimit() throws NoSuchMethodException {
+        return concurrencyLimitInterceptor.limitOf(AnyController.class.getMethod("getById", String.class, WebRequest.class));
+    }
+
+    /**
+     * frees the slot a test took directly on the limit
+     */
+    @AfterEach
+    void releaseSlots() throws Exception{
+        while(readsLimit().inFlight() > 0) readsLimit().release(1, false);
+    }
+
+    /**
+     *  testing all scenarios from {@link ConcurrencyLimitInterceptor#preHandle(jakarta.servlet.http.HttpServletRequest, jakarta.servlet.http.HttpServletResponse, Object)}
+     */
+    @Nested
+    class when_preHandle{
+
+        @Test
+        void GIVEN_reads_limit_in_use_WHEN_getById_SHOULD_return_503_with_retry_after_and_response_error() throws Exception{
+            assertTrue(readsLimit().tryAcquire());
+
+            MOCK_REQUEST_GET_BY_ID
+                .setMock(mockMvc, RANDON_UUID_STRING.get())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, ConcurrencyLimitInterceptor.RETRY_AFTER_SECONDS))
+                .andExpect(jsonPath("$.status", equalTo(HttpStatus.SERVICE_UNAVAILABLE.value())))
+                .andExpect(jsonPath("$.error", equalTo(ErrMessage.CONCURRENCY_LIMIT_EXCEEDED.get())));
+
+            verify(getByIdService, never()).getById(anyString());
+        }
+
+        @Test
+        void GIVEN_reads_limit_in_use_WHEN_create_SHOULD_admit_write() throws Exception{
+            assertTrue(readsLimit().tryAcquire());
+            when(createService.create(any(CreateService.Request.class))).thenReturn(new CreateService.Response(RANDON_UUID_STRING.get()));
+
+            MOCK_REQUEST_CREATE
+                .setMock(mockMvc, OK_BODY_REQUEST_CREATE.get())
+                .andExpect(status().isCreated());
+        }
+
+        @Test
+        void GIVEN_getById_limit_in_use_WHEN_list_SHOULD_admit_read_of_other_endpoint() throws Exception{
+            assertTrue(readsLimit().tryAcquire());
+            when(listService.list(any(ListService.Request.class))).thenReturn(new ListService.Response(List.of(), false, null));
+
+            MOCK_REQUEST_LIST
+                .setMock(mockMvc)
+                .andExpect(status().isOk());
+        }
+
+        @Test
+        void GIVEN_reads_limit_in_use_WHEN_existsById_SHOULD_not_be_limited() throws Exception{
+            assertTrue(readsLimit().tryAcquire());
+            when(getByIdService.existsById(anyString())).thenReturn(true);
+
+            MOCK_REQUEST_HEAD_BY_ID
+                .setMock(mockMvc, RANDON_UUID_STRING.get())
+                .andExpect(status().isOk());
+        }
+
+        @Test
+        void GIVEN_rejection_WHEN_preHandle_SHOULD_publish_limit_and_rejected_metrics() throws Exception{
+            assertTrue(readsLimit().tryAcquire());
+            final long rejectedBefore = readsLimit().rejected();
+
+            MOCK_REQUEST_GET_BY_ID
+                .setMock(mockMvc, RANDON_UUID_STRING.get())
+                .andExpect(status().isServiceUnavailable());
+
+            assertEquals(rejectedBefore + 1, meterRegistry.get("concurrency.rejected").tags("group", "reads", "endpoint", "AnyController.getById").functionCounter().count());
+            assertEquals(1, meterRegistry.get("concurrency.limit").tags("group", "reads", "endpoint", "AnyController.getById").gauge().value());
+            assertEquals(1, meterRegistry.get("concurrency.in.flight").tags("group", "reads", "endpoint", "AnyController.getById").gauge().value());
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ConcurrencyLimitInterceptor#afterCompletion(jakarta.servlet.http.HttpServletRequest, jakarta.servlet.http.HttpServletResponse, Object, Exception)}
+     */
+    @Nested
+    class when_afterCompletion{
+
+        @Test
+        void GIVEN_request_completed_WHEN_getById_SHOULD_release_its_slot() throws Exception{
+            when(getByIdService.getById(anyString())).thenReturn(OK_REPONSE_GET_BY_ID_SERVICE.get());
+
+            for(int i = 0; i < 3; i++) {
+                MOCK_REQUEST_GET_BY_ID
+                    .setMock(mockMvc, RANDON_UUID_STRING.get())
+                    .andExpect(status().isOk());
+            }
+
+            assertEquals(0, readsLimit().inFlight());
+        }
+
+        @Test
+        void GIVEN_handler_failed_WHEN_getById_SHOULD_release_its_slot() throws Exception{
+            when(getByIdService.getById(anyString())).thenThrow(new RuntimeException(RANDON_SHORT_STRING.get()));
+
+            MOCK_REQUEST_GET_BY_ID
+                .setMock(mockMvc, RANDON_UUID_STRING.get())
+                .andExpect(status().isInternalServerError());
+
+            assertEquals(0, readsLimit().inFlight());
+        }
+
+    }
+
+}
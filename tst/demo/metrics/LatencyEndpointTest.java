@@ -0,0 +1,65 @@
+package demo.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <p>Tests of {@link LatencyEndpoint}</p>
+ * <pre>
+ *{@link when_latency} {
+ *  {@link when_latency#GIVEN_nothing_recorded_WHEN_latency_SHOULD_report_no_histogram()}
+ *  {@link when_latency#GIVEN_interval_recorded_WHEN_latency_SHOULD_report_its_percentiles_in_micros()}
+ *}
+ * </pre>
+ */
+final class LatencyEndpointTest extends LatencyEndpointTestFixture {
+
+    LatencyHistograms latencyHistograms;
+    LatencyEndpoint latencyEndpoint;
+
+    @BeforeEach
+    void createEndpoint(){
+        latencyHistograms = new LatencyHistograms();
+        latencyEndpoint = new LatencyEndpoint(latencyHistograms);
+    }
+
+    @AfterEach
+    void stopHistograms(){
+        latencyHistograms.stop();
+    }
+
+    /**
+     *  testing all scenarios from {@link LatencyEndpoint#latency()}
+     */
+    @Nested
+    class when_latency {
+
+        @Test
+        void GIVEN_nothing_recorded_WHEN_latency_SHOULD_report_no_histogram(){
+
+            final LatencyEndpoint.Response response = latencyEndpoint.latency();
+
+            assertEquals(LatencyHistograms.SNAPSHOT_INTERVAL_SECONDS, response.intervalSeconds());
+            assertEquals(LatencyEndpoint.UNIT, response.unit());
+            assertTrue(response.histograms().isEmpty());
+        }
+
+        @Test
+        void GIVEN_interval_recorded_WHEN_latency_SHOULD_report_its_percentiles_in_micros(){
+            for(int i = 0; i < SAMPLES; i++) latencyHistograms.record(NAME, System.nanoTime());
+            latencyHistograms.snapshot();
+
+            final LatencyHistograms.Snapshot snapshot = latencyEndpoint.latency().histograms().get(NAME);
+
+            assertEquals(SAMPLES, snapshot.count());
+            assertTrue(snapshot.p50() <= snapshot.p90() && snapshot.p90() <= snapshot.p99() && snapshot.p99() <= snapshot.p999() && snapshot.p999() <= snapshot.max());
+            assertTrue(snapshot.max() > 0);
+        }
+    }
+
+}
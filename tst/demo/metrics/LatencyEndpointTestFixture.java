@@ -0,0 +1,8 @@
+package demo.metrics;
+
+abstract sealed class LatencyEndpointTestFixture permits LatencyEndpointTest {
+
+    protected final String NAME = "AnyController.getById";
+    protected final int SAMPLES = 100;
+
+}
@@ -0,0 +1,66 @@
+package demo.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <p>Benchmark of the recording cost of {@link LatencyHistograms#record(String, long)}, clock read included,
+ * from 1 thread and from 4 threads recording the same name, against a loop reading only the clock.</p>
+ * <p>Run with {@code gradle benchmark}, results are printed as {@code [bench]} lines.</p>
+ */
+@Tag("benchmark")
+class LatencyHistogramsBenchmark {
+
+    private static final String NAME = "AnyService.anyStep";
+    private static final int WARMUP_SAMPLES = 2_000_000;
+    private static final int MEASURED_SAMPLES = 5_000_000;
+
+    private final LatencyHistograms latencyHistograms = new LatencyHistograms();
+
+    private long blackhole;
+
+    @Test
+    void record_cost() throws InterruptedException {
+        try {
+            clockOnly(WARMUP_SAMPLES);
+            record(WARMUP_SAMPLES);
+            measure("clock only", 1, () -> clockOnly(MEASURED_SAMPLES));
+            measure("record", 1, () -> record(MEASURED_SAMPLES));
+            measure("record", 4, () -> record(MEASURED_SAMPLES));
+            System.out.println("[bench] (blackhole " + blackhole + ")");
+        } finally {
+            latencyHistograms.stop();
+        }
+    }
+
+    private void clockOnly(int samples) {
+        long start = System.nanoTime();
+        for(int i = 0; i < samples; i++) start = System.nanoTime();
+        blackhole += start;
+    }
+
+    private void record(int samples) {
+        long start = System.nanoTime();
+        for(int i = 0; i < samples; i++) start = latencyHistograms.record(NAME, start);
+        blackhole += start;
+    }
+
+    private void measure(String name, int threads, Runnable samples) throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(threads);
+        final List<Thread> recorders = new ArrayList<>();
+        for(int i = 0; i < threads; i++) recorders.add(new Thread(() -> {
+            samples.run();
+            done.countDown();
+        }));
+        final long start = System.nanoTime();
+        recorders.forEach(Thread::start);
+        done.await();
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("[bench] %-10s %d thread(s): %6.1f ns/sample%n", name, threads, (double) elapsed / MEASURED_SAMPLES / threads);
+    }
+
+}
@@ -0,0 +1,131 @@
+package demo.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import demo.metrics.LatencyHistograms.Snapshot;
+
+/**
+ * <p>Tests of {@link LatencyHistograms}</p>
+ * <pre>
+ *{@link when_record} {
+ *  {@link when_record#GIVEN_start_nanos_WHEN_record_SHOULD_return_now_to_start_next_step()}
+ *  {@link when_record#GIVEN_samples_of_two_names_WHEN_record_SHOULD_count_each_name_apart()}
+ *  {@link when_record#GIVEN_latency_over_highest_trackable_WHEN_record_SHOULD_record_highest_trackable()}
+ *}
+ *{@link when_snapshot} {
+ *  {@link when_snapshot#GIVEN_samples_not_snapshot_yet_WHEN_snapshots_SHOULD_return_empty_snapshot()}
+ *  {@link when_snapshot#GIVEN_interval_without_samples_WHEN_snapshot_SHOULD_return_empty_snapshot()}
+ *}
+ *{@link when_snapshotOf} {
+ *  {@link when_snapshotOf#GIVEN_known_latencies_WHEN_snapshotOf_SHOULD_return_percentiles_in_micros_within_precision()}
+ *}
+ * </pre>
+ */
+final class LatencyHistogramsTest extends LatencyHistogramsTestFixture {
+
+    LatencyHistograms latencyHistograms;
+
+    @BeforeEach
+    void createHistograms(){
+        latencyHistograms = new LatencyHistograms();
+    }
+
+    @AfterEach
+    void stopHistograms(){
+        latencyHistograms.stop();
+    }
+
+    /**
+     *  testing all scenarios from {@link LatencyHistograms#record(String, long)}
+     */
+    @Nested
+    class when_record {
+
+        @Test
+        void GIVEN_start_nanos_WHEN_record_SHOULD_return_now_to_start_next_step(){
+            final long before = System.nanoTime();
+
+            final long now = latencyHistograms.record(NAME, before);
+
+            assertTrue(now >= before && now <= System.nanoTime());
+        }
+
+        @Test
+        void GIVEN_samples_of_two_names_WHEN_record_SHOULD_count_each_name_apart(){
+            for(int i = 0; i < SAMPLES; i++) latencyHistograms.record(NAME, System.nanoTime());
+            latencyHistograms.record(OTHER_NAME, System.nanoTime());
+
+            latencyHistograms.snapshot();
+
+            assertEquals(List.of(NAME, OTHER_NAME), List.copyOf(latencyHistograms.snapshots().keySet()));
+            assertEquals(SAMPLES, latencyHistograms.snapshots().get(NAME).count());
+            assertEquals(1, latencyHistograms.snapshots().get(OTHER_NAME).count());
+        }
+
+        @Test
+        void GIVEN_latency_over_highest_trackable_WHEN_record_SHOULD_record_highest_trackable(){
+            latencyHistograms.record(NAME, System.nanoTime() - NANOS_OVER_HIGHEST_TRACKABLE);
+
+            latencyHistograms.snapshot();
+
+            final Snapshot snapshot = latencyHistograms.snapshots().get(NAME);
+            assertEquals(1, snapshot.count());
+            assertEquals(LatencyHistograms.HIGHEST_TRACKABLE_NANOS / 1_000.0, snapshot.max(), LatencyHistograms.HIGHEST_TRACKABLE_NANOS / 1_000.0 * RELATIVE_PRECISION);
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link LatencyHistograms#snapshot()}
+     */
+    @Nested
+    class when_snapshot {
+
+        @Test
+        void GIVEN_samples_not_snapshot_yet_WHEN_snapshots_SHOULD_return_empty_snapshot(){
+            latencyHistograms.record(NAME, System.nanoTime());
+
+            assertEquals(0, latencyHistograms.snapshots().get(NAME).count());
+        }
+
+        @Test
+        void GIVEN_interval_without_samples_WHEN_snapshot_SHOULD_return_empty_snapshot(){
+            latencyHistograms.record(NAME, System.nanoTime());
+            latencyHistograms.snapshot();
+
+            latencyHistograms.snapshot();
+
+            final Snapshot snapshot = latencyHistograms.snapshots().get(NAME);
+            assertEquals(0, snapshot.count());
+            assertEquals(0, snapshot.max());
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link LatencyHistograms#snapshotOf(org.HdrHistogram.Histogram)}
+     */
+    @Nested
+    class when_snapshotOf {
+
+        @Test
+        void GIVEN_known_latencies_WHEN_snapshotOf_SHOULD_return_percentiles_in_micros_within_precision(){
+
+            final Snapshot snapshot = LatencyHistograms.snapshotOf(HISTOGRAM_OF_1_TO_1000_MICROS.get());
+
+            assertEquals(SAMPLES, snapshot.count());
+            assertEquals(500, snapshot.p50(), 500 * RELATIVE_PRECISION);
+            assertEquals(900, snapshot.p90(), 900 * RELATIVE_PRECISION);
+            assertEquals(990, snapshot.p99(), 990 * RELATIVE_PRECISION);
+            assertEquals(999, snapshot.p999(), 999 * RELATIVE_PRECISION);
+            assertEquals(1000, snapshot.max(), 1000 * RELATIVE_PRECISION);
+        }
+    }
+
+}
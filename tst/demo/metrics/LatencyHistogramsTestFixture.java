@@ -0,0 +1,26 @@
+package demo.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import org.HdrHistogram.Histogram;
+
+abstract sealed class LatencyHistogramsTestFixture permits LatencyHistogramsTest {
+
+    protected final String NAME = "AnyService.anyStep";
+    protected final String OTHER_NAME = "AnyService.otherStep";
+    protected final int SAMPLES = 1_000;
+    protected final double RELATIVE_PRECISION = 0.01;
+    protected final long NANOS_OVER_HIGHEST_TRACKABLE = TimeUnit.HOURS.toNanos(1);
+
+    /**
+     * {@code SAMPLES} latencies of 1, 2, ..., 1000 microseconds
+     */
+    protected final Supplier<Histogram> HISTOGRAM_OF_1_TO_1000_MICROS = () -> {
+        final Histogram histogram = new Histogram(1, LatencyHistograms.HIGHEST_TRACKABLE_NANOS, 2);
+        LongStream.rangeClosed(1, SAMPLES).forEach(micros -> histogram.recordValue(TimeUnit.MICROSECONDS.toNanos(micros)));
+        return histogram;
+    };
+
+}
@@ -0,0 +1,98 @@
+package demo.metrics;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import demo.controller.AnyController;
+import demo.repository.AnyRepository;
+import demo.service.BulkCreateService;
+import demo.service.BulkDeleteService;
+import demo.service.CreateService;
+import demo.service.ExportService;
+import demo.service.GetByIdService;
+import demo.service.ListService;
+import demo.service.MultiGetService;
+import demo.service.RemoveByIdService;
+import demo.service.UpdateByIdService;
+
+/**
+ * <p>Tests of {@link LatencyInterceptor} in front of {@link AnyController}</p>
+ * <pre>
+ *{@link when_afterCompletion} {
+ *  {@link when_afterCompletion#GIVEN_request_completed_WHEN_getById_SHOULD_record_latency_named_after_handler_method()}
+ *  {@link when_afterCompletion#GIVEN_handler_failed_WHEN_getById_SHOULD_record_latency()}
+ *  {@link when_afterCompletion#GIVEN_request_completed_WHEN_create_SHOULD_record_latency_named_after_its_handler_method()}
+ *}
+ * </pre>
+ */
+@WebMvcTest(controllers = AnyController.class, properties = {"app.default-size-page=10"})
+final class LatencyInterceptorTest extends LatencyInterceptorTestFixture {
+
+    @Autowired private MockMvc mockMvc;
+    @SpyBean private LatencyHistograms latencyHistograms;
+    @MockBean private CreateService createService;
+    @MockBean private UpdateByIdService updateByIdService;
+    @MockBean private RemoveByIdService removeByIdService;
+    @MockBean private GetByIdService getByIdService;
+    @MockBean private ListService listService;
+    @MockBean private ExportService exportService;
+    @MockBean private MultiGetService multiGetService;
+    @MockBean private BulkCreateService bulkCreateService;
+    @MockBean private BulkDeleteService bulkDeleteService;
+    @MockBean private AnyRepository anyRepository;
+
+    /**
+     *  testing all scenarios from {@link LatencyInterceptor#afterCompletion(jakarta.servlet.http.HttpServletRequest, jakarta.servlet.http.HttpServletResponse, Object, Exception)}
+     */
+    @Nested
+    class when_afterCompletion{
+
+        @Test
+        void GIVEN_request_completed_WHEN_getById_SHOULD_record_latency_named_after_handler_method() throws Exception{
+            when(getByIdService.getById(anyString())).thenReturn(OK_REPONSE_GET_BY_ID_SERVICE.get());
+
+            MOCK_REQUEST_GET_BY_ID
+                .setMock(mockMvc, RANDON_UUID_STRING.get())
+                .andExpect(status().isOk());
+
+            verify(latencyHistograms).record(eq(NAME_GET_BY_ID), anyLong());
+        }
+
+        @Test
+        void GIVEN_handler_failed_WHEN_getById_SHOULD_record_latency() throws Exception{
+            when(getByIdService.getById(anyString())).thenThrow(new RuntimeException(RANDON_SHORT_STRING.get()));
+
+            MOCK_REQUEST_GET_BY_ID
+                .setMock(mockMvc, RANDON_UUID_STRING.get())
+                .andExpect(status().isInternalServerError());
+
+            verify(latencyHistograms).record(eq(NAME_GET_BY_ID), anyLong());
+        }
+
+        @Test
+        void GIVEN_request_completed_WHEN_create_SHOULD_record_latency_named_after_its_handler_method() throws Exception{
+            when(createService.create(any(CreateService.Request.class))).thenReturn(new CreateService.Response(RANDON_UUID_STRING.get()));
+
+            MOCK_REQUEST_CREATE
+                .setMock(mockMvc, OK_BODY_REQUEST_CREATE.get())
+                .andExpect(status().isCreated());
+
+            verify(latencyHistograms).record(eq(NAME_CREATE), anyLong());
+        }
+
+    }
+
+}
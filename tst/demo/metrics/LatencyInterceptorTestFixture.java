@@ -0,0 +1,35 @@
+package demo.metrics;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import demo.controller.FixtureWebMvcBase;
+import demo.service.CreateService;
+import demo.service.GetByIdService;
+
+abstract sealed class LatencyInterceptorTestFixture extends FixtureWebMvcBase permits LatencyInterceptorTest {
+
+    private final String BASE_PATH = "/any-controller";
+
+    protected final String NAME_GET_BY_ID = "AnyController.getById";
+    protected final String NAME_CREATE = "AnyController.create";
+
+    protected final Supplier<GetByIdService.Response> OK_REPONSE_GET_BY_ID_SERVICE = () -> {
+        return new GetByIdService.Response(RANDON_UUID_STRING.get(), RANDON_SHORT_STRING.get(), LocalDateTime.now(), LocalDateTime.now(), 1);
+    };
+
+    protected final BuildRequestByID MOCK_REQUEST_GET_BY_ID = (mock, id) -> {
+        return mock.perform(get(joinPathWithBAR(BASE_PATH, id)));
+    };
+
+    protected final BuildRequestByBodyRequest<CreateService.Request> MOCK_REQUEST_CREATE = (mock, request) -> {
+        return mock.perform(post(BASE_PATH).content(toJson(request)).contentType(APPLICATION_JSON_VALUE));
+    };
+
+    protected final Supplier<CreateService.Request> OK_BODY_REQUEST_CREATE = () -> new CreateService.Request(RANDON_SHORT_STRING.get());
+
+}
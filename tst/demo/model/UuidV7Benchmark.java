@@ -0,0 +1,149 @@
+package demo.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * <p>Benchmark of random UUIDv4 ids ({@link UUID#randomUUID()}) against time-ordered {@link UuidV7Generator} ids:
+ * ids generated per second, rows inserted per second and page splits of a primary key B+tree.</p>
+ * <p>H2 does not report its page splits, so they are counted on a simulated index of {@value #KEYS_PER_PAGE} keys per leaf page
+ * that, like most databases, starts a new page instead of splitting when the key is appended after the last one.</p>
+ * <p>Run with {@code gradle benchmark}, results are printed as {@code [bench]} lines.</p>
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UuidV7Benchmark {
+
+    private static final int GENERATED_IDS = 2_000_000;
+    private static final int INSERTED_ROWS = 200_000;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+    private static final int KEYS_PER_PAGE = 100;
+
+    private static final String SQL_INSERT = "insert into eny_entity (id, name, created, last_updated) values (?, ?, ?, ?)";
+
+    private static final Supplier<String> UUID_V4 = () -> UUID.randomUUID().toString();
+    private static final Supplier<String> UUID_V7 = () -> UuidV7Generator.nextUuid().toString();
+
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeRows(){
+        jdbcTemplate.update("delete from eny_entity");
+    }
+
+    @Test
+    void generation(){
+        IntStream.range(0, GENERATED_IDS / 10).forEach(i -> { UUID_V4.get(); UUID_V7.get(); });
+
+        measure("generate", "v4", GENERATED_IDS, () -> IntStream.range(0, GENERATED_IDS).forEach(i -> UUID_V4.get()));
+        measure("generate", "v7", GENERATED_IDS, () -> IntStream.range(0, GENERATED_IDS).forEach(i -> UUID_V7.get()));
+    }
+
+    @Test
+    void insert_throughput(){
+        insertRows(ids(UUID_V4, INSERTED_ROWS / 10));
+        insertRows(ids(UUID_V7, INSERTED_ROWS / 10));
+        removeRows();
+
+        for(var idKind : Map.of("v4", UUID_V4, "v7", UUID_V7).entrySet().stream().sorted(Map.Entry.comparingByKey()).toList()) {
+            final List<String> ids = ids(idKind.getValue(), INSERTED_ROWS);
+            measure("insert", idKind.getKey(), INSERTED_ROWS, () -> insertRows(ids));
+            assertEquals(INSERTED_ROWS, jdbcTemplate.queryForObject("select count(*) from eny_entity", Integer.class));
+            removeRows();
+        }
+    }
+
+    @Test
+    void page_splits(){
+        for(var idKind : Map.of("v4", UUID_V4, "v7", UUID_V7).entrySet().stream().sorted(Map.Entry.comparingByKey()).toList()) {
+            final SimulatedIndex index = new SimulatedIndex();
+            ids(idKind.getValue(), INSERTED_ROWS).forEach(index::insert);
+            System.out.printf("[bench] %-8s %s rows=%d: %7d page splits, %6d leaf pages, %5.1f%% average fill%n",
+                "index", idKind.getKey(), INSERTED_ROWS, index.splits, index.pages.size(), 100.0 * INSERTED_ROWS / index.pages.size() / KEYS_PER_PAGE);
+        }
+    }
+
+    private void insertRows(List<String> ids){
+        final Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for(int fromIndex = 0; fromIndex < ids.size(); fromIndex += INSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(SQL_INSERT, ids.subList(fromIndex, Math.min(fromIndex + INSERT_BATCH_SIZE, ids.size())), INSERT_BATCH_SIZE, (statement, id) -> {
+                statement.setString(1, id);
+                statement.setString(2, "name");
+                statement.setTimestamp(3, now);
+                statement.setTimestamp(4, now);
+            });
+        }
+    }
+
+    private static List<String> ids(Supplier<String> idGenerator, int size){
+        return IntStream.range(0, size).mapToObj(i -> idGenerator.get()).toList();
+    }
+
+    private static void measure(String operation, String idKind, int count, Runnable run){
+        final long start = System.nanoTime();
+        run.run();
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("[bench] %-8s %s: %12.0f per second%n", operation, idKind, count / (elapsed / 1_000_000_000.0));
+    }
+
+    /**
+     * leaf pages of a B+tree by their first key
+     */
+    private static final class SimulatedIndex {
+
+        private final TreeMap<String, List<String>> pages = new TreeMap<>();
+        private int splits = 0;
+
+        void insert(String key){
+            final Map.Entry<String, List<String>> pageEntry = pages.floorEntry(key);
+            if(pageEntry == null) {
+                if(pages.isEmpty()) pages.put(key, new ArrayList<>(List.of(key)));
+                else insertInto(pages.firstEntry().getValue(), key, true);
+                return;
+            }
+            insertInto(pageEntry.getValue(), key, false);
+        }
+
+        private void insertInto(List<String> page, String key, boolean newFirstKey){
+            final int position = -Collections.binarySearch(page, key) - 1;
+            if(page.size() < KEYS_PER_PAGE) {
+                if(newFirstKey) pages.remove(page.get(0));
+                page.add(position, key);
+                pages.put(page.get(0), page);
+                return;
+            }
+            if(position == page.size() && page == pages.lastEntry().getValue()) {
+                pages.put(key, new ArrayList<>(List.of(key)));
+                return;
+            }
+            splits++;
+            if(newFirstKey) pages.remove(page.get(0));
+            page.add(position, key);
+            final List<String> rightHalf = new ArrayList<>(page.subList(page.size() / 2, page.size()));
+            page.subList(page.size() / 2, page.size()).clear();
+            pages.put(page.get(0), page);
+            pages.put(rightHalf.get(0), rightHalf);
+        }
+    }
+
+}
@@ -0,0 +1,110 @@
+package demo.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * <p>Tests of {@link UuidV7Generator}</p>
+ * <pre>
+ *{@link when_nextUuid} {
+ *  {@link when_nextUuid#GIVEN_current_time_WHEN_nextUuid_SHOULD_return_version_7_with_ietf_variant_and_timestamp()}
+ *  {@link when_nextUuid#GIVEN_more_ids_than_sequence_in_same_millisecond_WHEN_nextUuid_SHOULD_keep_increasing()}
+ *  {@link when_nextUuid#GIVEN_clock_going_back_WHEN_nextUuid_SHOULD_keep_increasing()}
+ *  {@link when_nextUuid#GIVEN_concurrent_threads_WHEN_nextUuid_SHOULD_return_distinct_ids_increasing_per_thread()}
+ *}
+ * </pre>
+ */
+final class UuidV7GeneratorTest extends UuidV7GeneratorTestFixture {
+
+    /**
+     *  testing all scenarios from {@link UuidV7Generator#nextUuid()}
+     */
+    @Nested
+    class when_nextUuid {
+
+        @Test
+        void GIVEN_current_time_WHEN_nextUuid_SHOULD_return_version_7_with_ietf_variant_and_timestamp(){
+
+            final long before = System.currentTimeMillis();
+            final UUID uuid = UuidV7Generator.nextUuid();
+            final long after = System.currentTimeMillis();
+
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertTrue(UuidV7Generator.unixMillisOf(uuid) >= before);
+            assertTrue(UuidV7Generator.unixMillisOf(uuid) <= after, uuid::toString);
+        }
+
+        @Test
+        void GIVEN_more_ids_than_sequence_in_same_millisecond_WHEN_nextUuid_SHOULD_keep_increasing(){
+
+            final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+            final List<String> ids = IntStream.range(0, IDS_PER_MILLISECOND_LIMIT * 2)
+                    .mapToObj(i -> UuidV7Generator.nextUuid(UNIX_MILLIS, lastTimestampAndSequence).toString())
+                    .toList();
+
+            assertIncreasing(ids);
+            assertEquals(UNIX_MILLIS, UuidV7Generator.unixMillisOf(UUID.fromString(ids.get(0))));
+            assertEquals(UNIX_MILLIS + 1, UuidV7Generator.unixMillisOf(UUID.fromString(ids.get(ids.size() - 1))));
+        }
+
+        @Test
+        void GIVEN_clock_going_back_WHEN_nextUuid_SHOULD_keep_increasing(){
+
+            final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+            final String idBeforeClockChange = UuidV7Generator.nextUuid(UNIX_MILLIS, lastTimestampAndSequence).toString();
+            final String idAfterClockChange = UuidV7Generator.nextUuid(UNIX_MILLIS - CLOCK_GOING_BACK_MILLIS, lastTimestampAndSequence).toString();
+
+            assertIncreasing(List.of(idBeforeClockChange, idAfterClockChange));
+        }
+
+        @Test
+        void GIVEN_concurrent_threads_WHEN_nextUuid_SHOULD_return_distinct_ids_increasing_per_thread(){
+
+            final AtomicLong lastTimestampAndSequence = new AtomicLong();
+            final Set<String> allIds = ConcurrentHashMap.newKeySet();
+
+            final List<CompletableFuture<List<String>>> generations = new ArrayList<>();
+            for(int thread = 0; thread < THREADS; thread++) {
+                generations.add(CompletableFuture.supplyAsync(() -> {
+                    final List<String> ids = new ArrayList<>(IDS_PER_THREAD);
+                    for(int i = 0; i < IDS_PER_THREAD; i++) {
+                        ids.add(UuidV7Generator.nextUuid(System.currentTimeMillis(), lastTimestampAndSequence).toString());
+                        if(i % 100 == 0) Thread.yield();
+                    }
+                    return ids;
+                }));
+            }
+
+            for(CompletableFuture<List<String>> generation : generations) {
+                final List<String> ids = generation.join();
+                assertIncreasing(ids);
+                allIds.addAll(ids);
+            }
+            assertEquals(THREADS * IDS_PER_THREAD, new HashSet<>(allIds).size());
+        }
+
+    }
+
+    private static void assertIncreasing(List<String> ids){
+        for(int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, ids.get(i - 1) + " >= " + ids.get(i));
+        }
+    }
+
+}
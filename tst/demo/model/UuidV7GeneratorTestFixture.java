@@ -0,0 +1,11 @@
+package demo.model;
+
+abstract sealed class UuidV7GeneratorTestFixture permits UuidV7GeneratorTest {
+
+    protected final long UNIX_MILLIS = 1_760_000_000_000L;
+    protected final long CLOCK_GOING_BACK_MILLIS = 5_000;
+    protected final int IDS_PER_MILLISECOND_LIMIT = 4_096;
+    protected final int THREADS = 4;
+    protected final int IDS_PER_THREAD = 5_000;
+
+}
@@ -0,0 +1,251 @@
+package demo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import demo.model.AnyEntity;
+import demo.service.GetByIdService.VersionColumns;
+import demo.service.ListService.ResponseItem;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * <p>Tests of {@link AnyRepository}</p>
+ * <pre>
+ *{@link when_listByFilter} {
+ *  {@link when_listByFilter#GIVEN_no_filter_WHEN_listByFilter_SHOULD_run_only_one_statement()}
+ *  {@link when_listByFilter#GIVEN_filter_WHEN_listByFilter_SHOULD_run_only_one_statement()}
+ *  {@link when_listByFilter#GIVEN_last_page_WHEN_listByFilter_SHOULD_return_has_next_false()}
+ *  {@link when_listByFilter#GIVEN_response_item_projection_WHEN_listByFilter_SHOULD_not_load_any_entity()}
+ *  {@link when_listByFilter#GIVEN_entities_saved_in_order_WHEN_listByFilter_SHOULD_return_newest_first()}
+ *}
+ *{@link when_listByFilterAfterId} {
+ *  {@link when_listByFilterAfterId#GIVEN_last_id_WHEN_listByFilterAfterId_SHOULD_return_only_older_ids_in_one_statement()}
+ *}
+ *{@link when_findVersionById} {
+ *  {@link when_findVersionById#GIVEN_existing_id_WHEN_findVersionById_SHOULD_return_version_and_last_updated_without_loading_entity()}
+ *  {@link when_findVersionById#GIVEN_unknown_id_WHEN_findVersionById_SHOULD_return_empty()}
+ *}
+ *{@link when_updateNameById} {
+ *  {@link when_updateNameById#GIVEN_existing_id_WHEN_updateNameById_SHOULD_update_in_one_statement_without_loading_entity()}
+ *  {@link when_updateNameById#GIVEN_unknown_id_WHEN_updateNameById_SHOULD_return_no_version()}
+ *}
+ *{@link when_updateNameByIdAndVersionIn} {
+ *  {@link when_updateNameByIdAndVersionIn#GIVEN_current_version_WHEN_updateNameByIdAndVersionIn_SHOULD_update_and_increment_version()}
+ *  {@link when_updateNameByIdAndVersionIn#GIVEN_stale_version_WHEN_updateNameByIdAndVersionIn_SHOULD_return_no_version_and_keep_entity()}
+ *}
+ * </pre>
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class AnyRepositoryTest extends AnyRepositoryTestFixture {
+
+    @Autowired AnyRepository anyRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void persistEntitiesAndResetStatistics(){
+        anyRepository.saveAll(IntStream.range(0, TOTAL_ENTITIES).mapToObj(NEW_ANY_ENTITY::apply).toList());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyRepository#listByFilter(Integer, Integer, String, Class)}
+     */
+    @Nested
+    class when_listByFilter {
+
+        @Test
+        void GIVEN_entities_saved_in_order_WHEN_listByFilter_SHOULD_return_newest_first(){
+
+            final Slice<ResponseItem> expectedSlice = anyRepository.listByFilter(0, TOTAL_ENTITIES, null, ResponseItem.class);
+
+            final List<String> namesNewestFirst = IntStream.range(0, TOTAL_ENTITIES).mapToObj(index -> NEW_ANY_ENTITY.apply(TOTAL_ENTITIES - 1 - index).getName()).toList();
+            assertEquals(namesNewestFirst, expectedSlice.map(ResponseItem::name).getContent());
+        }
+
+        @Test
+        void GIVEN_no_filter_WHEN_listByFilter_SHOULD_run_only_one_statement(){
+
+            final Slice<AnyEntity> expectedSlice = anyRepository.listByFilter(0, SIZE_PAGE, null, AnyEntity.class);
+
+            assertEquals(SIZE_PAGE, expectedSlice.getNumberOfElements());
+            assertTrue(expectedSlice.hasNext());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        void GIVEN_filter_WHEN_listByFilter_SHOULD_run_only_one_statement(){
+
+            final Slice<AnyEntity> expectedSlice = anyRepository.listByFilter(1, SIZE_PAGE, FILTER_MATCHING_ALL, AnyEntity.class);
+
+            assertEquals(SIZE_PAGE, expectedSlice.getNumberOfElements());
+            assertTrue(expectedSlice.hasNext());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        void GIVEN_last_page_WHEN_listByFilter_SHOULD_return_has_next_false(){
+
+            final Slice<AnyEntity> expectedSlice = anyRepository.listByFilter(2, SIZE_PAGE, FILTER_MATCHING_ALL, AnyEntity.class);
+
+            assertEquals(TOTAL_ENTITIES - 2 * SIZE_PAGE, expectedSlice.getNumberOfElements());
+            assertFalse(expectedSlice.hasNext());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        void GIVEN_response_item_projection_WHEN_listByFilter_SHOULD_not_load_any_entity(){
+
+            final Slice<ResponseItem> expectedSlice = anyRepository.listByFilter(0, SIZE_PAGE, FILTER_MATCHING_ALL, ResponseItem.class);
+
+            assertEquals(0, statistics.getEntityLoadCount());
+
+            final Slice<AnyEntity> entitySlice = anyRepository.listByFilter(0, SIZE_PAGE, FILTER_MATCHING_ALL, AnyEntity.class);
+
+            assertEquals(entitySlice.map(e -> new ResponseItem(e.getId(), e.getName())).getContent(), expectedSlice.getContent());
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyRepository#listByFilterAfterId(String, Integer, String, Class)}
+     */
+    @Nested
+    class when_listByFilterAfterId {
+
+        @Test
+        void GIVEN_last_id_WHEN_listByFilterAfterId_SHOULD_return_only_older_ids_in_one_statement(){
+
+            final String lastIdOfFirstPage = anyRepository.listByFilter(0, SIZE_PAGE, null, AnyEntity.class).getContent().get(SIZE_PAGE - 1).getId();
+            statistics.clear();
+
+            final Slice<ResponseItem> expectedSlice = anyRepository.listByFilterAfterId(lastIdOfFirstPage, SIZE_PAGE, FILTER_MATCHING_ALL, ResponseItem.class);
+
+            assertEquals(SIZE_PAGE, expectedSlice.getNumberOfElements());
+            assertTrue(expectedSlice.getContent().stream().allMatch(e -> e.id().compareTo(lastIdOfFirstPage) < 0));
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyRepository#findVersionById(String, Class)}
+     */
+    @Nested
+    class when_findVersionById {
+
+        @Test
+        void GIVEN_existing_id_WHEN_findVersionById_SHOULD_return_version_and_last_updated_without_loading_entity(){
+
+            final AnyEntity anyEntitySaved = anyRepository.save(NEW_ANY_ENTITY.apply(TOTAL_ENTITIES));
+            statistics.clear();
+
+            final Optional<VersionColumns> expectedVersionColumns = anyRepository.findVersionById(anyEntitySaved.getId(), VersionColumns.class);
+
+            assertEquals(anyEntitySaved.getVersion(), expectedVersionColumns.orElseThrow().version());
+            // the column keeps microseconds, rounding the nanoseconds of the saved value
+            assertTrue(Duration.between(anyEntitySaved.getLastUpdated(), expectedVersionColumns.orElseThrow().lastUpdated()).abs().compareTo(Duration.of(1, ChronoUnit.MICROS)) < 0);
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals(1, statistics.getPrepareStatementCount());
+        }
+
+        @Test
+        void GIVEN_unknown_id_WHEN_findVersionById_SHOULD_return_empty(){
+            assertTrue(anyRepository.findVersionById(UNKNOWN_ID, VersionColumns.class).isEmpty());
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyRepository#updateNameById(String, String, LocalDateTime)}
+     */
+    @Nested
+    class when_updateNameById {
+
+        @Test
+        void GIVEN_existing_id_WHEN_updateNameById_SHOULD_update_in_one_statement_without_loading_entity(){
+
+            final AnyEntity anyEntitySaved = anyRepository.save(NEW_ANY_ENTITY.apply(TOTAL_ENTITIES));
+            final LocalDateTime lastUpdated = anyEntitySaved.getLastUpdated().plusDays(1).truncatedTo(ChronoUnit.MILLIS);
+            statistics.clear();
+
+            final Optional<Long> expectedVersionWritten = anyRepository.updateNameById(anyEntitySaved.getId(), NAME_UPDATED, lastUpdated);
+
+            assertEquals(Optional.of(anyEntitySaved.getVersion() + 1), expectedVersionWritten);
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+
+            final AnyEntity anyEntityUpdated = anyRepository.findById(anyEntitySaved.getId()).orElseThrow();
+            assertEquals(NAME_UPDATED, anyEntityUpdated.getName());
+            assertEquals(lastUpdated, anyEntityUpdated.getLastUpdated());
+            assertEquals(anyEntitySaved.getVersion() + 1, anyEntityUpdated.getVersion());
+        }
+
+        @Test
+        void GIVEN_unknown_id_WHEN_updateNameById_SHOULD_return_no_version(){
+            assertTrue(anyRepository.updateNameById(UNKNOWN_ID, NAME_UPDATED, LocalDateTime.now()).isEmpty());
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link AnyRepository#updateNameByIdAndVersionIn(String, java.util.Collection, String, LocalDateTime)}
+     */
+    @Nested
+    class when_updateNameByIdAndVersionIn {
+
+        @Test
+        void GIVEN_current_version_WHEN_updateNameByIdAndVersionIn_SHOULD_update_and_increment_version(){
+
+            final AnyEntity anyEntitySaved = anyRepository.save(NEW_ANY_ENTITY.apply(TOTAL_ENTITIES));
+            statistics.clear();
+
+            final Optional<Long> expectedVersionWritten = anyRepository.updateNameByIdAndVersionIn(anyEntitySaved.getId(), List.of(anyEntitySaved.getVersion()), NAME_UPDATED, LocalDateTime.now());
+
+            assertEquals(Optional.of(anyEntitySaved.getVersion() + 1), expectedVersionWritten);
+            assertEquals(1, statistics.getPrepareStatementCount());
+            final AnyEntity anyEntityUpdated = anyRepository.findById(anyEntitySaved.getId()).orElseThrow();
+            assertEquals(NAME_UPDATED, anyEntityUpdated.getName());
+            assertEquals(anyEntitySaved.getVersion() + 1, anyEntityUpdated.getVersion());
+        }
+
+        @Test
+        void GIVEN_stale_version_WHEN_updateNameByIdAndVersionIn_SHOULD_return_no_version_and_keep_entity(){
+
+            final AnyEntity anyEntitySaved = anyRepository.save(NEW_ANY_ENTITY.apply(TOTAL_ENTITIES));
+            anyRepository.updateNameById(anyEntitySaved.getId(), NAME_UPDATED, LocalDateTime.now());
+
+            final Optional<Long> expectedVersionWritten = anyRepository.updateNameByIdAndVersionIn(anyEntitySaved.getId(), List.of(anyEntitySaved.getVersion()), NAME_STALE, LocalDateTime.now());
+
+            assertTrue(expectedVersionWritten.isEmpty());
+            final AnyEntity anyEntityKept = anyRepository.findById(anyEntitySaved.getId()).orElseThrow();
+            assertEquals(NAME_UPDATED, anyEntityKept.getName());
+            assertEquals(anyEntitySaved.getVersion() + 1, anyEntityKept.getVersion());
+        }
+    }
+
+}
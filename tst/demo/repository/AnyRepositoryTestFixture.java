@@ -0,0 +1,25 @@
+package demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import demo.model.AnyEntity;
+
+abstract sealed class AnyRepositoryTestFixture permits AnyRepositoryTest {
+
+    protected final int SIZE_PAGE = 2;
+    protected final int TOTAL_ENTITIES = 5;
+    protected final String FILTER_MATCHING_ALL = "name";
+    protected final String UNKNOWN_ID = "00000000-0000-0000-0000-000000000000";
+    protected final String NAME_UPDATED = "name updated";
+    protected final String NAME_STALE = "name from stale version";
+
+    protected final Function<Integer, AnyEntity> NEW_ANY_ENTITY = (index) -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName("name " + index);
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+}
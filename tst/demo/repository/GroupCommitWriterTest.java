@@ -0,0 +1,285 @@
+package demo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.constant.ErrMessage;
+import demo.model.AnyEntity;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * <p>Tests of {@link GroupCommitWriter}</p>
+ * <pre>
+ *{@link when_save} {
+ *  {@link when_save#GIVEN_concurrent_saves_WHEN_save_SHOULD_return_each_caller_its_id_and_share_commits()}
+ *  {@link when_save#GIVEN_one_entity_failing_in_group_WHEN_save_SHOULD_fail_only_its_caller()}
+ *  {@link when_save#GIVEN_entity_not_taken_in_time_WHEN_save_SHOULD_throw_service_unavailable_and_never_write_it()}
+ *  {@link when_save#GIVEN_group_being_written_past_timeout_WHEN_save_SHOULD_wait_for_its_commit()}
+ *  {@link when_save#GIVEN_queue_full_WHEN_save_SHOULD_throw_service_unavailable_right_away()}
+ *  {@link when_save#GIVEN_writer_dead_of_error_WHEN_save_SHOULD_fail_waiting_and_later_callers()}
+ *  {@link when_save#GIVEN_writer_stopped_WHEN_save_SHOULD_reject_right_away()}
+ *}
+ * </pre>
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true"})
+@TestPropertySource(properties = {
+    "app.group-commit-enabled=true",
+    "app.group-commit-max-items=" + GroupCommitWriterTestFixture.WRITERS,
+    "app.group-commit-max-delay-micros=" + GroupCommitWriterTestFixture.MAX_DELAY_MICROS,
+    "app.group-commit-timeout-millis=" + GroupCommitWriterTestFixture.TIMEOUT_MILLIS,
+    "app.group-commit-max-queued=" + GroupCommitWriterTestFixture.WRITERS
+})
+@Import(GroupCommitWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class GroupCommitWriterTest extends GroupCommitWriterTestFixture {
+
+    @Autowired GroupCommitWriter groupCommitWriter;
+    @Autowired AnyRepository anyRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics(){
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    /**
+     *  testing all scenarios from {@link GroupCommitWriter#save(AnyEntity)}
+     */
+    @Nested
+    class when_save {
+
+        @Test
+        void GIVEN_concurrent_saves_WHEN_save_SHOULD_return_each_caller_its_id_and_share_commits() throws Exception{
+
+            final List<AnyEntity> entitiesSaved = saveConcurrently(i -> () -> groupCommitWriter.save(NEW_ANY_ENTITY.apply(i))).stream()
+                    .map(CompletableFuture::join)
+                    .toList();
+            final long transactionsCommitted = statistics.getSuccessfulTransactionCount();
+
+            final var idsSaved = new HashSet<String>();
+            for(int i = 0; i < WRITERS; i++) {
+                assertNotNull(entitiesSaved.get(i).getId());
+                assertEquals("name " + i, anyRepository.findById(entitiesSaved.get(i).getId()).orElseThrow().getName());
+                idsSaved.add(entitiesSaved.get(i).getId());
+            }
+            assertEquals(WRITERS, idsSaved.size());
+            assertTrue(transactionsCommitted < WRITERS, "transactions: " + transactionsCommitted);
+        }
+
+        @Test
+        void GIVEN_one_entity_failing_in_group_WHEN_save_SHOULD_fail_only_its_caller() throws Exception{
+
+            final int failingWriter = WRITERS / 2;
+
+            final List<CompletableFuture<AnyEntity>> saves = saveConcurrently(i -> () -> groupCommitWriter.save(
+                    i == failingWriter ? NEW_ANY_ENTITY_WITHOUT_NAME.get() : NEW_ANY_ENTITY.apply(i)
+                ));
+
+            for(int i = 0; i < WRITERS; i++) {
+                final CompletableFuture<AnyEntity> save = saves.get(i);
+                if(i == failingWriter) {
+                    final var expectedException = assertThrows(CompletionException.class, save::join);
+                    assertInstanceOf(RuntimeException.class, expectedException.getCause());
+                } else {
+                    assertTrue(anyRepository.existsById(save.join().getId()));
+                }
+            }
+            assertEquals(WRITERS - 1, anyRepository.count());
+        }
+
+        @Test
+        void GIVEN_entity_not_taken_in_time_WHEN_save_SHOULD_throw_service_unavailable_and_never_write_it() throws Exception{
+
+            final CountDownLatch commitStarted = new CountDownLatch(1);
+            final CountDownLatch commitReleased = new CountDownLatch(1);
+            final TransactionTemplate transactionTemplateMock = transactionTemplateCommittingOn(commitStarted, commitReleased);
+            final GroupCommitWriter writerCommittingLate = startWriter(transactionTemplateMock, SHORT_TIMEOUT_MILLIS, WRITERS);
+            try {
+                final CompletableFuture<AnyEntity> saveBeingWritten = CompletableFuture.supplyAsync(() -> writerCommittingLate.save(NEW_ANY_ENTITY.apply(0)));
+                commitStarted.await();
+
+                final var expectedException = assertThrows(ResponseStatusException.class, () -> writerCommittingLate.save(NEW_ANY_ENTITY.apply(1)));
+
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), expectedException.getStatusCode().value());
+                assertEquals(ErrMessage.GROUP_COMMIT_NOT_STARTED_IN_TIME.get(), expectedException.getBody().getDetail());
+                commitReleased.countDown();
+                saveBeingWritten.join();
+                verify(transactionTemplateMock, times(1)).executeWithoutResult(any());
+            } finally {
+                commitReleased.countDown();
+                writerCommittingLate.stop();
+            }
+        }
+
+        @Test
+        void GIVEN_group_being_written_past_timeout_WHEN_save_SHOULD_wait_for_its_commit() throws Exception{
+
+            final CountDownLatch commitStarted = new CountDownLatch(1);
+            final CountDownLatch commitReleased = new CountDownLatch(1);
+            final GroupCommitWriter writerCommittingLate = startWriter(transactionTemplateCommittingOn(commitStarted, commitReleased), SHORT_TIMEOUT_MILLIS, WRITERS);
+            try {
+                final AnyEntity anyEntity = NEW_ANY_ENTITY.apply(0);
+                final CompletableFuture<AnyEntity> saveBeingWritten = CompletableFuture.supplyAsync(() -> writerCommittingLate.save(anyEntity));
+                commitStarted.await();
+                Thread.sleep(SHORT_TIMEOUT_MILLIS * 3);
+
+                assertFalse(saveBeingWritten.isDone());
+                commitReleased.countDown();
+                assertSame(anyEntity, saveBeingWritten.join());
+            } finally {
+                commitReleased.countDown();
+                writerCommittingLate.stop();
+            }
+        }
+
+        @Test
+        void GIVEN_queue_full_WHEN_save_SHOULD_throw_service_unavailable_right_away() throws Exception{
+
+            final CountDownLatch commitStarted = new CountDownLatch(1);
+            final CountDownLatch commitReleased = new CountDownLatch(1);
+            final GroupCommitWriter writerCommittingLate = startWriter(transactionTemplateCommittingOn(commitStarted, commitReleased), TIMEOUT_MILLIS, 1);
+            try {
+                final CompletableFuture<AnyEntity> saveBeingWritten = CompletableFuture.supplyAsync(() -> writerCommittingLate.save(NEW_ANY_ENTITY.apply(0)));
+                commitStarted.await();
+                final CompletableFuture<AnyEntity> saveQueued = CompletableFuture.supplyAsync(() -> writerCommittingLate.save(NEW_ANY_ENTITY.apply(1)));
+                while(writerCommittingLate.queuedSaves() == 0) Thread.onSpinWait();
+
+                final var expectedException = assertThrows(ResponseStatusException.class, () -> writerCommittingLate.save(NEW_ANY_ENTITY.apply(2)));
+
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), expectedException.getStatusCode().value());
+                assertEquals(ErrMessage.GROUP_COMMIT_QUEUE_FULL.get(), expectedException.getBody().getDetail());
+                commitReleased.countDown();
+                saveBeingWritten.join();
+                saveQueued.join();
+            } finally {
+                commitReleased.countDown();
+                writerCommittingLate.stop();
+            }
+        }
+
+        @Test
+        void GIVEN_writer_dead_of_error_WHEN_save_SHOULD_fail_waiting_and_later_callers() throws Exception{
+
+            final Error errorOfWriter = ERROR_OF_WRITER.get();
+            final TransactionTemplate transactionTemplateMock = Mockito.mock(TransactionTemplate.class);
+            doThrow(errorOfWriter).when(transactionTemplateMock).executeWithoutResult(any());
+            final GroupCommitWriter writerDying = startWriter(transactionTemplateMock, TIMEOUT_MILLIS, WRITERS);
+            try {
+                final var expectedException = assertThrows(IllegalStateException.class, () -> writerDying.save(NEW_ANY_ENTITY.apply(0)));
+                assertSame(errorOfWriter, expectedException.getCause());
+
+                assertThrows(IllegalStateException.class, () -> writerDying.save(NEW_ANY_ENTITY.apply(1)));
+            } finally {
+                writerDying.stop();
+            }
+        }
+
+        @Test
+        void GIVEN_writer_stopped_WHEN_save_SHOULD_reject_right_away() throws Exception{
+
+            final GroupCommitWriter writerStopped = startWriter(Mockito.mock(TransactionTemplate.class), TIMEOUT_MILLIS, WRITERS);
+            writerStopped.stop();
+
+            final var expectedException = assertThrows(IllegalStateException.class, () -> writerStopped.save(NEW_ANY_ENTITY.apply(0)));
+
+            assertEquals("group commit writer stopped", expectedException.getMessage());
+        }
+
+    }
+
+    /**
+     * a writer of its own, so that stopping or breaking it leaves the one of the context alone
+     */
+    private GroupCommitWriter startWriter(TransactionTemplate transactionTemplate, long timeoutMillis, int maxQueued) {
+        final GroupCommitWriter writer = new GroupCommitWriter(1, 0, timeoutMillis, maxQueued, anyRepository, transactionTemplate);
+        writer.start();
+        return writer;
+    }
+
+    /**
+     * each commit signals {@code commitStarted}, then holds the writer until {@code commitReleased}
+     */
+    private TransactionTemplate transactionTemplateCommittingOn(CountDownLatch commitStarted, CountDownLatch commitReleased) {
+        final TransactionTemplate transactionTemplateMock = Mockito.mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            commitStarted.countDown();
+            commitReleased.await();
+            return null;
+        }).when(transactionTemplateMock).executeWithoutResult(any());
+        return transactionTemplateMock;
+    }
+
+    private interface SaveByWriter {
+        Supplier<AnyEntity> of(int writer);
+    }
+
+    private List<CompletableFuture<AnyEntity>> saveConcurrently(SaveByWriter saveByWriter) throws InterruptedException{
+        final ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<CompletableFuture<AnyEntity>> saves = new ArrayList<>(WRITERS);
+            for(int i = 0; i < WRITERS; i++) {
+                final Supplier<AnyEntity> save = saveByWriter.of(i);
+                saves.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return save.get();
+                }, executor));
+            }
+            start.countDown();
+            CompletableFuture.allOf(saves.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+            return saves;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,32 @@
+package demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import demo.model.AnyEntity;
+
+abstract sealed class GroupCommitWriterTestFixture permits GroupCommitWriterTest {
+
+    protected static final int WRITERS = 8;
+    protected static final int MAX_DELAY_MICROS = 1_000_000;
+    protected static final long TIMEOUT_MILLIS = 10_000;
+    protected static final long SHORT_TIMEOUT_MILLIS = 50;
+
+    protected final Supplier<Error> ERROR_OF_WRITER = () -> new AssertionError("writer broken");
+
+    protected final Function<Integer, AnyEntity> NEW_ANY_ENTITY = (index) -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName("name " + index);
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+    protected final Supplier<AnyEntity> NEW_ANY_ENTITY_WITHOUT_NAME = () -> {
+        var anyEntity = NEW_ANY_ENTITY.apply(0);
+        anyEntity.setName(null);
+        return anyEntity;
+    };
+
+}
@@ -0,0 +1,82 @@
+package demo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import demo.model.AnyEntity;
+import demo.service.ListService.ResponseItem;
+
+/**
+ * <p>Benchmark of {@link AnyRepository#listByFilter(Integer, Integer, String, Class)} loading {@link AnyEntity} against the {@link ResponseItem} projection.</p>
+ * <p>Run with {@code gradle benchmark}, results are printed as {@code [bench]} lines.</p>
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListProjectionBenchmark {
+
+    private static final int TOTAL_ENTITIES = 30_000;
+    private static final int SIZE_PAGE = 300;
+    private static final int WARMUP_CALLS = 300;
+    private static final int MEASURED_CALLS = 1_000;
+
+    @Autowired AnyRepository anyRepository;
+
+    @BeforeAll
+    void persistEntities(){
+        final LocalDateTime now = LocalDateTime.now();
+        anyRepository.saveAll(IntStream.range(0, TOTAL_ENTITIES).mapToObj(index -> {
+            var anyEntity = new AnyEntity();
+            anyEntity.setName("name " + index);
+            anyEntity.setCreated(now);
+            anyEntity.setLastUpdated(now);
+            return anyEntity;
+        }).toList());
+    }
+
+    @Test
+    void entity_path_against_projection_path(){
+
+        final IntFunction<Slice<AnyEntity>> entityPath = numPage -> anyRepository.listByFilter(numPage, SIZE_PAGE, null, AnyEntity.class);
+        final IntFunction<Slice<ResponseItem>> projectionPath = numPage -> anyRepository.listByFilter(numPage, SIZE_PAGE, null, ResponseItem.class);
+
+        assertEquals(
+            entityPath.apply(1).map(e -> new ResponseItem(e.getId(), e.getName())).getContent(),
+            projectionPath.apply(1).getContent()
+        );
+
+        measure("entity", entityPath);
+        measure("projection", projectionPath);
+    }
+
+    private void measure(String pathName, IntFunction<? extends Slice<?>> path){
+        final int pages = TOTAL_ENTITIES / SIZE_PAGE;
+        IntStream.range(0, WARMUP_CALLS).forEach(call -> path.apply(call % pages));
+
+        final var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        IntStream.range(0, MEASURED_CALLS).forEach(call -> path.apply(call % pages));
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        System.out.printf("[bench] %-10s sizePage=%d: %8.1f us/call, %8.1f KB allocated/call%n",
+            pathName, SIZE_PAGE, elapsed / 1_000.0 / MEASURED_CALLS, allocated / 1_024.0 / MEASURED_CALLS);
+    }
+
+}
@@ -0,0 +1,174 @@
+package demo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import demo.repository.NameTrigramIndex.IndexedName;
+
+/**
+ * <p>Tests of {@link NameTrigramIndex}</p>
+ * <pre>
+ *{@link when_search} {
+ *  {@link when_search#GIVEN_filter_contained_in_names_WHEN_search_SHOULD_return_ids_sorted_desc()}
+ *  {@link when_search#GIVEN_filter_with_all_trigrams_but_not_substring_WHEN_search_SHOULD_return_empty()}
+ *  {@link when_search#GIVEN_removed_entity_WHEN_search_SHOULD_not_return_its_id()}
+ *  {@link when_search#GIVEN_updated_name_WHEN_search_SHOULD_match_only_new_name()}
+ *  {@link when_search#GIVEN_before_id_and_limit_WHEN_search_SHOULD_return_only_greatest_ids_below_it()}
+ *}
+ *{@link when_update} {
+ *  {@link when_update#GIVEN_version_not_above_indexed_WHEN_update_SHOULD_be_ignored()}
+ *  {@link when_update#GIVEN_id_removed_WHEN_update_SHOULD_be_ignored()}
+ *  {@link when_update#GIVEN_id_removed_before_largest_bulk_delete_WHEN_update_SHOULD_be_ignored()}
+ *}
+ *{@link when_canServe} {
+ *  {@link when_canServe#GIVEN_filter_shorter_than_trigram_WHEN_canServe_SHOULD_return_false()}
+ *  {@link when_canServe#GIVEN_index_not_loaded_WHEN_canServe_SHOULD_return_false()}
+ *  {@link when_canServe#GIVEN_filter_with_like_wildcard_or_escape_WHEN_canServe_SHOULD_return_false()}
+ *}
+ * </pre>
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+final class NameTrigramIndexTest extends NameTrigramIndexTestFixture {
+
+    @InjectMocks
+    NameTrigramIndex nameTrigramIndex;
+
+    @Mock
+    AnyRepository anyRepositoryMock;
+
+    @BeforeEach
+    void loadIndex(){
+        when(anyRepositoryMock.listByFilter(eq(0), anyInt(), any(), eq(IndexedName.class))).thenReturn(SLICE_LOADED_FROM_DATABASE.get());
+    }
+
+    /**
+     *  testing all scenarios from {@link NameTrigramIndex#search(String)}
+     */
+    @Nested
+    class when_search {
+
+        @BeforeEach
+        void load(){
+            nameTrigramIndex.load();
+        }
+
+        @Test
+        void GIVEN_filter_contained_in_names_WHEN_search_SHOULD_return_ids_sorted_desc(){
+            assertEquals(List.of(ID_3, ID_2, ID_1), nameTrigramIndex.search(FILTER_MATCHING_ALL));
+            assertEquals(List.of(ID_2), nameTrigramIndex.search("white"));
+        }
+
+        @Test
+        void GIVEN_filter_with_all_trigrams_but_not_substring_WHEN_search_SHOULD_return_empty(){
+            assertTrue(nameTrigramIndex.search(FILTER_WITH_ALL_TRIGRAMS_BUT_NOT_SUBSTRING).isEmpty());
+        }
+
+        @Test
+        void GIVEN_removed_entity_WHEN_search_SHOULD_not_return_its_id(){
+            nameTrigramIndex.remove(ID_2);
+
+            assertEquals(List.of(ID_3, ID_1), nameTrigramIndex.search(FILTER_MATCHING_ALL));
+        }
+
+        @Test
+        void GIVEN_updated_name_WHEN_search_SHOULD_match_only_new_name(){
+            nameTrigramIndex.update(ID_1, "brown dog", VERSION_LOADED + 1);
+
+            assertEquals(List.of(ID_3, ID_2), nameTrigramIndex.search(FILTER_MATCHING_ALL));
+            assertEquals(List.of(ID_1), nameTrigramIndex.search("brown"));
+        }
+
+        @Test
+        void GIVEN_before_id_and_limit_WHEN_search_SHOULD_return_only_greatest_ids_below_it(){
+            assertEquals(List.of(ID_3, ID_2), nameTrigramIndex.search(FILTER_MATCHING_ALL, null, 2));
+            assertEquals(List.of(ID_2), nameTrigramIndex.search(FILTER_MATCHING_ALL, ID_3, 1));
+            assertEquals(List.of(ID_2, ID_1), nameTrigramIndex.search(FILTER_MATCHING_ALL, ID_3, 5));
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link NameTrigramIndex#update(String, String, long)}
+     */
+    @Nested
+    class when_update {
+
+        @BeforeEach
+        void load(){
+            nameTrigramIndex.load();
+        }
+
+        @Test
+        void GIVEN_version_not_above_indexed_WHEN_update_SHOULD_be_ignored(){
+            nameTrigramIndex.update(ID_1, NAME_OF_OLDER_VERSION, VERSION_LOADED - 1);
+            nameTrigramIndex.update(ID_2, NAME_OF_OLDER_VERSION, VERSION_LOADED);
+
+            assertEquals(List.of(ID_3, ID_2, ID_1), nameTrigramIndex.search(FILTER_MATCHING_ALL));
+            assertTrue(nameTrigramIndex.search(NAME_OF_OLDER_VERSION).isEmpty());
+        }
+
+        @Test
+        void GIVEN_id_removed_WHEN_update_SHOULD_be_ignored(){
+            nameTrigramIndex.remove(ID_1);
+
+            nameTrigramIndex.update(ID_1, NAME_1, VERSION_LOADED + 1);
+
+            assertEquals(List.of(ID_3, ID_2), nameTrigramIndex.search(FILTER_MATCHING_ALL));
+        }
+
+        @Test
+        void GIVEN_id_removed_before_largest_bulk_delete_WHEN_update_SHOULD_be_ignored(){
+            nameTrigramIndex.remove(ID_1);
+            for(int i = 0; i < LARGEST_BULK_DELETE; i++) nameTrigramIndex.remove(ID_OF_BULK_DELETE.apply(i));
+
+            nameTrigramIndex.update(ID_1, NAME_1, VERSION_LOADED + 1);
+
+            assertEquals(List.of(ID_3, ID_2), nameTrigramIndex.search(FILTER_MATCHING_ALL));
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link NameTrigramIndex#canServe(String)}
+     */
+    @Nested
+    class when_canServe {
+
+        @Test
+        void GIVEN_filter_shorter_than_trigram_WHEN_canServe_SHOULD_return_false(){
+            nameTrigramIndex.load();
+
+            assertTrue(nameTrigramIndex.canServe(FILTER_MATCHING_ALL));
+            assertFalse(nameTrigramIndex.canServe(FILTER_SHORTER_THAN_TRIGRAM));
+        }
+
+        @Test
+        void GIVEN_index_not_loaded_WHEN_canServe_SHOULD_return_false(){
+            assertFalse(nameTrigramIndex.canServe(FILTER_MATCHING_ALL));
+        }
+
+        @Test
+        void GIVEN_filter_with_like_wildcard_or_escape_WHEN_canServe_SHOULD_return_false(){
+            nameTrigramIndex.load();
+
+            FILTERS_WITH_LIKE_SPECIAL_CHAR.forEach(filter -> assertFalse(nameTrigramIndex.canServe(filter), filter));
+        }
+    }
+
+}
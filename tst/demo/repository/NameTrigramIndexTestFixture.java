@@ -0,0 +1,36 @@
+package demo.repository;
+
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import demo.repository.NameTrigramIndex.IndexedName;
+
+abstract sealed class NameTrigramIndexTestFixture permits NameTrigramIndexTest {
+
+    protected final String ID_1 = "id-1";
+    protected final String ID_2 = "id-2";
+    protected final String ID_3 = "id-3";
+    protected final String NAME_1 = "black cat";
+    protected final String NAME_2 = "white cat";
+    protected final String NAME_3 = "banana cat";
+    protected final String FILTER_MATCHING_ALL = "cat";
+    protected final String FILTER_WITH_ALL_TRIGRAMS_BUT_NOT_SUBSTRING = "bananana";
+    protected final String FILTER_SHORTER_THAN_TRIGRAM = "ca";
+    protected final List<String> FILTERS_WITH_LIKE_SPECIAL_CHAR = List.of("c%t", "c_t", "c\\t");
+
+    protected final long VERSION_LOADED = 2;
+    protected final String NAME_OF_OLDER_VERSION = "brown dog";
+    protected final int LARGEST_BULK_DELETE = 50_000;
+    protected final IntFunction<String> ID_OF_BULK_DELETE = i -> "bulk-deleted-" + i;
+
+    protected final Supplier<Slice<IndexedName>> SLICE_LOADED_FROM_DATABASE = () -> new SliceImpl<>(List.of(
+        new IndexedName(ID_1, NAME_1, VERSION_LOADED),
+        new IndexedName(ID_2, NAME_2, VERSION_LOADED),
+        new IndexedName(ID_3, NAME_3, VERSION_LOADED)
+    ));
+
+}
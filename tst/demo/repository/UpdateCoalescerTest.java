@@ -0,0 +1,158 @@
+package demo.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import demo.model.AnyEntity;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * <p>Tests of {@link UpdateCoalescer}</p>
+ * <pre>
+ *{@link when_updateNameById} {
+ *  {@link when_updateNameById#GIVEN_concurrent_updates_of_one_id_WHEN_updateNameById_SHOULD_write_them_in_fewer_statements()}
+ *  {@link when_updateNameById#GIVEN_concurrent_updates_of_distinct_ids_WHEN_updateNameById_SHOULD_write_each_id_its_own_name()}
+ *  {@link when_updateNameById#GIVEN_updates_one_after_another_WHEN_updateNameById_SHOULD_keep_last_name()}
+ *  {@link when_updateNameById#GIVEN_unknown_id_WHEN_updateNameById_SHOULD_return_zero_rows_to_every_caller()}
+ *}
+ * </pre>
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true"})
+@TestPropertySource(properties = {
+    "app.update-coalescing-enabled=true",
+    "app.update-coalescing-max-delay-micros=" + UpdateCoalescerTestFixture.MAX_DELAY_MICROS
+})
+@Import(UpdateCoalescer.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class UpdateCoalescerTest extends UpdateCoalescerTestFixture {
+
+    @Autowired UpdateCoalescer updateCoalescer;
+    @Autowired AnyRepository anyRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics(){
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    String createEntity(){
+        final String id = anyRepository.save(NEW_ANY_ENTITY.get()).getId();
+        statistics.clear();
+        return id;
+    }
+
+    /**
+     *  testing all scenarios from {@link UpdateCoalescer#updateNameById(String, String, java.time.LocalDateTime)}
+     */
+    @Nested
+    class when_updateNameById {
+
+        @Test
+        void GIVEN_concurrent_updates_of_one_id_WHEN_updateNameById_SHOULD_write_them_in_fewer_statements() throws Exception{
+
+            final String id = createEntity();
+
+            final List<UpdateCoalescer.Written> written = updateConcurrently(i -> id);
+            final long updatesSent = statistics.getPrepareStatementCount();
+
+            final Set<UpdateCoalescer.Written> batchesWritten = new HashSet<>(written);
+            final AnyEntity anyEntityUpdated = anyRepository.findById(id).orElseThrow();
+            assertTrue(updatesSent < WRITERS, "updates: " + updatesSent);
+            assertEquals(updatesSent, batchesWritten.size());
+            assertEquals(updatesSent, anyEntityUpdated.getVersion());
+            assertTrue(batchesWritten.contains(new UpdateCoalescer.Written(1, anyEntityUpdated.getName(), anyEntityUpdated.getVersion())));
+        }
+
+        @Test
+        void GIVEN_concurrent_updates_of_distinct_ids_WHEN_updateNameById_SHOULD_write_each_id_its_own_name() throws Exception{
+
+            final List<String> ids = new ArrayList<>();
+            for(int i = 0; i < WRITERS; i++) ids.add(createEntity());
+
+            final List<UpdateCoalescer.Written> written = updateConcurrently(ids::get);
+
+            for(int i = 0; i < WRITERS; i++) {
+                assertEquals(new UpdateCoalescer.Written(1, NAME_OF_WRITER.apply(i), 1), written.get(i));
+                assertEquals(NAME_OF_WRITER.apply(i), anyRepository.findById(ids.get(i)).orElseThrow().getName());
+            }
+        }
+
+        @Test
+        void GIVEN_updates_one_after_another_WHEN_updateNameById_SHOULD_keep_last_name(){
+
+            final String id = createEntity();
+
+            updateCoalescer.updateNameById(id, NAME_OF_WRITER.apply(0), LAST_UPDATED.get());
+            updateCoalescer.updateNameById(id, NAME_OF_WRITER.apply(1), LAST_UPDATED.get());
+
+            final AnyEntity anyEntityUpdated = anyRepository.findById(id).orElseThrow();
+            assertEquals(NAME_OF_WRITER.apply(1), anyEntityUpdated.getName());
+            assertEquals(2, anyEntityUpdated.getVersion());
+        }
+
+        @Test
+        void GIVEN_unknown_id_WHEN_updateNameById_SHOULD_return_zero_rows_to_every_caller() throws Exception{
+
+            final List<UpdateCoalescer.Written> written = updateConcurrently(i -> UNKNOWN_ID);
+
+            written.forEach(writtenToCaller -> assertEquals(0, writtenToCaller.rowsUpdated()));
+        }
+
+    }
+
+    private List<UpdateCoalescer.Written> updateConcurrently(IntFunction<String> idOfWriter) throws InterruptedException{
+        final ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            final List<CompletableFuture<UpdateCoalescer.Written>> updates = new ArrayList<>(WRITERS);
+            for(int i = 0; i < WRITERS; i++) {
+                final String id = idOfWriter.apply(i);
+                final String name = NAME_OF_WRITER.apply(i);
+                updates.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return updateCoalescer.updateNameById(id, name, LAST_UPDATED.get());
+                }, executor));
+            }
+            start.countDown();
+            return updates.stream().map(CompletableFuture::join).toList();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package demo.repository;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import demo.model.AnyEntity;
+
+abstract sealed class UpdateCoalescerTestFixture permits UpdateCoalescerTest {
+
+    protected static final int WRITERS = 8;
+    protected static final int MAX_DELAY_MICROS = 200_000;
+
+    protected final String UNKNOWN_ID = "00000000-0000-0000-0000-000000000000";
+
+    protected final Supplier<AnyEntity> NEW_ANY_ENTITY = () -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName("name before update");
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+    protected final Function<Integer, String> NAME_OF_WRITER = (writer) -> "name of writer " + writer;
+
+    protected final Supplier<LocalDateTime> LAST_UPDATED = LocalDateTime::now;
+
+}
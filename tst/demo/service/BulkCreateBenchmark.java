@@ -0,0 +1,84 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import demo.cache.IdCuckooFilter;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * <p>Benchmark of rows/second created one by one with {@link CreateService#create(CreateService.Request)}
+ * against chunks of JDBC batches with {@link BulkCreateService#bulkCreate(BulkCreateService.Request)}.</p>
+ * <p>Run with {@code gradle benchmark}, results are printed as {@code [bench]} lines.</p>
+ */
+@Tag("benchmark")
+@DataJpaTest
+@TestPropertySource(properties = {
+    "app.bulk-create-chunk-size=1000",
+    "spring.jpa.properties.hibernate.jdbc.batch_size=1000",
+    "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@Import({BulkCreateService.class, CreateService.class, NameTrigramIndex.class, IdCuckooFilter.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkCreateBenchmark {
+
+    private static final int WARMUP_ROWS = 2_000;
+    private static final int MEASURED_ROWS = 20_000;
+
+    @Autowired CreateService createService;
+    @Autowired BulkCreateService bulkCreateService;
+    @Autowired AnyRepository anyRepository;
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    @Test
+    void single_inserts_against_bulk(){
+
+        singleInserts(items(WARMUP_ROWS));
+        bulkInserts(items(WARMUP_ROWS));
+        anyRepository.deleteAll();
+
+        measure("single", () -> singleInserts(items(MEASURED_ROWS)));
+        measure("bulk", () -> bulkInserts(items(MEASURED_ROWS)));
+
+        assertEquals(MEASURED_ROWS * 2, anyRepository.count());
+    }
+
+    private void singleInserts(List<CreateService.Request> items){
+        items.forEach(createService::create);
+    }
+
+    private void bulkInserts(List<CreateService.Request> items){
+        bulkCreateService.bulkCreate(new BulkCreateService.Request(items));
+    }
+
+    private static List<CreateService.Request> items(int size){
+        return IntStream.range(0, size).mapToObj(index -> new CreateService.Request("name " + index)).toList();
+    }
+
+    private static void measure(String pathName, Runnable path){
+        final long start = System.nanoTime();
+        path.run();
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("[bench] %-6s rows=%d: %10.0f rows/s%n", pathName, MEASURED_ROWS, MEASURED_ROWS / (elapsed / 1_000_000_000.0));
+    }
+
+}
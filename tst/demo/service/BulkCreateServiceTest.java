@@ -0,0 +1,203 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.cache.IdCuckooFilter;
+import demo.constant.ErrMessage;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * <p>Tests of {@link BulkCreateService}</p>
+ * <pre>
+ *{@link when_bulkCreate} {
+ *  {@link when_bulkCreate#GIVEN_valid_and_invalid_items_WHEN_bulkCreate_SHOULD_return_ids_in_request_order_and_errors_by_index()}
+ *  {@link when_bulkCreate#GIVEN_more_items_than_chunk_size_WHEN_bulkCreate_SHOULD_insert_one_jdbc_batch_per_chunk()}
+ *  {@link when_bulkCreate#GIVEN_items_created_WHEN_bulkCreate_SHOULD_add_them_to_name_index_and_id_filter()}
+ *  {@link when_bulkCreate#GIVEN_chunk_failing_WHEN_bulkCreate_SHOULD_report_its_items_by_index_and_return_ids_of_other_chunks()}
+ *  {@link when_bulkCreate#GIVEN_chunk_failing_outside_database_WHEN_bulkCreate_SHOULD_fail_the_request()}
+ *}
+ *{@link when_validateRequest} {
+ *  {@link when_validateRequest#GIVEN_request_null_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_with_empty_items_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_with_more_items_than_max_allowed_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *}
+ * </pre>
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+    "app.bulk-create-chunk-size=" + BulkCreateServiceTestFixture.CHUNK_SIZE,
+    "spring.jpa.properties.hibernate.jdbc.batch_size=" + BulkCreateServiceTestFixture.CHUNK_SIZE,
+    "spring.jpa.properties.hibernate.order_inserts=true",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({BulkCreateService.class, CreateService.class, NameTrigramIndex.class, IdCuckooFilter.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class BulkCreateServiceTest extends BulkCreateServiceTestFixture {
+
+    @Autowired BulkCreateService bulkCreateService;
+    @Autowired AnyRepository anyRepository;
+    @Autowired NameTrigramIndex nameTrigramIndex;
+    @Autowired IdCuckooFilter idCuckooFilter;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @SpyBean TransactionTemplate transactionTemplate;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics(){
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    /**
+     *  testing all scenarios from {@link BulkCreateService#bulkCreate(BulkCreateService.Request)}
+     */
+    @Nested
+    class when_bulkCreate {
+
+        @Test
+        void GIVEN_valid_and_invalid_items_WHEN_bulkCreate_SHOULD_return_ids_in_request_order_and_errors_by_index(){
+
+            final BulkCreateService.Request request = REQUEST_WITH_INVALID_ITEMS_AT_1_AND_3.get();
+
+            final BulkCreateService.Response expectedResponse = bulkCreateService.bulkCreate(request);
+
+            assertEquals(request.items().size(), expectedResponse.ids().size());
+            assertNull(expectedResponse.ids().get(1));
+            assertNull(expectedResponse.ids().get(3));
+            for(int index : List.of(0, 2, 4)) {
+                assertNotNull(expectedResponse.ids().get(index));
+                assertEquals(request.items().get(index).name(), anyRepository.findById(expectedResponse.ids().get(index)).orElseThrow().getName());
+            }
+            assertEquals(List.of(
+                    new BulkCreateService.ItemError(1, ErrMessage.NAME_IS_REQUIRED.get()),
+                    new BulkCreateService.ItemError(3, ErrMessage.NAME_MUST_BE_LESS_THAN_50_CARACT.get())
+                ), expectedResponse.errors());
+            assertEquals(3, anyRepository.count());
+        }
+
+        @Test
+        void GIVEN_more_items_than_chunk_size_WHEN_bulkCreate_SHOULD_insert_one_jdbc_batch_per_chunk(){
+
+            final int totalItems = CHUNK_SIZE * 2 + 3;
+
+            bulkCreateService.bulkCreate(REQUEST_WITH_VALID_ITEMS.apply(totalItems));
+
+            final int expectedChunks = 3;
+            assertEquals(totalItems, statistics.getEntityInsertCount());
+            assertEquals(expectedChunks, statistics.getPrepareStatementCount());
+            assertEquals(expectedChunks, statistics.getSuccessfulTransactionCount());
+        }
+
+        @Test
+        void GIVEN_items_created_WHEN_bulkCreate_SHOULD_add_them_to_name_index_and_id_filter(){
+
+            final BulkCreateService.Response expectedResponse = bulkCreateService.bulkCreate(REQUEST_WITH_VALID_ITEMS.apply(CHUNK_SIZE + 1));
+
+            assertTrue(nameTrigramIndex.search("bulk item").containsAll(expectedResponse.ids()));
+            expectedResponse.ids().forEach(id -> assertTrue(idCuckooFilter.mightContain(id)));
+        }
+
+        @Test
+        void GIVEN_chunk_failing_WHEN_bulkCreate_SHOULD_report_its_items_by_index_and_return_ids_of_other_chunks(){
+
+            final int totalItems = CHUNK_SIZE * 2 + 3;
+            final List<Integer> indexesOfFailingChunk = IntStream.range(CHUNK_SIZE, CHUNK_SIZE * 2).boxed().toList();
+
+            doCallRealMethod()
+                .doThrow(CHUNK_FAILURE.get())
+                .doCallRealMethod()
+                .when(transactionTemplate).executeWithoutResult(any());
+
+            final BulkCreateService.Response expectedResponse = bulkCreateService.bulkCreate(REQUEST_WITH_VALID_ITEMS.apply(totalItems));
+
+            assertEquals(totalItems, expectedResponse.ids().size());
+            assertEquals(indexesOfFailingChunk.stream().map(index -> new BulkCreateService.ItemError(index, ErrMessage.ITEM_NOT_CREATED.get())).toList(), expectedResponse.errors());
+            for(int index = 0; index < totalItems; index++) {
+                if(indexesOfFailingChunk.contains(index)) assertNull(expectedResponse.ids().get(index));
+                else assertTrue(anyRepository.existsById(expectedResponse.ids().get(index)));
+            }
+            assertEquals(totalItems - CHUNK_SIZE, anyRepository.count());
+        }
+
+        @Test
+        void GIVEN_chunk_failing_outside_database_WHEN_bulkCreate_SHOULD_fail_the_request(){
+
+            doThrow(FAILURE_OUTSIDE_DATABASE.get()).when(transactionTemplate).executeWithoutResult(any());
+
+            assertThrows(IllegalStateException.class, () -> bulkCreateService.bulkCreate(REQUEST_WITH_VALID_ITEMS.apply(CHUNK_SIZE)));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link BulkCreateService#validateRequest(BulkCreateService.Request)}
+     */
+    @Nested
+    class when_validateRequest {
+
+        @Test
+        void GIVEN_request_null_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkCreateService.validateRequest(REQUEST_NULL.get()));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.BODY_NOT_FOUND.get(), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_with_empty_items_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkCreateService.validateRequest(REQUEST_WITH_EMPTY_ITEMS.get()));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.ITEMS_IS_REQUIRED.get(), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_with_more_items_than_max_allowed_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkCreateService.validateRequest(REQUEST_WITH_MORE_ITEMS_THAN_MAX_ALLOWED.get()));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.ITEMS_MUST_BE_LESS_THAN_X.get(MAX_ITEMS_ALLOWED), expectedException.getBody().getDetail());
+        }
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package demo.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+abstract sealed class BulkCreateServiceTestFixture permits BulkCreateServiceTest {
+
+    protected static final int CHUNK_SIZE = 7;
+    protected static final int MAX_ITEMS_ALLOWED = 50_000;
+
+    protected final String NAME_BLANK = "   ";
+    protected final String NAME_MORE_THAN_50 = "n".repeat(51);
+
+    protected final Supplier<BulkCreateService.Request> REQUEST_WITH_INVALID_ITEMS_AT_1_AND_3 = () -> new BulkCreateService.Request(List.of(
+        new CreateService.Request("first"),
+        new CreateService.Request(NAME_BLANK),
+        new CreateService.Request("third"),
+        new CreateService.Request(NAME_MORE_THAN_50),
+        new CreateService.Request("fifth")
+    ));
+
+    protected final Function<Integer, BulkCreateService.Request> REQUEST_WITH_VALID_ITEMS = (size) -> new BulkCreateService.Request(
+        IntStream.range(0, size).mapToObj(i -> new CreateService.Request("bulk item " + i)).toList()
+    );
+
+    protected final Supplier<DataAccessResourceFailureException> CHUNK_FAILURE = () -> new DataAccessResourceFailureException("connection lost");
+    protected final Supplier<IllegalStateException> FAILURE_OUTSIDE_DATABASE = () -> new IllegalStateException("bug");
+
+    protected final Supplier<BulkCreateService.Request> REQUEST_NULL = () -> null;
+    protected final Supplier<BulkCreateService.Request> REQUEST_WITH_EMPTY_ITEMS = () -> new BulkCreateService.Request(Collections.emptyList());
+    protected final Supplier<BulkCreateService.Request> REQUEST_WITH_MORE_ITEMS_THAN_MAX_ALLOWED = () -> new BulkCreateService.Request(
+        Collections.nCopies(MAX_ITEMS_ALLOWED + 1, new CreateService.Request("too many"))
+    );
+
+}
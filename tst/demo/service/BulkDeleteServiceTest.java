@@ -0,0 +1,311 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.constant.ErrMessage;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * <p>Tests of {@link BulkDeleteService}</p>
+ * <pre>
+ *{@link when_bulkDelete} {
+ *  {@link when_bulkDelete#GIVEN_ids_with_unknown_ones_WHEN_bulkDelete_SHOULD_delete_only_existing_ids_and_return_rows_deleted()}
+ *  {@link when_bulkDelete#GIVEN_more_ids_than_chunk_size_WHEN_bulkDelete_SHOULD_issue_one_set_based_delete_per_chunk()}
+ *  {@link when_bulkDelete#GIVEN_filter_WHEN_bulkDelete_SHOULD_delete_only_entities_whose_name_matches()}
+ *  {@link when_bulkDelete#GIVEN_entities_deleted_WHEN_bulkDelete_SHOULD_remove_them_from_name_index()}
+ *}
+ *{@link when_deleteChunk} {
+ *  {@link when_deleteChunk#GIVEN_id_deleted_meanwhile_WHEN_deleteChunk_SHOULD_count_only_ids_deleted_by_this_request()}
+ *}
+ *{@link when_submitBulkDelete} {
+ *  {@link when_submitBulkDelete#GIVEN_valid_request_WHEN_submitBulkDelete_SHOULD_report_progress_until_done()}
+ *  {@link when_submitBulkDelete#GIVEN_unknown_job_id_WHEN_getJob_SHOULD_throw_not_found()}
+ *  {@link when_submitBulkDelete#GIVEN_max_jobs_queued_WHEN_submitBulkDelete_SHOULD_throw_service_unavailable()}
+ *}
+ *{@link when_validateRequest} {
+ *  {@link when_validateRequest#GIVEN_request_null_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_without_ids_and_with_blank_filter_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_with_ids_and_filter_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_with_empty_ids_and_filter_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_with_more_ids_than_max_allowed_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_filter_with_like_wildcard_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *}
+ * </pre>
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true"})
+@TestPropertySource(properties = {
+    "app.bulk-delete-chunk-size=" + BulkDeleteServiceTestFixture.CHUNK_SIZE,
+    "app.bulk-create-chunk-size=" + BulkDeleteServiceTestFixture.CHUNK_SIZE,
+    "app.get-by-id-cache-size=100",
+    "app.bulk-delete-max-queued-jobs=" + BulkDeleteServiceTestFixture.MAX_QUEUED_JOBS
+})
+@Import({BulkDeleteService.class, BulkCreateService.class, CreateService.class, NameTrigramIndex.class, GetByIdCache.class, IdCuckooFilter.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class BulkDeleteServiceTest extends BulkDeleteServiceTestFixture {
+
+    @Autowired BulkDeleteService bulkDeleteService;
+    @Autowired BulkCreateService bulkCreateService;
+    @Autowired AnyRepository anyRepository;
+    @Autowired NameTrigramIndex nameTrigramIndex;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics(){
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    List<String> createEntities(String namePrefix, int size){
+        final List<String> ids = bulkCreateService.bulkCreate(REQUEST_CREATE_NAMED.apply(namePrefix, size)).ids();
+        statistics.clear();
+        return ids;
+    }
+
+    /**
+     *  testing all scenarios from {@link BulkDeleteService#bulkDelete(BulkDeleteService.Request)}
+     */
+    @Nested
+    class when_bulkDelete {
+
+        @Test
+        void GIVEN_ids_with_unknown_ones_WHEN_bulkDelete_SHOULD_delete_only_existing_ids_and_return_rows_deleted(){
+
+            final List<String> ids = createEntities(NAME_TO_DELETE, 5);
+            final List<String> requestIds = new ArrayList<>(ids.subList(0, 3));
+            requestIds.add(UUID.randomUUID().toString());
+
+            final BulkDeleteService.Response expectedResponse = bulkDeleteService.bulkDelete(new BulkDeleteService.Request(requestIds, null));
+
+            assertEquals(3, expectedResponse.deleted());
+            assertEquals(2, anyRepository.count());
+            ids.subList(0, 3).forEach(id -> assertFalse(anyRepository.existsById(id)));
+        }
+
+        @Test
+        void GIVEN_more_ids_than_chunk_size_WHEN_bulkDelete_SHOULD_issue_one_set_based_delete_per_chunk(){
+
+            final int totalIds = CHUNK_SIZE * 2 + 3;
+            final List<String> ids = createEntities(NAME_TO_DELETE, totalIds);
+
+            final BulkDeleteService.Response expectedResponse = bulkDeleteService.bulkDelete(new BulkDeleteService.Request(ids, null));
+
+            final int expectedChunks = 3;
+            final int expectedStatementsPerChunk = 2;
+            assertEquals(totalIds, expectedResponse.deleted());
+            assertEquals(expectedChunks * expectedStatementsPerChunk, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertEquals(0, anyRepository.count());
+        }
+
+        @Test
+        void GIVEN_filter_WHEN_bulkDelete_SHOULD_delete_only_entities_whose_name_matches(){
+
+            final int totalToDelete = CHUNK_SIZE * 2 + 1;
+            createEntities(NAME_TO_DELETE, totalToDelete);
+            final List<String> idsToKeep = createEntities(NAME_TO_KEEP, 3);
+
+            final BulkDeleteService.Response expectedResponse = bulkDeleteService.bulkDelete(new BulkDeleteService.Request(null, NAME_TO_DELETE));
+
+            assertEquals(totalToDelete, expectedResponse.deleted());
+            assertEquals(idsToKeep.size(), anyRepository.count());
+            idsToKeep.forEach(id -> assertTrue(anyRepository.existsById(id)));
+        }
+
+        @Test
+        void GIVEN_entities_deleted_WHEN_bulkDelete_SHOULD_remove_them_from_name_index(){
+
+            final List<String> ids = createEntities(NAME_TO_DELETE, CHUNK_SIZE + 1);
+
+            bulkDeleteService.bulkDelete(new BulkDeleteService.Request(ids, null));
+
+            final List<String> idsStillIndexed = nameTrigramIndex.search(NAME_TO_DELETE);
+            ids.forEach(id -> assertFalse(idsStillIndexed.contains(id)));
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link BulkDeleteService#deleteChunk(List)}
+     */
+    @Nested
+    class when_deleteChunk {
+
+        @Test
+        void GIVEN_id_deleted_meanwhile_WHEN_deleteChunk_SHOULD_count_only_ids_deleted_by_this_request(){
+
+            final List<String> ids = createEntities(NAME_TO_DELETE, 3);
+            anyRepository.deleteRowById(ids.get(1));
+
+            assertEquals(2, bulkDeleteService.deleteChunk(ids));
+            assertEquals(0, anyRepository.count());
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link BulkDeleteService#submitBulkDelete(BulkDeleteService.Request)} and {@link BulkDeleteService#getJob(String)}
+     */
+    @Nested
+    class when_submitBulkDelete {
+
+        @Test
+        void GIVEN_valid_request_WHEN_submitBulkDelete_SHOULD_report_progress_until_done() throws InterruptedException{
+
+            final int totalToDelete = CHUNK_SIZE * 3;
+            createEntities(NAME_TO_DELETE, totalToDelete);
+
+            final BulkDeleteService.JobStatus submitted = bulkDeleteService.submitBulkDelete(new BulkDeleteService.Request(null, NAME_TO_DELETE));
+
+            BulkDeleteService.JobStatus jobStatus = bulkDeleteService.getJob(submitted.jobId());
+            final long deadline = System.nanoTime() + JOB_TIMEOUT.toNanos();
+            while(jobStatus.state() != BulkDeleteService.JobState.DONE && jobStatus.state() != BulkDeleteService.JobState.FAILED && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+                jobStatus = bulkDeleteService.getJob(submitted.jobId());
+            }
+
+            assertEquals(BulkDeleteService.JobState.DONE, jobStatus.state());
+            assertEquals(totalToDelete, jobStatus.deleted());
+            assertEquals(0, anyRepository.count());
+        }
+
+        @Test
+        void GIVEN_unknown_job_id_WHEN_getJob_SHOULD_throw_not_found(){
+
+            final String unknownJobId = UUID.randomUUID().toString();
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkDeleteService.getJob(unknownJobId));
+
+            final int expectedHttpStatus = 404;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.JOB_NOT_FOUND.get(unknownJobId), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_max_jobs_queued_WHEN_submitBulkDelete_SHOULD_throw_service_unavailable() throws InterruptedException{
+
+            final CountDownLatch jobRunning = new CountDownLatch(1);
+            final CountDownLatch jobReleased = new CountDownLatch(1);
+            bulkDeleteService.jobExecutor.execute(() -> {
+                jobRunning.countDown();
+                try {
+                    jobReleased.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            jobRunning.await();
+            try {
+                for(int i = 0; i < MAX_QUEUED_JOBS; i++) bulkDeleteService.submitBulkDelete(new BulkDeleteService.Request(null, NAME_OF_NO_ENTITY));
+
+                final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkDeleteService.submitBulkDelete(new BulkDeleteService.Request(null, NAME_OF_NO_ENTITY)));
+
+                final int expectedHttpStatus = 503;
+                assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+                assertEquals(ErrMessage.BULK_DELETE_JOBS_LIMIT_EXCEEDED.get(), expectedException.getBody().getDetail());
+            } finally {
+                jobReleased.countDown();
+            }
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link BulkDeleteService#validateRequest(BulkDeleteService.Request)}
+     */
+    @Nested
+    class when_validateRequest {
+
+        @Test
+        void GIVEN_request_null_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkDeleteService.validateRequest(null));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.BODY_NOT_FOUND.get(), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_without_ids_and_with_blank_filter_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkDeleteService.validateRequest(new BulkDeleteService.Request(List.of(), "  ")));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.IDS_OR_FILTER_IS_REQUIRED.get(), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_with_ids_and_filter_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkDeleteService.validateRequest(new BulkDeleteService.Request(List.of(UUID.randomUUID().toString()), NAME_TO_DELETE)));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.IDS_CANNOT_BE_USED_WITH_FILTER.get(), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_with_empty_ids_and_filter_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkDeleteService.validateRequest(new BulkDeleteService.Request(List.of(), NAME_TO_DELETE)));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.IDS_CANNOT_BE_USED_WITH_FILTER.get(), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_with_more_ids_than_max_allowed_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkDeleteService.validateRequest(REQUEST_WITH_MORE_IDS_THAN_MAX_ALLOWED.get()));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.IDS_MUST_BE_LESS_THAN_X.get(MAX_IDS_ALLOWED), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_filter_with_like_wildcard_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            for(String filter : FILTERS_WITH_LIKE_WILDCARD) {
+                final var expectedException = assertThrows(ResponseStatusException.class, () -> bulkDeleteService.validateRequest(new BulkDeleteService.Request(null, filter)));
+
+                final int expectedHttpStatus = 400;
+                assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+                assertEquals(ErrMessage.FILTER_CANNOT_HAVE_LIKE_WILDCARDS.get(), expectedException.getBody().getDetail());
+            }
+        }
+
+    }
+
+}
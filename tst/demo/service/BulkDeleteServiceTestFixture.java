@@ -0,0 +1,30 @@
+package demo.service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+abstract sealed class BulkDeleteServiceTestFixture permits BulkDeleteServiceTest {
+
+    protected static final int CHUNK_SIZE = 5;
+    protected static final int MAX_QUEUED_JOBS = 2;
+    protected static final int MAX_IDS_ALLOWED = 50_000;
+
+    protected final String NAME_TO_DELETE = "tenant to delete";
+    protected final String NAME_OF_NO_ENTITY = "name of no entity";
+    protected final List<String> FILTERS_WITH_LIKE_WILDCARD = List.of("%", "_", "tenant\\", "ten%ant");
+    protected final String NAME_TO_KEEP = "tenant to keep";
+    protected final Duration JOB_TIMEOUT = Duration.ofSeconds(30);
+
+    protected final BiFunction<String, Integer, BulkCreateService.Request> REQUEST_CREATE_NAMED = (namePrefix, size) -> new BulkCreateService.Request(
+        IntStream.range(0, size).mapToObj(i -> new CreateService.Request(namePrefix + " " + i)).toList()
+    );
+
+    protected final Supplier<BulkDeleteService.Request> REQUEST_WITH_MORE_IDS_THAN_MAX_ALLOWED = () -> new BulkDeleteService.Request(
+        Collections.nCopies(MAX_IDS_ALLOWED + 1, "any id"), null
+    );
+
+}
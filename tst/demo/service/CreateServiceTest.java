@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,9 +26,13 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
+import demo.cache.IdCuckooFilter;
 import demo.constant.ErrMessage;
+import demo.metrics.LatencyHistograms;
 import demo.model.AnyEntity;
 import demo.repository.AnyRepository;
+import demo.repository.GroupCommitWriter;
+import demo.repository.NameTrigramIndex;
 
 /**
  * <p>Tests of {@link CreateService}</p>
@@ -35,6 +40,8 @@ import demo.repository.AnyRepository;
  *{@link when_create} {
  *  {@link when_create#GIVEN_request_sucessfully_WHEN_create_SHOULD_run_sucessfully_and_return_new_id()}
  *  {@link when_create#GIVEN_request_sucessfully_WHEN_create_SHOULD_run_all_steps_on_right_order()}
+ *  {@link when_create#GIVEN_request_sucessfully_WHEN_create_SHOULD_add_new_id_to_filter()}
+ *  {@link when_create#GIVEN_group_commit_enabled_WHEN_create_SHOULD_save_through_group_commit_writer()}
  *}
  *{@link when_validateRequest} {
  *  {@link when_validateRequest#GIVEN_request_null_WHEN_validateRequest_SHOULD_throw_bad_request()}
@@ -61,6 +68,15 @@ final class CreateServiceTest extends CreateServiceTestFixture{
     @Mock 
     AnyRepository anyRepositoryMock;
 
+    @Mock
+    LatencyHistograms latencyHistogramsMock;
+
+    @Mock
+    NameTrigramIndex nameTrigramIndexMock;
+
+    @Mock
+    IdCuckooFilter idCuckooFilterMock;
+
     /**
      *  testing all scenarios from {@link CreateService#create(demo.service.CreateService.Request)}
      */
@@ -107,6 +123,33 @@ final class CreateServiceTest extends CreateServiceTestFixture{
             inOrder.verify(createService).convertEntityToResponse(any(AnyEntity.class));
         
         }
+
+        @Test
+        void GIVEN_request_sucessfully_WHEN_create_SHOULD_add_new_id_to_filter(){
+
+            final AnyEntity anyEntityCreatedInDatabase = ANY_ENTITY_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.save(any(AnyEntity.class))).thenReturn(anyEntityCreatedInDatabase);
+
+            createService.create(REQUEST_SUCCESSFULLY.get());
+
+            verify(idCuckooFilterMock).add(anyEntityCreatedInDatabase.getId());
+        }
+
+        @Test
+        void GIVEN_group_commit_enabled_WHEN_create_SHOULD_save_through_group_commit_writer(){
+
+            final AnyEntity anyEntityCreatedInDatabase = ANY_ENTITY_SUCCESSFULLY.get();
+            final GroupCommitWriter groupCommitWriterMock = Mockito.mock(GroupCommitWriter.class);
+            createService.groupCommitWriter = groupCommitWriterMock;
+
+            when(groupCommitWriterMock.save(any(AnyEntity.class))).thenReturn(anyEntityCreatedInDatabase);
+
+            final CreateService.Response expectedResponse = createService.create(REQUEST_SUCCESSFULLY.get());
+
+            assertEquals(anyEntityCreatedInDatabase.getId(), expectedResponse.id());
+            verify(anyRepositoryMock, never()).save(any(AnyEntity.class));
+        }
     }
 
     /**
@@ -0,0 +1,177 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import demo.constant.ErrMessage;
+import demo.model.AnyEntity;
+import demo.repository.AnyRepository;
+import demo.service.ExportService.IdRange;
+
+/**
+ * <p>Tests of {@link ExportService}</p>
+ * <pre>
+ *{@link when_export} {
+ *  {@link when_export#GIVEN_entities_spread_over_ranges_WHEN_export_SHOULD_write_each_entity_once_per_line()}
+ *  {@link when_export#GIVEN_no_entities_WHEN_export_SHOULD_write_nothing()}
+ *}
+ *{@link when_reserveExport} {
+ *  {@link when_reserveExport#GIVEN_max_concurrent_exports_reserved_WHEN_reserveExport_SHOULD_throw_service_unavailable_until_one_is_written()}
+ *  {@link when_reserveExport#GIVEN_reserved_export_released_without_being_written_WHEN_reserveExport_SHOULD_admit_another()}
+ *}
+ *{@link when_splitIdRanges} {
+ *  {@link when_splitIdRanges#GIVEN_uuid_bounds_WHEN_splitIdRanges_SHOULD_return_contiguous_ranges()}
+ *  {@link when_splitIdRanges#GIVEN_ids_not_uuid_WHEN_splitIdRanges_SHOULD_return_one_range()}
+ *}
+ * </pre>
+ */
+@DataJpaTest
+@TestPropertySource(properties = {"app.export-fetch-size=7", "app.export-max-concurrent=" + ExportServiceTestFixture.MAX_CONCURRENT_EXPORTS})
+@Import(ExportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class ExportServiceTest extends ExportServiceTestFixture {
+
+    @Autowired ExportService exportService;
+    @Autowired AnyRepository anyRepository;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    /**
+     *  testing all scenarios from {@link ExportService.Export#writeTo(java.io.OutputStream)} of a reserved export
+     */
+    @Nested
+    class when_export {
+
+        @Test
+        void GIVEN_entities_spread_over_ranges_WHEN_export_SHOULD_write_each_entity_once_per_line() throws Exception{
+
+            final Iterable<AnyEntity> entitiesSaved = anyRepository.saveAll(IntStream.range(0, TOTAL_ENTITIES).mapToObj(NEW_ANY_ENTITY::apply).toList());
+            final Map<String, String> nameByIdSaved = StreamSupport.stream(entitiesSaved.spliterator(), false).collect(Collectors.toMap(AnyEntity::getId, AnyEntity::getName));
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            exportService.exportIdRanges(exportService.splitIdRanges(PARALLEL_RANGES), outputStream);
+
+            final List<JsonNode> lines = outputStream.toString(StandardCharsets.UTF_8).lines().map(this::readLine).toList();
+            assertEquals(TOTAL_ENTITIES, lines.size());
+            assertEquals(nameByIdSaved, lines.stream().collect(Collectors.toMap(line -> line.get("id").asText(), line -> line.get("name").asText())));
+            assertTrue(lines.stream().allMatch(line -> line.hasNonNull("created") && line.hasNonNull("lastUpdated")));
+        }
+
+        @Test
+        void GIVEN_no_entities_WHEN_export_SHOULD_write_nothing() throws Exception{
+
+            final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+            exportService.reserveExport().writeTo(outputStream);
+
+            assertEquals(0, outputStream.size());
+        }
+
+        private JsonNode readLine(String line) {
+            try {
+                return mapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link ExportService#reserveExport()}
+     */
+    @Nested
+    class when_reserveExport {
+
+        @Test
+        void GIVEN_max_concurrent_exports_reserved_WHEN_reserveExport_SHOULD_throw_service_unavailable_until_one_is_written() throws Exception{
+
+            final ExportService.Export exportReserved = exportService.reserveExport();
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> exportService.reserveExport());
+
+            final int expectedHttpStatus = 503;
+            assertEquals(expectedHttpStatus, expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.EXPORT_LIMIT_EXCEEDED.get(), expectedException.getBody().getDetail());
+
+            exportReserved.writeTo(new ByteArrayOutputStream());
+            exportReserved.writeTo(new ByteArrayOutputStream());
+
+            final ExportService.Export exportReservedAfterRelease = assertDoesNotThrow(() -> exportService.reserveExport());
+            assertThrows(ResponseStatusException.class, () -> exportService.reserveExport());
+            exportReservedAfterRelease.writeTo(new ByteArrayOutputStream());
+        }
+
+        @Test
+        void GIVEN_reserved_export_released_without_being_written_WHEN_reserveExport_SHOULD_admit_another() throws Exception{
+
+            final ExportService.Export exportReserved = exportService.reserveExport();
+
+            exportReserved.release();
+            exportReserved.release();
+
+            final ExportService.Export exportReservedAfterRelease = assertDoesNotThrow(() -> exportService.reserveExport());
+            assertThrows(ResponseStatusException.class, () -> exportService.reserveExport());
+            exportReservedAfterRelease.release();
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link ExportService#splitIdRanges(String, String, int)}
+     */
+    @Nested
+    class when_splitIdRanges {
+
+        @Test
+        void GIVEN_uuid_bounds_WHEN_splitIdRanges_SHOULD_return_contiguous_ranges(){
+
+            final List<IdRange> idRanges = ExportService.splitIdRanges(MIN_UUID, MAX_UUID, PARALLEL_RANGES);
+
+            assertEquals(PARALLEL_RANGES, idRanges.size());
+            assertEquals(MIN_UUID, idRanges.get(0).fromId());
+            assertNull(idRanges.get(PARALLEL_RANGES - 1).toId());
+            for(int i = 1; i < idRanges.size(); i++) {
+                assertEquals(idRanges.get(i - 1).toId(), idRanges.get(i).fromId());
+                assertTrue(idRanges.get(i - 1).fromId().compareTo(idRanges.get(i).fromId()) < 0);
+            }
+        }
+
+        @Test
+        void GIVEN_ids_not_uuid_WHEN_splitIdRanges_SHOULD_return_one_range(){
+
+            final List<IdRange> idRanges = ExportService.splitIdRanges(MIN_NOT_UUID, MAX_NOT_UUID, PARALLEL_RANGES);
+
+            assertEquals(List.of(new IdRange(MIN_NOT_UUID, null)), idRanges);
+        }
+    }
+
+}
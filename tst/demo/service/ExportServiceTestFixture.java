@@ -0,0 +1,28 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import demo.model.AnyEntity;
+
+abstract sealed class ExportServiceTestFixture permits ExportServiceTest {
+
+    static final int MAX_CONCURRENT_EXPORTS = 1;
+
+    protected final int TOTAL_ENTITIES = 50;
+    // above the 2 connections an export may hold with the default pool of 10, so workers take several ranges each
+    protected final int PARALLEL_RANGES = 4;
+    protected final String MIN_UUID = "00000000-0000-0000-0000-000000000000";
+    protected final String MAX_UUID = "ffffffff-ffff-ffff-ffff-ffffffffffff";
+    protected final String MIN_NOT_UUID = "id-1";
+    protected final String MAX_NOT_UUID = "id-9";
+
+    protected final Function<Integer, AnyEntity> NEW_ANY_ENTITY = (index) -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName("name " + index);
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+}
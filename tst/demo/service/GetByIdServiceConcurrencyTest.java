@@ -0,0 +1,102 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * <p>Concurrency tests of {@link GetByIdService} reading through {@link GetByIdCache} while {@link UpdateByIdService} writes</p>
+ * <pre>
+ *{@link when_getById_concurrently_with_updateById} {
+ *  {@link when_getById_concurrently_with_updateById#GIVEN_readers_and_one_writer_WHEN_getById_SHOULD_never_return_version_older_than_last_committed()}
+ *}
+ * </pre>
+ */
+@DataJpaTest
+@TestPropertySource(properties = {"app.get-by-id-cache-size=100", "app.update-retry-max-attempts=1", "app.update-retry-base-backoff-millis=1"})
+@Import({GetByIdService.class, UpdateByIdService.class, GetByIdCache.class, IdCuckooFilter.class, NameTrigramIndex.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class GetByIdServiceConcurrencyTest extends GetByIdServiceConcurrencyTestFixture {
+
+    @Autowired GetByIdService getByIdService;
+    @Autowired UpdateByIdService updateByIdService;
+    @Autowired GetByIdCache getByIdCache;
+    @Autowired IdCuckooFilter idCuckooFilter;
+    @Autowired AnyRepository anyRepository;
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    /**
+     *  testing {@link GetByIdService#getById(String)} racing {@link UpdateByIdService#updateById(String, UpdateByIdService.Request)}
+     */
+    @Nested
+    class when_getById_concurrently_with_updateById {
+
+        @Test
+        void GIVEN_readers_and_one_writer_WHEN_getById_SHOULD_never_return_version_older_than_last_committed() throws Exception{
+
+            final String id = anyRepository.save(NEW_ANY_ENTITY_AT_VERSION.apply(0)).getId();
+            idCuckooFilter.add(id);
+            final AtomicInteger lastCommittedVersion = new AtomicInteger(0);
+            final AtomicInteger staleReads = new AtomicInteger(0);
+            final AtomicBoolean writing = new AtomicBoolean(true);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(READERS);
+            try {
+                final List<Future<?>> readers = new ArrayList<>();
+                for(int i = 0; i < READERS; i++) {
+                    readers.add(executor.submit(() -> {
+                        while(writing.get()) {
+                            final int versionCommittedBeforeRead = lastCommittedVersion.get();
+                            if(VERSION_OF.apply(getByIdService.getById(id)) < versionCommittedBeforeRead)
+                                staleReads.incrementAndGet();
+                            Thread.yield();
+                        }
+                    }));
+                }
+
+                for(int version = 1; version <= UPDATES; version++) {
+                    updateByIdService.updateById(id, REQUEST_UPDATE_TO_VERSION.apply(version));
+                    lastCommittedVersion.set(version);
+                }
+                writing.set(false);
+
+                for(Future<?> reader : readers) reader.get();
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(0, staleReads.get());
+            assertEquals(UPDATES, VERSION_OF.apply(getByIdService.getById(id)));
+            assertTrue(getByIdCache.stats().hitCount() > 0);
+        }
+    }
+
+}
@@ -0,0 +1,26 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import demo.model.AnyEntity;
+
+abstract sealed class GetByIdServiceConcurrencyTestFixture permits GetByIdServiceConcurrencyTest {
+
+    protected final int READERS = 4;
+    protected final int UPDATES = 50;
+    protected final String NAME_PREFIX = "version ";
+
+    protected final Function<Integer, AnyEntity> NEW_ANY_ENTITY_AT_VERSION = (version) -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName(NAME_PREFIX + version);
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+    protected final Function<Integer, UpdateByIdService.Request> REQUEST_UPDATE_TO_VERSION = (version) -> new UpdateByIdService.Request(NAME_PREFIX + version);
+
+    protected final Function<GetByIdService.Response, Integer> VERSION_OF = (response) -> Integer.valueOf(response.name().substring(NAME_PREFIX.length()));
+
+}
@@ -8,6 +8,7 @@ import demo.model.AnyEntity;
 
 abstract sealed class GetByIdServiceFixture permits GetByIdServiceTest {
 
+    protected static final long CACHE_MAXIMUM_SIZE = 100;
     protected final Supplier<String> REQUEST_ID_NULL = () -> null;
     protected final Supplier<String> REQUEST_ID_BLANK = () -> "             ";
     protected final Supplier<String> REQUEST_ID_SUCCESSFULLY = UUID.randomUUID()::toString;
@@ -17,6 +18,7 @@ abstract sealed class GetByIdServiceFixture permits GetByIdServiceTest {
         anyEntity.setCreated(LocalDateTime.now());
         anyEntity.setLastUpdated(LocalDateTime.now().plusDays(3));
         anyEntity.setName("name 1");
+        anyEntity.setVersion(3);
         return anyEntity;
     };
     
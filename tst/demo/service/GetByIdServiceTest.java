@@ -2,16 +2,25 @@ package demo.service;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Optional;
 import java.util.UUID;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,9 +31,13 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
 import demo.constant.ErrMessage;
+import demo.metrics.LatencyHistograms;
 import demo.model.AnyEntity;
 import demo.repository.AnyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 /**
  * <p>Tests of {@link GetByIdService}</p>
@@ -32,6 +45,27 @@ import demo.repository.AnyRepository;
  *{@link when_getById} {
  *  {@link when_getById#GIVEN_request_sucessfully_WHEN_getById_SHOULD_run_sucessfully()}
  *  {@link when_getById#GIVEN_request_sucessfully_WHEN_getById_SHOULD_run_all_steps_on_right_order()}
+ *  {@link when_getById#GIVEN_id_already_read_WHEN_getById_SHOULD_be_served_from_cache()}
+ *  {@link when_getById#GIVEN_id_not_found_WHEN_getById_SHOULD_not_cache_it()}
+ *  {@link when_getById#GIVEN_id_absent_from_filter_WHEN_getById_SHOULD_throw_not_found_without_query()}
+ *}
+ *{@link when_existsById} {
+ *  {@link when_existsById#GIVEN_id_absent_from_filter_WHEN_existsById_SHOULD_return_false_without_query()}
+ *  {@link when_existsById#GIVEN_id_cached_WHEN_existsById_SHOULD_return_true_without_query()}
+ *  {@link when_existsById#GIVEN_filter_false_positive_WHEN_existsById_SHOULD_return_false_and_record_it()}
+ *}
+ *{@link when_getVersionById} {
+ *  {@link when_getVersionById#GIVEN_id_cached_WHEN_getVersionById_SHOULD_not_query_database()}
+ *  {@link when_getVersionById#GIVEN_id_not_cached_WHEN_getVersionById_SHOULD_select_only_version_columns()}
+ *  {@link when_getVersionById#GIVEN_id_not_found_WHEN_getVersionById_SHOULD_throw_not_found_request()}
+ *}
+ *{@link when_versionOf} {
+ *  {@link when_versionOf#GIVEN_same_version_and_last_updated_WHEN_versionOf_SHOULD_return_same_strong_etag()}
+ *  {@link when_versionOf#GIVEN_version_changed_WHEN_versionOf_SHOULD_return_other_etag()}
+ *}
+ *{@link when_versionOfEtag} {
+ *  {@link when_versionOfEtag#GIVEN_etag_of_versionOf_WHEN_versionOfEtag_SHOULD_return_its_version()}
+ *  {@link when_versionOfEtag#GIVEN_weak_or_foreign_etag_WHEN_versionOfEtag_SHOULD_return_null()}
  *}
  *{@link when_validateIdRequest} {
  *  {@link when_validateIdRequest#GIVEN_request_is_blank_WHEN_validateIdRequest_SHOULD_throw_bad_request()}
@@ -56,6 +90,20 @@ final class GetByIdServiceTest extends GetByIdServiceFixture {
     @Mock
     AnyRepository anyRepositoryMock;
 
+    @Mock
+    LatencyHistograms latencyHistogramsMock;
+
+    @Spy
+    GetByIdCache getByIdCache = new GetByIdCache(CACHE_MAXIMUM_SIZE, new SimpleMeterRegistry());
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    IdCuckooFilter idCuckooFilterMock;
+
+    @BeforeEach
+    void every_id_might_exist(){
+        when(idCuckooFilterMock.mightContain(anyString())).thenReturn(true);
+    }
+
     /**
      *  testing all scenarios from {@link GetByIdService#getById(String)}
      */
@@ -92,11 +140,202 @@ final class GetByIdServiceTest extends GetByIdServiceFixture {
             getByIdService.getById(requestIdInput);
 
             inOrder.verify(getByIdService).validateIdRequest(anyString());
+            inOrder.verify(getByIdService).validateIdMightExist(anyString());
+            inOrder.verify(getByIdService).loadResponse(anyString());
             inOrder.verify(getByIdService).getEntityById(anyString());
             inOrder.verify(getByIdService).convertEntityToResponse(any(AnyEntity.class));
         
         }
 
+        @Test
+        void GIVEN_id_already_read_WHEN_getById_SHOULD_be_served_from_cache(){
+
+            final AnyEntity anyEntityGotById = ANY_ENTITY_SUCCESSFULLY.get();
+            final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.findById(requestIdInput)).thenReturn(Optional.of(anyEntityGotById));
+
+            final GetByIdService.Response firstResponse = getByIdService.getById(requestIdInput);
+            final GetByIdService.Response secondResponse = getByIdService.getById(requestIdInput);
+
+            assertSame(firstResponse, secondResponse);
+            verify(anyRepositoryMock, times(1)).findById(requestIdInput);
+            assertEquals(1, getByIdCache.stats().hitCount());
+            assertEquals(1, getByIdCache.stats().missCount());
+        }
+
+        @Test
+        void GIVEN_id_not_found_WHEN_getById_SHOULD_not_cache_it(){
+
+            final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.findById(requestIdInput)).thenReturn(Optional.empty());
+
+            assertThrows(ResponseStatusException.class, () -> getByIdService.getById(requestIdInput));
+            assertThrows(ResponseStatusException.class, () -> getByIdService.getById(requestIdInput));
+
+            verify(anyRepositoryMock, times(2)).findById(requestIdInput);
+            verify(idCuckooFilterMock, times(2)).recordFalsePositive();
+        }
+
+        @Test
+        void GIVEN_id_absent_from_filter_WHEN_getById_SHOULD_throw_not_found_without_query(){
+
+            final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
+
+            when(idCuckooFilterMock.mightContain(requestIdInput)).thenReturn(false);
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> getByIdService.getById(requestIdInput));
+
+            final int expectedHttpStatus = 404;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.ID_NOT_FOUND.get(requestIdInput) , expectedException.getBody().getDetail());
+            verify(anyRepositoryMock, never()).findById(anyString());
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link GetByIdService#existsById(String)}
+     */
+    @Nested
+    class when_existsById {
+
+        @Test
+        void GIVEN_id_absent_from_filter_WHEN_existsById_SHOULD_return_false_without_query(){
+
+            final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
+
+            when(idCuckooFilterMock.mightContain(requestIdInput)).thenReturn(false);
+
+            assertFalse(getByIdService.existsById(requestIdInput));
+            verify(anyRepositoryMock, never()).existsById(anyString());
+        }
+
+        @Test
+        void GIVEN_id_cached_WHEN_existsById_SHOULD_return_true_without_query(){
+
+            final AnyEntity anyEntityGotById = ANY_ENTITY_SUCCESSFULLY.get();
+            final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.findById(requestIdInput)).thenReturn(Optional.of(anyEntityGotById));
+            getByIdService.getById(requestIdInput);
+
+            assertTrue(getByIdService.existsById(requestIdInput));
+            verify(anyRepositoryMock, never()).existsById(anyString());
+        }
+
+        @Test
+        void GIVEN_filter_false_positive_WHEN_existsById_SHOULD_return_false_and_record_it(){
+
+            final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.existsById(requestIdInput)).thenReturn(false);
+
+            assertFalse(getByIdService.existsById(requestIdInput));
+            verify(idCuckooFilterMock, times(1)).recordFalsePositive();
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link GetByIdService#getVersionById(String)}
+     */
+    @Nested
+    class when_getVersionById {
+
+        @Test
+        void GIVEN_id_cached_WHEN_getVersionById_SHOULD_not_query_database(){
+
+            final AnyEntity anyEntityGotById = ANY_ENTITY_SUCCESSFULLY.get();
+            final String requestIdInput = anyEntityGotById.getId();
+
+            when(anyRepositoryMock.findById(requestIdInput)).thenReturn(Optional.of(anyEntityGotById));
+            getByIdService.getById(requestIdInput);
+
+            final GetByIdService.Version expectedVersion = getByIdService.getVersionById(requestIdInput);
+
+            assertEquals(GetByIdService.versionOf(anyEntityGotById.getVersion(), anyEntityGotById.getLastUpdated()), expectedVersion);
+            verify(anyRepositoryMock, never()).findVersionById(anyString(), any());
+        }
+
+        @Test
+        void GIVEN_id_not_cached_WHEN_getVersionById_SHOULD_select_only_version_columns(){
+
+            final AnyEntity anyEntityGotById = ANY_ENTITY_SUCCESSFULLY.get();
+            final String requestIdInput = anyEntityGotById.getId();
+
+            when(anyRepositoryMock.findVersionById(requestIdInput, GetByIdService.VersionColumns.class)).thenReturn(Optional.of(new GetByIdService.VersionColumns(anyEntityGotById.getVersion(), anyEntityGotById.getLastUpdated())));
+
+            final GetByIdService.Version expectedVersion = getByIdService.getVersionById(requestIdInput);
+
+            assertEquals(GetByIdService.versionOf(anyEntityGotById.getVersion(), anyEntityGotById.getLastUpdated()), expectedVersion);
+            verify(anyRepositoryMock, never()).findById(anyString());
+        }
+
+        @Test
+        void GIVEN_id_not_found_WHEN_getVersionById_SHOULD_throw_not_found_request(){
+
+            final String anyInvalidId = UUID.randomUUID().toString();
+
+            when(anyRepositoryMock.findVersionById(anyInvalidId, GetByIdService.VersionColumns.class)).thenReturn(Optional.empty());
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> getByIdService.getVersionById(anyInvalidId));
+
+            final int expectedHttpStatus = 404;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.ID_NOT_FOUND.get(anyInvalidId) , expectedException.getBody().getDetail());
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link GetByIdService#versionOf(long, java.time.LocalDateTime)}
+     */
+    @Nested
+    class when_versionOf {
+
+        @Test
+        void GIVEN_same_version_and_last_updated_WHEN_versionOf_SHOULD_return_same_strong_etag(){
+            final AnyEntity anyEntityInput = ANY_ENTITY_SUCCESSFULLY.get();
+
+            final var expectedVersion = GetByIdService.versionOf(anyEntityInput.getVersion(), anyEntityInput.getLastUpdated());
+
+            assertEquals(expectedVersion, GetByIdService.versionOf(anyEntityInput.getVersion(), anyEntityInput.getLastUpdated()));
+            assertTrue(expectedVersion.etag().startsWith("\"") && expectedVersion.etag().endsWith("\""));
+        }
+
+        @Test
+        void GIVEN_version_changed_WHEN_versionOf_SHOULD_return_other_etag(){
+            final AnyEntity anyEntityInput = ANY_ENTITY_SUCCESSFULLY.get();
+
+            final var versionBeforeUpdate = GetByIdService.versionOf(anyEntityInput.getVersion(), anyEntityInput.getLastUpdated());
+            final var versionAfterUpdate = GetByIdService.versionOf(anyEntityInput.getVersion() + 1, anyEntityInput.getLastUpdated());
+
+            assertNotEquals(versionBeforeUpdate.etag(), versionAfterUpdate.etag());
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link GetByIdService#versionOfEtag(String)}
+     */
+    @Nested
+    class when_versionOfEtag {
+
+        @Test
+        void GIVEN_etag_of_versionOf_WHEN_versionOfEtag_SHOULD_return_its_version(){
+            final AnyEntity anyEntityInput = ANY_ENTITY_SUCCESSFULLY.get();
+
+            final String etag = GetByIdService.versionOf(anyEntityInput.getVersion(), anyEntityInput.getLastUpdated()).etag();
+
+            assertEquals(anyEntityInput.getVersion(), GetByIdService.versionOfEtag(etag));
+        }
+
+        @Test
+        void GIVEN_weak_or_foreign_etag_WHEN_versionOfEtag_SHOULD_return_null(){
+            assertNull(GetByIdService.versionOfEtag("W/\"3\""));
+            assertNull(GetByIdService.versionOfEtag("\"not-a-version\""));
+            assertNull(GetByIdService.versionOfEtag("3"));
+        }
     }
 
     /**
@@ -1,40 +1,35 @@
 package demo.service;
 
-import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
-import demo.model.AnyEntity;
-
 abstract sealed class ListServiceFixture permits ListServiceTest {
 
-    protected final Supplier<ListService.Request> REQUEST_SUCCESSFULLY = () -> new ListService.Request(0, 10, "filter-1");
-    protected final Supplier<ListService.Request> REQUEST_WITH_NUM_PAGE_AND_SIZE_PAGE_MORE_THAN_ZERO = () -> new ListService.Request(2, 10, null);
+    protected final Supplier<ListService.Request> REQUEST_SUCCESSFULLY = () -> new ListService.Request(0, 10, "filter-1", null);
+    protected final Supplier<ListService.Request> REQUEST_WITH_NUM_PAGE_AND_SIZE_PAGE_MORE_THAN_ZERO = () -> new ListService.Request(2, 10, null, null);
     protected final Supplier<ListService.Request> REQUEST_NULL = () -> null;
-    protected final Supplier<ListService.Request> REQUEST_WITH_ALL_ATTRS_NULL = () -> new ListService.Request(null,null,null);
-    protected final Supplier<ListService.Request> REQUEST_WITH_NUM_PAGE_LESS_THAN_ZERO = () -> new ListService.Request(-1, 10, "filter-1");
-    protected final Supplier<ListService.Request> REQUEST_WITH_SIZE_PAGE_LESS_THAN_ZERO = () -> new ListService.Request(0, -1, "filter-1");
-    protected final Function<Integer, ListService.Request> REQUEST_WITH_SIZE_PAGE_MORE_THAN_X = (sizePage) -> new ListService.Request(0, sizePage + 1, "filter-1");
-
-    protected final Supplier<List<AnyEntity>> LIST_ANY_ENTITY_SUCCESSFULLY = () -> {
-        var anyEntity1 = new AnyEntity();
-        anyEntity1.setId(UUID.randomUUID().toString());
-        anyEntity1.setCreated(LocalDateTime.now().plusDays(1));
-        anyEntity1.setLastUpdated(LocalDateTime.now().plusDays(3));
-        anyEntity1.setName("name 1");
-
-        var anyEntity2 = new AnyEntity();
-        anyEntity2.setId(UUID.randomUUID().toString());
-        anyEntity2.setCreated(LocalDateTime.now().plusDays(2));
-        anyEntity2.setLastUpdated(LocalDateTime.now().plusDays(5));
-        anyEntity2.setName("name 2");
-        
-        return List.of(anyEntity1, anyEntity2);
-    };
+    protected final Supplier<ListService.Request> REQUEST_WITH_ALL_ATTRS_NULL = () -> new ListService.Request(null,null,null,null);
+    protected final Supplier<ListService.Request> REQUEST_WITH_NUM_PAGE_LESS_THAN_ZERO = () -> new ListService.Request(-1, 10, "filter-1", null);
+    protected final Supplier<ListService.Request> REQUEST_WITH_SIZE_PAGE_LESS_THAN_ZERO = () -> new ListService.Request(0, -1, "filter-1", null);
+    protected final Function<Integer, ListService.Request> REQUEST_WITH_SIZE_PAGE_MORE_THAN_X = (sizePage) -> new ListService.Request(0, sizePage + 1, "filter-1", null);
+    protected final Supplier<String> CURSOR_SUCCESSFULLY = () -> Base64.getUrlEncoder().withoutPadding().encodeToString(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+    protected final Supplier<ListService.Request> REQUEST_WITH_CURSOR = () -> new ListService.Request(null, 2, "filter-1", CURSOR_SUCCESSFULLY.get());
+    protected final Supplier<ListService.Request> REQUEST_WITH_INVALID_CURSOR = () -> new ListService.Request(null, 10, "filter-1", "%%not-base64%%");
+    protected final Supplier<ListService.Request> REQUEST_WITH_NUM_PAGE_AND_CURSOR = () -> new ListService.Request(1, 10, "filter-1", CURSOR_SUCCESSFULLY.get());
+    protected final Supplier<ListService.Request> REQUEST_WITH_NAME_INDEX_FILTER = () -> new ListService.Request(0, 2, "name", null);
+    protected final Supplier<ListService.Request> REQUEST_WITH_NAME_INDEX_FILTER_AND_OFFSET_OVER_INT = () -> new ListService.Request(Integer.MAX_VALUE, 300, "name", null);
+    protected final Supplier<ListService.Request> REQUEST_WITH_NAME_INDEX_FILTER_AND_CURSOR = () -> new ListService.Request(null, 2, "name", "aWQtMw");
+    protected final Supplier<List<String>> LIST_ID_MATCHED_BY_NAME_INDEX = () -> List.of("id-3", "id-2", "id-1");
+    protected final Supplier<List<String>> LIST_ID_MATCHED_BY_NAME_INDEX_AFTER_CURSOR = () -> List.of("id-2", "id-1");
 
-    protected final Supplier<List<AnyEntity>> LIST_ANY_ENTITY_NULL = () -> null;
+    protected final Supplier<List<ListService.ResponseItem>> LIST_RESPONSE_ITEM_SUCCESSFULLY = () -> List.of(
+        new ListService.ResponseItem(UUID.randomUUID().toString(), "name 1"),
+        new ListService.ResponseItem(UUID.randomUUID().toString(), "name 2")
+    );
     
     
 }
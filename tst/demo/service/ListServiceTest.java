@@ -2,12 +2,19 @@ package demo.service;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
@@ -21,12 +28,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.server.ResponseStatusException;
 
 import demo.constant.ErrMessage;
-import demo.model.AnyEntity;
+import demo.metrics.LatencyHistograms;
 import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
 import demo.service.ListService.Request;
 import demo.service.ListService.ResponseItem;
 
@@ -36,6 +47,10 @@ import demo.service.ListService.ResponseItem;
  *{@link when_list} {
  *  {@link when_list#GIVEN_request_sucessfully_WHEN_list_SHOULD_run_all_steps_on_right_order()}
  *  {@link when_list#GIVEN_request_sucessfully_WHEN_list_SHOULD_run_sucessfully()}
+ *  {@link when_list#GIVEN_request_with_cursor_WHEN_list_SHOULD_seek_after_last_id_and_return_next_cursor()}
+ *  {@link when_list#GIVEN_filter_served_by_name_index_WHEN_list_SHOULD_load_only_ids_of_the_page()}
+ *  {@link when_list#GIVEN_filter_served_by_name_index_and_offset_over_int_WHEN_list_SHOULD_return_empty_last_page()}
+ *  {@link when_list#GIVEN_filter_served_by_name_index_and_cursor_WHEN_list_SHOULD_search_only_below_last_id()}
  *}
  *{@link when_validateRequest} {
  *  {@link when_validateRequest#GIVEN_request_null_WHEN_validateRequest_SHOULD_throw_internal_server_error()}
@@ -44,15 +59,17 @@ import demo.service.ListService.ResponseItem;
  *  {@link when_validateRequest#GIVEN_request_with_numPage_less_than_zero_WHEN_validateRequest_SHOULD_throw_bad_request()}
  *  {@link when_validateRequest#GIVEN_request_with_sizePage_less_than_zero_WHEN_validateRequest_SHOULD_throw_bad_request()}
  *  {@link when_validateRequest#GIVEN_request_with_sizePage_more_than_max_allowed_WHEN_validateRequest_SHOULD_throw_bad_request()}
- *}
-*{@link when_convertListEntityToListResponse} {
- *  {@link when_convertListEntityToListResponse#GIVEN_list_entity_null_WHEN_convertListEntityToListResponset_SHOULD_return_nonnull_and_empty_response()}
- *  {@link when_convertListEntityToListResponse#GIVEN_list_entity_sucessfully_WHEN_convertListEntityToListResponset_SHOULD_return_response_successfully()}
+ *  {@link when_validateRequest#GIVEN_request_with_invalid_cursor_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_with_numPage_and_cursor_WHEN_validateRequest_SHOULD_throw_bad_request()}
  *}
  *{@link when_handleRequestPagination} {
  *  {@link when_handleRequestPagination#GIVEN_request_with_numPage_and_sizePage_more_than_ZERO_WHEN_handleRequestPagination_SHOULD_return_request_successfully()}
  *  {@link when_handleRequestPagination#GIVEN_request_with_numPage_and_sizePage_null_WHEN_handleRequestPagination_SHOULD_return_request_with_default_values()}
  *}
+ *{@link when_buildResponse} {
+ *  {@link when_buildResponse#GIVEN_page_with_next_WHEN_buildResponse_SHOULD_return_cursor_of_last_item()}
+ *  {@link when_buildResponse#GIVEN_last_page_WHEN_buildResponse_SHOULD_return_no_cursor()}
+ *}
  * </pre>
  */
 @ExtendWith(MockitoExtension.class)
@@ -65,6 +82,12 @@ final class ListServiceTest extends ListServiceFixture {
     @Mock
     AnyRepository anyRepositoryMock;
 
+    @Mock
+    LatencyHistograms latencyHistogramsMock;
+
+    @Mock
+    NameTrigramIndex nameTrigramIndexMock;
+
     /**
      *  testing all scenarios from {@link ListService#list(demo.service.ListService.Request) }
      */
@@ -75,29 +98,29 @@ final class ListServiceTest extends ListServiceFixture {
         @Test
         void GIVEN_request_sucessfully_WHEN_list_SHOULD_run_sucessfully(){
 
-            final List<AnyEntity> listEntityGotFromDatabase = LIST_ANY_ENTITY_SUCCESSFULLY.get();
+            final List<ResponseItem> listItemGotFromDatabase = LIST_RESPONSE_ITEM_SUCCESSFULLY.get();
             final Request requestIdInput = REQUEST_SUCCESSFULLY.get();
 
-            when(anyRepositoryMock.listByFilter(anyInt(), anyInt(), anyString())).thenReturn(listEntityGotFromDatabase);
+            when(anyRepositoryMock.listByFilter(anyInt(), anyInt(), anyString(), eq(ResponseItem.class))).thenReturn(new SliceImpl<>(listItemGotFromDatabase));
 
-            final List<ResponseItem> expectedResponse = listService.list(requestIdInput);
+            final List<ResponseItem> expectedResponse = listService.list(requestIdInput).items();
 
             assertNotNull(expectedResponse);
             assertEquals(2, expectedResponse.size());
-            assertEquals(listEntityGotFromDatabase.get(0).getId(), expectedResponse.get(0).id());
-            assertEquals(listEntityGotFromDatabase.get(0).getName(), expectedResponse.get(0).name());
-            assertEquals(listEntityGotFromDatabase.get(1).getId(), expectedResponse.get(1).id());
-            assertEquals(listEntityGotFromDatabase.get(1).getName(), expectedResponse.get(1).name());
+            assertEquals(listItemGotFromDatabase.get(0).id(), expectedResponse.get(0).id());
+            assertEquals(listItemGotFromDatabase.get(0).name(), expectedResponse.get(0).name());
+            assertEquals(listItemGotFromDatabase.get(1).id(), expectedResponse.get(1).id());
+            assertEquals(listItemGotFromDatabase.get(1).name(), expectedResponse.get(1).name());
  
         }
 
         @Test
         void GIVEN_request_sucessfully_WHEN_list_SHOULD_run_all_steps_on_right_order(){
 
-            final List<AnyEntity> listEntityGotFromDatabase = LIST_ANY_ENTITY_SUCCESSFULLY.get();
+            final List<ResponseItem> listItemGotFromDatabase = LIST_RESPONSE_ITEM_SUCCESSFULLY.get();
             final ListService.Request requestIdInput = REQUEST_SUCCESSFULLY.get();
 
-            when(anyRepositoryMock.listByFilter(anyInt(), anyInt(), anyString())).thenReturn(listEntityGotFromDatabase);
+            when(anyRepositoryMock.listByFilter(anyInt(), anyInt(), anyString(), eq(ResponseItem.class))).thenReturn(new SliceImpl<>(listItemGotFromDatabase));
     
             InOrder inOrder = inOrder(listService);
             
@@ -106,10 +129,78 @@ final class ListServiceTest extends ListServiceFixture {
             inOrder.verify(listService).validateRequest(any(Request.class));
             inOrder.verify(listService).handleRequestPagination(any(Request.class));
             inOrder.verify(listService).listEntity(any(Request.class));
-            inOrder.verify(listService).convertListEntityToListResponse(ArgumentMatchers.<List<AnyEntity>>any());
+            inOrder.verify(listService).buildResponse(ArgumentMatchers.<List<ResponseItem>>any(), anyBoolean());
             
         }
 
+        @Test
+        void GIVEN_request_with_cursor_WHEN_list_SHOULD_seek_after_last_id_and_return_next_cursor(){
+
+            final List<ResponseItem> listItemGotFromDatabase = LIST_RESPONSE_ITEM_SUCCESSFULLY.get();
+            final Request requestWithCursor = REQUEST_WITH_CURSOR.get();
+            final String lastIdFromCursor = listService.decodeCursor(requestWithCursor.cursor());
+
+            when(anyRepositoryMock.listByFilterAfterId(lastIdFromCursor, requestWithCursor.sizePage(), requestWithCursor.filter(), ResponseItem.class)).thenReturn(new SliceImpl<>(listItemGotFromDatabase, PageRequest.of(0, requestWithCursor.sizePage()), true));
+
+            final ListService.Response expectedResponse = listService.list(requestWithCursor);
+
+            verify(anyRepositoryMock, never()).listByFilter(anyInt(), anyInt(), anyString(), eq(ResponseItem.class));
+            assertEquals(2, expectedResponse.items().size());
+            assertTrue(expectedResponse.hasNext());
+            assertEquals(listItemGotFromDatabase.get(1).id(), listService.decodeCursor(expectedResponse.nextCursor()));
+        }
+
+        @Test
+        void GIVEN_filter_served_by_name_index_WHEN_list_SHOULD_load_only_ids_of_the_page(){
+
+            final Request requestWithFilter = REQUEST_WITH_NAME_INDEX_FILTER.get();
+            final List<String> idsMatchedByIndex = LIST_ID_MATCHED_BY_NAME_INDEX.get();
+            final List<String> idsOfFirstPage = idsMatchedByIndex.subList(0, requestWithFilter.sizePage());
+            final List<ResponseItem> listItemGotFromDatabase = LIST_RESPONSE_ITEM_SUCCESSFULLY.get();
+
+            when(nameTrigramIndexMock.canServe(requestWithFilter.filter())).thenReturn(true);
+            when(nameTrigramIndexMock.search(requestWithFilter.filter(), null, requestWithFilter.sizePage() + 1)).thenReturn(idsMatchedByIndex);
+            when(anyRepositoryMock.findByIdIn(eq(idsOfFirstPage), any(Sort.class), eq(ResponseItem.class))).thenReturn(listItemGotFromDatabase);
+
+            final ListService.Response expectedResponse = listService.list(requestWithFilter);
+
+            verify(anyRepositoryMock, never()).listByFilter(anyInt(), anyInt(), anyString(), eq(ResponseItem.class));
+            assertEquals(listItemGotFromDatabase, expectedResponse.items());
+            assertTrue(expectedResponse.hasNext());
+        }
+
+        @Test
+        void GIVEN_filter_served_by_name_index_and_offset_over_int_WHEN_list_SHOULD_return_empty_last_page(){
+
+            final Request requestWithFilter = REQUEST_WITH_NAME_INDEX_FILTER_AND_OFFSET_OVER_INT.get();
+
+            when(nameTrigramIndexMock.canServe(requestWithFilter.filter())).thenReturn(true);
+            when(nameTrigramIndexMock.search(requestWithFilter.filter(), null, Integer.MAX_VALUE)).thenReturn(LIST_ID_MATCHED_BY_NAME_INDEX.get());
+
+            final ListService.Response expectedResponse = listService.list(requestWithFilter);
+
+            verify(anyRepositoryMock, never()).findByIdIn(any(), any(Sort.class), eq(ResponseItem.class));
+            assertTrue(expectedResponse.items().isEmpty());
+            assertFalse(expectedResponse.hasNext());
+        }
+
+        @Test
+        void GIVEN_filter_served_by_name_index_and_cursor_WHEN_list_SHOULD_search_only_below_last_id(){
+
+            final Request requestWithCursor = REQUEST_WITH_NAME_INDEX_FILTER_AND_CURSOR.get();
+            final List<String> idsMatchedAfterCursor = LIST_ID_MATCHED_BY_NAME_INDEX_AFTER_CURSOR.get();
+            final List<ResponseItem> listItemGotFromDatabase = LIST_RESPONSE_ITEM_SUCCESSFULLY.get();
+
+            when(nameTrigramIndexMock.canServe(requestWithCursor.filter())).thenReturn(true);
+            when(nameTrigramIndexMock.search(requestWithCursor.filter(), listService.decodeCursor(requestWithCursor.cursor()), requestWithCursor.sizePage() + 1)).thenReturn(idsMatchedAfterCursor);
+            when(anyRepositoryMock.findByIdIn(eq(idsMatchedAfterCursor), any(Sort.class), eq(ResponseItem.class))).thenReturn(listItemGotFromDatabase);
+
+            final ListService.Response expectedResponse = listService.list(requestWithCursor);
+
+            assertEquals(listItemGotFromDatabase, expectedResponse.items());
+            assertFalse(expectedResponse.hasNext());
+        }
+
       
     }
 
@@ -219,42 +310,57 @@ final class ListServiceTest extends ListServiceFixture {
             assertEquals(ErrMessage.SIZEPAGE_MUST_BE_LESS_THAN_X.get(maxSizePageAllowed), expectedException.getBody().getDetail());
         }
 
+        @Test
+        void GIVEN_request_with_invalid_cursor_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final ListService.Request requestWithInvalidCursor = REQUEST_WITH_INVALID_CURSOR.get();
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> listService.validateRequest(requestWithInvalidCursor));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.CURSOR_IS_INVALID.get(), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_with_numPage_and_cursor_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final ListService.Request requestWithNumPageAndCursor = REQUEST_WITH_NUM_PAGE_AND_CURSOR.get();
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> listService.validateRequest(requestWithNumPageAndCursor));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.NUMPAGE_CANNOT_BE_USED_WITH_CURSOR.get(), expectedException.getBody().getDetail());
+        }
+
     }
 
     /**
-     *  testing all scenarios from {@link ListService#convertListEntityToListResponse(java.util.List)}
+     *  testing all scenarios from {@link ListService#buildResponse(List, boolean)}
      */
     @Nested
-    class when_convertListEntityToListResponse {
-
-         @Test
-        void GIVEN_list_entity_sucessfully_WHEN_convertListEntityToListResponset_SHOULD_return_response_successfully(){
+    class when_buildResponse {
 
-            final List<AnyEntity> listEntitySucessfully = LIST_ANY_ENTITY_SUCCESSFULLY.get();
-      
-            final List<ResponseItem> expectedResponse = listService.convertListEntityToListResponse(listEntitySucessfully);
+        @Test
+        void GIVEN_page_with_next_WHEN_buildResponse_SHOULD_return_cursor_of_last_item(){
+            final List<ResponseItem> pageWithNext = LIST_RESPONSE_ITEM_SUCCESSFULLY.get();
 
-            assertNotNull(expectedResponse);
-            assertEquals(2, expectedResponse.size());
-            assertEquals(listEntitySucessfully.get(0).getId(), expectedResponse.get(0).id());
-            assertEquals(listEntitySucessfully.get(0).getName(), expectedResponse.get(0).name());
-            assertEquals(listEntitySucessfully.get(1).getId(), expectedResponse.get(1).id());
-            assertEquals(listEntitySucessfully.get(1).getName(), expectedResponse.get(1).name());
+            final ListService.Response expectedResponse = listService.buildResponse(pageWithNext, true);
 
+            assertEquals(pageWithNext, expectedResponse.items());
+            assertTrue(expectedResponse.hasNext());
+            assertEquals(pageWithNext.get(1).id(), listService.decodeCursor(expectedResponse.nextCursor()));
         }
 
         @Test
-        void GIVEN_list_entity_null_WHEN_convertListEntityToListResponset_SHOULD_return_nonnull_and_empty_response(){
-            final List<AnyEntity> listEntitySucessfully = LIST_ANY_ENTITY_NULL.get();
-            final List<ResponseItem> expectedResponse = listService.convertListEntityToListResponse(listEntitySucessfully);
-            assertNotNull(expectedResponse);
-            assertEquals(0, expectedResponse.size());
-        }
+        void GIVEN_last_page_WHEN_buildResponse_SHOULD_return_no_cursor(){
+            final List<ResponseItem> lastPage = LIST_RESPONSE_ITEM_SUCCESSFULLY.get();
 
-      
-    }
+            final ListService.Response expectedResponse = listService.buildResponse(lastPage, false);
 
+            assertEquals(lastPage, expectedResponse.items());
+            assertFalse(expectedResponse.hasNext());
+            assertNull(expectedResponse.nextCursor());
+        }
+    }
 
-   
-    
 }
@@ -0,0 +1,260 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.constant.ErrMessage;
+import demo.metrics.LatencyHistograms;
+import demo.model.AnyEntity;
+import demo.repository.AnyRepository;
+
+/**
+ * <p>Tests of {@link MultiGetService}</p>
+ * <pre>
+ *{@link when_multiGet} {
+ *  {@link when_multiGet#GIVEN_some_ids_not_found_WHEN_multiGet_SHOULD_keep_request_order_and_report_missing_ids()}
+ *  {@link when_multiGet#GIVEN_request_sucessfully_WHEN_multiGet_SHOULD_run_all_steps_on_right_order()}
+ *  {@link when_multiGet#GIVEN_cached_id_WHEN_multiGet_SHOULD_not_query_it()}
+ *  {@link when_multiGet#GIVEN_id_absent_from_filter_WHEN_multiGet_SHOULD_report_it_missing_without_query()}
+ *  {@link when_multiGet#GIVEN_duplicate_ids_WHEN_multiGet_SHOULD_query_once_and_return_one_item_per_requested_id()}
+ *  {@link when_multiGet#GIVEN_ids_past_filter_not_in_database_WHEN_multiGet_SHOULD_record_one_false_positive_each()}
+ *}
+ *{@link when_getResponsesFromDatabase} {
+ *  {@link when_getResponsesFromDatabase#GIVEN_more_ids_than_chunk_size_WHEN_getResponsesFromDatabase_SHOULD_query_one_chunk_at_a_time()}
+ *}
+ *{@link when_validateRequest} {
+ *  {@link when_validateRequest#GIVEN_request_sucessfully_WHEN_validateRequest_SHOULD_not_throw_any_exception()}
+ *  {@link when_validateRequest#GIVEN_request_null_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_with_empty_ids_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_with_more_ids_than_max_allowed_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *  {@link when_validateRequest#GIVEN_request_with_blank_id_WHEN_validateRequest_SHOULD_throw_bad_request()}
+ *}
+ * </pre>
+ */
+@ExtendWith(MockitoExtension.class)
+final class MultiGetServiceTest extends MultiGetServiceTestFixture {
+
+    @InjectMocks 
+    @Spy
+    MultiGetService multiGetService;
+    
+    @Mock
+    AnyRepository anyRepositoryMock;
+
+    @Mock
+    LatencyHistograms latencyHistogramsMock;
+
+    @Mock
+    GetByIdCache getByIdCacheMock;
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    IdCuckooFilter idCuckooFilterMock;
+
+    @BeforeEach
+    void every_id_might_exist(){
+        when(idCuckooFilterMock.mightContain(anyString())).thenReturn(true);
+    }
+
+    /**
+     *  testing all scenarios from {@link MultiGetService#multiGet(MultiGetService.Request)}
+     */
+    @Nested
+    class when_multiGet {
+
+        @Test
+        void GIVEN_some_ids_not_found_WHEN_multiGet_SHOULD_keep_request_order_and_report_missing_ids(){
+
+            final List<String> idsRequested = LIST_RANDOM_IDS.apply(4);
+            final List<AnyEntity> entitiesFoundInAnyOrder = List.of(ANY_ENTITY_WITH_ID.apply(idsRequested.get(2)), ANY_ENTITY_WITH_ID.apply(idsRequested.get(0)));
+
+            when(anyRepositoryMock.findAllById(idsRequested)).thenReturn(entitiesFoundInAnyOrder);
+
+            final MultiGetService.Response expectedResponse = multiGetService.multiGet(REQUEST_WITH_IDS.apply(idsRequested));
+
+            assertEquals(List.of(idsRequested.get(0), idsRequested.get(2)), expectedResponse.items().stream().map(GetByIdService.Response::id).toList());
+            assertEquals(List.of(idsRequested.get(1), idsRequested.get(3)), expectedResponse.missingIds());
+        }
+
+        @Test
+        void GIVEN_request_sucessfully_WHEN_multiGet_SHOULD_run_all_steps_on_right_order(){
+
+            final List<String> idsRequested = LIST_RANDOM_IDS.apply(2);
+
+            InOrder inOrder = inOrder(multiGetService);
+
+            multiGetService.multiGet(REQUEST_WITH_IDS.apply(idsRequested));
+
+            inOrder.verify(multiGetService).validateRequest(any(MultiGetService.Request.class));
+            inOrder.verify(multiGetService).distinctIds(any(MultiGetService.Request.class));
+            inOrder.verify(multiGetService).getCachedResponses(anyList());
+            inOrder.verify(multiGetService).getResponsesFromDatabase(anyList());
+            inOrder.verify(multiGetService).buildResponse(anyList(), ArgumentMatchers.<Map<String, GetByIdService.Response>>any());
+        }
+
+        @Test
+        void GIVEN_cached_id_WHEN_multiGet_SHOULD_not_query_it(){
+
+            final List<String> idsRequested = LIST_RANDOM_IDS.apply(2);
+            final GetByIdService.Response cachedResponse = multiGetService.convertEntityToResponse(ANY_ENTITY_WITH_ID.apply(idsRequested.get(0)));
+
+            when(getByIdCacheMock.getIfPresent(idsRequested.get(0))).thenReturn(cachedResponse);
+            when(anyRepositoryMock.findAllById(List.of(idsRequested.get(1)))).thenReturn(List.of(ANY_ENTITY_WITH_ID.apply(idsRequested.get(1))));
+
+            final MultiGetService.Response expectedResponse = multiGetService.multiGet(REQUEST_WITH_IDS.apply(idsRequested));
+
+            assertEquals(idsRequested, expectedResponse.items().stream().map(GetByIdService.Response::id).toList());
+            verify(anyRepositoryMock, never()).findAllById(List.of(idsRequested.get(0)));
+        }
+
+        @Test
+        void GIVEN_id_absent_from_filter_WHEN_multiGet_SHOULD_report_it_missing_without_query(){
+
+            final List<String> idsRequested = LIST_RANDOM_IDS.apply(2);
+
+            when(idCuckooFilterMock.mightContain(idsRequested.get(0))).thenReturn(false);
+            when(anyRepositoryMock.findAllById(List.of(idsRequested.get(1)))).thenReturn(List.of(ANY_ENTITY_WITH_ID.apply(idsRequested.get(1))));
+
+            final MultiGetService.Response expectedResponse = multiGetService.multiGet(REQUEST_WITH_IDS.apply(idsRequested));
+
+            assertEquals(List.of(idsRequested.get(0)), expectedResponse.missingIds());
+            verify(anyRepositoryMock, times(1)).findAllById(List.of(idsRequested.get(1)));
+            verify(idCuckooFilterMock, never()).recordFalsePositive();
+        }
+
+        @Test
+        void GIVEN_duplicate_ids_WHEN_multiGet_SHOULD_query_once_and_return_one_item_per_requested_id(){
+
+            final List<String> ids = LIST_RANDOM_IDS.apply(2);
+            final List<String> idsRequestedWithDuplicates = List.of(ids.get(0), ids.get(1), ids.get(0));
+
+            when(anyRepositoryMock.findAllById(ids)).thenReturn(List.of(ANY_ENTITY_WITH_ID.apply(ids.get(1)), ANY_ENTITY_WITH_ID.apply(ids.get(0))));
+
+            final MultiGetService.Response expectedResponse = multiGetService.multiGet(REQUEST_WITH_IDS.apply(idsRequestedWithDuplicates));
+
+            assertEquals(idsRequestedWithDuplicates, expectedResponse.items().stream().map(GetByIdService.Response::id).toList());
+            verify(anyRepositoryMock, times(1)).findAllById(anyList());
+        }
+
+        @Test
+        void GIVEN_ids_past_filter_not_in_database_WHEN_multiGet_SHOULD_record_one_false_positive_each(){
+
+            final List<String> idsRequested = LIST_RANDOM_IDS.apply(3);
+
+            when(anyRepositoryMock.findAllById(idsRequested)).thenReturn(List.of(ANY_ENTITY_WITH_ID.apply(idsRequested.get(1))));
+
+            multiGetService.multiGet(REQUEST_WITH_IDS.apply(idsRequested));
+
+            verify(idCuckooFilterMock, times(2)).recordFalsePositive();
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link MultiGetService#getResponsesFromDatabase(List)}
+     */
+    @Nested
+    class when_getResponsesFromDatabase {
+
+        @Test
+        void GIVEN_more_ids_than_chunk_size_WHEN_getResponsesFromDatabase_SHOULD_query_one_chunk_at_a_time(){
+
+            final int inChunkSize = 2;
+            final List<String> idsRequested = LIST_RANDOM_IDS.apply(5);
+
+            when(multiGetService.inChunkSize()).thenReturn(inChunkSize);
+
+            multiGetService.getResponsesFromDatabase(idsRequested);
+
+            verify(anyRepositoryMock, times(3)).findAllById(anyList());
+            verify(anyRepositoryMock).findAllById(idsRequested.subList(4, 5));
+        }
+    }
+
+    /**
+     *  testing all scenarios from {@link MultiGetService#validateRequest(MultiGetService.Request)}
+     */
+    @Nested
+    class when_validateRequest {
+
+        @Test
+        void GIVEN_request_sucessfully_WHEN_validateRequest_SHOULD_not_throw_any_exception(){
+            final MultiGetService.Request requestInput = REQUEST_WITH_IDS.apply(LIST_RANDOM_IDS.apply(3));
+            assertDoesNotThrow(() -> multiGetService.validateRequest(requestInput));
+        }
+
+        @Test
+        void GIVEN_request_null_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final MultiGetService.Request requestNull = REQUEST_NULL.get();
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> multiGetService.validateRequest(requestNull));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.BODY_NOT_FOUND.get(), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_with_empty_ids_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final MultiGetService.Request requestWithEmptyIds = REQUEST_WITH_EMPTY_IDS.get();
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> multiGetService.validateRequest(requestWithEmptyIds));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.IDS_IS_REQUIRED.get(), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_with_more_ids_than_max_allowed_WHEN_validateRequest_SHOULD_throw_bad_request(){
+
+            final int maxIdsAllowed = 5;
+
+            when(multiGetService.maxIdsAllowed()).thenReturn(maxIdsAllowed);
+
+            final MultiGetService.Request requestWithTooManyIds = REQUEST_WITH_IDS.apply(LIST_RANDOM_IDS.apply(maxIdsAllowed + 1));
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> multiGetService.validateRequest(requestWithTooManyIds));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.IDS_MUST_BE_LESS_THAN_X.get(maxIdsAllowed), expectedException.getBody().getDetail());
+        }
+
+        @Test
+        void GIVEN_request_with_blank_id_WHEN_validateRequest_SHOULD_throw_bad_request(){
+            final MultiGetService.Request requestWithBlankId = REQUEST_WITH_BLANK_ID.get();
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> multiGetService.validateRequest(requestWithBlankId));
+
+            final int expectedHttpStatus = 400;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.ID_IS_REQUIRED.get(), expectedException.getBody().getDetail());
+        }
+    }
+
+}
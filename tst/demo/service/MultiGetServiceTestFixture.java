@@ -0,0 +1,36 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import demo.model.AnyEntity;
+
+abstract sealed class MultiGetServiceTestFixture permits MultiGetServiceTest {
+
+    protected final Function<String, AnyEntity> ANY_ENTITY_WITH_ID = (id) -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setId(id);
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        anyEntity.setName("name of " + id);
+        return anyEntity;
+    };
+
+    protected final Function<Integer, List<String>> LIST_RANDOM_IDS = (size) -> IntStream.range(0, size).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+    protected final Function<List<String>, MultiGetService.Request> REQUEST_WITH_IDS = MultiGetService.Request::new;
+    protected final Supplier<MultiGetService.Request> REQUEST_NULL = () -> null;
+    protected final Supplier<MultiGetService.Request> REQUEST_WITH_EMPTY_IDS = () -> new MultiGetService.Request(Collections.emptyList());
+    protected final Supplier<MultiGetService.Request> REQUEST_WITH_BLANK_ID = () -> {
+        final List<String> ids = new ArrayList<>(LIST_RANDOM_IDS.apply(2));
+        ids.add("      ");
+        return new MultiGetService.Request(ids);
+    };
+
+}
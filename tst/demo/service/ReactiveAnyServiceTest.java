@@ -0,0 +1,302 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.App;
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.constant.ErrMessage;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import demo.repository.ReactiveAnyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * <p>Tests of {@link ReactiveAnyService} on R2DBC, against the in-memory database whose schema Hibernate creates</p>
+ * <pre>
+ *{@link when_create} {
+ *  {@link when_create#GIVEN_valid_request_WHEN_create_SHOULD_insert_entity()}
+ *  {@link when_create#GIVEN_blank_name_WHEN_create_SHOULD_signal_same_error_as_CreateService()}
+ *}
+ *{@link when_list} {
+ *  {@link when_list#GIVEN_more_entities_than_page_WHEN_list_SHOULD_return_page_and_cursor_to_next_page()}
+ *  {@link when_list#GIVEN_filter_WHEN_list_SHOULD_return_only_matching_entities()}
+ *  {@link when_list#GIVEN_sizePage_over_max_WHEN_list_SHOULD_signal_same_error_as_ListService()}
+ *}
+ *{@link when_streamList} {
+ *  {@link when_streamList#GIVEN_more_entities_than_page_WHEN_streamList_SHOULD_emit_page_newest_first()}
+ *}
+ *{@link when_getById} {
+ *  {@link when_getById#GIVEN_existing_id_WHEN_getById_SHOULD_return_entity()}
+ *  {@link when_getById#GIVEN_missing_id_WHEN_getById_SHOULD_signal_not_found()}
+ *}
+ *{@link when_updateById} {
+ *  {@link when_updateById#GIVEN_no_if_match_WHEN_updateById_SHOULD_update_and_increment_version()}
+ *  {@link when_updateById#GIVEN_current_etag_WHEN_updateById_SHOULD_update()}
+ *  {@link when_updateById#GIVEN_stale_or_weak_etag_WHEN_updateById_SHOULD_signal_precondition_failed()}
+ *  {@link when_updateById#GIVEN_missing_id_WHEN_updateById_SHOULD_signal_not_found()}
+ *}
+ *{@link when_removeById} {
+ *  {@link when_removeById#GIVEN_existing_id_WHEN_removeById_SHOULD_delete_entity()}
+ *  {@link when_removeById#GIVEN_missing_id_WHEN_removeById_SHOULD_signal_not_found()}
+ *}
+ * </pre>
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles(App.PROFILE_REACTIVE)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:reactive-test",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "app.r2dbc-url=r2dbc:h2:mem:///reactive-test",
+    "app.default-size-page=10",
+    "app.get-by-id-cache-size=100",
+    "app.update-retry-max-attempts=1",
+    "app.update-retry-base-backoff-millis=1"
+})
+@Import({ReactiveAnyService.class, ReactiveAnyRepository.class, CreateService.class, ListService.class, GetByIdService.class, UpdateByIdService.class,
+    RemoveByIdService.class, GetByIdCache.class, IdCuckooFilter.class, NameTrigramIndex.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class ReactiveAnyServiceTest extends ReactiveAnyServiceTestFixture {
+
+    @Autowired ReactiveAnyService reactiveAnyService;
+    @Autowired AnyRepository anyRepository;
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    private String saveEntity(String name){
+        return anyRepository.save(NEW_ANY_ENTITY.apply(name)).getId();
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyService#create(CreateService.Request)}
+     */
+    @Nested
+    class when_create {
+
+        @Test
+        void GIVEN_valid_request_WHEN_create_SHOULD_insert_entity(){
+
+            final CreateService.Response response = reactiveAnyService.create(new CreateService.Request(NAME)).block();
+
+            assertEquals(NAME, anyRepository.findById(response.id()).orElseThrow().getName());
+            assertEquals(0, anyRepository.findById(response.id()).orElseThrow().getVersion());
+        }
+
+        @Test
+        void GIVEN_blank_name_WHEN_create_SHOULD_signal_same_error_as_CreateService(){
+
+            final ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> reactiveAnyService.create(new CreateService.Request(" ")).block());
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+            assertEquals(ErrMessage.NAME_IS_REQUIRED.get(), exception.getReason());
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyService#list(ListService.Request)}
+     */
+    @Nested
+    class when_list {
+
+        @Test
+        void GIVEN_more_entities_than_page_WHEN_list_SHOULD_return_page_and_cursor_to_next_page(){
+
+            final String oldestId = saveEntity(NAME);
+            final String middleId = saveEntity(NAME);
+            final String newestId = saveEntity(NAME);
+
+            final ListService.Response firstPage = reactiveAnyService.list(new ListService.Request(null, SIZE_PAGE, null, null)).block();
+            final ListService.Response nextPage = reactiveAnyService.list(new ListService.Request(null, SIZE_PAGE, null, firstPage.nextCursor())).block();
+
+            assertEquals(List.of(newestId, middleId), firstPage.items().stream().map(ListService.ResponseItem::id).toList());
+            assertTrue(firstPage.hasNext());
+            assertEquals(List.of(oldestId), nextPage.items().stream().map(ListService.ResponseItem::id).toList());
+            assertFalse(nextPage.hasNext());
+            assertNull(nextPage.nextCursor());
+        }
+
+        @Test
+        void GIVEN_filter_WHEN_list_SHOULD_return_only_matching_entities(){
+
+            saveEntity(NAME);
+            final String matchingId = saveEntity(NAME + " " + FILTER);
+
+            final ListService.Response response = reactiveAnyService.list(new ListService.Request(0, SIZE_PAGE, FILTER, null)).block();
+
+            assertEquals(List.of(new ListService.ResponseItem(matchingId, NAME + " " + FILTER)), response.items());
+            assertFalse(response.hasNext());
+        }
+
+        @Test
+        void GIVEN_sizePage_over_max_WHEN_list_SHOULD_signal_same_error_as_ListService(){
+
+            final ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> reactiveAnyService.list(new ListService.Request(0, 301, null, null)).block());
+
+            assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+            assertEquals(ErrMessage.SIZEPAGE_MUST_BE_LESS_THAN_X.get(300), exception.getReason());
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyService#streamList(ListService.Request)}
+     */
+    @Nested
+    class when_streamList {
+
+        @Test
+        void GIVEN_more_entities_than_page_WHEN_streamList_SHOULD_emit_page_newest_first(){
+
+            saveEntity(NAME);
+            final String middleId = saveEntity(NAME);
+            final String newestId = saveEntity(NAME);
+
+            final List<ListService.ResponseItem> items = reactiveAnyService.streamList(new ListService.Request(0, SIZE_PAGE, null, null)).collectList().block();
+
+            assertEquals(List.of(newestId, middleId), items.stream().map(ListService.ResponseItem::id).toList());
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyService#getById(String)}
+     */
+    @Nested
+    class when_getById {
+
+        @Test
+        void GIVEN_existing_id_WHEN_getById_SHOULD_return_entity(){
+
+            final String id = saveEntity(NAME);
+
+            final GetByIdService.Response response = reactiveAnyService.getById(id).block();
+
+            assertEquals(id, response.id());
+            assertEquals(NAME, response.name());
+            assertEquals(0, response.version());
+        }
+
+        @Test
+        void GIVEN_missing_id_WHEN_getById_SHOULD_signal_not_found(){
+
+            final ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> reactiveAnyService.getById(ID_NOT_FOUND).block());
+
+            assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+            assertEquals(ErrMessage.ID_NOT_FOUND.get(ID_NOT_FOUND), exception.getReason());
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyService#updateById(String, UpdateByIdService.Request, String)}
+     */
+    @Nested
+    class when_updateById {
+
+        @Test
+        void GIVEN_no_if_match_WHEN_updateById_SHOULD_update_and_increment_version(){
+
+            final String id = saveEntity(NAME);
+
+            reactiveAnyService.updateById(id, new UpdateByIdService.Request(NAME_UPDATED), null).block();
+
+            assertEquals(NAME_UPDATED, anyRepository.findById(id).orElseThrow().getName());
+            assertEquals(1, anyRepository.findById(id).orElseThrow().getVersion());
+        }
+
+        @Test
+        void GIVEN_current_etag_WHEN_updateById_SHOULD_update(){
+
+            final String id = saveEntity(NAME);
+            final String etag = GetByIdService.versionOf(reactiveAnyService.getById(id).block()).etag();
+
+            reactiveAnyService.updateById(id, new UpdateByIdService.Request(NAME_UPDATED), etag).block();
+
+            assertEquals(NAME_UPDATED, anyRepository.findById(id).orElseThrow().getName());
+        }
+
+        @Test
+        void GIVEN_stale_or_weak_etag_WHEN_updateById_SHOULD_signal_precondition_failed(){
+
+            final String id = saveEntity(NAME);
+
+            for(String ifMatch : List.of(STALE_ETAG, WEAK_ETAG)) {
+                final ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                        () -> reactiveAnyService.updateById(id, new UpdateByIdService.Request(NAME_UPDATED), ifMatch).block());
+
+                assertEquals(HttpStatus.PRECONDITION_FAILED, exception.getStatusCode());
+            }
+            assertEquals(NAME, anyRepository.findById(id).orElseThrow().getName());
+        }
+
+        @Test
+        void GIVEN_missing_id_WHEN_updateById_SHOULD_signal_not_found(){
+
+            for(String ifMatch : new String[]{null, STALE_ETAG}) {
+                final ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                        () -> reactiveAnyService.updateById(ID_NOT_FOUND, new UpdateByIdService.Request(NAME_UPDATED), ifMatch).block());
+
+                assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+            }
+        }
+
+    }
+
+    /**
+     *  testing all scenarios from {@link ReactiveAnyService#removeById(String)}
+     */
+    @Nested
+    class when_removeById {
+
+        @Test
+        void GIVEN_existing_id_WHEN_removeById_SHOULD_delete_entity(){
+
+            final String id = saveEntity(NAME);
+
+            reactiveAnyService.removeById(id).block();
+
+            assertFalse(anyRepository.existsById(id));
+        }
+
+        @Test
+        void GIVEN_missing_id_WHEN_removeById_SHOULD_signal_not_found(){
+
+            final ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                    () -> reactiveAnyService.removeById(ID_NOT_FOUND).block());
+
+            assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        }
+
+    }
+
+}
@@ -0,0 +1,26 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import demo.model.AnyEntity;
+
+abstract sealed class ReactiveAnyServiceTestFixture permits ReactiveAnyServiceTest {
+
+    protected final String NAME = "reactive entity";
+    protected final String NAME_UPDATED = "reactive entity updated";
+    protected final String FILTER = "match";
+    protected final String ID_NOT_FOUND = "00000000-0000-7000-8000-000000000000";
+    protected final String STALE_ETAG = "\"41\"";
+    protected final String WEAK_ETAG = "W/\"0\"";
+    protected final int SIZE_PAGE = 2;
+
+    protected final Function<String, AnyEntity> NEW_ANY_ENTITY = (name) -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName(name);
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+}
@@ -0,0 +1,110 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * <p>Regression tests of the SQL statements issued per {@link RemoveByIdService#removeById(String)} request</p>
+ * <pre>
+ *{@link when_removeById} {
+ *  {@link when_removeById#GIVEN_existing_id_WHEN_removeById_SHOULD_issue_a_single_statement()}
+ *  {@link when_removeById#GIVEN_id_missing_but_in_filter_WHEN_removeById_SHOULD_issue_a_single_statement()}
+ *  {@link when_removeById#GIVEN_id_absent_from_filter_WHEN_removeById_SHOULD_issue_no_statement()}
+ *}
+ * </pre>
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true"})
+@TestPropertySource(properties = {"app.get-by-id-cache-size=100"})
+@Import({RemoveByIdService.class, GetByIdCache.class, IdCuckooFilter.class, NameTrigramIndex.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class RemoveByIdServiceStatementCountTest extends RemoveByIdServiceStatementCountTestFixture {
+
+    @Autowired RemoveByIdService removeByIdService;
+    @Autowired IdCuckooFilter idCuckooFilter;
+    @Autowired AnyRepository anyRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics(){
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    /**
+     *  testing the statements issued by {@link RemoveByIdService#removeById(String)}
+     */
+    @Nested
+    class when_removeById {
+
+        @Test
+        void GIVEN_existing_id_WHEN_removeById_SHOULD_issue_a_single_statement(){
+
+            final String id = anyRepository.save(NEW_ANY_ENTITY.get()).getId();
+            idCuckooFilter.add(id);
+            statistics.clear();
+
+            removeByIdService.removeById(id);
+
+            assertEquals(STATEMENTS_PER_REMOVE, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertFalse(anyRepository.existsById(id));
+        }
+
+        @Test
+        void GIVEN_id_missing_but_in_filter_WHEN_removeById_SHOULD_issue_a_single_statement(){
+
+            final String id = UUID.randomUUID().toString();
+            idCuckooFilter.add(id);
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> removeByIdService.removeById(id));
+
+            assertEquals(404, expectedException.getStatusCode().value());
+            assertEquals(STATEMENTS_PER_REMOVE, statistics.getPrepareStatementCount());
+            idCuckooFilter.remove(id);
+        }
+
+        @Test
+        void GIVEN_id_absent_from_filter_WHEN_removeById_SHOULD_issue_no_statement(){
+
+            final String id = UUID.randomUUID().toString();
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> removeByIdService.removeById(id));
+
+            assertEquals(404, expectedException.getStatusCode().value());
+            assertEquals(0, statistics.getPrepareStatementCount());
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import demo.model.AnyEntity;
+
+abstract sealed class RemoveByIdServiceStatementCountTestFixture permits RemoveByIdServiceStatementCountTest {
+
+    protected final long STATEMENTS_PER_REMOVE = 1;
+
+    protected final Supplier<AnyEntity> NEW_ANY_ENTITY = () -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName("any name");
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+}
@@ -5,10 +5,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.UUID;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,8 +22,12 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.server.ResponseStatusException;
 
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
 import demo.constant.ErrMessage;
+import demo.metrics.LatencyHistograms;
 import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
 
 /**
  * <p>Tests of {@link RemoveByIdService}</p>
@@ -28,14 +35,20 @@ import demo.repository.AnyRepository;
  *{@link when_removeById} {
  *  {@link when_removeById#GIVEN_request_sucessfully_WHEN_getById_SHOULD_run_sucessfully()}
  *  {@link when_removeById#GIVEN_request_sucessfully_WHEN_getById_SHOULD_run_all_steps_on_right_order()}
+ *  {@link when_removeById#GIVEN_request_sucessfully_WHEN_removeById_SHOULD_invalidate_cached_id_after_delete()}
+ *  {@link when_removeById#GIVEN_request_sucessfully_WHEN_removeById_SHOULD_remove_id_from_filter_after_delete()}
  *}
  *{@link when_validateIdRequest} {
  *  {@link when_validateIdRequest#GIVEN_request_is_blank_WHEN_validateIdRequest_SHOULD_throw_bad_request()}
  *  {@link when_validateIdRequest#GIVEN_request_null_WHEN_validateIdRequest_SHOULD_throw_bad_request()}
  *  {@link when_validateIdRequest#GIVEN_request_sucessfully_WHEN_validateIdRequest_SHOULD_not_throw_any_exception()}
  *}
- *{@link when_validateIdExists} {
- *  {@link when_validateIdExists#GIVEN_id_request_not_found_WHEN_validateIdExists_SHOULD_throw_not_found_request()}
+ *{@link when_validateIdMightExist} {
+ *  {@link when_validateIdMightExist#GIVEN_id_absent_from_filter_WHEN_validateIdMightExist_SHOULD_throw_not_found_without_query()}
+ *}
+ *{@link when_remove} {
+ *  {@link when_remove#GIVEN_no_row_deleted_WHEN_remove_SHOULD_throw_not_found_request()}
+ *  {@link when_remove#GIVEN_no_row_deleted_WHEN_remove_SHOULD_keep_index_cache_and_filter_untouched()}
  *}
  * </pre>
  */
@@ -49,6 +62,23 @@ final class RemoveByIdServiceTest extends RemoveByIdServiceFixture {
     @Mock
     AnyRepository anyRepositoryMock;
 
+    @Mock
+    LatencyHistograms latencyHistogramsMock;
+
+    @Mock
+    NameTrigramIndex nameTrigramIndexMock;
+
+    @Mock
+    GetByIdCache getByIdCacheMock;
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    IdCuckooFilter idCuckooFilterMock;
+
+    @BeforeEach
+    void every_id_might_exist(){
+        when(idCuckooFilterMock.mightContain(anyString())).thenReturn(true);
+    }
+
     /**
      *  testing all scenarios from {@link RemoveByIdService#removeById(String)}
      */
@@ -60,7 +90,7 @@ final class RemoveByIdServiceTest extends RemoveByIdServiceFixture {
 
             final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
 
-            when(anyRepositoryMock.existsById(anyString())).thenReturn(true);
+            when(anyRepositoryMock.deleteRowById(anyString())).thenReturn(1);
 
             assertDoesNotThrow(() -> removeByIdService.removeById(requestIdInput));
         }
@@ -70,18 +100,48 @@ final class RemoveByIdServiceTest extends RemoveByIdServiceFixture {
 
              final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
 
-            when(anyRepositoryMock.existsById(anyString())).thenReturn(true);
+            when(anyRepositoryMock.deleteRowById(anyString())).thenReturn(1);
 
             InOrder inOrder = inOrder(removeByIdService);
 
             removeByIdService.removeById(requestIdInput);
 
             inOrder.verify(removeByIdService).validateIdRequest(anyString());
-            inOrder.verify(removeByIdService).validateIdExists(anyString());
+            inOrder.verify(removeByIdService).validateIdMightExist(anyString());
             inOrder.verify(removeByIdService).remove(anyString());
         
         }
 
+        @Test
+        void GIVEN_request_sucessfully_WHEN_removeById_SHOULD_invalidate_cached_id_after_delete(){
+
+            final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.deleteRowById(anyString())).thenReturn(1);
+
+            InOrder inOrder = inOrder(anyRepositoryMock, getByIdCacheMock);
+
+            removeByIdService.removeById(requestIdInput);
+
+            inOrder.verify(anyRepositoryMock).deleteRowById(requestIdInput);
+            inOrder.verify(getByIdCacheMock).invalidate(requestIdInput);
+        }
+
+        @Test
+        void GIVEN_request_sucessfully_WHEN_removeById_SHOULD_remove_id_from_filter_after_delete(){
+
+            final String requestIdInput = REQUEST_ID_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.deleteRowById(anyString())).thenReturn(1);
+
+            InOrder inOrder = inOrder(anyRepositoryMock, idCuckooFilterMock);
+
+            removeByIdService.removeById(requestIdInput);
+
+            inOrder.verify(anyRepositoryMock).deleteRowById(requestIdInput);
+            inOrder.verify(idCuckooFilterMock).remove(requestIdInput);
+        }
+
     }
 
     /**
@@ -121,23 +181,60 @@ final class RemoveByIdServiceTest extends RemoveByIdServiceFixture {
     }
 
     /**
-     *  testing all scenarios from {@link RemoveByIdService#validateIdExists(String)}
+     *  testing all scenarios from {@link RemoveByIdService#validateIdMightExist(String)}
      */
     @Nested
-    class when_validateIdExists {
+    class when_validateIdMightExist {
 
         @Test
-        void GIVEN_id_request_not_found_WHEN_validateIdExists_SHOULD_throw_not_found_request(){
+        void GIVEN_id_absent_from_filter_WHEN_validateIdMightExist_SHOULD_throw_not_found_without_query(){
  
             final String anyInvalidId = UUID.randomUUID().toString();
  
-            when(anyRepositoryMock.existsById(anyString())).thenReturn(false);
+            when(idCuckooFilterMock.mightContain(anyInvalidId)).thenReturn(false);
 
-            final var expectedException = assertThrows(ResponseStatusException.class, () -> removeByIdService.validateIdExists(anyInvalidId));
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> removeByIdService.validateIdMightExist(anyInvalidId));
+
+            final int expectedHttpStatus = 404;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            verify(anyRepositoryMock, never()).deleteRowById(anyString());
+        }
+        
+    }
+
+    /**
+     *  testing all scenarios from {@link RemoveByIdService#remove(String)}
+     */
+    @Nested
+    class when_remove {
+
+        @Test
+        void GIVEN_no_row_deleted_WHEN_remove_SHOULD_throw_not_found_request(){
+ 
+            final String anyInvalidId = UUID.randomUUID().toString();
+ 
+            when(anyRepositoryMock.deleteRowById(anyString())).thenReturn(0);
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> removeByIdService.remove(anyInvalidId));
 
             final int expectedHttpStatus = 404;
             assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
             assertEquals(ErrMessage.ID_NOT_FOUND.get(anyInvalidId) , expectedException.getBody().getDetail());
+            verify(idCuckooFilterMock).recordFalsePositive();
+        }
+
+        @Test
+        void GIVEN_no_row_deleted_WHEN_remove_SHOULD_keep_index_cache_and_filter_untouched(){
+ 
+            final String anyInvalidId = UUID.randomUUID().toString();
+ 
+            when(anyRepositoryMock.deleteRowById(anyString())).thenReturn(0);
+
+            assertThrows(ResponseStatusException.class, () -> removeByIdService.remove(anyInvalidId));
+
+            verify(nameTrigramIndexMock, never()).remove(anyString());
+            verify(getByIdCacheMock, never()).invalidate(anyString());
+            verify(idCuckooFilterMock, never()).remove(anyString());
         }
         
     }
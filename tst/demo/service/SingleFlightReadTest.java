@@ -0,0 +1,184 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.cache.SingleFlight;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * <p>Tests of the SQL statements issued by concurrent identical reads of {@link ListService} and {@link GetByIdService}.
+ * The first read is held before its query until every other read waits for it.</p>
+ * <pre>
+ *{@link when_list_concurrently} {
+ *  {@link when_list_concurrently#GIVEN_identical_requests_WHEN_list_SHOULD_issue_a_single_query_and_share_its_response()}
+ *  {@link when_list_concurrently#GIVEN_request_after_write_committed_WHEN_list_SHOULD_not_join_query_in_flight()}
+ *}
+ *{@link when_getById_concurrently} {
+ *  {@link when_getById_concurrently#GIVEN_identical_requests_of_uncached_id_WHEN_getById_SHOULD_issue_a_single_query()}
+ *}
+ * </pre>
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true"})
+@TestPropertySource(properties = {"app.get-by-id-cache-size=100", "app.default-size-page=10"})
+@Import({ListService.class, GetByIdService.class, GetByIdCache.class, IdCuckooFilter.class, NameTrigramIndex.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class SingleFlightReadTest extends SingleFlightReadTestFixture {
+
+    @SpyBean ListService listService;
+    @SpyBean GetByIdService getByIdService;
+    @Autowired IdCuckooFilter idCuckooFilter;
+    @Autowired NameTrigramIndex nameTrigramIndex;
+    @Autowired AnyRepository anyRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void saveEntities(){
+        clearInvocations(listService, getByIdService);
+        for(int i = 0; i < ENTITIES; i++) idCuckooFilter.add(anyRepository.save(NEW_ANY_ENTITY.get()).getId());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    /**
+     * runs {@code read} on {@code REQUESTS} threads at once
+     * @param waitingType class the threads wait in while the first read is held
+     * @return the result of each thread
+     */
+    List<Object> readConcurrently(Supplier<Object> read, Class<?> waitingType) throws InterruptedException {
+        final Map<Thread, Object> resultByThread = new ConcurrentHashMap<>();
+        final List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < REQUESTS; i++) threads.add(new Thread(() -> resultByThread.put(Thread.currentThread(), read.get())));
+        holdFirstQueryUntil(() -> awaitParked(threads.stream().filter(thread -> thread != Thread.currentThread()).toList(), waitingType));
+
+        threads.forEach(Thread::start);
+        for(Thread thread : threads) thread.join();
+        return threads.stream().map(resultByThread::get).toList();
+    }
+
+    void holdFirstQueryUntil(Runnable released) {
+        doAnswer(invocation -> {
+            released.run();
+            return invocation.callRealMethod();
+        }).when(listService).listEntity(any());
+        doAnswer(invocation -> {
+            released.run();
+            return invocation.callRealMethod();
+        }).when(getByIdService).loadResponse(anyString());
+    }
+
+    void awaitParked(List<Thread> threads, Class<?> type) {
+        final long deadline = System.nanoTime() + PARK_TIMEOUT_NANOS;
+        while(!threads.stream().allMatch(thread -> PARKED_IN.test(thread, type)) && System.nanoTime() < deadline) Thread.onSpinWait();
+    }
+
+    /**
+     *  testing {@link ListService#list(ListService.Request)} called concurrently with the same request
+     */
+    @Nested
+    class when_list_concurrently {
+
+        @Test
+        void GIVEN_identical_requests_WHEN_list_SHOULD_issue_a_single_query_and_share_its_response() throws Exception{
+
+            final List<Object> responses = readConcurrently(() -> listService.list(REQUEST_FIRST_PAGE.get()), SingleFlight.class);
+
+            assertEquals(STATEMENTS_PER_QUERY, statistics.getPrepareStatementCount());
+            verify(listService, times(1)).listEntity(any());
+            assertEquals(ENTITIES, ((ListService.Response) responses.get(0)).items().size());
+            for(Object response : responses) assertSame(responses.get(0), response);
+        }
+
+        @Test
+        void GIVEN_request_after_write_committed_WHEN_list_SHOULD_not_join_query_in_flight() throws Exception{
+
+            final CountDownLatch firstQueryStarted = new CountDownLatch(1);
+            final CountDownLatch firstQueryReleased = new CountDownLatch(1);
+            holdFirstQueryUntil(() -> {
+                if(firstQueryStarted.getCount() == 0) return;
+                firstQueryStarted.countDown();
+                try {
+                    firstQueryReleased.await(PARK_TIMEOUT_NANOS, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            final Thread first = new Thread(() -> listService.list(REQUEST_FIRST_PAGE.get()));
+            first.start();
+            firstQueryStarted.await();
+
+            final String idWritten = anyRepository.save(NEW_ANY_ENTITY.get()).getId();
+            nameTrigramIndex.add(idWritten, NAME_WRITTEN_DURING_QUERY);
+            final ListService.Response response = listService.list(REQUEST_FIRST_PAGE.get());
+
+            firstQueryReleased.countDown();
+            first.join();
+            verify(listService, times(2)).listEntity(any());
+            assertTrue(response.items().stream().anyMatch(item -> item.id().equals(idWritten)));
+        }
+    }
+
+    /**
+     *  testing {@link GetByIdService#getById(String)} called concurrently with the same id
+     */
+    @Nested
+    class when_getById_concurrently {
+
+        @Test
+        void GIVEN_identical_requests_of_uncached_id_WHEN_getById_SHOULD_issue_a_single_query() throws Exception{
+
+            final String id = anyRepository.save(NEW_ANY_ENTITY.get()).getId();
+            idCuckooFilter.add(id);
+            statistics.clear();
+
+            final List<Object> responses = readConcurrently(() -> getByIdService.getById(id), GetByIdCache.class);
+
+            assertEquals(STATEMENTS_PER_QUERY, statistics.getPrepareStatementCount());
+            verify(getByIdService, times(1)).loadResponse(id);
+            for(Object response : responses) assertSame(responses.get(0), response);
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+import demo.model.AnyEntity;
+
+abstract sealed class SingleFlightReadTestFixture permits SingleFlightReadTest {
+
+    protected final int REQUESTS = 8;
+    protected final int ENTITIES = 5;
+    protected final long STATEMENTS_PER_QUERY = 1;
+    protected final long PARK_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+    protected final String NAME_WRITTEN_DURING_QUERY = "written during query";
+
+    protected final Supplier<ListService.Request> REQUEST_FIRST_PAGE = () -> new ListService.Request(null, null, null, null);
+
+    protected final Supplier<AnyEntity> NEW_ANY_ENTITY = () -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName("any name");
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+    /**
+     * whether {@code thread} waits inside a method of {@code type}
+     */
+    protected final BiPredicate<Thread, Class<?>> PARKED_IN = (thread, type) ->
+            (thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.BLOCKED)
+            && Arrays.stream(thread.getStackTrace()).anyMatch(frame -> frame.getClassName().equals(type.getName()));
+
+}
@@ -0,0 +1,130 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.metrics.LatencyHistograms;
+import demo.model.AnyEntity;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * <p>Benchmark of updates/second with 64 writers on one hot id, updating without a version
+ * against reading the ETag and updating with {@code If-Match} until no 412 is answered.</p>
+ * <p>Run with {@code gradle benchmark}, results are printed as {@code [bench]} lines.</p>
+ */
+@Tag("benchmark")
+@DataJpaTest
+@TestPropertySource(properties = {
+    "app.get-by-id-cache-size=100",
+    "app.update-retry-max-attempts=5",
+    "app.update-retry-base-backoff-millis=1"
+})
+@Import({UpdateByIdService.class, GetByIdService.class, GetByIdCache.class, IdCuckooFilter.class, NameTrigramIndex.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UpdateByIdContentionBenchmark {
+
+    private static final int WRITERS = 64;
+    private static final int WARMUP_UPDATES_PER_WRITER = 5;
+    private static final int MEASURED_UPDATES_PER_WRITER = 30;
+
+    @Autowired UpdateByIdService updateByIdService;
+    @Autowired GetByIdService getByIdService;
+    @Autowired IdCuckooFilter idCuckooFilter;
+    @Autowired AnyRepository anyRepository;
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    @Test
+    void updates_without_version_against_if_match(){
+
+        final String id = createHotId();
+        final AtomicLong preconditionsFailed = new AtomicLong();
+
+        runWriters(WARMUP_UPDATES_PER_WRITER, () -> updateWithoutVersion(id));
+        runWriters(WARMUP_UPDATES_PER_WRITER, () -> updateIfMatch(id, preconditionsFailed));
+        preconditionsFailed.set(0);
+
+        measure("without version", () -> runWriters(MEASURED_UPDATES_PER_WRITER, () -> updateWithoutVersion(id)), new AtomicLong());
+        measure("if-match", () -> runWriters(MEASURED_UPDATES_PER_WRITER, () -> updateIfMatch(id, preconditionsFailed)), preconditionsFailed);
+
+        assertEquals(2L * WRITERS * (WARMUP_UPDATES_PER_WRITER + MEASURED_UPDATES_PER_WRITER), getByIdService.getById(id).version());
+    }
+
+    private String createHotId(){
+        var anyEntity = new AnyEntity();
+        anyEntity.setName("hot entity");
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        final String id = anyRepository.save(anyEntity).getId();
+        idCuckooFilter.add(id);
+        return id;
+    }
+
+    private void updateWithoutVersion(String id){
+        updateByIdService.updateById(id, new UpdateByIdService.Request("hot entity"));
+    }
+
+    private void updateIfMatch(String id, AtomicLong preconditionsFailed){
+        while(true) {
+            try {
+                updateByIdService.updateById(id, new UpdateByIdService.Request("hot entity"), getByIdService.getVersionById(id).etag());
+                return;
+            } catch (ResponseStatusException e) {
+                if(e.getStatusCode().value() != 412) throw e;
+                preconditionsFailed.incrementAndGet();
+            }
+        }
+    }
+
+    private static void runWriters(int updatesPerWriter, Runnable update){
+        final ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for(int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    for(int u = 0; u < updatesPerWriter; u++) update.run();
+                }));
+            }
+            for(Future<?> writer : writers) writer.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void measure(String pathName, Runnable path, AtomicLong preconditionsFailed){
+        final long updates = (long) WRITERS * MEASURED_UPDATES_PER_WRITER;
+        final long start = System.nanoTime();
+        path.run();
+        final long elapsed = System.nanoTime() - start;
+        System.out.printf("[bench] %-15s writers=%d updates=%d: %8.0f updates/s, 412 answered=%d%n",
+                pathName, WRITERS, updates, updates / (elapsed / 1_000_000_000.0), preconditionsFailed.get());
+    }
+
+}
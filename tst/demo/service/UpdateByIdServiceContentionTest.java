@@ -0,0 +1,119 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.metrics.LatencyHistograms;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * <p>Contention tests of {@link UpdateByIdService} with {@link UpdateByIdServiceContentionTestFixture#WRITERS} writers on one hot id</p>
+ * <pre>
+ *{@link when_updateById_concurrently_on_one_id} {
+ *  {@link when_updateById_concurrently_on_one_id#GIVEN_writers_sending_if_match_WHEN_updateById_SHOULD_never_lose_an_update()}
+ *  {@link when_updateById_concurrently_on_one_id#GIVEN_writers_without_version_WHEN_updateById_SHOULD_apply_every_update()}
+ *}
+ * </pre>
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+    "app.get-by-id-cache-size=100",
+    "app.update-retry-max-attempts=" + UpdateByIdServiceContentionTestFixture.RETRY_MAX_ATTEMPTS,
+    "app.update-retry-base-backoff-millis=1"
+})
+@Import({UpdateByIdService.class, GetByIdService.class, GetByIdCache.class, IdCuckooFilter.class, NameTrigramIndex.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class UpdateByIdServiceContentionTest extends UpdateByIdServiceContentionTestFixture {
+
+    @Autowired UpdateByIdService updateByIdService;
+    @Autowired GetByIdService getByIdService;
+    @Autowired IdCuckooFilter idCuckooFilter;
+    @Autowired AnyRepository anyRepository;
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.deleteAll();
+    }
+
+    String createHotId(){
+        final String id = anyRepository.save(NEW_ANY_ENTITY.get()).getId();
+        idCuckooFilter.add(id);
+        return id;
+    }
+
+    void runWriters(Runnable writer) throws Exception{
+        final ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            final List<Future<?>> writers = new ArrayList<>();
+            for(int i = 0; i < WRITERS; i++) writers.add(executor.submit(writer));
+            for(Future<?> future : writers) future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     *  testing {@link UpdateByIdService#updateById(String, UpdateByIdService.Request, String)} racing on the same id
+     */
+    @Nested
+    class when_updateById_concurrently_on_one_id {
+
+        @Test
+        void GIVEN_writers_sending_if_match_WHEN_updateById_SHOULD_never_lose_an_update() throws Exception{
+
+            final String id = createHotId();
+
+            runWriters(() -> {
+                for(int update = 0; update < UPDATES_PER_WRITER; update++) {
+                    while(true) {
+                        final String etag = getByIdService.getVersionById(id).etag();
+                        try {
+                            updateByIdService.updateById(id, REQUEST_UPDATE.get(), etag);
+                            break;
+                        } catch (ResponseStatusException e) {
+                            if(e.getStatusCode().value() != 412) throw e;
+                        }
+                    }
+                }
+            });
+
+            // every update applied exactly once on the version it read: none was overwritten by a concurrent writer
+            assertEquals(WRITERS * UPDATES_PER_WRITER, getByIdService.getById(id).version());
+        }
+
+        @Test
+        void GIVEN_writers_without_version_WHEN_updateById_SHOULD_apply_every_update() throws Exception{
+
+            final String id = createHotId();
+
+            runWriters(() -> {
+                for(int update = 0; update < UPDATES_PER_WRITER; update++) {
+                    updateByIdService.updateById(id, REQUEST_UPDATE.get());
+                }
+            });
+
+            assertEquals(WRITERS * UPDATES_PER_WRITER, getByIdService.getById(id).version());
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import demo.model.AnyEntity;
+
+abstract sealed class UpdateByIdServiceContentionTestFixture permits UpdateByIdServiceContentionTest {
+
+    protected static final int RETRY_MAX_ATTEMPTS = 5;
+    protected final int WRITERS = 64;
+    protected final int UPDATES_PER_WRITER = 3;
+
+    protected final Supplier<AnyEntity> NEW_ANY_ENTITY = () -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName("hot entity");
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+    protected final Supplier<UpdateByIdService.Request> REQUEST_UPDATE = () -> new UpdateByIdService.Request("hot entity " + Thread.currentThread().getName());
+
+}
@@ -0,0 +1,109 @@
+package demo.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
+import demo.metrics.LatencyHistograms;
+import demo.model.AnyEntity;
+import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * <p>Regression tests of the SQL statements issued per {@link UpdateByIdService#updateById(String, UpdateByIdService.Request, String)} request</p>
+ * <pre>
+ *{@link when_updateById} {
+ *  {@link when_updateById#GIVEN_existing_id_WHEN_updateById_SHOULD_issue_a_single_statement_and_index_the_version_written()}
+ *  {@link when_updateById#GIVEN_matching_if_match_WHEN_updateById_SHOULD_issue_a_single_statement_and_index_the_version_written()}
+ *}
+ * </pre>
+ */
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true"})
+@TestPropertySource(properties = {"app.get-by-id-cache-size=100", "app.update-retry-max-attempts=1", "app.update-retry-base-backoff-millis=1"})
+@Import({UpdateByIdService.class, GetByIdCache.class, IdCuckooFilter.class, NameTrigramIndex.class, LatencyHistograms.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+final class UpdateByIdServiceStatementCountTest extends UpdateByIdServiceStatementCountTestFixture {
+
+    @Autowired UpdateByIdService updateByIdService;
+    @Autowired IdCuckooFilter idCuckooFilter;
+    @Autowired NameTrigramIndex nameTrigramIndex;
+    @Autowired AnyRepository anyRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics(){
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void removeEntities(){
+        anyRepository.findAll().forEach(anyEntity -> {
+            idCuckooFilter.remove(anyEntity.getId());
+            nameTrigramIndex.remove(anyEntity.getId());
+        });
+        anyRepository.deleteAll();
+    }
+
+    private AnyEntity createEntity(){
+        final AnyEntity anyEntity = anyRepository.save(NEW_ANY_ENTITY.get());
+        idCuckooFilter.add(anyEntity.getId());
+        nameTrigramIndex.add(anyEntity.getId(), anyEntity.getName());
+        statistics.clear();
+        return anyEntity;
+    }
+
+    /**
+     *  testing the statements issued by {@link UpdateByIdService#updateById(String, UpdateByIdService.Request, String)}
+     */
+    @Nested
+    class when_updateById {
+
+        @Test
+        void GIVEN_existing_id_WHEN_updateById_SHOULD_issue_a_single_statement_and_index_the_version_written(){
+
+            final AnyEntity anyEntity = createEntity();
+
+            updateByIdService.updateById(anyEntity.getId(), new UpdateByIdService.Request(NAME_UPDATED));
+
+            assertEquals(STATEMENTS_PER_UPDATE, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertTrue(nameTrigramIndex.search(NAME_UPDATED).contains(anyEntity.getId()));
+            nameTrigramIndex.update(anyEntity.getId(), NAME_OF_OLDER_VERSION, anyEntity.getVersion() + 1);
+            assertTrue(nameTrigramIndex.search(NAME_OF_OLDER_VERSION).isEmpty());
+        }
+
+        @Test
+        void GIVEN_matching_if_match_WHEN_updateById_SHOULD_issue_a_single_statement_and_index_the_version_written(){
+
+            final AnyEntity anyEntity = createEntity();
+
+            updateByIdService.updateById(anyEntity.getId(), new UpdateByIdService.Request(NAME_UPDATED), GetByIdService.versionOf(anyEntity.getVersion(), anyEntity.getLastUpdated()).etag());
+
+            assertEquals(STATEMENTS_PER_UPDATE, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertTrue(nameTrigramIndex.search(NAME_UPDATED).contains(anyEntity.getId()));
+            nameTrigramIndex.update(anyEntity.getId(), NAME_OF_OLDER_VERSION, anyEntity.getVersion() + 1);
+            assertTrue(nameTrigramIndex.search(NAME_OF_OLDER_VERSION).isEmpty());
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package demo.service;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import demo.model.AnyEntity;
+
+abstract sealed class UpdateByIdServiceStatementCountTestFixture permits UpdateByIdServiceStatementCountTest {
+
+    protected final long STATEMENTS_PER_UPDATE = 1;
+    protected final String NAME_UPDATED = "name updated";
+    protected final String NAME_OF_OLDER_VERSION = "name of older version";
+
+    protected final Supplier<AnyEntity> NEW_ANY_ENTITY = () -> {
+        var anyEntity = new AnyEntity();
+        anyEntity.setName("any name");
+        anyEntity.setCreated(LocalDateTime.now());
+        anyEntity.setLastUpdated(LocalDateTime.now());
+        return anyEntity;
+    };
+
+}
@@ -2,22 +2,26 @@ package demo.service;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -25,11 +29,17 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.TransientDataAccessException;
 import org.springframework.web.server.ResponseStatusException;
 
+import demo.cache.GetByIdCache;
+import demo.cache.IdCuckooFilter;
 import demo.constant.ErrMessage;
+import demo.metrics.LatencyHistograms;
 import demo.model.AnyEntity;
 import demo.repository.AnyRepository;
+import demo.repository.NameTrigramIndex;
+import demo.repository.UpdateCoalescer;
 import demo.service.UpdateByIdService.Request;
 
 /**
@@ -37,7 +47,11 @@ import demo.service.UpdateByIdService.Request;
  * <pre>
  *{@link when_updateById} {
  *  {@link when_updateById#GIVEN_request_sucessfully_WHEN_updateById_SHOULD_run_all_steps_on_right_order()}
+ *  {@link when_updateById#GIVEN_request_sucessfully_WHEN_updateById_SHOULD_invalidate_cached_id_after_update()}
  *  {@link when_updateById#GIVEN_request_sucessfully_WHEN_updateById_SHOULD_run_sucessfully()}
+ *  {@link when_updateById#GIVEN_request_sucessfully_WHEN_updateById_SHOULD_set_last_updated_to_now()}
+ *  {@link when_updateById#GIVEN_if_match_WHEN_updateById_SHOULD_update_only_the_matching_version()}
+ *  {@link when_updateById#GIVEN_if_match_any_WHEN_updateById_SHOULD_update_whatever_the_version()}
  *}
  *{@link when_validateRequest} {
  *  {@link when_validateRequest#GIVEN_request_null_WHEN_validateRequest_SHOULD_throw_bad_request()}
@@ -48,11 +62,23 @@ import demo.service.UpdateByIdService.Request;
  *  {@link when_validateRequest#GIVEN_request_with_name_empty_WHEN_validateRequest_SHOULD_throw_bad_request()}
  *  {@link when_validateRequest#GIVEN_request_with_name_more_than_50_WHEN_validateRequest_SHOULD_throw_bad_request()}
  *}
- *{@link when_prepareEntityBeforeUpdating} {
- *  {@link when_prepareEntityBeforeUpdating#GIVEN_entity_sucessfully_WHEN_prepareEntityBeforeUpdating_SHOULD_return_entity_sucessfully()}
+ *{@link when_updateEntity} {
+ *  {@link when_updateEntity#GIVEN_no_row_updated_WHEN_updateEntity_SHOULD_throw_not_found_request()}
+ *  {@link when_updateEntity#GIVEN_coalescing_enabled_WHEN_updateEntity_SHOULD_index_the_name_and_version_written_by_the_batch()}
  *}
- *{@link when_getEntityById} {
- *  {@link when_getEntityById#GIVEN_id_request_not_found_WHEN_getEntityById_SHOULD_throw_not_found_request()}
+ *{@link when_updateEntityIfMatch} {
+ *  {@link when_updateEntityIfMatch#GIVEN_stale_version_WHEN_updateEntityIfMatch_SHOULD_throw_precondition_failed()}
+ *  {@link when_updateEntityIfMatch#GIVEN_id_not_found_WHEN_updateEntityIfMatch_SHOULD_throw_not_found_request()}
+ *  {@link when_updateEntityIfMatch#GIVEN_no_strong_etag_WHEN_updateEntityIfMatch_SHOULD_throw_precondition_failed_without_update()}
+ *}
+ *{@link when_updateEntityRetrying} {
+ *  {@link when_updateEntityRetrying#GIVEN_transient_failure_then_success_WHEN_updateEntityRetrying_SHOULD_retry()}
+ *  {@link when_updateEntityRetrying#GIVEN_transient_failures_on_every_attempt_WHEN_updateEntityRetrying_SHOULD_throw_after_max_attempts()}
+ *  {@link when_updateEntityRetrying#GIVEN_retry_disabled_WHEN_updateEntityRetrying_SHOULD_throw_at_first_failure()}
+ *  {@link when_updateEntityRetrying#GIVEN_any_attempt_WHEN_backoffMillis_SHOULD_stay_within_exponential_bound()}
+ *}
+ *{@link when_validateIdMightExist} {
+ *  {@link when_validateIdMightExist#GIVEN_id_absent_from_filter_WHEN_validateIdMightExist_SHOULD_throw_not_found_without_query()}
  *}
  * </pre>
  */
@@ -66,6 +92,23 @@ final class UpdateByIdServiceTest extends UpdateByIdServiceTestFixture{
     @Mock 
     AnyRepository anyRepositoryMock;
 
+    @Mock
+    LatencyHistograms latencyHistogramsMock;
+
+    @Mock
+    NameTrigramIndex nameTrigramIndexMock;
+
+    @Mock
+    GetByIdCache getByIdCacheMock;
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    IdCuckooFilter idCuckooFilterMock;
+
+    @BeforeEach
+    void every_id_might_exist(){
+        when(idCuckooFilterMock.mightContain(anyString())).thenReturn(true);
+    }
+
     /**
      *  testing all scenarios from {@link UpdateByIdService#updateById(String, demo.service.UpdateByIdService.Request)}
      */
@@ -75,41 +118,96 @@ final class UpdateByIdServiceTest extends UpdateByIdServiceTestFixture{
         @Test
         void GIVEN_request_sucessfully_WHEN_updateById_SHOULD_run_sucessfully(){
 
-            final AnyEntity anyEntityGotById = ANY_ENTITY_SUCCESSFULLY.get();
-            final String idToUpdate = anyEntityGotById.getId();
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
             final UpdateByIdService.Request requestInput = REQUEST_SUCCESSFULLY.get();
 
-            when(anyRepositoryMock.findById(anyString())).thenReturn(Optional.of(anyEntityGotById));
-            
-            updateByIdService.updateById(idToUpdate, requestInput);
+            when(anyRepositoryMock.updateNameById(eq(idToUpdate), eq(requestInput.name()), any(LocalDateTime.class))).thenReturn(Optional.of(VERSION));
 
-            ArgumentCaptor<AnyEntity> anyEntityCaptorBeforeBeUpdated = ArgumentCaptor.forClass(AnyEntity.class);
-            verify(updateByIdService).updateEntity(anyEntityCaptorBeforeBeUpdated.capture());
-    
-            assertNotNull(anyEntityCaptorBeforeBeUpdated);
-            assertEquals(requestInput.name(), anyEntityCaptorBeforeBeUpdated.getValue().getName());
+            assertDoesNotThrow(() -> updateByIdService.updateById(idToUpdate, requestInput));
 
+            verify(anyRepositoryMock).updateNameById(eq(idToUpdate), eq(requestInput.name()), any(LocalDateTime.class));
+            verify(anyRepositoryMock, never()).findById(anyString());
+            verify(anyRepositoryMock, never()).save(any(AnyEntity.class));
         }
 
         @Test
         void GIVEN_request_sucessfully_WHEN_updateById_SHOULD_run_all_steps_on_right_order(){
 
-            final AnyEntity anyEntityGotById = ANY_ENTITY_SUCCESSFULLY.get();
-            final String idToUpdate = anyEntityGotById.getId();
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
             final UpdateByIdService.Request requestInput = REQUEST_SUCCESSFULLY.get();
 
-            when(anyRepositoryMock.findById(anyString())).thenReturn(Optional.of(anyEntityGotById));
+            when(anyRepositoryMock.updateNameById(anyString(), anyString(), any(LocalDateTime.class))).thenReturn(Optional.of(VERSION));
 
             InOrder inOrder = inOrder(updateByIdService);
 
             updateByIdService.updateById(idToUpdate, requestInput);
 
             inOrder.verify(updateByIdService).validateRequest(anyString(), any(UpdateByIdService.Request.class));
-            inOrder.verify(updateByIdService).getEntityById(anyString());
-            inOrder.verify(updateByIdService).prepareEntityBeforeUpdating(any(AnyEntity.class), any(UpdateByIdService.Request.class));
-            inOrder.verify(updateByIdService).updateEntity(any(AnyEntity.class));
+            inOrder.verify(updateByIdService).validateIdMightExist(anyString());
+            inOrder.verify(updateByIdService).updateEntity(anyString(), anyString(), any(LocalDateTime.class));
         
         }
+
+        @Test
+        void GIVEN_request_sucessfully_WHEN_updateById_SHOULD_set_last_updated_to_now(){
+
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+            final UpdateByIdService.Request requestInput = REQUEST_SUCCESSFULLY.get();
+            final LocalDateTime expectedDateLastUpdated = LocalDateTime.now().plusDays(15);
+
+            when(anyRepositoryMock.updateNameById(anyString(), anyString(), any(LocalDateTime.class))).thenReturn(Optional.of(VERSION));
+
+            try(MockedStatic<LocalDateTime> mockedStatic = Mockito.mockStatic(LocalDateTime.class)){
+                when(LocalDateTime.now()).thenReturn(expectedDateLastUpdated);
+
+                updateByIdService.updateById(idToUpdate, requestInput);
+            }
+
+            verify(anyRepositoryMock).updateNameById(idToUpdate, requestInput.name(), expectedDateLastUpdated);
+        }
+
+        @Test
+        void GIVEN_request_sucessfully_WHEN_updateById_SHOULD_invalidate_cached_id_after_update(){
+
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+            final UpdateByIdService.Request requestInput = REQUEST_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.updateNameById(anyString(), anyString(), any(LocalDateTime.class))).thenReturn(Optional.of(VERSION));
+
+            InOrder inOrder = inOrder(anyRepositoryMock, getByIdCacheMock);
+
+            updateByIdService.updateById(idToUpdate, requestInput);
+
+            inOrder.verify(anyRepositoryMock).updateNameById(eq(idToUpdate), eq(requestInput.name()), any(LocalDateTime.class));
+            inOrder.verify(getByIdCacheMock).invalidate(idToUpdate);
+        }
+
+        @Test
+        void GIVEN_if_match_WHEN_updateById_SHOULD_update_only_the_matching_version(){
+
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+            final UpdateByIdService.Request requestInput = REQUEST_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.updateNameByIdAndVersionIn(eq(idToUpdate), eq(List.of(VERSION)), eq(requestInput.name()), any(LocalDateTime.class))).thenReturn(Optional.of(VERSION));
+
+            updateByIdService.updateById(idToUpdate, requestInput, ETAG_OF_VERSION);
+
+            verify(anyRepositoryMock, never()).updateNameById(anyString(), anyString(), any(LocalDateTime.class));
+            verify(getByIdCacheMock).invalidate(idToUpdate);
+        }
+
+        @Test
+        void GIVEN_if_match_any_WHEN_updateById_SHOULD_update_whatever_the_version(){
+
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+            final UpdateByIdService.Request requestInput = REQUEST_SUCCESSFULLY.get();
+
+            when(anyRepositoryMock.updateNameById(eq(idToUpdate), eq(requestInput.name()), any(LocalDateTime.class))).thenReturn(Optional.of(VERSION));
+
+            updateByIdService.updateById(idToUpdate, requestInput, IF_MATCH_ANY);
+
+            verify(anyRepositoryMock, never()).updateNameByIdAndVersionIn(anyString(), any(), anyString(), any(LocalDateTime.class));
+        }
     }
 
     /**
@@ -202,45 +300,175 @@ final class UpdateByIdServiceTest extends UpdateByIdServiceTestFixture{
     }
 
     /**
-     *  testing all scenarios from {@link UpdateByIdService#prepareEntityBeforeUpdating(AnyEntity, Request)}
+     *  testing all scenarios from {@link UpdateByIdService#updateEntity(String, String, LocalDateTime)}
      */
     @Nested
-    class when_prepareEntityBeforeUpdating {
+    class when_updateEntity {
 
         @Test
-        void GIVEN_entity_sucessfully_WHEN_prepareEntityBeforeUpdating_SHOULD_return_entity_sucessfully(){
-            
-            final AnyEntity anyEntityToUpdate = ANY_ENTITY_SUCCESSFULLY.get();
-            final UpdateByIdService.Request requestInput = REQUEST_SUCCESSFULLY.get();
-            final LocalDateTime expectedDateLastUpdated = LocalDateTime.now().plusDays(15);
+        void GIVEN_no_row_updated_WHEN_updateEntity_SHOULD_throw_not_found_request(){
+ 
+            final String anyInvalidId = UUID.randomUUID().toString();
+ 
+            when(anyRepositoryMock.updateNameById(anyString(), anyString(), any(LocalDateTime.class))).thenReturn(Optional.empty());
 
-            try(MockedStatic<LocalDateTime> mockedStatic = Mockito.mockStatic(LocalDateTime.class)){
-                when(LocalDateTime.now()).thenReturn(expectedDateLastUpdated);
-     
-                final var expectedAnyEntity = updateByIdService.prepareEntityBeforeUpdating(anyEntityToUpdate, requestInput);
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> updateByIdService.updateEntity(anyInvalidId, REQUEST_SUCCESSFULLY.get().name(), LocalDateTime.now()));
+
+            final int expectedHttpStatus = 404;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.ID_NOT_FOUND.get(anyInvalidId) , expectedException.getBody().getDetail());
+            verify(idCuckooFilterMock).recordFalsePositive();
+            verify(getByIdCacheMock, never()).invalidate(anyString());
+        }
+
+        @Test
+        void GIVEN_coalescing_enabled_WHEN_updateEntity_SHOULD_index_the_name_and_version_written_by_the_batch(){
+
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+            final UpdateCoalescer updateCoalescerMock = Mockito.mock(UpdateCoalescer.class);
+            updateByIdService.updateCoalescer = updateCoalescerMock;
+
+            when(updateCoalescerMock.updateNameById(eq(idToUpdate), eq(REQUEST_SUCCESSFULLY.get().name()), any(LocalDateTime.class))).thenReturn(new UpdateCoalescer.Written(1, NAME_OF_LAST_CALLER, VERSION));
 
-                assertEquals(anyEntityToUpdate.getCreated() , expectedAnyEntity.getCreated());
-                assertEquals(expectedDateLastUpdated, expectedAnyEntity.getLastUpdated());
-                assertEquals(anyEntityToUpdate.getName(), expectedAnyEntity.getName());
+            updateByIdService.updateEntity(idToUpdate, REQUEST_SUCCESSFULLY.get().name(), LocalDateTime.now());
 
+            verify(anyRepositoryMock, never()).updateNameById(anyString(), anyString(), any(LocalDateTime.class));
+            verify(anyRepositoryMock, never()).findVersionById(anyString(), any());
+            verify(nameTrigramIndexMock).update(idToUpdate, NAME_OF_LAST_CALLER, VERSION);
+            verify(getByIdCacheMock).invalidate(idToUpdate);
+        }
+        
+    }
+
+    /**
+     *  testing all scenarios from {@link UpdateByIdService#updateEntityIfMatch(String, List, String, LocalDateTime)}
+     */
+    @Nested
+    class when_updateEntityIfMatch {
+
+        @Test
+        void GIVEN_stale_version_WHEN_updateEntityIfMatch_SHOULD_throw_precondition_failed(){
+ 
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+ 
+            when(anyRepositoryMock.updateNameByIdAndVersionIn(anyString(), any(), anyString(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+            when(anyRepositoryMock.existsById(idToUpdate)).thenReturn(true);
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> updateByIdService.updateEntityIfMatch(idToUpdate, List.of(VERSION), REQUEST_SUCCESSFULLY.get().name(), LocalDateTime.now()));
+
+            final int expectedHttpStatus = 412;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.VERSION_DOES_NOT_MATCH.get(idToUpdate) , expectedException.getBody().getDetail());
+            verify(getByIdCacheMock, never()).invalidate(anyString());
+        }
+
+        @Test
+        void GIVEN_id_not_found_WHEN_updateEntityIfMatch_SHOULD_throw_not_found_request(){
+ 
+            final String anyInvalidId = UUID.randomUUID().toString();
+ 
+            when(anyRepositoryMock.updateNameByIdAndVersionIn(anyString(), any(), anyString(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+            when(anyRepositoryMock.existsById(anyInvalidId)).thenReturn(false);
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> updateByIdService.updateEntityIfMatch(anyInvalidId, List.of(VERSION), REQUEST_SUCCESSFULLY.get().name(), LocalDateTime.now()));
+
+            final int expectedHttpStatus = 404;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            assertEquals(ErrMessage.ID_NOT_FOUND.get(anyInvalidId) , expectedException.getBody().getDetail());
+            verify(idCuckooFilterMock).recordFalsePositive();
+        }
+
+        @Test
+        void GIVEN_no_strong_etag_WHEN_updateEntityIfMatch_SHOULD_throw_precondition_failed_without_update(){
+ 
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+ 
+            when(anyRepositoryMock.existsById(idToUpdate)).thenReturn(true);
+
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> updateByIdService.updateEntityIfMatch(idToUpdate, updateByIdService.versionsOfIfMatch(WEAK_ETAG), REQUEST_SUCCESSFULLY.get().name(), LocalDateTime.now()));
+
+            final int expectedHttpStatus = 412;
+            assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
+            verify(anyRepositoryMock, never()).updateNameByIdAndVersionIn(anyString(), any(), anyString(), any(LocalDateTime.class));
+        }
+        
+    }
+
+    /**
+     *  testing all scenarios from {@link UpdateByIdService#updateEntityRetrying(String, String)}
+     */
+    @Nested
+    class when_updateEntityRetrying {
+
+        @Test
+        void GIVEN_transient_failure_then_success_WHEN_updateEntityRetrying_SHOULD_retry(){
+ 
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+            updateByIdService.updateRetryMaxAttempts = MAX_ATTEMPTS;
+            updateByIdService.updateRetryBaseBackoffMillis = BASE_BACKOFF_MILLIS;
+ 
+            when(anyRepositoryMock.updateNameById(anyString(), anyString(), any(LocalDateTime.class))).thenThrow(LOCK_TIMEOUT.get()).thenReturn(Optional.of(VERSION));
+
+            assertDoesNotThrow(() -> updateByIdService.updateEntityRetrying(idToUpdate, REQUEST_SUCCESSFULLY.get().name()));
+
+            verify(anyRepositoryMock, times(2)).updateNameById(eq(idToUpdate), anyString(), any(LocalDateTime.class));
+            verify(getByIdCacheMock).invalidate(idToUpdate);
+        }
+
+        @Test
+        void GIVEN_transient_failures_on_every_attempt_WHEN_updateEntityRetrying_SHOULD_throw_after_max_attempts(){
+ 
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+            updateByIdService.updateRetryMaxAttempts = MAX_ATTEMPTS;
+            updateByIdService.updateRetryBaseBackoffMillis = BASE_BACKOFF_MILLIS;
+ 
+            when(anyRepositoryMock.updateNameById(anyString(), anyString(), any(LocalDateTime.class))).thenThrow(LOCK_TIMEOUT.get());
+
+            assertThrows(TransientDataAccessException.class, () -> updateByIdService.updateEntityRetrying(idToUpdate, REQUEST_SUCCESSFULLY.get().name()));
+
+            verify(anyRepositoryMock, times(MAX_ATTEMPTS)).updateNameById(eq(idToUpdate), anyString(), any(LocalDateTime.class));
+        }
+
+        @Test
+        void GIVEN_retry_disabled_WHEN_updateEntityRetrying_SHOULD_throw_at_first_failure(){
+ 
+            final String idToUpdate = ID_REQUEST_SUCCESSFULLY.get();
+            updateByIdService.updateRetryMaxAttempts = 1;
+ 
+            when(anyRepositoryMock.updateNameById(anyString(), anyString(), any(LocalDateTime.class))).thenThrow(LOCK_TIMEOUT.get());
+
+            assertThrows(TransientDataAccessException.class, () -> updateByIdService.updateEntityRetrying(idToUpdate, REQUEST_SUCCESSFULLY.get().name()));
+
+            verify(anyRepositoryMock, times(1)).updateNameById(eq(idToUpdate), anyString(), any(LocalDateTime.class));
+        }
+
+        @Test
+        void GIVEN_any_attempt_WHEN_backoffMillis_SHOULD_stay_within_exponential_bound(){
+
+            updateByIdService.updateRetryBaseBackoffMillis = BASE_BACKOFF_MILLIS;
+
+            for(int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+                final long backoffMillis = updateByIdService.backoffMillis(attempt);
+                assertTrue(backoffMillis >= 0 && backoffMillis <= BASE_BACKOFF_MILLIS << (attempt - 1));
             }
         }
+        
     }
-    
+
     /**
-     *  testing all scenarios from {@link UpdateByIdService#getEntityById(String)}
+     *  testing all scenarios from {@link UpdateByIdService#validateIdMightExist(String)}
      */
     @Nested
-    class when_getEntityById {
+    class when_validateIdMightExist {
 
         @Test
-        void GIVEN_id_request_not_found_WHEN_getEntityById_SHOULD_throw_not_found_request(){
+        void GIVEN_id_absent_from_filter_WHEN_validateIdMightExist_SHOULD_throw_not_found_without_query(){
  
             final String anyInvalidId = UUID.randomUUID().toString();
  
-            when(anyRepositoryMock.findById(anyString())).thenReturn(Optional.empty());
+            when(idCuckooFilterMock.mightContain(anyInvalidId)).thenReturn(false);
 
-            final var expectedException = assertThrows(ResponseStatusException.class, () -> updateByIdService.getEntityById(anyInvalidId));
+            final var expectedException = assertThrows(ResponseStatusException.class, () -> updateByIdService.validateIdMightExist(anyInvalidId));
 
             final int expectedHttpStatus = 404;
             assertEquals(expectedHttpStatus , expectedException.getStatusCode().value());
@@ -1,10 +1,9 @@
 package demo.service;
 
-import java.time.LocalDateTime;
 import java.util.UUID;
 import java.util.function.Supplier;
 
-import demo.model.AnyEntity;
+import org.springframework.dao.CannotAcquireLockException;
 
 abstract sealed class UpdateByIdServiceTestFixture permits UpdateByIdServiceTest {
 
@@ -18,13 +17,15 @@ abstract sealed class UpdateByIdServiceTestFixture permits UpdateByIdServiceTest
     protected final Supplier<String> ID_REQUEST_SUCCESSFULLY  = UUID.randomUUID()::toString;
     protected final Supplier<String> ID_REQUEST_EMPTY = () -> "             ";
 
-    protected final Supplier<AnyEntity> ANY_ENTITY_SUCCESSFULLY = () -> {
-        var anyEntity = new AnyEntity();
-        anyEntity.setId(UUID.randomUUID().toString());
-        anyEntity.setCreated(LocalDateTime.now());
-        anyEntity.setLastUpdated(LocalDateTime.now().plusDays(3));
-        anyEntity.setName("name 1");
-        return anyEntity;
-    };
+    protected final long VERSION = 3;
+    protected final String ETAG_OF_VERSION = "\"3\"";
+    protected final String WEAK_ETAG = "W/\"3\"";
+    protected final String IF_MATCH_ANY = "*";
+
+    protected final String NAME_OF_LAST_CALLER = "name of last caller";
+
+    protected final int MAX_ATTEMPTS = 3;
+    protected final long BASE_BACKOFF_MILLIS = 1;
+    protected final Supplier<CannotAcquireLockException> LOCK_TIMEOUT = () -> new CannotAcquireLockException("lock timeout");
 
 }